@@ -120,7 +120,7 @@ public class ExpressionsHelper {
   @CheckForNull
   public static ExpressionTree getSingleWriteUsage(Symbol symbol) {
     ExpressionTree initializerOrExpression = getInitializerOrExpression(symbol.declaration());
-    List<AssignmentExpressionTree> reassignments = getReassignments(symbol.owner().declaration(), symbol.usages());
+    List<AssignmentExpressionTree> reassignments = symbol.owner().declaration() == null ? new ArrayList<>() : getReassignments(symbol);
     ExpressionTree singleWriteUsage = null;
     if (initializerOrExpression == null && reassignments.size() == 1) {
       singleWriteUsage = reassignments.get(0).expression();
@@ -225,7 +225,7 @@ public class ExpressionsHelper {
     if (declaration == null) {
       return Stream.empty();
     }
-    Stream<ExpressionTree> assignedExpressionStream = getReassignments(declaration, symbol.usages()).stream()
+    Stream<ExpressionTree> assignedExpressionStream = getReassignments(symbol).stream()
       .map(AssignmentExpressionTree::expression);
     ExpressionTree initializer = getInitializerOrExpression(declaration);
     if (initializer == null) {
@@ -271,7 +271,7 @@ public class ExpressionsHelper {
     if(variable.initializer() != null) {
       assignments.add(variable.initializer());
     }
-    getReassignments(variable, symbol.usages()).stream()
+    getReassignments(symbol).stream()
       .map(AssignmentExpressionTree::expression)
       .forEach(assignments::add);
     return assignments;
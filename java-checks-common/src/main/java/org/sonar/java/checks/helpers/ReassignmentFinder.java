@@ -17,18 +17,15 @@
 package org.sonar.java.checks.helpers;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
-import org.sonar.plugins.java.api.location.Position;
+import org.sonar.java.model.DefUseIndex;
 import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.tree.AssignmentExpressionTree;
 import org.sonar.plugins.java.api.tree.EnumConstantTree;
 import org.sonar.plugins.java.api.tree.ExpressionTree;
 import org.sonar.plugins.java.api.tree.IdentifierTree;
-import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.VariableTree;
 
@@ -45,11 +42,8 @@ public final class ReassignmentFinder {
   public static ExpressionTree getClosestReassignmentOrDeclarationExpression(Tree startingPoint, Symbol referenceSymbol) {
     Tree result = referenceSymbol.declaration();
     List<IdentifierTree> usages = referenceSymbol.usages();
-    if (usages.size() != 1) {
-      List<AssignmentExpressionTree> reassignments = getReassignments(referenceSymbol.owner().declaration(), usages);
-
-      SyntaxToken startPointToken = startingPoint.firstToken();
-      Tree lastReassignment = getClosestReassignment(startPointToken, reassignments);
+    if (usages.size() != 1 && referenceSymbol.owner().declaration() != null) {
+      Tree lastReassignment = DefUseIndex.lastAssignmentBefore(referenceSymbol, startingPoint);
       if (lastReassignment != null) {
         result = lastReassignment;
       }
@@ -83,34 +77,22 @@ public final class ReassignmentFinder {
     if (ownerDeclaration != null) {
       List<AssignmentExpressionTree> assignments = new ArrayList<>();
       for (IdentifierTree usage : usages) {
-        checkAssignment(usage).ifPresent(assignments::add);
+        AssignmentExpressionTree assignment = DefUseIndex.assignmentOf(usage);
+        if (assignment != null) {
+          assignments.add(assignment);
+        }
       }
       return assignments;
     }
     return new ArrayList<>();
   }
 
-  private static Optional<AssignmentExpressionTree> checkAssignment(IdentifierTree usage) {
-    Tree previousTree = usage;
-    Tree nonParenthesisParent = previousTree.parent();
-
-    while (nonParenthesisParent.is(Tree.Kind.PARENTHESIZED_EXPRESSION)) {
-      previousTree = nonParenthesisParent;
-      nonParenthesisParent = previousTree.parent();
-    }
-
-    if (nonParenthesisParent instanceof AssignmentExpressionTree assignment && assignment.variable().equals(previousTree)) {
-      return Optional.of(assignment);
-    }
-    return Optional.empty();
-  }
-
-  @CheckForNull
-  private static Tree getClosestReassignment(SyntaxToken startToken, List<AssignmentExpressionTree> reassignments) {
-    return reassignments.stream()
-      .filter(a -> Position.startOf(a).isBefore(Position.startOf(startToken)))
-      .max(Comparator.comparing(Position::startOf))
-      .orElse(null);
+  /**
+   * @return the assignments to the given variable in source order, looked up in the {@link DefUseIndex} of the file
+   * instead of going through its usages again. As with {@link #getReassignments(Tree, List)}, the returned list can be modified.
+   */
+  public static List<AssignmentExpressionTree> getReassignments(Symbol variable) {
+    return new ArrayList<>(DefUseIndex.assignments(variable));
   }
 
 }
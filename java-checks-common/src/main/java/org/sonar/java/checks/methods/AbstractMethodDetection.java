@@ -18,6 +18,9 @@ package org.sonar.java.checks.methods;
 
 import java.util.Arrays;
 import java.util.List;
+import javax.annotation.CheckForNull;
+import org.sonar.java.ast.visitors.SubscriptionVisitor;
+import org.sonar.java.matcher.MethodMatchersVisitor;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.semantic.MethodMatchers;
 import org.sonar.plugins.java.api.tree.MethodInvocationTree;
@@ -25,7 +28,12 @@ import org.sonar.plugins.java.api.tree.MethodReferenceTree;
 import org.sonar.plugins.java.api.tree.NewClassTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
-public abstract class AbstractMethodDetection extends IssuableSubscriptionVisitor {
+/**
+ * Method invocations, constructor calls and method references only reach {@link #visitNode(Tree)} when their method can be matched by
+ * {@link #getMethodInvocationMatchers()}, unless a subclass overrides {@link #visitNode(Tree)} or {@link #leaveNode(Tree)}: it may then
+ * rely on other methods, and is notified of all of them.
+ */
+public abstract class AbstractMethodDetection extends IssuableSubscriptionVisitor implements MethodMatchersVisitor {
 
   private MethodMatchers matchers;
 
@@ -68,6 +76,24 @@ public abstract class AbstractMethodDetection extends IssuableSubscriptionVisito
     // Do nothing by default
   }
 
+  @CheckForNull
+  @Override
+  public MethodMatchers methodMatchers() {
+    if (overrides("visitNode") || overrides("leaveNode")) {
+      return null;
+    }
+    return matchers();
+  }
+
+  private boolean overrides(String methodName) {
+    try {
+      Class<?> declaringClass = getClass().getMethod(methodName, Tree.class).getDeclaringClass();
+      return declaringClass != AbstractMethodDetection.class && declaringClass != SubscriptionVisitor.class;
+    } catch (NoSuchMethodException e) {
+      return true;
+    }
+  }
+
   private MethodMatchers matchers() {
     if (matchers == null) {
       matchers = getMethodInvocationMatchers();
@@ -260,6 +260,31 @@ class ReassignmentFinderTest extends JParserTestUtils {
     assertThatLastReassignmentsOfReturnedVariableIsEqualTo(statements, expression);
   }
 
+  @Test
+  void reassignments_of_a_variable() {
+    String code = newCode(
+      "int foo() {",
+      "  int b = 0;",
+      "  (b) = 1;",
+      "  b += 2;",
+      "  return b;",
+      "}");
+
+    List<StatementTree> statements = methodBody(code);
+    VariableTree variable = (VariableTree) statements.get(0);
+    Symbol symbol = variable.symbol();
+    List<AssignmentExpressionTree> reassignments = ReassignmentFinder.getReassignments(symbol);
+    assertThat(reassignments)
+      .containsExactly(
+        (AssignmentExpressionTree) ((ExpressionStatementTree) statements.get(1)).expression(),
+        (AssignmentExpressionTree) ((ExpressionStatementTree) statements.get(2)).expression())
+      .containsExactlyElementsOf(ReassignmentFinder.getReassignments(variable, symbol.usages()));
+    // both overloads return lists which can be modified by their callers
+    reassignments.clear();
+    assertThat(ReassignmentFinder.getReassignments(symbol)).hasSize(2);
+    assertThat(ReassignmentFinder.getReassignments(null, symbol.usages())).isEmpty();
+  }
+
   private static void assertThatLastReassignmentsOfReturnedVariableIsEqualTo(List<StatementTree> statements, ExpressionTree target) {
     assertThat(getLastReassignment(statements)).isEqualTo(target);
   }
@@ -26,6 +26,7 @@ import org.sonar.java.model.VisitorsBridge;
 import org.sonar.plugins.java.api.semantic.MethodMatchers;
 import org.sonar.plugins.java.api.tree.MethodInvocationTree;
 import org.sonar.plugins.java.api.tree.MethodReferenceTree;
+import org.sonar.plugins.java.api.tree.Tree;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -63,6 +64,40 @@ class AbstractMethodDetectionTest {
     assertThat(visitor.lines).containsExactly(14);
   }
 
+  @Test
+  void methods_not_matched_are_visited_when_visit_node_is_overridden() {
+    Visitor matchingVisitor = new Visitor(MethodMatchers.create().ofTypes("A").names("method2").withAnyParameters().build());
+    InvocationsRecorder recorder = new InvocationsRecorder();
+    JavaAstScanner.scanSingleFileForTests(TestUtils.inputFile("src/test/files/checks/AbstractMethodDetection.java"),
+      new VisitorsBridge(List.of(matchingVisitor, recorder), List.of(), null));
+
+    assertThat(recorder.methodMatchers()).isNull();
+    assertThat(matchingVisitor.methodMatchers()).isNotNull();
+    assertThat(matchingVisitor.lines).containsExactly(18);
+    assertThat(recorder.lines).containsExactly(14, 15, 16, 17, 18);
+  }
+
+  /**
+   * Like rules relying on their own matchers in visitNode, e.g. StaticFieldInitializationCheck, while not matching any method.
+   */
+  static class InvocationsRecorder extends AbstractMethodDetection {
+
+    final List<Integer> lines = new ArrayList<>();
+
+    @Override
+    protected MethodMatchers getMethodInvocationMatchers() {
+      return MethodMatchers.none();
+    }
+
+    @Override
+    public void visitNode(Tree tree) {
+      if (tree.is(Tree.Kind.METHOD_INVOCATION)) {
+        lines.add(((JavaTree) tree).getLine());
+      }
+      super.visitNode(tree);
+    }
+  }
+
   static class Visitor extends AbstractMethodDetection {
 
     public List<Integer> lines = new ArrayList<>();
@@ -0,0 +1,11 @@
+package checks.regex;
+
+public class RedosCheckSharedRegexB {
+
+  void sharedRegexes(String str) {
+    str.matches("(.*,)*?"); // Noncompliant {{Make sure the regex used here, which is vulnerable to exponential runtime due to backtracking, cannot lead to denial of service.}}
+    str.matches("(.*,)*"); // Noncompliant {{Make sure the regex used here, which is vulnerable to polynomial runtime due to backtracking, cannot lead to denial of service.}}
+    str.matches("[^,]*,"); // Compliant
+  }
+
+}
@@ -241,6 +241,15 @@ public interface CheckVerifier {
     throw new UnsupportedOperationException("Method not implemented, feel free to implement.");
   }
 
+  /**
+   * Tells the verifier to store all the cached sections of a file in a single cache entry, as done during an analysis, instead of
+   * storing each section under its own key. Only has an effect together with {@link #withCache(ReadCache, WriteCache)}.
+   * @return the verifier configured to store one cache entry per file.
+   */
+  default CheckVerifier withRecordPerFileCache() {
+    throw new UnsupportedOperationException("Method not implemented, feel free to implement.");
+  }
+
   /**
    * Allows to modify the compilation unit tree after parsing.
    * This is useful for adding or modifying nodes in the tree for testing purposes.
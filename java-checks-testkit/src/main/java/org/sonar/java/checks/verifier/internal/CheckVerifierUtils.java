@@ -27,8 +27,13 @@ import org.sonar.api.batch.sensor.cache.ReadCache;
 import org.sonar.api.batch.sensor.cache.WriteCache;
 import org.sonar.api.config.Configuration;
 import org.sonar.java.SonarComponents;
+import org.sonar.java.caching.KeyPerSectionFileRecordCache;
 import org.sonar.java.classpath.ClasspathForMain;
 import org.sonar.java.classpath.ClasspathForTest;
+import org.sonar.plugins.java.api.caching.CacheContext;
+import org.sonar.plugins.java.api.caching.FileRecordCache;
+import org.sonar.plugins.java.api.caching.JavaReadCache;
+import org.sonar.plugins.java.api.caching.JavaWriteCache;
 
 public class CheckVerifierUtils {
 
@@ -40,6 +45,15 @@ public class CheckVerifierUtils {
   protected static final String FILE_OR_FILES = "file(s)";
 
   protected static SonarComponents sonarComponents(boolean isCacheEnabled, ReadCache readCache, WriteCache writeCache, @Nullable File workingDirectory) {
+    return sonarComponents(isCacheEnabled, false, readCache, writeCache, workingDirectory);
+  }
+
+  /**
+   * @param recordPerFileCache whether the sections cached for a file are stored in a single entry, as during an analysis, instead of
+   *                           one entry per section.
+   */
+  protected static SonarComponents sonarComponents(boolean isCacheEnabled, boolean recordPerFileCache, ReadCache readCache, WriteCache writeCache,
+    @Nullable File workingDirectory) {
     SensorContext sensorContext;
     if (isCacheEnabled) {
       sensorContext = new CacheEnabledSensorContext(readCache, writeCache);
@@ -68,11 +82,29 @@ public class CheckVerifierUtils {
       public File projectLevelWorkDir(){
         return workingDirectory;
       }
+
+      @Override
+      public FileRecordCache fileRecordCache(JavaReadCache readCache, JavaWriteCache writeCache) {
+        if (recordPerFileCache) {
+          return super.fileRecordCache(readCache, writeCache);
+        }
+        // Sections are stored under separate keys, so that tests can inspect them individually
+        return new KeyPerSectionFileRecordCache(readCache, writeCache);
+      }
     };
     sonarComponents.setSensorContext(sensorContext);
     return sonarComponents;
   }
 
+  /**
+   * @return the given cache context, with the per-file records provided by the given components.
+   */
+  protected static CacheContext cacheContext(CacheContext cacheContext, SonarComponents sonarComponents) {
+    JavaReadCache readCache = cacheContext.getReadCache();
+    JavaWriteCache writeCache = cacheContext.getWriteCache();
+    return new InternalCacheContext(cacheContext.isCacheEnabled(), readCache, writeCache, sonarComponents.fileRecordCache(readCache, writeCache));
+  }
+
   protected static void requiresNull(@Nullable Object obj, String fieldName) {
     if (obj != null) {
       throw new AssertionError(String.format("Do not set %s multiple times!", fieldName));
@@ -16,7 +16,9 @@
  */
 package org.sonar.java.checks.verifier.internal;
 
+import org.sonar.java.caching.KeyPerSectionFileRecordCache;
 import org.sonar.plugins.java.api.caching.CacheContext;
+import org.sonar.plugins.java.api.caching.FileRecordCache;
 import org.sonar.plugins.java.api.caching.JavaReadCache;
 import org.sonar.plugins.java.api.caching.JavaWriteCache;
 
@@ -27,11 +29,18 @@ public class InternalCacheContext implements CacheContext {
   private boolean isEnabled;
   private JavaReadCache readCache;
   private JavaWriteCache writeCache;
+  private FileRecordCache fileRecordCache;
 
   public InternalCacheContext(boolean isEnabled, @Nullable JavaReadCache readCache, @Nullable JavaWriteCache writeCache) {
+    this(isEnabled, readCache, writeCache, null);
+  }
+
+  public InternalCacheContext(boolean isEnabled, @Nullable JavaReadCache readCache, @Nullable JavaWriteCache writeCache,
+    @Nullable FileRecordCache fileRecordCache) {
     this.isEnabled = isEnabled;
     this.readCache = readCache;
     this.writeCache = writeCache;
+    this.fileRecordCache = fileRecordCache;
   }
 
   @Override
@@ -49,16 +58,22 @@ public class InternalCacheContext implements CacheContext {
     return writeCache;
   }
 
+  @Override
+  public FileRecordCache getFileRecordCache() {
+    return fileRecordCache == null ? new KeyPerSectionFileRecordCache(readCache, writeCache) : fileRecordCache;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
     if (o == null || getClass() != o.getClass()) return false;
     InternalCacheContext that = (InternalCacheContext) o;
-    return isEnabled == that.isEnabled && Objects.equals(readCache, that.readCache) && Objects.equals(writeCache, that.writeCache);
+    return isEnabled == that.isEnabled && Objects.equals(readCache, that.readCache) && Objects.equals(writeCache, that.writeCache)
+      && Objects.equals(fileRecordCache, that.fileRecordCache);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(isEnabled, readCache, writeCache);
+    return Objects.hash(isEnabled, readCache, writeCache, fileRecordCache);
   }
 }
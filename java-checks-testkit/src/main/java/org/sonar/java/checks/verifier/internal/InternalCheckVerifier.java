@@ -86,6 +86,7 @@ public class InternalCheckVerifier implements CheckVerifier {
   private JavaVersion javaVersion = null;
   private boolean inAndroidContext = false;
   private boolean isCacheEnabled = false;
+  private boolean recordPerFileCache = false;
   private List<File> classpath = null;
   private Consumer<Set<AnalyzerMessage>> customIssueVerifier = null;
   private boolean collectQuickFixes = false;
@@ -236,6 +237,12 @@ public class InternalCheckVerifier implements CheckVerifier {
     return this;
   }
 
+  @Override
+  public InternalCheckVerifier withRecordPerFileCache() {
+    this.recordPerFileCache = true;
+    return this;
+  }
+
   @Override
   public void verifyIssues() {
     requiresNonNull(checks, CHECK_OR_CHECKS);
@@ -281,7 +288,7 @@ public class InternalCheckVerifier implements CheckVerifier {
     } else {
       visitors.add(expectations.parser());
     }
-    SonarComponents sonarComponents = CheckVerifierUtils.sonarComponents(isCacheEnabled, readCache, writeCache, null);
+    SonarComponents sonarComponents = CheckVerifierUtils.sonarComponents(isCacheEnabled, recordPerFileCache, readCache, writeCache, null);
     JavaVersion actualVersion = javaVersion == null ? DEFAULT_JAVA_VERSION : javaVersion;
     VisitorsBridgeForTests.Builder visitorsBridgeBuilder = new VisitorsBridgeForTests.Builder(visitors)
       .withJavaVersion(actualVersion)
@@ -298,10 +305,12 @@ public class InternalCheckVerifier implements CheckVerifier {
 
     List<InputFile> filesToParse = files;
     if (isCacheEnabled) {
-      visitorsBridge.setCacheContext(cacheContext);
+      visitorsBridge.setCacheContext(CheckVerifierUtils.cacheContext(cacheContext, sonarComponents));
       filesToParse = astScanner.scanWithoutParsing(files).get(false);
     }
     astScanner.scan(filesToParse);
+    // Records of files that failed to be analyzed are only stored at the end of the analysis
+    sonarComponents.flushFileRecords();
 
     var issues = new LinkedHashSet<AnalyzerMessage>();
     var quickFixes = new HashMap<AnalyzerMessage.TextSpan, List<JavaQuickFix>>();
@@ -83,6 +83,7 @@ public class JavaCheckVerifier implements CheckVerifier {
   private List<InputFile> files = null;
   private boolean withoutSemantic = false;
   private boolean isCacheEnabled = false;
+  private boolean recordPerFileCache = false;
   private Consumer<CompilationUnitTree> compilationUnitModifier = unused -> {
   };
 
@@ -101,7 +102,7 @@ public class JavaCheckVerifier implements CheckVerifier {
     List<JavaFileScanner> visitors = new ArrayList<>(checks);
     CommentLinesVisitor commentLinesVisitor = new CommentLinesVisitor();
     visitors.add(commentLinesVisitor);
-    SonarComponents sonarComponents = CheckVerifierUtils.sonarComponents(isCacheEnabled, readCache, writeCache, rootDirectory);
+    SonarComponents sonarComponents = CheckVerifierUtils.sonarComponents(isCacheEnabled, recordPerFileCache, readCache, writeCache, rootDirectory);
     VisitorsBridgeForTests.Builder visitorsBridgeBuilder = new VisitorsBridgeForTests.Builder(visitors)
       .withJavaVersion(actualVersion)
       .withSonarComponents(sonarComponents)
@@ -116,10 +117,12 @@ public class JavaCheckVerifier implements CheckVerifier {
 
     List<InputFile> filesToParse = files;
     if (isCacheEnabled) {
-      visitorsBridge.setCacheContext(cacheContext);
+      visitorsBridge.setCacheContext(CheckVerifierUtils.cacheContext(cacheContext, sonarComponents));
       filesToParse = astScanner.scanWithoutParsing(files).get(false);
     }
     astScanner.scanForTesting(filesToParse, compilationUnitModifier);
+    // Records of files that failed to be analyzed are only stored at the end of the analysis
+    sonarComponents.flushFileRecords();
 
     addComments(verifier, commentLinesVisitor);
 
@@ -326,6 +329,12 @@ public class JavaCheckVerifier implements CheckVerifier {
     return this;
   }
 
+  @Override
+  public CheckVerifier withRecordPerFileCache() {
+    this.recordPerFileCache = true;
+    return this;
+  }
+
   @Override
   public CheckVerifier withProjectLevelWorkDir(String rootDirectory) {
     this.rootDirectory = new File(rootDirectory);
@@ -31,11 +31,7 @@ import org.sonar.plugins.java.api.tree.PackageDeclarationTree;
 
 public abstract class AbstractPackageInfoChecker implements JavaFileScanner, EndOfAnalysis {
   private static final Logger LOG = LoggerFactory.getLogger(AbstractPackageInfoChecker.class);
-  private static final String CACHE_KEY_PREFIX = "java:S1228;S4032:package:";
-
-  private static String cacheKey(InputFile inputFile) {
-    return CACHE_KEY_PREFIX + inputFile.key();
-  }
+  private static final String CACHE_SECTION = "java:S1228;S4032:package";
 
   protected abstract void processFile(InputFileScannerContext context, String packageName);
 
@@ -69,17 +65,17 @@ public abstract class AbstractPackageInfoChecker implements JavaFileScanner, End
   }
 
   protected static Optional<String> getPackageFromCache(InputFileScannerContext inputFileScannerContext) {
-    var cacheKey = cacheKey(inputFileScannerContext.getInputFile());
-    var bytes = inputFileScannerContext.getCacheContext().getReadCache().readBytes(cacheKey);
+    var bytes = inputFileScannerContext.getCacheContext().getFileRecordCache()
+      .readSection(inputFileScannerContext.getInputFile(), CACHE_SECTION);
     return bytes != null ? Optional.of(new String(bytes, StandardCharsets.UTF_8)) : Optional.empty();
   }
 
   protected static void writePackageNameToCache(InputFileScannerContext context, String packageName) {
-    var cacheKey = cacheKey(context.getInputFile());
+    InputFile inputFile = context.getInputFile();
     try {
-      context.getCacheContext().getWriteCache().write(cacheKey, packageName.getBytes(StandardCharsets.UTF_8));
+      context.getCacheContext().getFileRecordCache().writeSection(inputFile, CACHE_SECTION, packageName.getBytes(StandardCharsets.UTF_8));
     } catch (IllegalArgumentException e) {
-      LOG.trace("Could not store data to cache key '{}': {}", cacheKey, e.getMessage());
+      LOG.trace("Could not store data to cache section '{}' of file '{}': {}", CACHE_SECTION, inputFile.key(), e.getMessage());
     }
   }
 }
@@ -18,6 +18,7 @@ package org.sonar.java.checks;
 
 import org.sonar.check.Rule;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
+import org.sonar.plugins.java.api.internal.SyntaxOnly;
 import org.sonar.plugins.java.api.tree.SyntaxTrivia;
 import org.sonar.plugins.java.api.tree.Tree;
 
@@ -25,7 +26,7 @@ import java.util.Collections;
 import java.util.List;
 
 @Rule(key = "S1134")
-public class FixmeTagPresenceCheck extends IssuableSubscriptionVisitor {
+public class FixmeTagPresenceCheck extends IssuableSubscriptionVisitor implements SyntaxOnly {
 
   private static final String PATTERN = "FIXME";
   private static final String MESSAGE = "Take the required action to fix the issue indicated by this comment.";
@@ -18,12 +18,13 @@ package org.sonar.java.checks;
 
 import org.sonar.check.Rule;
 import org.sonar.java.model.LineUtils;
+import org.sonar.plugins.java.api.internal.SyntaxOnly;
 import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonarsource.analyzer.commons.annotations.DeprecatedRuleKey;
 
 @DeprecatedRuleKey(ruleKey = "LeftCurlyBraceEndLineCheck", repositoryKey = "squid")
 @Rule(key = "S1105")
-public class LeftCurlyBraceEndLineCheck extends LeftCurlyBraceBaseTreeVisitor {
+public class LeftCurlyBraceEndLineCheck extends LeftCurlyBraceBaseTreeVisitor implements SyntaxOnly {
 
   @Override
   protected void checkTokens(SyntaxToken lastToken, SyntaxToken openBraceToken) {
@@ -18,12 +18,13 @@ package org.sonar.java.checks;
 
 import org.sonar.check.Rule;
 import org.sonar.java.model.LineUtils;
+import org.sonar.plugins.java.api.internal.SyntaxOnly;
 import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonarsource.analyzer.commons.annotations.DeprecatedRuleKey;
 
 @DeprecatedRuleKey(ruleKey = "LeftCurlyBraceStartLineCheck", repositoryKey = "squid")
 @Rule(key = "S1106")
-public class LeftCurlyBraceStartLineCheck extends LeftCurlyBraceBaseTreeVisitor {
+public class LeftCurlyBraceStartLineCheck extends LeftCurlyBraceBaseTreeVisitor implements SyntaxOnly {
 
   @Override
   protected void checkTokens(SyntaxToken lastToken, SyntaxToken openBraceToken) {
@@ -20,6 +20,7 @@ import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
 import org.sonar.java.metrics.MetricsScannerContext;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
+import org.sonar.plugins.java.api.internal.SyntaxOnly;
 import org.sonar.plugins.java.api.tree.BlockTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.Tree;
@@ -28,7 +29,7 @@ import java.util.Arrays;
 import java.util.List;
 
 @Rule(key = "S138")
-public class MethodTooBigCheck extends IssuableSubscriptionVisitor {
+public class MethodTooBigCheck extends IssuableSubscriptionVisitor implements SyntaxOnly {
 
   private static final int DEFAULT_MAX = 75;
 
@@ -18,6 +18,7 @@ package org.sonar.java.checks;
 
 import org.sonar.check.Rule;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
+import org.sonar.plugins.java.api.internal.SyntaxOnly;
 import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
 import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.ConditionalExpressionTree;
@@ -28,7 +29,7 @@ import java.util.List;
 import java.util.stream.Stream;
 
 @Rule(key = "S3358")
-public class NestedTernaryOperatorsCheck extends IssuableSubscriptionVisitor {
+public class NestedTernaryOperatorsCheck extends IssuableSubscriptionVisitor implements SyntaxOnly {
 
   @Override
   public List<Tree.Kind> nodesToVisit() {
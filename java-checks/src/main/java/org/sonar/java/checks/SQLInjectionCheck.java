@@ -143,7 +143,7 @@ public class SQLInjectionCheck extends IssuableSubscriptionVisitor {
           IdentifierTree identifierTree = (IdentifierTree) sqlArg;
           Symbol symbol = identifierTree.symbol();
           ExpressionTree initializerOrExpression = getInitializerOrExpression(symbol.declaration());
-          List<AssignmentExpressionTree> reassignments = getReassignments(symbol.owner().declaration(), symbol.usages());
+          List<AssignmentExpressionTree> reassignments = symbol.owner().declaration() == null ? new ArrayList<>() : getReassignments(symbol);
 
           if ((initializerOrExpression != null && isDynamicString(initializerOrExpression)) ||
             reassignments.stream().anyMatch(SQLInjectionCheck::isDynamicPlusAssignment)) {
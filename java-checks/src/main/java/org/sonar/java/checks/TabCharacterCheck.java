@@ -19,6 +19,7 @@ package org.sonar.java.checks;
 import org.sonar.check.Rule;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.internal.SyntaxOnly;
 import org.sonar.plugins.java.api.tree.Tree;
 
 import java.util.Collections;
@@ -27,7 +28,7 @@ import org.sonarsource.analyzer.commons.annotations.DeprecatedRuleKey;
 
 @DeprecatedRuleKey(ruleKey = "S00105", repositoryKey = "squid")
 @Rule(key = "S105")
-public class TabCharacterCheck extends IssuableSubscriptionVisitor {
+public class TabCharacterCheck extends IssuableSubscriptionVisitor implements SyntaxOnly {
 
   @Override
   public List<Tree.Kind> nodesToVisit() {
@@ -18,6 +18,7 @@ package org.sonar.java.checks;
 
 import org.sonar.check.Rule;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
+import org.sonar.plugins.java.api.internal.SyntaxOnly;
 import org.sonar.plugins.java.api.tree.SyntaxTrivia;
 import org.sonar.plugins.java.api.tree.Tree;
 
@@ -25,7 +26,7 @@ import java.util.Collections;
 import java.util.List;
 
 @Rule(key = "S1135")
-public class TodoTagPresenceCheck extends IssuableSubscriptionVisitor {
+public class TodoTagPresenceCheck extends IssuableSubscriptionVisitor implements SyntaxOnly {
 
   private static final String PATTERN = "TODO";
   private static final String MESSAGE = "Complete the task associated to this TODO comment.";
@@ -18,6 +18,7 @@ package org.sonar.java.checks;
 
 import org.sonar.check.Rule;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
+import org.sonar.plugins.java.api.internal.SyntaxOnly;
 import org.sonar.plugins.java.api.tree.IdentifierTree;
 import org.sonar.plugins.java.api.tree.ImportTree;
 import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
@@ -28,7 +29,7 @@ import java.util.Collections;
 import java.util.List;
 
 @Rule(key = "S2208")
-public class WildcardImportsShouldNotBeUsedCheck extends IssuableSubscriptionVisitor {
+public class WildcardImportsShouldNotBeUsedCheck extends IssuableSubscriptionVisitor implements SyntaxOnly {
 
   @Override
   public List<Kind> nodesToVisit() {
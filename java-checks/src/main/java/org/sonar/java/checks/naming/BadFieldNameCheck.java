@@ -20,13 +20,14 @@ import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
 import org.sonar.java.checks.AbstractBadFieldNameChecker;
 import org.sonar.java.model.ModifiersUtils;
+import org.sonar.plugins.java.api.internal.SyntaxOnly;
 import org.sonar.plugins.java.api.tree.Modifier;
 import org.sonar.plugins.java.api.tree.ModifiersTree;
 import org.sonarsource.analyzer.commons.annotations.DeprecatedRuleKey;
 
 @DeprecatedRuleKey(ruleKey = "S00116", repositoryKey = "squid")
 @Rule(key = "S116")
-public class BadFieldNameCheck extends AbstractBadFieldNameChecker {
+public class BadFieldNameCheck extends AbstractBadFieldNameChecker implements SyntaxOnly {
 
   @RuleProperty(
     key = DEFAULT_FORMAT_KEY,
@@ -20,6 +20,7 @@ import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.internal.SyntaxOnly;
 import org.sonar.plugins.java.api.tree.IdentifierTree;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.TypeParameterTree;
@@ -31,7 +32,7 @@ import org.sonarsource.analyzer.commons.annotations.DeprecatedRuleKey;
 
 @DeprecatedRuleKey(ruleKey = "S00119", repositoryKey = "squid")
 @Rule(key = "S119")
-public class BadTypeParameterNameCheck extends IssuableSubscriptionVisitor {
+public class BadTypeParameterNameCheck extends IssuableSubscriptionVisitor implements SyntaxOnly {
 
   private static final String DEFAULT_FORMAT = "^[A-Z][0-9]?$";
 
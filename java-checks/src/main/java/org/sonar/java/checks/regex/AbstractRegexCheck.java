@@ -134,8 +134,7 @@ public abstract class AbstractRegexCheck extends IssuableSubscriptionVisitor imp
   }
 
   protected boolean filterAnnotation(AnnotationTree annotation) {
-    Type type = annotation.symbolType();
-    return ANNOTATIONS_TO_FILTER.stream().anyMatch(type::is);
+    return discovery().isRegexAnnotation(annotation);
   }
 
   @Override
@@ -147,22 +146,27 @@ public abstract class AbstractRegexCheck extends IssuableSubscriptionVisitor imp
       }
     } else {
       MethodInvocationTree mit = (MethodInvocationTree) tree;
-      if (getMethodInvocationMatchers().matches(mit)) {
+      if (matchesMethodInvocation(mit)) {
         onMethodInvocationFound(mit);
       }
     }
   }
 
-  protected void onMethodInvocationFound(MethodInvocationTree mit) {
-    ExpressionTree regexExpression = getRegexLiteralExpression(mit);
-    if (regexExpression != null) {
-      FlagSet flags = getFlags(mit);
-      if (!flags.contains(Pattern.LITERAL)) {
-        getLiterals(regexExpression)
-          .map(literals -> regexForLiterals(flags, literals))
-          .ifPresent(result -> checkRegex(result, mit));
-      }
+  private boolean matchesMethodInvocation(MethodInvocationTree mit) {
+    MethodMatchers matchers = getMethodInvocationMatchers();
+    // Only the default matchers are known to match the same invocations for all the rules, the result of other ones is not shared
+    if (matchers == REGEX_METHODS) {
+      return discovery().isRegexMethod(mit);
     }
+    return matchers.matches(mit);
+  }
+
+  protected void onMethodInvocationFound(MethodInvocationTree mit) {
+    discovery().regex(mit, getRegexLiteralExpression(mit)).ifPresent(result -> checkRegex(result, mit));
+  }
+
+  private RegexDiscovery discovery() {
+    return regexContext.sharedRegexState(RegexDiscovery.class, () -> new RegexDiscovery(regexContext));
   }
 
   @Nullable
@@ -184,12 +188,7 @@ public abstract class AbstractRegexCheck extends IssuableSubscriptionVisitor imp
   }
 
   protected void onAnnotationFound(AnnotationTree annotation) {
-    ExpressionTree regexExpression = getRegexLiteralExpression(annotation);
-    if (regexExpression != null) {
-      getLiterals(regexExpression)
-        .map(literals -> regexForLiterals(getFlags(annotation), literals))
-        .ifPresent(result -> checkRegex(result, annotation));
-    }
+    discovery().regex(annotation, getRegexLiteralExpression(annotation)).ifPresent(result -> checkRegex(result, annotation));
   }
 
   private static class AnnotationFlagsVisitor extends BaseTreeVisitor {
@@ -367,4 +366,56 @@ public abstract class AbstractRegexCheck extends IssuableSubscriptionVisitor imp
     return null;
   }
 
+  /**
+   * What the regex rules find in a file, shared by all of them: whether method invocations and annotations create regexes, and the
+   * parsed regexes, with their flags and literals. Each is computed by the first rule visiting the tree.
+   * <p>
+   * Regexes are keyed by the expression each rule finds the regex in, so that rules locating it differently do not share it.
+   */
+  private static final class RegexDiscovery {
+    private final RegexScannerContext regexContext;
+    private final Map<MethodInvocationTree, Boolean> regexMethods = new HashMap<>();
+    private final Map<AnnotationTree, Boolean> regexAnnotations = new HashMap<>();
+    private final Map<RegexKey, Optional<RegexParseResult>> regexes = new HashMap<>();
+
+    RegexDiscovery(RegexScannerContext regexContext) {
+      this.regexContext = regexContext;
+    }
+
+    boolean isRegexMethod(MethodInvocationTree mit) {
+      return regexMethods.computeIfAbsent(mit, REGEX_METHODS::matches);
+    }
+
+    boolean isRegexAnnotation(AnnotationTree annotation) {
+      return regexAnnotations.computeIfAbsent(annotation, a -> {
+        Type type = a.symbolType();
+        return ANNOTATIONS_TO_FILTER.stream().anyMatch(type::is);
+      });
+    }
+
+    Optional<RegexParseResult> regex(MethodInvocationTree mit, @Nullable ExpressionTree regexExpression) {
+      if (regexExpression == null) {
+        return Optional.empty();
+      }
+      return regexes.computeIfAbsent(new RegexKey(mit, regexExpression), k -> {
+        FlagSet flags = getFlags(mit);
+        if (flags.contains(Pattern.LITERAL)) {
+          return Optional.empty();
+        }
+        return getLiterals(regexExpression).map(literals -> regexContext.regexForLiterals(flags, literals));
+      });
+    }
+
+    Optional<RegexParseResult> regex(AnnotationTree annotation, @Nullable ExpressionTree regexExpression) {
+      if (regexExpression == null) {
+        return Optional.empty();
+      }
+      return regexes.computeIfAbsent(new RegexKey(annotation, regexExpression),
+        k -> getLiterals(regexExpression).map(literals -> regexContext.regexForLiterals(getFlags(annotation), literals)));
+    }
+  }
+
+  private record RegexKey(ExpressionTree methodInvocationOrAnnotation, ExpressionTree regexExpression) {
+  }
+
 }
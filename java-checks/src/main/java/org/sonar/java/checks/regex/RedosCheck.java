@@ -26,7 +26,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.sonar.check.Rule;
+import org.sonar.java.annotations.VisibleForTesting;
+import org.sonar.java.checks.regex.RedosVerdictCache.Verdict;
 import org.sonar.plugins.java.api.tree.ExpressionTree;
 import org.sonarsource.analyzer.commons.regex.MatchType;
 import org.sonarsource.analyzer.commons.regex.RegexParseResult;
@@ -45,13 +49,13 @@ import org.sonarsource.analyzer.commons.regex.helpers.RegexReachabilityChecker;
 import org.sonarsource.analyzer.commons.regex.helpers.SimplifiedRegexCharacterClass;
 import org.sonarsource.analyzer.commons.regex.helpers.SubAutomaton;
 
-import static org.sonarsource.analyzer.commons.regex.helpers.RegexReachabilityChecker.canReachWithoutConsumingInput;
-import static org.sonarsource.analyzer.commons.regex.helpers.RegexReachabilityChecker.canReachWithoutConsumingInputNorCrossingBoundaries;
 import static org.sonarsource.analyzer.commons.regex.helpers.RegexTreeHelper.isAnchoredAtEnd;
 
 @Rule(key = "S5852")
 public class RedosCheck extends AbstractRegexCheckTrackingMatchType {
 
+  private static final Logger LOG = LoggerFactory.getLogger(RedosCheck.class);
+
   private static final String MESSAGE = "Make sure the regex used here, which is vulnerable to %s runtime due to backtracking," +
     " cannot lead to denial of service%s.";
   private static final String JAVA8_MESSAGE = " or make sure the code is only run using Java 9 or later";
@@ -71,11 +75,22 @@ public class RedosCheck extends AbstractRegexCheckTrackingMatchType {
    */
   private static final int MAX_REGEX_LENGTH = 1000;
 
+  /**
+   * The maximum number of steps of the reachability and intersection checks done on the automaton of a regex, including the steps
+   * of their inner exploration. When a regex needs more than this, its exploration is stopped and the verdict is inconclusive:
+   * no issue is raised for it.
+   */
+  private static final int MAX_AUTOMATON_CHECKS = 100_000;
+
+  private final int automatonCheckBudget;
+  private int remainingAutomatonChecks;
+  private final RedosVerdictCache verdictCache = new RedosVerdictCache();
+
   private boolean regexContainsBackReference;
   private BacktrackingType foundBacktrackingType;
 
-  private final RegexReachabilityChecker reachabilityChecker = new RegexReachabilityChecker(false);
-  private final IntersectAutomataChecker intersectionChecker = new IntersectAutomataChecker(false);
+  private final RegexReachabilityChecker reachabilityChecker = new BoundedReachabilityChecker();
+  private final IntersectAutomataChecker intersectionChecker = new BoundedIntersectionChecker();
 
   // Java 9 introduced a loop optimization that's applied to greedy repetitions in regexes that don't use capturing groups.
   // Without this optimization any loop where for the same input multiple paths can be taken through the loop's body,
@@ -88,7 +103,17 @@ public class RedosCheck extends AbstractRegexCheckTrackingMatchType {
     QUADRATIC_WHEN_OPTIMIZED,
     ALWAYS_QUADRATIC,
     LINEAR_WHEN_OPTIMIZED,
-    NO_ISSUE
+    NO_ISSUE,
+    INCONCLUSIVE
+  }
+
+  public RedosCheck() {
+    this(MAX_AUTOMATON_CHECKS);
+  }
+
+  @VisibleForTesting
+  RedosCheck(int automatonCheckBudget) {
+    this.automatonCheckBudget = automatonCheckBudget;
   }
 
   private boolean isJava9OrHigher() {
@@ -113,7 +138,7 @@ public class RedosCheck extends AbstractRegexCheckTrackingMatchType {
         }
       case ALWAYS_QUADRATIC:
         return Optional.of(String.format(MESSAGE, POLY, ""));
-      case NO_ISSUE:
+      case NO_ISSUE, INCONCLUSIVE:
         return Optional.empty();
     }
     throw new IllegalStateException("This line is not actually reachable");
@@ -124,17 +149,98 @@ public class RedosCheck extends AbstractRegexCheckTrackingMatchType {
     if (regexForLiterals.getResult().getText().length() > MAX_REGEX_LENGTH) {
       return;
     }
+    String key = RedosVerdictCache.key(regexForLiterals, matchType, automatonCheckBudget);
+    Verdict verdict = verdictCache.computeIfAbsent(key, context.getCacheContext(), () -> analyze(regexForLiterals, matchType));
+    regexContainsBackReference = verdict.containsBackReference();
+    foundBacktrackingType = verdict.backtrackingType();
+    if (foundBacktrackingType == BacktrackingType.INCONCLUSIVE) {
+      LOG.debug("No ReDoS issue raised for the regex at {}:{}, its analysis needs more than {} automaton checks.",
+        context.getInputFile(), methodInvocationOrAnnotation.firstToken().range().start().line(), automatonCheckBudget);
+    }
+    message().ifPresent(message ->
+      reportIssue(methodOrAnnotationName(methodInvocationOrAnnotation), message, null, Collections.emptyList())
+    );
+  }
+
+  private Verdict analyze(RegexParseResult regexForLiterals, MatchType matchType) {
     regexContainsBackReference = false;
     foundBacktrackingType = BacktrackingType.NO_ISSUE;
+    remainingAutomatonChecks = automatonCheckBudget;
     reachabilityChecker.clearCache();
     intersectionChecker.clearCache();
     boolean isUsedForFullMatch = matchType == MatchType.FULL || matchType == MatchType.BOTH;
     boolean isUsedForPartialMatch = matchType == MatchType.PARTIAL || matchType == MatchType.BOTH;
     RedosFinder visitor = new RedosFinder(regexForLiterals.getStartState(), regexForLiterals.getFinalState(), isUsedForFullMatch, isUsedForPartialMatch);
-    visitor.visit(regexForLiterals);
-    message().ifPresent(message ->
-      reportIssue(methodOrAnnotationName(methodInvocationOrAnnotation), message, null, Collections.emptyList())
-    );
+    try {
+      visitor.visit(regexForLiterals);
+    } catch (AutomatonCheckBudgetExceeded e) {
+      return new Verdict(BacktrackingType.INCONCLUSIVE, regexContainsBackReference);
+    }
+    return new Verdict(foundBacktrackingType, regexContainsBackReference);
+  }
+
+  private boolean canReach(AutomatonState start, AutomatonState goal) {
+    return reachabilityChecker.canReach(start, goal);
+  }
+
+  private boolean intersects(SubAutomaton auto1, SubAutomaton auto2) {
+    return intersectionChecker.check(auto1, auto2);
+  }
+
+  private boolean reachableWithoutConsumingInput(AutomatonState start, AutomatonState goal) {
+    spendAutomatonCheck();
+    return RegexReachabilityChecker.canReachWithoutConsumingInput(start, goal);
+  }
+
+  private boolean reachableWithoutConsumingInputNorCrossingBoundaries(AutomatonState start, AutomatonState goal) {
+    spendAutomatonCheck();
+    return RegexReachabilityChecker.canReachWithoutConsumingInputNorCrossingBoundaries(start, goal);
+  }
+
+  private void spendAutomatonCheck() {
+    remainingAutomatonChecks--;
+    if (remainingAutomatonChecks < 0) {
+      throw new AutomatonCheckBudgetExceeded();
+    }
+  }
+
+  /**
+   * Spends an automaton check for each state visited while looking for a path, not only for the top-level queries.
+   */
+  private class BoundedReachabilityChecker extends RegexReachabilityChecker {
+
+    BoundedReachabilityChecker() {
+      super(false);
+    }
+
+    @Override
+    public boolean canReach(AutomatonState start, AutomatonState goal) {
+      spendAutomatonCheck();
+      return super.canReach(start, goal);
+    }
+  }
+
+  /**
+   * Spends an automaton check for each pair of sub-automata explored while looking for an intersection, not only for the top-level
+   * queries.
+   */
+  private class BoundedIntersectionChecker extends IntersectAutomataChecker {
+
+    BoundedIntersectionChecker() {
+      super(false);
+    }
+
+    @Override
+    protected boolean check(SubAutomaton auto1, SubAutomaton auto2, boolean hasConsumedInput) {
+      spendAutomatonCheck();
+      return super.check(auto1, auto2, hasConsumedInput);
+    }
+  }
+
+  private static class AutomatonCheckBudgetExceeded extends RuntimeException {
+    AutomatonCheckBudgetExceeded() {
+      super(null, null, false, false);
+    }
   }
 
   private void addBacktracking(BacktrackingType newBacktrackingType) {
@@ -176,13 +282,13 @@ public class RedosCheck extends AbstractRegexCheckTrackingMatchType {
     private void checkForOverlappingRepetitions(RepetitionTree tree) {
       if (tree.getQuantifier().isOpenEnded() && canFail(tree)) {
         for (RepetitionTree repetition : nonPossessiveRepetitions) {
-          if (reachabilityChecker.canReach(repetition, tree)) {
+          if (canReach(repetition, tree)) {
             SubAutomaton repetitionAuto = new SubAutomaton(repetition.getElement(), repetition.continuation(), false);
             SubAutomaton continuationAuto = new SubAutomaton(repetition.continuation(), tree, false);
             SubAutomaton treeAuto = new SubAutomaton(tree.getElement(), tree.continuation(), false);
             if (subAutomatonCanConsume(repetitionAuto, continuationAuto)
               && automatonIsEmptyOrIntersects(continuationAuto, treeAuto)
-              && intersectionChecker.check(repetitionAuto, treeAuto)) {
+              && intersects(repetitionAuto, treeAuto)) {
               addBacktracking(BacktrackingType.ALWAYS_QUADRATIC);
             }
           }
@@ -195,13 +301,13 @@ public class RedosCheck extends AbstractRegexCheckTrackingMatchType {
     }
 
     private boolean subAutomatonCanConsume(SubAutomaton auto1, SubAutomaton auto2) {
-      return canReachWithoutConsumingInputNorCrossingBoundaries(auto1.end, auto2.end)
-        || intersectionChecker.check(auto1, auto2);
+      return reachableWithoutConsumingInputNorCrossingBoundaries(auto1.end, auto2.end)
+        || intersects(auto1, auto2);
     }
 
     private boolean automatonIsEmptyOrIntersects(SubAutomaton auto1, SubAutomaton auto2) {
-      return canReachWithoutConsumingInputNorCrossingBoundaries(auto1.start, auto1.end)
-        || intersectionChecker.check(auto1, auto2);
+      return reachableWithoutConsumingInputNorCrossingBoundaries(auto1.start, auto1.end)
+        || intersects(auto1, auto2);
     }
 
     private void addIfNonPossessive(RepetitionTree tree) {
@@ -217,7 +323,7 @@ public class RedosCheck extends AbstractRegexCheckTrackingMatchType {
      * When used for partial matches, a regex acts as if it had `(?s:.*)` attached to its beginning and end unless anchored.
      */
     private boolean overlapsWithImplicitMatchAlls(RepetitionTree tree) {
-      return isUsedForPartialMatch && canReachWithoutConsumingInputNorCrossingBoundaries(startOfRegex, tree);
+      return isUsedForPartialMatch && reachableWithoutConsumingInputNorCrossingBoundaries(startOfRegex, tree);
     }
 
     @Override
@@ -241,7 +347,7 @@ public class RedosCheck extends AbstractRegexCheckTrackingMatchType {
         succeedOnEnd = true;
         state = state.continuation();
       }
-      if ((succeedOnEnd && canReachWithoutConsumingInput(state, endOfRegex))) {
+      if ((succeedOnEnd && reachableWithoutConsumingInput(state, endOfRegex))) {
         canFailCache.put(state, false);
         return false;
       }
@@ -346,7 +452,7 @@ public class RedosCheck extends AbstractRegexCheckTrackingMatchType {
           AutomatonState state2 = alternatives.get(j);
           SubAutomaton auto1 = new SubAutomaton(state1, endOfLoop, false);
           SubAutomaton auto2 = new SubAutomaton(state2, endOfLoop, false);
-          if (intersectionChecker.check(auto1, auto2)) {
+          if (intersects(auto1, auto2)) {
             return true;
           }
         }
@@ -0,0 +1,124 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.checks.regex;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.annotation.CheckForNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.java.caching.FileHashingUtils;
+import org.sonar.plugins.java.api.caching.CacheContext;
+import org.sonarsource.analyzer.commons.regex.MatchType;
+import org.sonarsource.analyzer.commons.regex.RegexParseResult;
+
+/**
+ * Verdicts of {@link RedosCheck}, keyed by the text and flags of a regex and by how it is matched. A verdict only depends on
+ * this key, so it is computed once per analysis and, when caching is enabled, persisted to be reused by the next analyses.
+ * <p>
+ * Keys are shared by all the files of the analysis, so verdicts are kept in memory until its end: a key that was already written
+ * to or copied into the next cache is never persisted again, as the write cache rejects keys written multiple times.
+ */
+class RedosVerdictCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(RedosVerdictCache.class);
+
+  /**
+   * Version of the persisted verdicts, to be increased whenever the analysis or the format of the verdicts changes, so that the
+   * verdicts of previous versions are ignored.
+   */
+  private static final int FORMAT_VERSION = 2;
+  static final String CACHE_KEY_PREFIX = "java:S5852:verdict:v" + FORMAT_VERSION + ":";
+  private static final String SEPARATOR = ";";
+
+  private final Map<String, Verdict> verdicts = new HashMap<>();
+
+  record Verdict(RedosCheck.BacktrackingType backtrackingType, boolean containsBackReference) {
+
+    byte[] toBytes() {
+      return (backtrackingType.name() + SEPARATOR + containsBackReference).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @CheckForNull
+    static Verdict fromBytes(byte[] bytes) {
+      String[] parts = new String(bytes, StandardCharsets.UTF_8).split(SEPARATOR, -1);
+      if (parts.length != 2 || !("true".equals(parts[1]) || "false".equals(parts[1]))) {
+        return null;
+      }
+      try {
+        return new Verdict(RedosCheck.BacktrackingType.valueOf(parts[0]), Boolean.parseBoolean(parts[1]));
+      } catch (IllegalArgumentException e) {
+        return null;
+      }
+    }
+  }
+
+  Verdict computeIfAbsent(String key, CacheContext cacheContext, Supplier<Verdict> analysis) {
+    Verdict verdict = verdicts.get(key);
+    if (verdict != null) {
+      return verdict;
+    }
+    verdict = cacheContext.isCacheEnabled() ? fromPreviousAnalysis(key, cacheContext) : null;
+    if (verdict == null) {
+      verdict = analysis.get();
+      if (cacheContext.isCacheEnabled()) {
+        writeForNextAnalysis(key, verdict, cacheContext);
+      }
+    }
+    verdicts.put(key, verdict);
+    return verdict;
+  }
+
+  static String key(RegexParseResult regex, MatchType matchType, int automatonCheckBudget) {
+    String normalized = matchType + ":" + regex.getInitialFlags().getMask() + ":" + automatonCheckBudget + ":" + regex.getResult().getText();
+    try {
+      MessageDigest digest = MessageDigest.getInstance(FileHashingUtils.HASH_ALGORITHM);
+      return CACHE_KEY_PREFIX + HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @CheckForNull
+  private static Verdict fromPreviousAnalysis(String key, CacheContext cacheContext) {
+    byte[] bytes = cacheContext.getReadCache().readBytes(key);
+    Verdict verdict = bytes == null ? null : Verdict.fromBytes(bytes);
+    if (verdict == null) {
+      return null;
+    }
+    try {
+      cacheContext.getWriteCache().copyFromPrevious(key);
+    } catch (IllegalArgumentException e) {
+      LOG.trace("Failed to copy ReDoS verdict {} from previous cache: {}", key, e.getMessage());
+    }
+    return verdict;
+  }
+
+  private static void writeForNextAnalysis(String key, Verdict verdict, CacheContext cacheContext) {
+    try {
+      cacheContext.getWriteCache().write(key, verdict.toBytes());
+    } catch (IllegalArgumentException e) {
+      LOG.trace("Failed to write ReDoS verdict {} to cache: {}", key, e.getMessage());
+    }
+  }
+
+}
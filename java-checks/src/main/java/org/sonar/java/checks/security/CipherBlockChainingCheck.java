@@ -341,7 +341,7 @@ public class CipherBlockChainingCheck extends AbstractMethodDetection {
         initializerStream = Stream.of(methodInvocationTree);
       }
 
-      var reassignments = getReassignments(declaration, variableSymbol.usages())
+      var reassignments = getReassignments(variableSymbol)
         .stream()
         .map(assignmentExpressionTree -> assignmentExpressionTree.expression() instanceof MethodInvocationTree methodInvocationTree ? methodInvocationTree : null)
         .filter(Objects::nonNull);
@@ -40,8 +40,6 @@ import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.ModuleScannerContext;
 import org.sonar.plugins.java.api.caching.CacheContext;
-import org.sonar.plugins.java.api.caching.JavaReadCache;
-import org.sonar.plugins.java.api.caching.JavaWriteCache;
 import org.sonar.plugins.java.api.internal.EndOfAnalysis;
 import org.sonar.plugins.java.api.semantic.MethodMatchers;
 import org.sonar.plugins.java.api.tree.ExpressionTree;
@@ -127,6 +125,7 @@ public class ExcessiveContentRequestCheck extends IssuableSubscriptionVisitor im
   public static final String CACHE_KEY_CACHED = "java:S5693:cached";
   public static final String CACHE_KEY_INSTANTIATE = "java:S5693:instantiate";
   public static final String CACHE_KEY_SET_MAXIMUM_SIZE = "java:S5693:maximumSize";
+  private static final String CACHE_SECTION = "java:S5693";
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ExcessiveContentRequestCheck.class);
 
@@ -287,14 +286,8 @@ public class ExcessiveContentRequestCheck extends IssuableSubscriptionVisitor im
     return Optional.empty();
   }
 
-  private static String computeCacheKey(InputFile inputFile) {
-    return "java:S5693:" + inputFile.key();
-  }
-
   private static Optional<CachedResult> loadFromPreviousAnalysis(CacheContext cacheContext, InputFile inputFile) {
-    JavaReadCache readCache = cacheContext.getReadCache();
-    String cacheKey = computeCacheKey(inputFile);
-    byte[] rawValue = readCache.readBytes(cacheKey);
+    byte[] rawValue = cacheContext.getFileRecordCache().readSection(inputFile, CACHE_SECTION);
     if (rawValue == null) {
       return Optional.empty();
     }
@@ -307,9 +300,8 @@ public class ExcessiveContentRequestCheck extends IssuableSubscriptionVisitor im
   }
 
   private static void keepForNextAnalysis(CacheContext cacheContext, InputFile inputFile) {
-    JavaWriteCache writeCache = cacheContext.getWriteCache();
     try {
-      writeCache.copyFromPrevious(computeCacheKey(inputFile));
+      cacheContext.getFileRecordCache().copySectionFromPrevious(inputFile, CACHE_SECTION);
     } catch (IllegalArgumentException e) {
       String message = String.format("Failed to copy from previous cache for file %s", inputFile);
       LOGGER.trace(message);
@@ -318,9 +310,8 @@ public class ExcessiveContentRequestCheck extends IssuableSubscriptionVisitor im
   }
 
   private static void writeForNextAnalysis(CacheContext cacheContext, InputFile inputFile, boolean instantiates, boolean setsMaximumSize) {
-    JavaWriteCache writeCache = cacheContext.getWriteCache();
     try {
-      writeCache.write(computeCacheKey(inputFile), toBytes(new CachedResult(instantiates, setsMaximumSize)));
+      cacheContext.getFileRecordCache().writeSection(inputFile, CACHE_SECTION, toBytes(new CachedResult(instantiates, setsMaximumSize)));
     } catch (IllegalArgumentException e) {
       String message = String.format("Failed to write to cache for file %s", inputFile);
       LOGGER.trace(message);
@@ -67,7 +67,7 @@ public class SpringBeansShouldBeAccessibleCheck extends IssuableSubscriptionVisi
   private static final String COMPONENT_SCAN_ANNOTATION = "org.springframework.context.annotation.ComponentScan";
   private static final Set<String> COMPONENT_SCAN_ARGUMENTS = SetUtils.immutableSetOf("basePackages", "basePackageClasses", "value");
 
-  private static final String CACHE_KEY_PREFIX = "java:S4605:targeted:";
+  private static final String CACHE_SECTION = "java:S4605:targeted";
 
   /**
    * The key is the package name.
@@ -145,25 +145,23 @@ public class SpringBeansShouldBeAccessibleCheck extends IssuableSubscriptionVisi
     packagesScannedBySpringAtFileLevel.clear();
   }
 
-  private static String cacheKey(InputFile inputFile) {
-    return CACHE_KEY_PREFIX + inputFile.key();
-  }
-
   private static void writeToCache(InputFileScannerContext context, Collection<String> targetedPackages) {
-    var cacheKey = cacheKey(context.getInputFile());
+    InputFile inputFile = context.getInputFile();
     var data = String.join(";", targetedPackages).getBytes(StandardCharsets.UTF_8);
     try {
-      context.getCacheContext().getWriteCache().write(cacheKey, data);
+      context.getCacheContext().getFileRecordCache().writeSection(inputFile, CACHE_SECTION, data);
     } catch (IllegalArgumentException e) {
-      LOG.trace("Tried to write multiple times to cache key '{}'. Ignoring writes after the first.", cacheKey);
+      LOG.trace("Tried to write multiple times to cache section '{}' of file '{}'. Ignoring writes after the first.", CACHE_SECTION,
+        inputFile.key());
     }
   }
 
   private static Optional<List<String>> readFromCache(InputFileScannerContext context) {
-    var cacheKey = cacheKey(context.getInputFile());
-    var bytes = context.getCacheContext().getReadCache().readBytes(cacheKey);
+    InputFile inputFile = context.getInputFile();
+    var fileRecordCache = context.getCacheContext().getFileRecordCache();
+    var bytes = fileRecordCache.readSection(inputFile, CACHE_SECTION);
     if (bytes != null) {
-      context.getCacheContext().getWriteCache().copyFromPrevious(cacheKey);
+      fileRecordCache.copySectionFromPrevious(inputFile, CACHE_SECTION);
       return Optional.of(Arrays.asList(new String(bytes, StandardCharsets.UTF_8).split(";")));
     } else {
       return Optional.empty();
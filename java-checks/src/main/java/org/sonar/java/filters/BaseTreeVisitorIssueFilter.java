@@ -17,28 +17,23 @@
 package org.sonar.java.filters;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import javax.annotation.Nullable;
-import org.sonar.api.scan.issue.filter.FilterableIssue;
+import org.sonar.api.rule.RuleKey;
 import org.sonar.api.utils.AnnotationUtils;
 import org.sonar.check.Rule;
 import org.sonar.java.model.LineUtils;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
-import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
 import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.Tree;
 
-public abstract class BaseTreeVisitorIssueFilter extends BaseTreeVisitor implements JavaIssueFilter {
+public abstract class BaseTreeVisitorIssueFilter extends SubscriptionIssueFilter {
 
-  private String componentKey;
-  private final Map<String, Set<Integer>> excludedLinesByRule;
+  private final Map<String, LineRanges> excludedLinesByRule;
   private final Map<Class<? extends JavaCheck>, String> rulesKeysByRulesClass;
 
   protected BaseTreeVisitorIssueFilter() {
@@ -57,28 +52,35 @@ public abstract class BaseTreeVisitorIssueFilter extends BaseTreeVisitor impleme
     return results;
   }
 
-  public String getComponentKey() {
-    return componentKey;
-  }
-
   @Override
-  public void scanFile(JavaFileScannerContext context) {
-    componentKey = context.getInputFile().key();
+  public boolean startFile(JavaFileScannerContext context) {
     excludedLinesByRule.clear();
-    scan(context.getTree());
+    return super.startFile(context);
   }
 
   @Override
-  public boolean accept(FilterableIssue issue) {
-    return !(issue.componentKey().equals(componentKey) && excludedLinesByRule.getOrDefault(issue.ruleKey().rule(), new HashSet<>()).contains(issue.line()));
+  public boolean accept(String componentKey, RuleKey ruleKey, int line) {
+    if (!componentKey.equals(getComponentKey())) {
+      return true;
+    }
+    LineRanges excludedLines = excludedLinesByRule.get(ruleKey.rule());
+    return excludedLines == null || !excludedLines.contains(line);
   }
 
-  public Map<String, Set<Integer>> excludedLinesByRule() {
+  public Map<String, LineRanges> excludedLineRangesByRule() {
     return excludedLinesByRule;
   }
 
-  final void excludeLines(Set<Integer> lines, String ruleKey) {
-    computeFilteredLinesForRule(lines, ruleKey, true);
+  /**
+   * @return the excluded lines of each rule, expanded from {@link #excludedLineRangesByRule()}.
+   */
+  public Map<String, Set<Integer>> excludedLinesByRule() {
+    return excludedLinesByRule.entrySet().stream()
+      .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().lines()));
+  }
+
+  final void excludeLines(int startLine, int endLine, String ruleKey) {
+    computeFilteredLinesForRule(startLine, endLine, ruleKey, true);
   }
 
   final void excludeLines(@Nullable Tree tree, Class<? extends JavaCheck> rule) {
@@ -110,18 +112,18 @@ public abstract class BaseTreeVisitorIssueFilter extends BaseTreeVisitor impleme
     SyntaxToken firstSyntaxToken = tree.firstToken();
     SyntaxToken lastSyntaxToken = tree.lastToken();
     if (firstSyntaxToken != null && lastSyntaxToken != null) {
-      Set<Integer> filteredLines = IntStream.rangeClosed(LineUtils.startLine(firstSyntaxToken), LineUtils.startLine(lastSyntaxToken))
-        .boxed()
-        .collect(Collectors.toSet());
-      computeFilteredLinesForRule(filteredLines, ruleKey, excludeLine);
+      computeFilteredLinesForRule(LineUtils.startLine(firstSyntaxToken), LineUtils.startLine(lastSyntaxToken), ruleKey, excludeLine);
     }
   }
 
-  private void computeFilteredLinesForRule(Set<Integer> lines, String ruleKey, boolean excludeLine) {
+  private void computeFilteredLinesForRule(int startLine, int endLine, String ruleKey, boolean excludeLine) {
     if (excludeLine) {
-      excludedLinesByRule.computeIfAbsent(ruleKey, k -> new HashSet<>()).addAll(lines);
+      excludedLinesByRule.computeIfAbsent(ruleKey, k -> new LineRanges()).add(startLine, endLine);
     } else {
-      excludedLinesByRule.getOrDefault(ruleKey, Collections.emptySet()).removeAll(lines);
+      LineRanges excludedLines = excludedLinesByRule.get(ruleKey);
+      if (excludedLines != null) {
+        excludedLines.remove(startLine, endLine);
+      }
     }
   }
 }
@@ -16,11 +16,15 @@
  */
 package org.sonar.java.filters;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
+import org.sonar.java.ast.visitors.PublicApiChecker;
 import org.sonar.java.checks.ClassVariableVisibilityCheck;
 import org.sonar.java.checks.PublicStaticFieldShouldBeFinalCheck;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.Tree;
 
 public class EclipseI18NFilter extends BaseTreeVisitorIssueFilter {
 
@@ -31,6 +35,11 @@ public class EclipseI18NFilter extends BaseTreeVisitorIssueFilter {
       /* S1444 */ PublicStaticFieldShouldBeFinalCheck.class);
   }
 
+  @Override
+  public List<Tree.Kind> nodesToVisit() {
+    return Arrays.asList(PublicApiChecker.classKinds());
+  }
+
   @Override
   public void visitClass(ClassTree tree) {
     excludeLinesIfTrue(tree.symbol().type().isSubtypeOf("org.eclipse.osgi.util.NLS"), tree, PublicStaticFieldShouldBeFinalCheck.class, ClassVariableVisibilityCheck.class);
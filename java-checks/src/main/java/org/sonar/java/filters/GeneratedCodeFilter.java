@@ -16,13 +16,18 @@
  */
 package org.sonar.java.filters;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
+import org.sonar.java.ast.visitors.PublicApiChecker;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.semantic.SymbolMetadata.AnnotationInstance;
 import org.sonar.plugins.java.api.semantic.Type;
 import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.Tree;
+import org.sonarsource.analyzer.commons.collections.ListUtils;
 
 public class GeneratedCodeFilter extends AnyRuleIssueFilter {
 
@@ -33,13 +38,22 @@ public class GeneratedCodeFilter extends AnyRuleIssueFilter {
     "jakarta.annotation.processing.Generated"
   );
 
+  private static final List<Tree.Kind> NODES_TO_VISIT = ListUtils.concat(
+    Arrays.asList(PublicApiChecker.classKinds()),
+    Arrays.asList(PublicApiChecker.methodKinds()));
+
+  @Override
+  public List<Tree.Kind> nodesToVisit() {
+    return NODES_TO_VISIT;
+  }
+
   @Override
-  public void scanFile(JavaFileScannerContext context) {
+  public boolean startFile(JavaFileScannerContext context) {
     if (context.getSemanticModel() == null) {
       // Filter requires semantic
-      return;
+      return false;
     }
-    super.scanFile(context);
+    return super.startFile(context);
   }
 
   @Override
@@ -16,14 +16,17 @@
  */
 package org.sonar.java.filters;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import org.sonar.java.ast.visitors.PublicApiChecker;
 import org.sonar.java.checks.AbstractClassNoFieldShouldBeInterfaceCheck;
 import org.sonar.java.checks.EqualsNotOverriddenWithCompareToCheck;
 import org.sonar.java.checks.EqualsOverriddenWithHashCodeCheck;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.semantic.SymbolMetadata;
 import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.Tree;
 
 public class GoogleAutoFilter extends BaseTreeVisitorIssueFilter {
 
@@ -43,6 +46,11 @@ public class GoogleAutoFilter extends BaseTreeVisitorIssueFilter {
     return FILTERED_RULES;
   }
 
+  @Override
+  public List<Tree.Kind> nodesToVisit() {
+    return Arrays.asList(PublicApiChecker.classKinds());
+  }
+
   @Override
   public void visitClass(ClassTree tree) {
     SymbolMetadata classMetadata = tree.symbol().metadata();
@@ -17,6 +17,7 @@
 package org.sonar.java.filters;
 
 import java.util.Set;
+import org.sonar.api.rule.RuleKey;
 import org.sonar.api.scan.issue.filter.FilterableIssue;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScanner;
@@ -25,5 +26,13 @@ public interface JavaIssueFilter extends JavaFileScanner {
 
   boolean accept(FilterableIssue issue);
 
+  /**
+   * Tells, while a file is being analyzed, whether an issue of the given rule starting at the given line of the file would be accepted.
+   * Lets the issues which are going to be filtered out be dropped before their locations are computed. Accepts every issue by default.
+   */
+  default boolean accept(String componentKey, RuleKey ruleKey, int line) {
+    return true;
+  }
+
   Set<Class<? extends JavaCheck>> filteredRules();
 }
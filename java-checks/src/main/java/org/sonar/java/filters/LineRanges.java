@@ -0,0 +1,135 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.filters;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.annotation.Nullable;
+
+/**
+ * Set of lines stored as sorted, disjoint and non-adjacent ranges, so that excluding a large tree costs one range instead of
+ * one entry per line, and looking up a line is a binary search which does not allocate.
+ */
+public final class LineRanges {
+
+  private int[] starts = new int[4];
+  private int[] ends = new int[4];
+  private int size = 0;
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public void clear() {
+    size = 0;
+  }
+
+  public boolean contains(@Nullable Integer line) {
+    if (line == null) {
+      return false;
+    }
+    int index = lastRangeStartingAtOrBefore(line);
+    return index >= 0 && ends[index] >= line;
+  }
+
+  public void add(int startLine, int endLine) {
+    if (startLine > endLine) {
+      return;
+    }
+    // first range which overlaps or touches [startLine, endLine]
+    int first = lastRangeStartingAtOrBefore(startLine);
+    if (first < 0 || ends[first] < startLine - 1) {
+      first++;
+    }
+    // last range which overlaps or touches [startLine, endLine]
+    int last = lastRangeStartingAtOrBefore(endLine == Integer.MAX_VALUE ? endLine : (endLine + 1));
+    if (first <= last) {
+      startLine = Math.min(startLine, starts[first]);
+      endLine = Math.max(endLine, ends[last]);
+    }
+    replace(first, last, new int[] {startLine}, new int[] {endLine});
+  }
+
+  public void remove(int startLine, int endLine) {
+    if (startLine > endLine || size == 0) {
+      return;
+    }
+    int first = lastRangeStartingAtOrBefore(startLine);
+    if (first < 0 || ends[first] < startLine) {
+      first++;
+    }
+    int last = lastRangeStartingAtOrBefore(endLine);
+    if (first > last) {
+      return;
+    }
+    // keep the parts of the first and last ranges which are outside [startLine, endLine]
+    int[] keptStarts = new int[2];
+    int[] keptEnds = new int[2];
+    int kept = 0;
+    if (starts[first] < startLine) {
+      keptStarts[kept] = starts[first];
+      keptEnds[kept] = startLine - 1;
+      kept++;
+    }
+    if (ends[last] > endLine) {
+      keptStarts[kept] = endLine + 1;
+      keptEnds[kept] = ends[last];
+      kept++;
+    }
+    replace(first, last, Arrays.copyOf(keptStarts, kept), Arrays.copyOf(keptEnds, kept));
+  }
+
+  /**
+   * @return all the lines of these ranges. Expands the ranges, so it should only be used on small sets of lines.
+   */
+  public Set<Integer> lines() {
+    return IntStream.range(0, size)
+      .flatMap(i -> IntStream.rangeClosed(starts[i], ends[i]))
+      .boxed()
+      .collect(Collectors.toSet());
+  }
+
+  /**
+   * @return index of the last range starting at or before the given line, -1 if there is none.
+   */
+  private int lastRangeStartingAtOrBefore(int line) {
+    int index = Arrays.binarySearch(starts, 0, size, line);
+    return index >= 0 ? index : (-index - 2);
+  }
+
+  /**
+   * Replaces the ranges from index {@code first} to index {@code last} (both included, none when {@code last < first}) by the given ones.
+   */
+  private void replace(int first, int last, int[] newStarts, int[] newEnds) {
+    int removed = last - first + 1;
+    int newSize = size - removed + newStarts.length;
+    if (newSize > starts.length) {
+      int capacity = Math.max(newSize, starts.length * 2);
+      starts = Arrays.copyOf(starts, capacity);
+      ends = Arrays.copyOf(ends, capacity);
+    }
+    int tail = size - last - 1;
+    System.arraycopy(starts, last + 1, starts, first + newStarts.length, tail);
+    System.arraycopy(ends, last + 1, ends, first + newEnds.length, tail);
+    System.arraycopy(newStarts, 0, starts, first, newStarts.length);
+    System.arraycopy(newEnds, 0, ends, first, newEnds.length);
+    size = newSize;
+  }
+
+}
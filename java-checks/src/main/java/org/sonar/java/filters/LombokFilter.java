@@ -21,7 +21,9 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 import javax.annotation.Nullable;
+import org.sonar.java.ast.visitors.PublicApiChecker;
 import org.sonar.java.checks.AtLeastOneConstructorCheck;
 import org.sonar.java.checks.CollectionInappropriateCallsCheck;
 import org.sonar.java.checks.ConstantsShouldBeStaticFinalCheck;
@@ -111,11 +113,23 @@ public class LombokFilter extends BaseTreeVisitorIssueFilter {
 
   private static final List<String> NON_FINAL = Collections.singletonList("lombok.experimental.NonFinal");
 
+  private static final List<Tree.Kind> NODES_TO_VISIT = Stream.of(
+    Stream.of(PublicApiChecker.classKinds()),
+    Stream.of(Tree.Kind.IMPORT, Tree.Kind.VARIABLE, Tree.Kind.IDENTIFIER),
+    Stream.of(Tree.Kind.values()).filter(kind -> kind.getAssociatedInterface() == AssignmentExpressionTree.class))
+    .flatMap(kinds -> kinds)
+    .toList();
+
   @Override
   public Set<Class<? extends JavaCheck>> filteredRules() {
     return FILTERED_RULES;
   }
 
+  @Override
+  public List<Tree.Kind> nodesToVisit() {
+    return NODES_TO_VISIT;
+  }
+
   @Override
   public void visitImport(ImportTree tree) {
     String fullyQualifiedName = ExpressionsHelper.concatenate((ExpressionTree) tree.qualifiedIdentifier());
@@ -16,18 +16,36 @@
  */
 package org.sonar.java.filters;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import org.sonar.api.rule.RuleKey;
 import org.sonar.api.scan.issue.filter.FilterableIssue;
 import org.sonar.api.scan.issue.filter.IssueFilterChain;
 import org.sonar.java.annotations.VisibleForTesting;
+import org.sonar.java.ast.visitors.SubscriptionVisitor;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.internal.SyntaxOnly;
+import org.sonar.plugins.java.api.tree.Tree;
 
-public class PostAnalysisIssueFilter implements JavaFileScanner, SonarJavaIssueFilter {
+public class PostAnalysisIssueFilter implements JavaFileScanner, SonarJavaIssueFilter, SyntaxOnly {
 
   private List<JavaIssueFilter> issueFilters;
+  private SharedTraversal sharedTraversal;
+
+  /**
+   * @return a filter applying only the given filters, scanning files the same way as with the default filters.
+   */
+  @VisibleForTesting
+  static PostAnalysisIssueFilter of(JavaIssueFilter... filters) {
+    PostAnalysisIssueFilter postAnalysisIssueFilter = new PostAnalysisIssueFilter();
+    postAnalysisIssueFilter.issueFilters = List.of(filters);
+    return postAnalysisIssueFilter;
+  }
 
   @VisibleForTesting
   List<JavaIssueFilter> issueFilters() {
@@ -49,8 +67,85 @@ public class PostAnalysisIssueFilter implements JavaFileScanner, SonarJavaIssueF
       && chain.accept(issue);
   }
 
+  @Override
+  public boolean accept(String componentKey, RuleKey ruleKey, int line) {
+    for (JavaIssueFilter filter : issueFilters()) {
+      if (!filter.accept(componentKey, ruleKey, line)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Filters subscribing to some kinds of trees, see {@link SubscriptionIssueFilter}, are notified from a single traversal of the file.
+   * Other filters scan the file on their own.
+   */
   @Override
   public void scanFile(JavaFileScannerContext context) {
-    issueFilters().forEach(filter -> filter.scanFile(context));
+    if (sharedTraversal == null) {
+      sharedTraversal = new SharedTraversal();
+    }
+    List<SubscriptionIssueFilter> visitingFilters = new ArrayList<>();
+    for (JavaIssueFilter filter : issueFilters()) {
+      if (sharedTraversal.handles(filter)) {
+        SubscriptionIssueFilter subscriptionFilter = (SubscriptionIssueFilter) filter;
+        if (subscriptionFilter.startFile(context)) {
+          visitingFilters.add(subscriptionFilter);
+        }
+      } else {
+        filter.scanFile(context);
+      }
+    }
+    if (!visitingFilters.isEmpty()) {
+      sharedTraversal.scan(context, visitingFilters);
+      visitingFilters.forEach(SubscriptionIssueFilter::leaveFile);
+    }
+  }
+
+  private class SharedTraversal extends SubscriptionVisitor {
+
+    private final Map<Tree.Kind, List<SubscriptionIssueFilter>> filtersByKind = new EnumMap<>(Tree.Kind.class);
+    private List<SubscriptionIssueFilter> visitingFilters = Collections.emptyList();
+
+    SharedTraversal() {
+      for (JavaIssueFilter filter : issueFilters()) {
+        if (filter instanceof SubscriptionIssueFilter subscriptionFilter) {
+          subscriptionFilter.nodesToVisit().forEach(kind -> filtersByKind.computeIfAbsent(kind, k -> new ArrayList<>()).add(subscriptionFilter));
+        }
+      }
+    }
+
+    boolean handles(JavaIssueFilter filter) {
+      return filter instanceof SubscriptionIssueFilter subscriptionFilter && !subscriptionFilter.nodesToVisit().isEmpty();
+    }
+
+    void scan(JavaFileScannerContext context, List<SubscriptionIssueFilter> visitingFilters) {
+      Tree tree = context.getTree();
+      if (tree == null) {
+        return;
+      }
+      this.visitingFilters = visitingFilters;
+      try {
+        setContext(context);
+        scanTree(tree);
+      } finally {
+        this.visitingFilters = Collections.emptyList();
+      }
+    }
+
+    @Override
+    public List<Tree.Kind> nodesToVisit() {
+      return new ArrayList<>(filtersByKind.keySet());
+    }
+
+    @Override
+    public void visitNode(Tree tree) {
+      for (SubscriptionIssueFilter filter : filtersByKind.get(tree.kind())) {
+        if (visitingFilters.contains(filter)) {
+          filter.visitNode(tree);
+        }
+      }
+    }
   }
 }
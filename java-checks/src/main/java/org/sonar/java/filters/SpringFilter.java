@@ -16,8 +16,10 @@
  */
 package org.sonar.java.filters;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import org.sonar.java.ast.visitors.PublicApiChecker;
 import org.sonar.java.checks.AtLeastOneConstructorCheck;
 import org.sonar.java.checks.MethodOnlyCallsSuperCheck;
 import org.sonar.java.checks.OptionalAsParameterCheck;
@@ -66,6 +68,11 @@ public class SpringFilter extends BaseTreeVisitorIssueFilter {
       /* S3553 */ OptionalAsParameterCheck.class);
   }
 
+  @Override
+  public List<Tree.Kind> nodesToVisit() {
+    return Arrays.asList(PublicApiChecker.apiKinds());
+  }
+
   @Override
   public void visitClass(ClassTree tree) {
     excludeLinesIfTrue(isTransactional(tree), tree, MethodOnlyCallsSuperCheck.class);
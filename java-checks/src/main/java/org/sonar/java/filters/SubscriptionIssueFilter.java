@@ -0,0 +1,101 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.filters;
+
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.sonar.api.scan.issue.filter.FilterableIssue;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
+import org.sonar.plugins.java.api.tree.Tree;
+
+/**
+ * {@link JavaIssueFilter} which only needs to be notified of the trees of some kinds. Such filters share a single traversal of each file,
+ * see {@link PostAnalysisIssueFilter}, instead of each scanning the whole file.
+ * <p>
+ * When notified of a single tree, the filter visits this tree only: its children are notified separately.
+ */
+public abstract class SubscriptionIssueFilter extends BaseTreeVisitor implements JavaIssueFilter {
+
+  private String componentKey;
+  private boolean visitingSingleNode = false;
+
+  /**
+   * @return the key of the file being analyzed.
+   */
+  public String getComponentKey() {
+    return componentKey;
+  }
+
+  /**
+   * @return the kinds of the trees to notify to {@link #visitNode(Tree)}. Empty by default: the filter then scans the whole file on its
+   * own through {@link #scanFile(JavaFileScannerContext)}.
+   */
+  public List<Tree.Kind> nodesToVisit() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public void scanFile(JavaFileScannerContext context) {
+    if (startFile(context)) {
+      scan(context.getTree());
+      leaveFile();
+    }
+  }
+
+  /**
+   * Called before the traversal of a file, filters reset there what they computed for the previous file.
+   * @return false when the filter does not need to visit the file
+   */
+  public boolean startFile(JavaFileScannerContext context) {
+    componentKey = context.getInputFile().key();
+    return true;
+  }
+
+  /**
+   * Called for each tree of the kinds of {@link #nodesToVisit()}, in the order of a depth-first traversal of the file.
+   */
+  public void visitNode(Tree tree) {
+    visitingSingleNode = true;
+    try {
+      tree.accept(this);
+    } finally {
+      visitingSingleNode = false;
+    }
+  }
+
+  /**
+   * Called after the traversal of a file, when {@link #startFile(JavaFileScannerContext)} returned true.
+   */
+  public void leaveFile() {
+    // nothing to do by default
+  }
+
+  @Override
+  protected void scan(@Nullable Tree tree) {
+    if (!visitingSingleNode) {
+      super.scan(tree);
+    }
+  }
+
+  @Override
+  public boolean accept(FilterableIssue issue) {
+    Integer line = issue.line();
+    return line == null || accept(issue.componentKey(), issue.ruleKey(), line);
+  }
+}
@@ -17,23 +17,27 @@
 package org.sonar.java.filters;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
 import org.sonar.api.rule.RuleKey;
 import org.sonar.api.scan.issue.filter.FilterableIssue;
 import org.sonar.api.utils.AnnotationUtils;
 import org.sonar.check.Rule;
+import org.sonar.java.ast.visitors.PublicApiChecker;
 import org.sonar.java.checks.SuppressWarningsCheck;
+import org.sonar.java.checks.helpers.ExpressionsHelper;
 import org.sonar.java.model.LineUtils;
 import org.sonarsource.analyzer.commons.collections.MapBuilder;
 import org.sonarsource.analyzer.commons.collections.SetUtils;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.semantic.Type;
 import org.sonar.plugins.java.api.tree.AnnotationTree;
 import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.ExpressionTree;
@@ -41,6 +45,7 @@ import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.NewArrayTree;
 import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.TypeTree;
 import org.sonar.plugins.java.api.tree.VariableTree;
 
 public class SuppressWarningFilter extends BaseTreeVisitorIssueFilter {
@@ -73,10 +78,12 @@ public class SuppressWarningFilter extends BaseTreeVisitorIssueFilter {
         "java:S3985", "java:S2326", "java:S1144", "java:S1128", "java:S2583"))
       .build();
 
-  private final Map<String, Map<String, Set<Integer>>> excludedLinesByComponent = new HashMap<>();
+  private final Map<String, ExcludedLines> excludedLinesByComponent = new HashMap<>();
 
   private static final String SUPPRESS_WARNING_RULE_KEY = getSuppressWarningRuleKey();
 
+  private static final Set<String> SUPPRESS_WARNINGS_NAMES = Set.of("SuppressWarnings", "java.lang.SuppressWarnings");
+
   public static final String SQUID = "squid";
   private static final Map<String, RuleKey> DEPRECATED_RULE_KEYS = MapBuilder.<String, RuleKey>newMap()
     .put("S139", RuleKey.of(SQUID, "TrailingCommentCheck"))
@@ -140,35 +147,43 @@ public class SuppressWarningFilter extends BaseTreeVisitorIssueFilter {
   }
 
   @Override
-  public void scanFile(JavaFileScannerContext context) {
-    super.scanFile(context);
-    excludedLinesByComponent.put(getComponentKey(), new HashMap<>(excludedLinesByRule()));
+  public List<Tree.Kind> nodesToVisit() {
+    return Arrays.asList(PublicApiChecker.apiKinds());
+  }
+
+  @Override
+  public void leaveFile() {
+    excludedLinesByComponent.put(getComponentKey(), ExcludedLines.of(excludedLineRangesByRule()));
   }
 
   @Override
   public boolean accept(FilterableIssue issue) {
-    return !issueShouldNotBeReported(issue, excludedLinesByComponent.getOrDefault(issue.componentKey(), Collections.emptyMap()));
+    Integer line = issue.line();
+    return line == null || accept(issue.componentKey(), issue.ruleKey(), line);
   }
 
-  private static boolean issueShouldNotBeReported(FilterableIssue issue, Map<String, Set<Integer>> excludedLineByRule) {
-    RuleKey issueRuleKey = issue.ruleKey();
-    return excludedLineByRule.entrySet().stream().anyMatch(excludedRule -> {
-      String suppressedWarning = excludedRule.getKey();
-      return ("all".equals(suppressedWarning) || isRuleKey(suppressedWarning, issueRuleKey))
-        && !isSuppressWarningRule(issueRuleKey)
-        && excludedRule.getValue().contains(issue.line());
-    });
+  @Override
+  public boolean accept(String componentKey, RuleKey ruleKey, int line) {
+    return !issueShouldNotBeReported(ruleKey, line, excludedLinesByComponent.getOrDefault(componentKey, ExcludedLines.NONE));
   }
 
-  private static boolean isRuleKey(String rule, RuleKey ruleKey) {
+  private static boolean issueShouldNotBeReported(RuleKey issueRuleKey, int line, ExcludedLines excludedLines) {
+    if (isSuppressWarningRule(issueRuleKey)) {
+      return false;
+    }
+    return excludedLines.allRules().contains(line)
+      || excludedLines.contains(issueRuleKey, line)
+      || excludedLines.contains(RuleKey.of(SQUID, issueRuleKey.rule()), line)
+      || excludedLines.contains(DEPRECATED_RULE_KEYS.get(issueRuleKey.rule()), line);
+  }
+
+  @CheckForNull
+  private static RuleKey parseRuleKey(String rule) {
     try {
       // format of the rules requires a repository: "repo:key"
-      RuleKey parsed = RuleKey.parse(rule);
-      RuleKey deprecatedRuleKey = DEPRECATED_RULE_KEYS.get(ruleKey.rule());
-      RuleKey squidRuleKey = RuleKey.of(SQUID, ruleKey.rule());
-      return ruleKey.equals(parsed) || squidRuleKey.equals(parsed) || parsed.equals(deprecatedRuleKey);
+      return RuleKey.parse(rule);
     } catch (IllegalArgumentException e) {
-      return false;
+      return null;
     }
   }
 
@@ -207,9 +222,8 @@ public class SuppressWarningFilter extends BaseTreeVisitorIssueFilter {
 
     if (startLine != -1) {
       int endLine = LineUtils.startLine(tree.lastToken());
-      Set<Integer> filteredlines = IntStream.rangeClosed(startLine, endLine).boxed().collect(Collectors.toSet());
       for (String rule : rules) {
-        excludeLines(filteredlines, rule);
+        excludeLines(startLine, endLine, rule);
       }
     }
   }
@@ -224,7 +238,16 @@ public class SuppressWarningFilter extends BaseTreeVisitorIssueFilter {
   }
 
   private static boolean isSuppressWarningsAnnotation(AnnotationTree annotationTree) {
-    return annotationTree.annotationType().symbolType().is("java.lang.SuppressWarnings") && !annotationTree.arguments().isEmpty();
+    return isSuppressWarningsType(annotationTree.annotationType()) && !annotationTree.arguments().isEmpty();
+  }
+
+  private static boolean isSuppressWarningsType(TypeTree annotationType) {
+    Type type = annotationType.symbolType();
+    if (type.isUnknown() && annotationType instanceof ExpressionTree expressionTree) {
+      // without semantic model, e.g. when only syntactic rules are active, rely on the name of the annotation
+      return SUPPRESS_WARNINGS_NAMES.contains(ExpressionsHelper.concatenate(expressionTree));
+    }
+    return type.is("java.lang.SuppressWarnings");
   }
 
   private static List<String> getRules(AnnotationTree annotationTree) {
@@ -248,4 +271,29 @@ public class SuppressWarningFilter extends BaseTreeVisitorIssueFilter {
     }
     return args;
   }
+
+  /**
+   * Excluded lines of a file, with the suppressed warnings parsed as rule keys once per file rather than once per issue.
+   * Suppressed warnings which are neither "all" nor rule keys cannot match any issue and are dropped.
+   */
+  private record ExcludedLines(LineRanges allRules, Map<RuleKey, LineRanges> linesByRuleKey) {
+
+    static final ExcludedLines NONE = new ExcludedLines(new LineRanges(), Collections.emptyMap());
+
+    static ExcludedLines of(Map<String, LineRanges> linesBySuppressedWarning) {
+      Map<RuleKey, LineRanges> linesByRuleKey = new HashMap<>();
+      linesBySuppressedWarning.forEach((suppressedWarning, lines) -> {
+        RuleKey ruleKey = parseRuleKey(suppressedWarning);
+        if (ruleKey != null) {
+          linesByRuleKey.put(ruleKey, lines);
+        }
+      });
+      return new ExcludedLines(linesBySuppressedWarning.getOrDefault("all", NONE.allRules), linesByRuleKey);
+    }
+
+    boolean contains(@Nullable RuleKey ruleKey, int line) {
+      LineRanges lines = ruleKey == null ? null : linesByRuleKey.get(ruleKey);
+      return lines != null && lines.contains(line);
+    }
+  }
 }
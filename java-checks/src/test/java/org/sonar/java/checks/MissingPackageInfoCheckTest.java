@@ -158,7 +158,7 @@ class MissingPackageInfoCheckTest {
     verifier.verifyNoIssues();
     verifier.verifyNoIssues();
     assertThat(logTester.logs(Level.TRACE))
-      .anyMatch(msg -> msg.matches("Could not store data to cache key '[^']+': .+"));
+      .anyMatch(msg -> msg.matches("Could not store data to cache section '[^']+' of file '[^']+': .+"));
   }
 
   @Test
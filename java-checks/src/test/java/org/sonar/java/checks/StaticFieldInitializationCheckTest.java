@@ -19,6 +19,8 @@ package org.sonar.java.checks;
 import org.junit.jupiter.api.Test;
 import org.sonar.java.checks.verifier.CheckVerifier;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 class StaticFieldInitializationCheckTest {
   @Test
   void test() {
@@ -27,4 +29,10 @@ class StaticFieldInitializationCheckTest {
       .withCheck(new StaticFieldInitializationCheck())
       .verifyIssues();
   }
+
+  @Test
+  void lock_invocations_are_not_filtered_out_by_the_method_matchers_index() {
+    // the lock invocations are matched in visitNode, not by the matchers of the rule: all the invocations must reach it
+    assertThat(new StaticFieldInitializationCheck().methodMatchers()).isNull();
+  }
 }
@@ -182,7 +182,7 @@ class UselessPackageInfoCheckTest {
     verifier.verifyNoIssues();
     verifier.verifyNoIssues();
     assertThat(logTester.logs(Level.TRACE))
-      .anyMatch(msg -> msg.matches("Could not store data to cache key '[^']+': .+"));
+      .anyMatch(msg -> msg.matches("Could not store data to cache section '[^']+' of file '[^']+': .+"));
   }
 
   @Test
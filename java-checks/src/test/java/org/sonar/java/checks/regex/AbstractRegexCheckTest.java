@@ -16,6 +16,7 @@
  */
 package org.sonar.java.checks.regex;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -231,6 +232,53 @@ class AbstractRegexCheckTest {
       .verifyIssues();
   }
 
+  @Test
+  void regexes_are_found_once_for_all_regex_rules() {
+    RegexRecorder first = new RegexRecorder();
+    RegexRecorder second = new RegexRecorder();
+    CheckVerifier.newVerifier()
+      .onFile(mainCodeSourcesPath("checks/regex/AbstractRegexCheckSample.java"))
+      .withChecks(first, second)
+      .verifyNoIssues();
+
+    assertThat(first.results).isNotEmpty();
+    assertThat(second.results).hasSameSizeAs(first.results);
+    for (int i = 0; i < first.results.size(); i++) {
+      assertThat(second.results.get(i)).isSameAs(first.results.get(i));
+    }
+  }
+
+  @Test
+  void regexes_are_found_with_the_regex_expression_of_each_rule() {
+    RegexRecorder defaultRule = new RegexRecorder();
+    RegexRecorder ruleWithoutRegexExpression = new RegexRecorderWithoutRegexExpression();
+    CheckVerifier.newVerifier()
+      .onFile(mainCodeSourcesPath("checks/regex/AbstractRegexCheckSample.java"))
+      .withChecks(ruleWithoutRegexExpression, defaultRule)
+      .verifyNoIssues();
+
+    assertThat(ruleWithoutRegexExpression.results).isEmpty();
+    assertThat(defaultRule.results).isNotEmpty();
+  }
+
+  @Rule(key = "S001")
+  private static class RegexRecorder extends AbstractRegexCheck {
+    private final List<RegexParseResult> results = new ArrayList<>();
+
+    @Override
+    public void checkRegex(RegexParseResult regexForLiterals, ExpressionTree methodInvocationOrAnnotation) {
+      results.add(regexForLiterals);
+    }
+  }
+
+  @Rule(key = "S002")
+  private static class RegexRecorderWithoutRegexExpression extends RegexRecorder {
+    @Override
+    protected ExpressionTree getRegexLiteralExpression(ExpressionTree methodInvocationOrAnnotation) {
+      return null;
+    }
+  }
+
   private static TestCase getArg(String expression, String... preStatements) {
     CompilationUnitTree cut = JParserTestUtils.parse(String.format(JAVA_CODE, Arrays.stream(preStatements).collect(Collectors.joining("\n")), expression));
     ClassTree a = (ClassTree) cut.types().get(0);
@@ -16,13 +16,28 @@
  */
 package org.sonar.java.checks.regex;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.event.Level;
+import org.sonar.api.testfixtures.log.LogTesterJUnit5;
+import org.sonar.java.checks.regex.RedosCheck.BacktrackingType;
+import org.sonar.java.checks.regex.RedosVerdictCache.Verdict;
 import org.sonar.java.checks.verifier.CheckVerifier;
+import org.sonar.java.checks.verifier.internal.InternalReadCache;
+import org.sonar.java.checks.verifier.internal.InternalWriteCache;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.sonar.java.checks.verifier.TestUtils.mainCodeSourcesPath;
 
 class RedosCheckTest {
 
+  @RegisterExtension
+  public final LogTesterJUnit5 logTester = new LogTesterJUnit5().setLevel(Level.DEBUG);
+
   @Test
   void test_java_version_unset() {
     CheckVerifier.newVerifier()
@@ -49,4 +64,119 @@ class RedosCheckTest {
       .verifyIssues();
   }
 
+  @Test
+  void no_issue_when_the_automaton_check_budget_is_exhausted() {
+    CheckVerifier.newVerifier()
+      .onFile(mainCodeSourcesPath("checks/regex/RedosCheckSample.java"))
+      .withCheck(new RedosCheck(0))
+      .verifyNoIssues();
+  }
+
+  @Test
+  void verdicts_are_written_to_the_cache_and_reused_by_the_next_analysis() {
+    InternalReadCache emptyCache = new InternalReadCache();
+    InternalWriteCache firstWriteCache = new InternalWriteCache().bind(emptyCache);
+    CheckVerifier.newVerifier()
+      .onFile(mainCodeSourcesPath("checks/regex/RedosCheckSample.java"))
+      .withCheck(new RedosCheck())
+      .withCache(emptyCache, firstWriteCache)
+      .verifyIssues();
+    Map<String, byte[]> verdicts = verdicts(firstWriteCache);
+    assertThat(verdicts).isNotEmpty();
+
+    InternalReadCache previousCache = new InternalReadCache().putAll(firstWriteCache);
+    InternalWriteCache secondWriteCache = new InternalWriteCache().bind(previousCache);
+    CheckVerifier.newVerifier()
+      .onFile(mainCodeSourcesPath("checks/regex/RedosCheckSample.java"))
+      .withCheck(new RedosCheck())
+      .withCache(previousCache, secondWriteCache)
+      .verifyIssues();
+    assertThat(verdicts(secondWriteCache)).containsOnlyKeys(verdicts.keySet());
+  }
+
+  @Test
+  void cached_verdicts_are_not_recomputed() {
+    InternalReadCache emptyCache = new InternalReadCache();
+    InternalWriteCache writeCache = new InternalWriteCache().bind(emptyCache);
+    CheckVerifier.newVerifier()
+      .onFile(mainCodeSourcesPath("checks/regex/RedosCheckSample.java"))
+      .withCheck(new RedosCheck())
+      .withCache(emptyCache, writeCache)
+      .verifyIssues();
+
+    InternalReadCache previousCache = new InternalReadCache();
+    byte[] noIssue = new Verdict(BacktrackingType.NO_ISSUE, false).toBytes();
+    verdicts(writeCache).keySet().forEach(key -> previousCache.put(key, noIssue));
+    CheckVerifier.newVerifier()
+      .onFile(mainCodeSourcesPath("checks/regex/RedosCheckSample.java"))
+      .withCheck(new RedosCheck())
+      .withCache(previousCache, new InternalWriteCache().bind(previousCache))
+      .verifyNoIssues();
+  }
+
+  @Test
+  void verdicts_of_regexes_shared_by_several_files_are_persisted_once() {
+    logTester.setLevel(Level.TRACE);
+    List<String> files = List.of(
+      mainCodeSourcesPath("checks/regex/RedosCheckSharedRegexA.java"),
+      mainCodeSourcesPath("checks/regex/RedosCheckSharedRegexB.java"));
+    InternalReadCache emptyCache = new InternalReadCache();
+    InternalWriteCache firstWriteCache = new InternalWriteCache().bind(emptyCache);
+    CheckVerifier.newVerifier()
+      .onFiles(files)
+      .withCheck(new RedosCheck())
+      .withCache(emptyCache, firstWriteCache)
+      .verifyIssues();
+    assertThat(verdicts(firstWriteCache)).hasSize(3);
+
+    InternalReadCache previousCache = new InternalReadCache().putAll(firstWriteCache);
+    InternalWriteCache secondWriteCache = new InternalWriteCache().bind(previousCache);
+    CheckVerifier.newVerifier()
+      .onFiles(files)
+      .withCheck(new RedosCheck())
+      .withCache(previousCache, secondWriteCache)
+      .verifyIssues();
+    assertThat(verdicts(secondWriteCache)).containsOnlyKeys(verdicts(firstWriteCache).keySet());
+
+    assertThat(logTester.logs(Level.TRACE)).noneMatch(log -> log.startsWith("Failed to write ReDoS verdict")
+      || log.startsWith("Failed to copy ReDoS verdict"));
+  }
+
+  @Test
+  void unreadable_cached_verdicts_are_ignored() {
+    assertThat(Verdict.fromBytes(new byte[] {1})).isNull();
+    assertThat(Verdict.fromBytes(new byte[] {42, 0})).isNull();
+    assertThat(Verdict.fromBytes(bytes("UNKNOWN_TYPE;false"))).isNull();
+    assertThat(Verdict.fromBytes(bytes("NO_ISSUE;maybe"))).isNull();
+    assertThat(Verdict.fromBytes(bytes("NO_ISSUE;false;extra"))).isNull();
+    assertThat(Verdict.fromBytes(new Verdict(BacktrackingType.INCONCLUSIVE, true).toBytes()))
+      .isEqualTo(new Verdict(BacktrackingType.INCONCLUSIVE, true));
+  }
+
+  @Test
+  void verdicts_are_persisted_by_name_under_a_versioned_key() {
+    assertThat(new Verdict(BacktrackingType.ALWAYS_QUADRATIC, false).toBytes()).isEqualTo(bytes("ALWAYS_QUADRATIC;false"));
+    assertThat(RedosVerdictCache.CACHE_KEY_PREFIX).isEqualTo("java:S5852:verdict:v2:");
+  }
+
+  @Test
+  void inconclusive_verdicts_are_logged() {
+    CheckVerifier.newVerifier()
+      .onFile(mainCodeSourcesPath("checks/regex/RedosCheckSample.java"))
+      .withCheck(new RedosCheck(0))
+      .verifyNoIssues();
+    assertThat(logTester.logs(Level.DEBUG))
+      .anyMatch(log -> log.startsWith("No ReDoS issue raised for the regex at ") && log.endsWith("needs more than 0 automaton checks."));
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static Map<String, byte[]> verdicts(InternalWriteCache writeCache) {
+    return writeCache.getData().entrySet().stream()
+      .filter(entry -> entry.getKey().startsWith(RedosVerdictCache.CACHE_KEY_PREFIX))
+      .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+  }
+
 }
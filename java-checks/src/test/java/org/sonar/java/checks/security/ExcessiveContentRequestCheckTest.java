@@ -87,6 +87,10 @@ class ExcessiveContentRequestCheckTest {
       return "java:S5693:" + InternalInputFile.inputFile("", new File(path)).key();
     }
 
+    String computeRecordKey(String path) {
+      return "java:fileRecord:" + InternalInputFile.inputFile("", new File(path)).key();
+    }
+
     @Test
     void no_issue_raised_on_unchanged_files_with_empty_cache() throws IOException, NoSuchAlgorithmException {
       logTester.setLevel(Level.TRACE);
@@ -187,6 +191,34 @@ class ExcessiveContentRequestCheckTest {
       assertThat(writeCache.getData()).containsAllEntriesOf(expectedFinalCacheState);
     }
 
+    @Test
+    void no_issue_raised_when_all_results_are_cached_in_records_per_file() {
+      CheckVerifier.newVerifier()
+        .addFiles(InputFile.Status.CHANGED, unsafeSourceFile, safeSourceFile, sanitizerSourceFile)
+        .withCheck(new ExcessiveContentRequestCheck())
+        .withCache(readCache, writeCache)
+        .withRecordPerFileCache()
+        .verifyNoIssues();
+
+      assertThat(writeCache.getData())
+        .containsKeys(computeRecordKey(unsafeSourceFile), computeRecordKey(safeSourceFile), computeRecordKey(sanitizerSourceFile))
+        .doesNotContainKeys(computeCacheKey(unsafeSourceFile), computeCacheKey(safeSourceFile), computeCacheKey(sanitizerSourceFile));
+
+      InternalReadCache nextReadCache = new InternalReadCache().putAll(writeCache);
+      InternalWriteCache nextWriteCache = new InternalWriteCache().bind(nextReadCache);
+      var check = spy(new ExcessiveContentRequestCheck());
+      CheckVerifier.newVerifier()
+        .addFiles(InputFile.Status.SAME, unsafeSourceFile, safeSourceFile, sanitizerSourceFile)
+        .withCheck(check)
+        .withCache(nextReadCache, nextWriteCache)
+        .withRecordPerFileCache()
+        .verifyNoIssues();
+
+      verify(check, times(3)).scanWithoutParsing(any());
+      verify(check, never()).leaveFile(any());
+      assertThat(nextWriteCache.getData()).containsAllEntriesOf(writeCache.getData());
+    }
+
     @Test
     void log_when_failing_to_write_to_cache() {
 
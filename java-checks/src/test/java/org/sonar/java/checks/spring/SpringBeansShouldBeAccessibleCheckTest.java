@@ -247,7 +247,7 @@ class SpringBeansShouldBeAccessibleCheckTest {
     verifier.verifyNoIssues();
 
     assertThat(logTester.logs(Level.TRACE).stream().filter(
-      msg -> msg.matches("Tried to write multiple times to cache key '[^']+'\\. Ignoring writes after the first\\.")
+      msg -> msg.matches("Tried to write multiple times to cache section '[^']+' of file '[^']+'\\. Ignoring writes after the first\\.")
     )).hasSize(1);
   }
 
@@ -67,7 +67,8 @@ public class FilterVerifier {
   public void verify(String filename, JavaIssueFilter filter, JavaCheck... extraJavaChecks) {
     IssueCollector issueCollector = new IssueCollector();
     List<JavaCheck> visitors = new ArrayList<>();
-    visitors.add(filter);
+    // scan the file the way the filter is applied during an analysis
+    visitors.add(PostAnalysisIssueFilter.of(filter));
     visitors.add(issueCollector);
 
     // instantiate the rules filtered by the filter
@@ -101,6 +102,13 @@ public class FilterVerifier {
       when(issue.componentKey()).thenReturn(inputFile.key());
       when(issue.line()).thenReturn(issueLine);
 
+      if (issueLine != null) {
+        // issues rejected by the filter are dropped as soon as they are reported, based on the same decision
+        assertThat(filter.accept(inputFile.key(), issue.ruleKey(), issueLine))
+          .overridingErrorMessage("Line #" + issueLine + ": the filter takes a different decision for issue of rule '" + ruleKey + "' while the file is analyzed!")
+          .isEqualTo(filter.accept(issue));
+      }
+
       if (issueCollector.rejectedIssuesLines.contains(issueLine)) {
         assertThat(filter.accept(issue))
           .overridingErrorMessage("Line #" + issueLine + " has been marked with 'NoIssue' but issue of rule '" + ruleKey + "' has been accepted!")
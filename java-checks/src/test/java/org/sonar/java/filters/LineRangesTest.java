@@ -0,0 +1,86 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.filters;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LineRangesTest {
+
+  @Test
+  void empty_ranges_contain_no_line() {
+    LineRanges ranges = new LineRanges();
+    assertThat(ranges.isEmpty()).isTrue();
+    assertThat(ranges.contains(1)).isFalse();
+    assertThat(ranges.contains(null)).isFalse();
+    assertThat(ranges.lines()).isEmpty();
+  }
+
+  @Test
+  void overlapping_and_adjacent_ranges_are_merged() {
+    LineRanges ranges = new LineRanges();
+    ranges.add(10, 12);
+    ranges.add(1, 3);
+    ranges.add(20, 25);
+    ranges.add(4, 5);
+    ranges.add(11, 21);
+    ranges.add(7, 6);
+
+    assertThat(ranges.lines()).containsExactlyInAnyOrder(1, 2, 3, 4, 5, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, 24, 25);
+    assertThat(ranges.contains(5)).isTrue();
+    assertThat(ranges.contains(6)).isFalse();
+    assertThat(ranges.contains(9)).isFalse();
+    assertThat(ranges.contains(25)).isTrue();
+    assertThat(ranges.contains(26)).isFalse();
+  }
+
+  @Test
+  void removed_lines_split_ranges() {
+    LineRanges ranges = new LineRanges();
+    ranges.add(1, 10);
+    ranges.add(20, 30);
+    ranges.remove(5, 6);
+    ranges.remove(9, 22);
+    ranges.remove(40, 50);
+    ranges.remove(3, 2);
+
+    assertThat(ranges.lines()).containsExactlyInAnyOrder(1, 2, 3, 4, 7, 8, 23, 24, 25, 26, 27, 28, 29, 30);
+
+    ranges.remove(0, 100);
+    assertThat(ranges.isEmpty()).isTrue();
+  }
+
+  @Test
+  void many_ranges() {
+    LineRanges ranges = new LineRanges();
+    for (int line = 1_000; line > 0; line -= 2) {
+      ranges.add(line, line);
+    }
+    assertThat(ranges.contains(1_000)).isTrue();
+    assertThat(ranges.contains(999)).isFalse();
+    assertThat(ranges.lines()).hasSize(500);
+
+    ranges.add(1, 1_000);
+    assertThat(ranges.lines()).hasSize(1_000);
+
+    ranges.clear();
+    assertThat(ranges.isEmpty()).isTrue();
+    assertThat(ranges.contains(1)).isFalse();
+  }
+
+}
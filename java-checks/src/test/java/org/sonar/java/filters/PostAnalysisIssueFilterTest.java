@@ -16,8 +16,10 @@
  */
 package org.sonar.java.filters;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
@@ -27,12 +29,20 @@ import org.sonar.api.scan.issue.filter.FilterableIssue;
 import org.sonar.api.scan.issue.filter.IssueFilterChain;
 import org.sonar.java.checks.verifier.TestUtils;
 import org.sonar.java.model.InternalSyntaxToken;
+import org.sonar.java.model.JParserTestUtils;
+import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.semantic.Sema;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.Tree;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -103,10 +113,93 @@ class PostAnalysisIssueFilterTest {
     assertThat(postAnalysisIssueFilter.accept(fakeIssue, chain)).isFalse();
   }
 
+  @Test
+  void issues_of_the_file_being_analyzed_are_rejected_if_a_filter_rejects_them() {
+    postAnalysisIssueFilter.scanFile(context);
+
+    InternalSyntaxToken fakeToken = new InternalSyntaxToken(42, 0, "fake_token", Collections.emptyList(), false);
+    GeneratedCodeFilter filter = (GeneratedCodeFilter) postAnalysisIssueFilter.issueFilters().get(4);
+    filter.excludeLines(fakeToken);
+
+    RuleKey ruleKey = RuleKey.of("java", "S1234");
+    assertThat(postAnalysisIssueFilter.accept(INPUT_FILE.key(), ruleKey, 42)).isFalse();
+    assertThat(postAnalysisIssueFilter.accept(INPUT_FILE.key(), ruleKey, 41)).isTrue();
+    assertThat(postAnalysisIssueFilter.accept("other", ruleKey, 42)).isTrue();
+  }
+
   @Test
   void issue_filter_should_scan_file_with_all_filters() {
     postAnalysisIssueFilter.scanFile(context);
     verify(context, times(6)).getInputFile();
   }
 
+  @Test
+  void subscription_filters_are_notified_from_a_single_traversal() {
+    CompilationUnitTree tree = JParserTestUtils.parse("""
+      class A {
+        void m() {
+          class B {
+            void n() {}
+          }
+        }
+        A() {}
+      }
+      """);
+    when(context.getTree()).thenReturn(tree);
+    MethodRecorder subscriptionFilter = new MethodRecorder(List.of(Tree.Kind.METHOD));
+    MethodRecorder scanningFilter = new MethodRecorder(Collections.emptyList());
+
+    PostAnalysisIssueFilter.of(subscriptionFilter, scanningFilter).scanFile(context);
+
+    assertThat(subscriptionFilter.visitedMethods).containsExactly("m", "n");
+    assertThat(subscriptionFilter.leftFiles).isEqualTo(1);
+    assertThat(scanningFilter.visitedMethods).containsExactly("m", "n", "<init>");
+    assertThat(scanningFilter.leftFiles).isEqualTo(1);
+  }
+
+  @Test
+  void subscription_filters_not_starting_a_file_are_not_notified() {
+    CompilationUnitTree tree = JParserTestUtils.parse("class A { void m() {} }");
+    when(context.getTree()).thenReturn(tree);
+    when(context.getSemanticModel()).thenReturn(null);
+    GeneratedCodeFilter generatedCodeFilter = spy(new GeneratedCodeFilter());
+
+    PostAnalysisIssueFilter.of(generatedCodeFilter).scanFile(context);
+
+    verify(generatedCodeFilter, never()).visitNode(any());
+    verify(generatedCodeFilter, never()).leaveFile();
+  }
+
+  private static class MethodRecorder extends BaseTreeVisitorIssueFilter {
+
+    private final List<Tree.Kind> nodesToVisit;
+    private final List<String> visitedMethods = new ArrayList<>();
+    private int leftFiles = 0;
+
+    MethodRecorder(List<Tree.Kind> nodesToVisit) {
+      this.nodesToVisit = nodesToVisit;
+    }
+
+    @Override
+    public Set<Class<? extends JavaCheck>> filteredRules() {
+      return Collections.emptySet();
+    }
+
+    @Override
+    public List<Tree.Kind> nodesToVisit() {
+      return nodesToVisit;
+    }
+
+    @Override
+    public void visitMethod(MethodTree tree) {
+      visitedMethods.add(tree.symbol().name());
+      super.visitMethod(tree);
+    }
+
+    @Override
+    public void leaveFile() {
+      leftFiles++;
+    }
+  }
+
 }
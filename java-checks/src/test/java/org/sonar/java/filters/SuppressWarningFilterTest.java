@@ -16,7 +16,11 @@
  */
 package org.sonar.java.filters;
 
+import java.util.Set;
 import org.junit.jupiter.api.Test;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.TestInputFileBuilder;
+import org.sonar.api.rule.RuleKey;
 import org.sonar.java.checks.BoxedBooleanExpressionsCheck;
 import org.sonar.java.checks.CallToDeprecatedCodeMarkedForRemovalCheck;
 import org.sonar.java.checks.CallToDeprecatedMethodCheck;
@@ -48,6 +52,13 @@ import org.sonar.java.checks.unused.UnusedPrivateClassCheck;
 import org.sonar.java.checks.unused.UnusedPrivateFieldCheck;
 import org.sonar.java.checks.unused.UnusedPrivateMethodCheck;
 import org.sonar.java.checks.unused.UnusedTypeParameterCheck;
+import org.sonar.java.model.JParserTestUtils;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class SuppressWarningFilterTest {
   /**
@@ -115,4 +126,63 @@ class SuppressWarningFilterTest {
     );
   }
 
+  @Test
+  void suppress_warnings_annotations_are_recognized_by_name_without_semantic() {
+    CompilationUnitTree tree = JParserTestUtils.parseSyntaxOnly("""
+      class A {
+        @SuppressWarnings("java:S115")
+        int a;
+        @java.lang.SuppressWarnings("java:S116")
+        int b;
+        @Other("java:S117")
+        int c;
+      }
+      """);
+    JavaFileScannerContext context = mock(JavaFileScannerContext.class);
+    when(context.getInputFile()).thenReturn(new TestInputFileBuilder("module", "A.java").build());
+    when(context.getTree()).thenReturn(tree);
+
+    SuppressWarningFilter filter = new SuppressWarningFilter();
+    filter.scanFile(context);
+
+    assertThat(filter.excludedLinesByRule())
+      .containsOnlyKeys("java:S115", "java:S116")
+      .containsEntry("java:S115", Set.of(2, 3))
+      .containsEntry("java:S116", Set.of(4, 5));
+  }
+
+  @Test
+  void issues_are_matched_against_the_rule_keys_of_the_suppressed_warnings() {
+    CompilationUnitTree tree = JParserTestUtils.parseSyntaxOnly("""
+      class A {
+        @SuppressWarnings("squid:S00115")
+        int a;
+        @SuppressWarnings({"squid:S116", "not a rule key"})
+        int b;
+        @SuppressWarnings("all")
+        int c;
+      }
+      """);
+    InputFile inputFile = new TestInputFileBuilder("module", "A.java").build();
+    JavaFileScannerContext context = mock(JavaFileScannerContext.class);
+    when(context.getInputFile()).thenReturn(inputFile);
+    when(context.getTree()).thenReturn(tree);
+
+    SuppressWarningFilter filter = new SuppressWarningFilter();
+    filter.scanFile(context);
+
+    String componentKey = inputFile.key();
+    // deprecated rule key
+    assertThat(filter.accept(componentKey, RuleKey.of("java", "S115"), 3)).isFalse();
+    assertThat(filter.accept(componentKey, RuleKey.of("java", "S115"), 5)).isTrue();
+    // rule key of the "squid" repository
+    assertThat(filter.accept(componentKey, RuleKey.of("java", "S116"), 5)).isFalse();
+    assertThat(filter.accept(componentKey, RuleKey.of("java", "S116"), 3)).isTrue();
+    // all rules but the one reporting the @SuppressWarnings annotations
+    assertThat(filter.accept(componentKey, RuleKey.of("java", "S117"), 7)).isFalse();
+    assertThat(filter.accept(componentKey, RuleKey.of("java", "S117"), 5)).isTrue();
+    assertThat(filter.accept(componentKey, RuleKey.of("java", "S1309"), 7)).isTrue();
+    assertThat(filter.accept("other", RuleKey.of("java", "S117"), 7)).isTrue();
+  }
+
 }
@@ -32,8 +32,9 @@ import org.sonar.java.classpath.ClasspathForMain;
 import org.sonar.java.classpath.ClasspathForTest;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.JavaResourceLocator;
+import org.sonar.plugins.java.api.internal.SyntaxOnly;
 
-public class DefaultJavaResourceLocator implements JavaResourceLocator {
+public class DefaultJavaResourceLocator implements JavaResourceLocator, SyntaxOnly {
 
   private static final Logger LOG = LoggerFactory.getLogger(DefaultJavaResourceLocator.class);
 
@@ -20,13 +20,13 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,6 +35,7 @@ import org.sonar.java.ast.JavaAstScanner;
 import org.sonar.java.ast.visitors.FileLinesVisitor;
 import org.sonar.java.ast.visitors.SyntaxHighlighterVisitor;
 import org.sonar.java.caching.CacheContextImpl;
+import org.sonar.java.classpath.BinaryClassLookup;
 import org.sonar.java.classpath.DependencyVersionInference;
 import org.sonar.java.collections.CollectionUtils;
 import org.sonar.java.exceptions.ApiMismatchException;
@@ -83,6 +84,8 @@ public class JavaFrontend {
     if (postAnalysisIssueFilter != null) {
       commonVisitors.add(postAnalysisIssueFilter);
     }
+    // the filter scans each file before the checks, so that the issues it rejects are dropped as soon as they are reported
+    sonarComponents.setIssueFilter(postAnalysisIssueFilter);
 
     List<JavaCheck> codeVisitors = new ArrayList<>();
     codeVisitors.add(measurer);
@@ -121,6 +124,20 @@ public class JavaFrontend {
   }
 
   public void scan(Iterable<InputFile> sourceFiles, Iterable<InputFile> testFiles, Iterable<? extends InputFile> generatedFiles) {
+    try {
+      scanFiles(sourceFiles, testFiles, generatedFiles);
+      sonarComponents.flushFileRecords();
+      sonarComponents.saveLocalCache();
+    } finally {
+      // Only closes the local cache when the scan failed, it is then left as it was after the previous analysis
+      sonarComponents.closeLocalCache();
+      sonarComponents.releaseParseCache();
+    }
+  }
+
+  private void scanFiles(Iterable<InputFile> sourceFiles, Iterable<InputFile> testFiles, Iterable<? extends InputFile> generatedFiles) {
+    List<InputFile> mainResolutionOnlyFiles = Collections.emptyList();
+    List<InputFile> testResolutionOnlyFiles = Collections.emptyList();
     if (canOptimizeScanning()) {
       long successfullyScanned = 0L;
       long total = 0L;
@@ -135,7 +152,15 @@ public class JavaFrontend {
       successfullyScanned += testFilesScannedWithoutParsing.get(true).size();
       total += testFilesScannedWithoutParsing.get(true).size() + testFilesScannedWithoutParsing.get(false).size();
 
-      total += StreamSupport.stream(generatedFiles.spliterator(), false).count();
+      Map<Boolean, List<InputFile>> generatedFilesScannedWithoutParsing = astScannerForGeneratedFiles.scanWithoutParsing(generatedFiles);
+      generatedFiles = generatedFilesScannedWithoutParsing.get(false);
+      successfullyScanned += generatedFilesScannedWithoutParsing.get(true).size();
+      total += generatedFilesScannedWithoutParsing.get(true).size() + generatedFilesScannedWithoutParsing.get(false).size();
+
+      if (sonarComponents.shouldResolveUnchangedFilesFromBinaries()) {
+        mainResolutionOnlyFiles = unchangedFilesToResolveFromSources(mainFilesScannedWithoutParsing.get(true), sonarComponents.getJavaBinaryDirs(), "Main");
+        testResolutionOnlyFiles = unchangedFilesToResolveFromSources(testFilesScannedWithoutParsing.get(true), sonarComponents.getJavaTestBinaryDirs(), "Test");
+      }
 
       LOG.info(
         "Server-side caching is enabled. The Java analyzer was able to leverage cached data from previous analyses for {} out of {} files. These files will not be parsed.",
@@ -155,10 +180,11 @@ public class JavaFrontend {
       scanAndMeasureTask(testFiles, astScannerForTests::scan, "Test");
       scanAndMeasureTask(generatedFiles, astScannerForGeneratedFiles::scan, "Generated");
     } else if (sonarComponents.isAutoScan()) {
-      scanAsBatch(new AutoScanBatchContext(), sourceFiles, testFiles);
+      List<InputFile> resolutionOnlyFiles = Stream.of(mainResolutionOnlyFiles, testResolutionOnlyFiles).flatMap(List::stream).toList();
+      scanAsBatch(new AutoScanBatchContext(resolutionOnlyFiles), sourceFiles, testFiles);
     } else {
-      scanAsBatch(new DefaultBatchModeContext(astScanner, "Main"), sourceFiles);
-      scanAsBatch(new DefaultBatchModeContext(astScannerForTests, "Test"), testFiles);
+      scanAsBatch(new DefaultBatchModeContext(astScanner, "Main", mainResolutionOnlyFiles), sourceFiles);
+      scanAsBatch(new DefaultBatchModeContext(astScannerForTests, "Test", testResolutionOnlyFiles), testFiles);
       scanAsBatch(new DefaultBatchModeContext(astScannerForGeneratedFiles, "Generated"), generatedFiles);
     }
 
@@ -173,6 +199,28 @@ public class JavaFrontend {
     }
   }
 
+  /**
+   * Unchanged files are not given to the parser anymore, the types they declare are resolved from the compiled classes.
+   * This is only reliable when the class files are present and up-to-date, otherwise the sources are still needed for resolution.
+   *
+   * @return the unchanged files which have no up-to-date class file in the given binary directories
+   */
+  private static List<InputFile> unchangedFilesToResolveFromSources(List<InputFile> unchangedFiles, List<File> binaryDirs, String descriptor) {
+    BinaryClassLookup binaryClassLookup = new BinaryClassLookup(binaryDirs);
+    List<InputFile> resolutionOnlyFiles = unchangedFiles.stream()
+      .filter(inputFile -> !binaryClassLookup.hasUpToDateClassFile(inputFile))
+      .toList();
+    LOG.info("Types of {} out of {} unchanged \"{}\" files are resolved from compiled classes. {} files fall back to sources because of missing or stale class files.",
+      unchangedFiles.size() - resolutionOnlyFiles.size(),
+      unchangedFiles.size(),
+      descriptor,
+      resolutionOnlyFiles.size());
+    if (LOG.isDebugEnabled() && !resolutionOnlyFiles.isEmpty()) {
+      LOG.debug("Unchanged \"{}\" files resolved from sources: {}", descriptor, resolutionOnlyFiles);
+    }
+    return resolutionOnlyFiles;
+  }
+
   /**
    * Scans the files given as input in batch mode.
    *
@@ -214,6 +262,9 @@ public class JavaFrontend {
 
   private void scanInBatches(BatchModeContext context, List<InputFile> allInputFiles) {
     String logUsingBatch = String.format("Using ECJ batch to parse %d %s java source files", allInputFiles.size(), context.descriptor());
+    if (context.isSyntaxOnly()) {
+      LOG.info("None of the active \"{}\" rules requires the semantic model: the files are parsed without resolving types.", context.descriptor());
+    }
     AnalysisProgress analysisProgress = new AnalysisProgress(allInputFiles.size());
     long batchModeSizeInKB = sonarComponents.getBatchModeSizeInKB();
     if (batchModeSizeInKB < 0L || batchModeSizeInKB >= Long.MAX_VALUE / 1_000L) {
@@ -233,9 +284,12 @@ public class JavaFrontend {
   private <T extends InputFile> void scanBatch(BatchModeContext context, List<T> batchFiles, AnalysisProgress analysisProgress) {
     analysisProgress.startBatch(batchFiles.size());
     Set<Runnable> environmentsCleaners = new HashSet<>();
-    JParserConfig.Mode.BATCH
+    JParserConfig parserConfig = JParserConfig.Mode.BATCH
       .create(javaVersion, context.getClasspath(), sonarComponents.shouldIgnoreUnnamedModuleForSplitPackage())
-      .parse(batchFiles, sonarComponents::analysisCancelled, analysisProgress, (input, result) -> scanAsBatchCallback(input, result, context, environmentsCleaners));
+      .withSyntaxOnly(context.isSyntaxOnly());
+    parserConfig
+      .withBindingCache(sonarComponents.moduleBindingCache(parserConfig.environmentFingerprint()))
+      .parse(batchFiles, context.resolutionOnlyFiles(), sonarComponents::analysisCancelled, analysisProgress, (input, result) -> scanAsBatchCallback(input, result, context, environmentsCleaners));
     // Due to a bug in ECJ, JAR files remain locked after the analysis on Windows, we unlock them manually, at the end of each batches. See SONARJAVA-3609.
     environmentsCleaners.forEach(Runnable::run);
     analysisProgress.endBatch();
@@ -258,12 +312,27 @@ public class JavaFrontend {
 
     List<File> getClasspath();
 
+    /**
+     * @return the files which are given to the parser only to resolve the types they declare, without being analyzed
+     */
+    List<InputFile> resolutionOnlyFiles();
+
     JavaAstScanner selectScanner(InputFile input);
 
+    /**
+     * @return true when the files can be parsed without resolving the bindings, see {@link JavaAstScanner#isSyntaxOnly()}
+     */
+    boolean isSyntaxOnly();
+
     void endOfAnalysis();
   }
 
   class AutoScanBatchContext implements BatchModeContext {
+    private final List<InputFile> resolutionOnlyFiles;
+
+    AutoScanBatchContext(List<InputFile> resolutionOnlyFiles) {
+      this.resolutionOnlyFiles = resolutionOnlyFiles;
+    }
 
     @Override
     public String descriptor() {
@@ -280,11 +349,21 @@ public class JavaFrontend {
       return globalClasspath;
     }
 
+    @Override
+    public List<InputFile> resolutionOnlyFiles() {
+      return resolutionOnlyFiles;
+    }
+
     @Override
     public JavaAstScanner selectScanner(InputFile input) {
       return input.type() == InputFile.Type.TEST ? astScannerForTests : astScanner;
     }
 
+    @Override
+    public boolean isSyntaxOnly() {
+      return astScanner.isSyntaxOnly() && astScannerForTests.isSyntaxOnly();
+    }
+
     @Override
     public void endOfAnalysis() {
       astScanner.endOfAnalysis();
@@ -297,10 +376,16 @@ public class JavaFrontend {
   static class DefaultBatchModeContext implements BatchModeContext {
     private final JavaAstScanner scanner;
     private final String descriptor;
+    private final List<InputFile> resolutionOnlyFiles;
 
     public DefaultBatchModeContext(JavaAstScanner scanner, String descriptor) {
+      this(scanner, descriptor, Collections.emptyList());
+    }
+
+    public DefaultBatchModeContext(JavaAstScanner scanner, String descriptor, List<InputFile> resolutionOnlyFiles) {
       this.scanner = scanner;
       this.descriptor = descriptor;
+      this.resolutionOnlyFiles = resolutionOnlyFiles;
     }
 
     @Override
@@ -318,11 +403,21 @@ public class JavaFrontend {
       return scanner.getClasspath();
     }
 
+    @Override
+    public List<InputFile> resolutionOnlyFiles() {
+      return resolutionOnlyFiles;
+    }
+
     @Override
     public JavaAstScanner selectScanner(InputFile input) {
       return scanner;
     }
 
+    @Override
+    public boolean isSyntaxOnly() {
+      return scanner.isSyntaxOnly();
+    }
+
     @Override
     public void endOfAnalysis() {
       scanner.endOfAnalysis();
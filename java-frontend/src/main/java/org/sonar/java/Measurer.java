@@ -27,16 +27,16 @@ import org.sonar.api.batch.sensor.SensorContext;
 import org.sonar.api.issue.NoSonarFilter;
 import org.sonar.api.measures.CoreMetrics;
 import org.sonar.api.measures.Metric;
-import org.sonar.java.ast.visitors.CognitiveComplexityVisitor;
 import org.sonar.java.ast.visitors.SubscriptionVisitor;
 import org.sonar.java.metrics.MetricsScannerContext;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.internal.SyntaxOnly;
 import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.NewClassTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
-public class Measurer extends SubscriptionVisitor {
+public class Measurer extends SubscriptionVisitor implements SyntaxOnly {
 
   private final SensorContext sensorContext;
   private final NoSonarFilter noSonarFilter;
@@ -50,7 +50,7 @@ public class Measurer extends SubscriptionVisitor {
     this.noSonarFilter = noSonarFilter;
   }
 
-  public class TestFileMeasurer implements JavaFileScanner {
+  public class TestFileMeasurer implements JavaFileScanner, SyntaxOnly {
     @Override
     public void scanFile(JavaFileScannerContext context) {
       sonarFile = context.getInputFile();
@@ -89,7 +89,7 @@ public class Measurer extends SubscriptionVisitor {
     saveMetricOnFile(CoreMetrics.STATEMENTS, metricsComputer.getNumberOfStatements(context.getTree()));
     saveMetricOnFile(CoreMetrics.NCLOC, metricsComputer.getLinesOfCode(context.getTree()));
 
-    saveMetricOnFile(CoreMetrics.COGNITIVE_COMPLEXITY, CognitiveComplexityVisitor.compilationUnitComplexity(context.getTree()));
+    saveMetricOnFile(CoreMetrics.COGNITIVE_COMPLEXITY, metricsComputer.getCompilationUnitComplexity(context.getTree()));
   }
 
   private boolean isSonarLintContext() {
@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.URISyntaxException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
@@ -59,19 +60,30 @@ import org.sonar.api.rule.RuleKey;
 import org.sonar.api.rule.RuleScope;
 import org.sonar.api.utils.Version;
 import org.sonar.java.annotations.VisibleForTesting;
+import org.sonar.java.caching.CacheContextImpl;
 import org.sonar.java.caching.ContentHashCache;
+import org.sonar.java.caching.FileRecordCacheImpl;
+import org.sonar.java.caching.LocalFileCache;
 import org.sonar.java.classpath.ClasspathForMain;
 import org.sonar.java.classpath.ClasspathForTest;
 import org.sonar.java.exceptions.ApiMismatchException;
+import org.sonar.java.filters.SonarJavaIssueFilter;
 import org.sonar.java.model.GeneratedFile;
 import org.sonar.java.model.JProblem;
 import org.sonar.java.model.LineUtils;
+import org.sonar.java.model.ModuleBindingCache;
+import org.sonar.java.model.ParseCache;
+import org.sonar.java.regex.RegexParseCache;
 import org.sonar.java.reporting.AnalyzerMessage;
+import org.sonar.java.reporting.FileIssueBuffer;
 import org.sonar.java.reporting.JavaIssue;
 import org.sonar.plugins.java.api.CheckRegistrar;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JspCodeVisitor;
+import org.sonar.plugins.java.api.caching.FileRecordCache;
+import org.sonar.plugins.java.api.caching.JavaReadCache;
+import org.sonar.plugins.java.api.caching.JavaWriteCache;
 import org.sonar.plugins.java.api.caching.SonarLintCache;
 import org.sonarsource.api.sonarlint.SonarLintSide;
 import org.sonarsource.sonarlint.plugin.api.SonarLintRuntime;
@@ -96,6 +108,28 @@ public class SonarComponents extends CheckRegistrar.RegistrarContext {
    */
   public static final String SONAR_CAN_SKIP_UNCHANGED_FILES_KEY = "sonar.java.skipUnchanged";
 
+  /**
+   * Describes whether, when unchanged files can be skipped, the types they declare should be resolved from the compiled classes of
+   * {@code sonar.java.binaries} only. Unchanged files whose class file is missing or older than the source are then still given to
+   * the parser, only to resolve the bindings of the analyzed files.
+   */
+  public static final String SONAR_RESOLVE_UNCHANGED_FROM_BINARIES_KEY = "sonar.java.experimental.resolveUnchangedFromBinaries";
+
+  /**
+   * Describes whether an analysis cache stored in the project working directory should be used when the server does not provide one.
+   * Unless {@code sonar.java.caching.enabled} is set to false, this allows to reuse the data of the previous local analysis, for example
+   * to skip unchanged files when {@code sonar.java.skipUnchanged} is also set.
+   */
+  public static final String SONAR_LOCAL_CACHE_KEY = "sonar.java.experimental.localCache";
+
+  /**
+   * Describes how many threads compute the content hashes of the files and look up their previous hashes in the cache before unchanged
+   * files are scanned without parsing. By default, the number of available processors, up to {@value #MAX_SCAN_WITHOUT_PARSING_THREADS}.
+   * Setting it to 1 performs these lookups sequentially.
+   */
+  public static final String SONAR_SCAN_WITHOUT_PARSING_THREADS_KEY = "sonar.java.experimental.scanWithoutParsingThreads";
+  public static final int MAX_SCAN_WITHOUT_PARSING_THREADS = 8;
+
   /**
    * Describes whether input files should be parsed while ignoring unnamed split modules.
    * In practice, enabling this parameter should help developers in the Android ecosystem and those
@@ -110,6 +144,14 @@ public class SonarComponents extends CheckRegistrar.RegistrarContext {
    */
   public static final String SONAR_FAIL_ON_STACKOVERFLOW = "sonar.java.internal.failOnStackOverflow";
 
+  /**
+   * Describes how many issues of a rule can be reported on a single file, so that a rule raising a flood of issues on some files does
+   * not exhaust the memory of the analysis. By default, the property is not set and the number of issues is not limited.
+   */
+  public static final String SONAR_MAX_ISSUES_PER_RULE_AND_FILE_KEY = "sonar.java.experimental.maxIssuesPerRuleAndFile";
+
+  private static final String LOCAL_CACHE_DIRECTORY = "java-local-cache";
+  private static final String PERFORMANCE_MEASURE_ACTIVATION_KEY = "sonar.java.performance.measure";
   private static final Version SONARLINT_6_3 = Version.parse("6.3");
   private static final Version SONARQUBE_9_2 = Version.parse("9.2");
   @VisibleForTesting
@@ -133,7 +175,16 @@ public class SonarComponents extends CheckRegistrar.RegistrarContext {
   private final List<JavaCheck> jspChecks;
   private final List<Checks<JavaCheck>> allChecks;
   private SensorContext context;
+  private FileRecordCache fileRecordCache;
+  private LocalFileCache localCache;
+  private boolean localCacheUnavailable = false;
+  private Map<String, ModuleBindingCache> moduleBindingCaches;
+  private RegexParseCache regexParseCache;
+  private ParseCache parseCache;
   private UnaryOperator<List<JavaCheck>> checkFilter = UnaryOperator.identity();
+  @Nullable
+  private SonarJavaIssueFilter issueFilter;
+  private FileIssueBuffer issueBuffer;
   private final Set<RuleKey> additionalAutoScanCompatibleRuleKeys;
 
   private boolean alreadyLoggedSkipStatus = false;
@@ -238,6 +289,25 @@ public class SonarComponents extends CheckRegistrar.RegistrarContext {
     this.checkFilter = checkFilter;
   }
 
+  /**
+   * @param issueFilter filter of the issues, which must have scanned a file before the checks report issues on it
+   */
+  public void setIssueFilter(@Nullable SonarJavaIssueFilter issueFilter) {
+    this.issueFilter = issueFilter;
+  }
+
+  /**
+   * @return true when an issue of the given rule starting at the given line of the given component is going to be filtered out, in
+   * which case its locations do not need to be computed.
+   */
+  public boolean isIssueRejected(RuleKey ruleKey, InputComponent inputComponent, int line) {
+    return issueFilter != null && !issueFilter.accept(inputComponent.key(), ruleKey, line);
+  }
+
+  public boolean isIssueRejected(JavaCheck check, InputComponent inputComponent, int line) {
+    return issueFilter != null && getRuleKey(check).filter(key -> isIssueRejected(key, inputComponent, line)).isPresent();
+  }
+
   public FileLinesContext fileLinesContextFor(InputFile inputFile) {
     return fileLinesContextFactory.createFor(inputFile);
   }
@@ -262,6 +332,20 @@ public class SonarComponents extends CheckRegistrar.RegistrarContext {
     return javaClasspath.inAndroidContext();
   }
 
+  public List<File> getJavaBinaryDirs() {
+    if (javaClasspath == null) {
+      return new ArrayList<>();
+    }
+    return javaClasspath.getBinaryDirs();
+  }
+
+  public List<File> getJavaTestBinaryDirs() {
+    if (javaTestClasspath == null) {
+      return new ArrayList<>();
+    }
+    return javaTestClasspath.getBinaryDirs();
+  }
+
   public List<File> getJavaTestClasspath() {
     return javaTestClasspath.getElements();
   }
@@ -399,11 +483,51 @@ public class SonarComponents extends CheckRegistrar.RegistrarContext {
       if (inputComponent == null) {
         return;
       }
+      // checked before buffering, so that the rule reporting the issue is the one failing
+      checkLocationIsNotEmpty(analyzerMessage.primaryLocation());
+      if (issueBuffer != null && issueBuffer.add(key, analyzerMessage)) {
+        return;
+      }
       Double cost = analyzerMessage.getCost();
       reportIssue(analyzerMessage, key, inputComponent, cost);
     });
   }
 
+  /**
+   * Keeps the issues reported on the given file until {@link #flushIssues()} is called once its analysis is complete.
+   */
+  public void startBufferingIssues(InputFile inputFile) {
+    if (issueBuffer == null) {
+      issueBuffer = new FileIssueBuffer(maxIssuesPerRuleAndFile());
+    }
+    issueBuffer.startFile(inputFile);
+  }
+
+  /**
+   * Saves the issues kept since {@link #startBufferingIssues(InputFile)} was called.
+   */
+  public void flushIssues() {
+    if (issueBuffer != null) {
+      issueBuffer.flush((key, analyzerMessage) -> saveBufferedIssue(analyzerMessage, key));
+    }
+  }
+
+  private void saveBufferedIssue(AnalyzerMessage analyzerMessage, RuleKey key) {
+    try {
+      reportIssue(analyzerMessage, key, analyzerMessage.getInputComponent(), analyzerMessage.getCost());
+    } catch (RuntimeException e) {
+      if (shouldFailAnalysisOnException()) {
+        throw e;
+      }
+      LOG.warn("Unable to report issue of rule {} on file {}: {}", key, analyzerMessage.getInputComponent(), e.getMessage());
+    }
+  }
+
+  private int maxIssuesPerRuleAndFile() {
+    Configuration config = context == null ? null : context.config();
+    return config == null ? 0 : config.getInt(SONAR_MAX_ISSUES_PER_RULE_AND_FILE_KEY).orElse(0);
+  }
+
   @VisibleForTesting
   void reportIssue(AnalyzerMessage analyzerMessage, RuleKey key, InputComponent fileOrProject, @Nullable Double cost) {
     Objects.requireNonNull(context);
@@ -413,9 +537,7 @@ public class SonarComponents extends CheckRegistrar.RegistrarContext {
       // either an issue at file or project level
       issue.setPrimaryLocationOnComponent(fileOrProject, analyzerMessage.getMessage());
     } else {
-      if (!textSpan.onLine()) {
-        Preconditions.checkState(!textSpan.isEmpty(), "Issue location should not be empty");
-      }
+      checkLocationIsNotEmpty(textSpan);
       issue.setPrimaryLocation((InputFile) fileOrProject, analyzerMessage.getMessage(), textSpan.startLine, textSpan.startCharacter,
         textSpan.endLine, textSpan.endCharacter);
     }
@@ -425,6 +547,12 @@ public class SonarComponents extends CheckRegistrar.RegistrarContext {
     issue.save();
   }
 
+  private static void checkLocationIsNotEmpty(@Nullable AnalyzerMessage.TextSpan textSpan) {
+    if (textSpan != null && !textSpan.onLine()) {
+      Preconditions.checkState(!textSpan.isEmpty(), "Issue location should not be empty");
+    }
+  }
+
   public boolean reportAnalysisError(RecognitionException re, InputFile inputFile) {
     reportAnalysisError(inputFile, re.getMessage());
     return isSonarLintContext();
@@ -500,6 +628,79 @@ public class SonarComponents extends CheckRegistrar.RegistrarContext {
     return context.config().getBoolean(SONAR_IGNORE_UNNAMED_MODULE_FOR_SPLIT_PACKAGE).orElse(false);
   }
 
+  public boolean shouldResolveUnchangedFilesFromBinaries() {
+    return context.config().getBoolean(SONAR_RESOLVE_UNCHANGED_FROM_BINARIES_KEY).orElse(false);
+  }
+
+  /**
+   * @return the number of threads used to decide, before scanning them without parsing, which files can be skipped. 1 when the lookups
+   * must be performed sequentially.
+   */
+  public int scanWithoutParsingThreads() {
+    Configuration config = context.config();
+    if (config != null && config.getBoolean(PERFORMANCE_MEASURE_ACTIVATION_KEY).orElse(false)) {
+      // Performance measures are collected on the analysis thread only
+      return 1;
+    }
+    int defaultThreads = Math.min(Runtime.getRuntime().availableProcessors(), MAX_SCAN_WITHOUT_PARSING_THREADS);
+    int threads = config == null ? defaultThreads : config.getInt(SONAR_SCAN_WITHOUT_PARSING_THREADS_KEY).orElse(defaultThreads);
+    return Math.max(1, threads);
+  }
+
+  public boolean shouldUseLocalCache() {
+    Configuration config = context.config();
+    return config != null
+      && config.getBoolean(SONAR_LOCAL_CACHE_KEY).orElse(false)
+      && config.getBoolean(CacheContextImpl.SONAR_CACHING_ENABLED_KEY).orElse(true);
+  }
+
+  /**
+   * @return the analysis cache stored in the project working directory, opened on first use, or null when it is not enabled or cannot
+   * be opened.
+   */
+  @CheckForNull
+  public synchronized LocalFileCache localCache() {
+    if (localCache == null && !localCacheUnavailable && context != null && shouldUseLocalCache()) {
+      Path directory = projectLevelWorkDir().toPath().resolve(LOCAL_CACHE_DIRECTORY).resolve(localCacheModuleDirectory());
+      try {
+        localCache = LocalFileCache.open(directory);
+        LOG.info("Server-side caching is not available, the Java analyzer uses the local cache in {}.", directory);
+      } catch (IOException e) {
+        LOG.warn("Unable to open the local analysis cache in {}: {}", directory, e.getMessage());
+        localCacheUnavailable = true;
+      }
+    }
+    return localCache;
+  }
+
+  /**
+   * Stores the local analysis cache, if it was used, for the next analysis. The cache stays readable, but any further write is ignored.
+   */
+  public synchronized void saveLocalCache() {
+    if (localCache == null) {
+      return;
+    }
+    try {
+      localCache.save();
+    } catch (IOException e) {
+      LOG.warn("Unable to save the local analysis cache: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Closes the local analysis cache, if it was used, without storing the entries of the current analysis when it was not saved.
+   */
+  public synchronized void closeLocalCache() {
+    if (localCache != null) {
+      localCache.close();
+    }
+  }
+
+  private String localCacheModuleDirectory() {
+    String moduleKey = getModuleKey();
+    return moduleKey.isEmpty() ? "root" : moduleKey.replaceAll("[^\\w.-]", "_");
+  }
+
   public boolean shouldFailOnStackOverflow() {
     return context.config().getBoolean(SONAR_FAIL_ON_STACKOVERFLOW).orElse(true);
   }
@@ -573,40 +774,58 @@ public class SonarComponents extends CheckRegistrar.RegistrarContext {
 
 
   public boolean fileCanBeSkipped(InputFile inputFile) {
+    return fileCanBeSkipped(inputFile, null);
+  }
+
+  /**
+   * Reads and writes the analysis caches, which are not thread-safe: must only be called from the analysis thread.
+   *
+   * @param contentHash the content hash of the file when it was already computed, null to compute it
+   */
+  public boolean fileCanBeSkipped(InputFile inputFile, @Nullable byte[] contentHash) {
     var contentHashCache = new ContentHashCache(this);
-    if (inputFile instanceof GeneratedFile) {
-      // Generated files should not be skipped as we cannot assess the change status of the source file
-      return false;
+    if (inputFile instanceof GeneratedFile generatedFile) {
+      // The change status of the source files is only known when the JSP was not transpiled again because it did not change
+      return generatedFile.isUnchanged();
     }
     boolean canSkipInContext;
     try {
       canSkipInContext = canSkipUnchangedFiles();
-      if (!alreadyLoggedSkipStatus) {
+      if (shouldLogSkipStatus()) {
         if (canSkipInContext) {
           LOG.info("The Java analyzer is running in a context where unchanged files can be skipped. Full analysis is performed " +
             "for changed files, optimized analysis for unchanged files.");
         } else {
           LOG.info("The Java analyzer cannot skip unchanged files in this context. A full analysis is performed for all files.");
         }
-        alreadyLoggedSkipStatus = true;
       }
     } catch (ApiMismatchException e) {
-      if (!alreadyLoggedSkipStatus) {
+      if (shouldLogSkipStatus()) {
         LOG.info(
           "Cannot determine whether the context allows skipping unchanged files: canSkipUnchangedFiles not part of sonar-plugin-api. " +
             "Not skipping. {}",
           e.getCause().getMessage()
         );
-        alreadyLoggedSkipStatus = true;
       }
-      contentHashCache.writeToCache(inputFile);
+      contentHashCache.writeToCache(inputFile, contentHash);
       return false;
     }
     if (!canSkipInContext) {
-      contentHashCache.writeToCache(inputFile);
+      contentHashCache.writeToCache(inputFile, contentHash);
+      return false;
+    }
+    return contentHashCache.hasSameHashCached(inputFile, contentHash);
+  }
+
+  /**
+   * The skip status is logged only once per analysis.
+   */
+  private synchronized boolean shouldLogSkipStatus() {
+    if (alreadyLoggedSkipStatus) {
       return false;
     }
-    return contentHashCache.hasSameHashCached(inputFile);
+    alreadyLoggedSkipStatus = true;
+    return true;
   }
 
   public InputComponent project() {
@@ -696,6 +915,68 @@ public class SonarComponents extends CheckRegistrar.RegistrarContext {
     return sonarLintCache;
   }
 
+  /**
+   * @return the cache of parsed trees of the analysis, only available in SonarLint. Like this component, and like {@link SonarLintCache},
+   * it only lives for a single analysis: the trees and their name environments are never shared with other analyses.
+   */
+  @CheckForNull
+  public synchronized ParseCache parseCache() {
+    if (parseCache == null && context != null && isSonarLintContext()) {
+      parseCache = new ParseCache(ParseCache.DEFAULT_MAX_ENTRIES);
+    }
+    return parseCache;
+  }
+
+  /**
+   * Cleans up the name environments of the cached trees, to be called when the analysis ends.
+   */
+  public synchronized void releaseParseCache() {
+    if (parseCache != null) {
+      parseCache.clear();
+      parseCache = null;
+    }
+  }
+
+  /**
+   * @return the per-file records of the analysis cache, created on first use and shared by all the consumers of the cache.
+   */
+  public synchronized FileRecordCache fileRecordCache(JavaReadCache readCache, JavaWriteCache writeCache) {
+    if (fileRecordCache == null) {
+      fileRecordCache = new FileRecordCacheImpl(readCache, writeCache);
+    }
+    return fileRecordCache;
+  }
+
+  /**
+   * Writes to the cache the records of the files whose analysis did not complete, so that the sections stored for them are not lost.
+   */
+  public synchronized void flushFileRecords() {
+    if (fileRecordCache instanceof FileRecordCacheImpl fileRecordCacheImpl) {
+      fileRecordCacheImpl.flushAll();
+    }
+  }
+
+  /**
+   * @return the cache of what is computed about the types coming from binaries, shared by all the files of the module parsed in the given
+   * environment, see {@link org.sonar.java.model.JParserConfig#environmentFingerprint()}.
+   */
+  public synchronized ModuleBindingCache moduleBindingCache(String environmentFingerprint) {
+    if (moduleBindingCaches == null) {
+      moduleBindingCaches = new HashMap<>();
+    }
+    return moduleBindingCaches.computeIfAbsent(environmentFingerprint, k -> new ModuleBindingCache());
+  }
+
+  /**
+   * @return the cache of the regexes parsed in the module, shared by all its files.
+   */
+  public synchronized RegexParseCache regexParseCache() {
+    if (regexParseCache == null) {
+      regexParseCache = new RegexParseCache(RegexParseCache.DEFAULT_MAX_ENTRIES);
+    }
+    return regexParseCache;
+  }
+
   public Configuration getConfiguration() {
     return context.config();
   }
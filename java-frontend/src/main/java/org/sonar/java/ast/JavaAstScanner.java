@@ -18,16 +18,24 @@ package org.sonar.java.ast;
 
 import com.sonar.sslr.api.RecognitionException;
 import java.io.File;
+import java.io.IOException;
 import java.io.InterruptedIOException;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
+import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.slf4j.Logger;
@@ -37,10 +45,12 @@ import org.sonar.java.AnalysisException;
 import org.sonar.java.AnalysisProgress;
 import org.sonar.java.SonarComponents;
 import org.sonar.java.annotations.VisibleForTesting;
+import org.sonar.java.caching.FileHashingUtils;
 import org.sonar.java.model.InputFileUtils;
 import org.sonar.java.model.JParserConfig;
 import org.sonar.java.model.JProblem;
 import org.sonar.java.model.JavaTree;
+import org.sonar.java.model.ParseCache;
 import org.sonar.java.model.VisitorsBridge;
 import org.sonar.java.telemetry.NoOpTelemetry;
 import org.sonar.java.telemetry.Telemetry;
@@ -76,6 +86,13 @@ public class JavaAstScanner {
     return visitor.getClasspath();
   }
 
+  /**
+   * @return true when none of the visitors needs the semantic model, the files can then be parsed without resolving the bindings
+   */
+  public boolean isSyntaxOnly() {
+    return visitor.isSyntaxOnly();
+  }
+
   /**
    * Attempt to scan files without parsing, using the raw input file and cached information.
    *
@@ -84,13 +101,95 @@ public class JavaAstScanner {
    * under the {@code false} key, files that need to be parsed for further analysis.
    */
   public Map<Boolean, List<InputFile>> scanWithoutParsing(Iterable<? extends InputFile> inputFiles) {
-    return StreamSupport.stream(inputFiles.spliterator(), false)
-      // Split files between successfully scanned without parsing and failed to scan without parsing
-      .collect(Collectors.partitioningBy(visitor::scanWithoutParsing));
+    List<InputFile> files = new ArrayList<>();
+    inputFiles.forEach(files::add);
+    List<Boolean> filesCanBeSkipped = fileSkipStatuses(files);
+    // Split files between successfully scanned without parsing and failed to scan without parsing. Scanners run on this thread, in the
+    // order of the files.
+    Map<Boolean, List<InputFile>> result = new HashMap<>();
+    result.put(true, new ArrayList<>());
+    result.put(false, new ArrayList<>());
+    for (int i = 0; i < files.size(); i++) {
+      InputFile inputFile = files.get(i);
+      result.get(visitor.scanWithoutParsing(inputFile, filesCanBeSkipped.get(i))).add(inputFile);
+    }
+    return result;
+  }
+
+  /**
+   * Hashing the files is dominated by I/O, it is spread over a bounded pool of threads when more than one thread is configured. The caches
+   * are not thread-safe: the hashes are then looked up and written on this thread, in the order of the files.
+   */
+  private List<Boolean> fileSkipStatuses(List<InputFile> files) {
+    int threads = sonarComponents == null ? 1 : Math.min(sonarComponents.scanWithoutParsingThreads(), files.size());
+    if (threads <= 1) {
+      return files.stream().map(visitor::fileCanBeSkipped).toList();
+    }
+    List<byte[]> contentHashes = contentHashes(files, threads);
+    List<Boolean> filesCanBeSkipped = new ArrayList<>(files.size());
+    for (int i = 0; i < files.size(); i++) {
+      filesCanBeSkipped.add(visitor.fileCanBeSkipped(files.get(i), contentHashes.get(i)));
+    }
+    return filesCanBeSkipped;
+  }
+
+  /**
+   * @return the content hash of each file, null when it cannot be computed, in which case the failure is reported when the file is
+   * looked up in the cache
+   */
+  private static List<byte[]> contentHashes(List<InputFile> files, int threads) {
+    ExecutorService executor = Executors.newFixedThreadPool(threads, JavaAstScanner::newHashingThread);
+    try {
+      List<Future<byte[]>> hashings = new ArrayList<>(files.size());
+      for (InputFile inputFile : files) {
+        hashings.add(executor.submit(() -> contentHash(inputFile)));
+      }
+      List<byte[]> contentHashes = new ArrayList<>(files.size());
+      for (Future<byte[]> hashing : hashings) {
+        contentHashes.add(awaitHashing(hashing));
+      }
+      return contentHashes;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @CheckForNull
+  private static byte[] contentHash(InputFile inputFile) {
+    try {
+      return FileHashingUtils.inputFileContentHash(inputFile);
+    } catch (IOException | NoSuchAlgorithmException e) {
+      return null;
+    }
+  }
+
+  @CheckForNull
+  private static byte[] awaitHashing(Future<byte[]> hashing) {
+    try {
+      return hashing.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AnalysisException("Analysis cancelled", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw new AnalysisException("Unable to compute the content hash of a file", cause);
+    }
+  }
+
+  private static Thread newHashingThread(Runnable runnable) {
+    Thread thread = new Thread(runnable, "sonar-java-content-hashing");
+    thread.setDaemon(true);
+    return thread;
   }
 
   public void scan(Iterable<? extends InputFile> inputFiles) {
-    scan(inputFiles, compilationUnitTree -> {});
+    scan(inputFiles, compilationUnitTree -> {}, sonarComponents != null ? sonarComponents.parseCache() : null);
   }
 
   /**
@@ -101,24 +200,38 @@ public class JavaAstScanner {
    */
   @VisibleForTesting
   public void scanForTesting(Iterable<? extends InputFile> inputFiles, Consumer<CompilationUnitTree> modifyCompilationUnit) {
-    scan(inputFiles, modifyCompilationUnit);
+    // Modified trees must not be reused by other analyses
+    scan(inputFiles, modifyCompilationUnit, null);
   }
 
 
-  private void scan(Iterable<? extends InputFile> inputFiles, Consumer<CompilationUnitTree> modifyCompilationUnit) {
+  private void scan(Iterable<? extends InputFile> inputFiles, Consumer<CompilationUnitTree> modifyCompilationUnit, @Nullable ParseCache parseCache) {
     List<? extends InputFile> filesNames = filterModuleInfo(inputFiles).toList();
     AnalysisProgress analysisProgress = new AnalysisProgress(filesNames.size());
     try {
       boolean shouldIgnoreUnnamedModuleForSplitPacakge = sonarComponents != null &&
         sonarComponents.shouldIgnoreUnnamedModuleForSplitPackage();
-      JParserConfig.Mode.FILE_BY_FILE
+      JParserConfig parserConfig = JParserConfig.Mode.FILE_BY_FILE
         .create(visitor.getJavaVersion(), visitor.getClasspath(), shouldIgnoreUnnamedModuleForSplitPacakge)
-        .parse(filesNames,
+        .withParseCache(parseCache)
+        .withSyntaxOnly(isSyntaxOnly());
+      if (isSyntaxOnly()) {
+        LOG.info("None of the active rules requires the semantic model: the files are parsed without resolving types.");
+      }
+      if (sonarComponents != null) {
+        parserConfig.withBindingCache(sonarComponents.moduleBindingCache(parserConfig.environmentFingerprint()));
+      }
+      parserConfig.parse(filesNames,
           this::analysisCancelled,
           analysisProgress,
           (i, r) -> simpleScan(i, r,
             // Due to a bug in ECJ, JAR files remain locked after the analysis on Windows, we unlock them manually. See SONARJAVA-3609.
-            JavaAstScanner::cleanUpAst,
+            // The environment of cached trees is cleaned up when they are evicted from the cache.
+            ast -> {
+              if (parseCache == null || !parseCache.contains(ast)) {
+                cleanUpAst(ast);
+              }
+            },
             modifyCompilationUnit));
     } finally {
       endOfAnalysis();
@@ -162,6 +275,9 @@ public class JavaAstScanner {
     Consumer<CompilationUnitTree> modifyCompilationUnit) {
     long startTime = currentTimeMillis();
     visitor.setCurrentFile(inputFile);
+    if (sonarComponents != null) {
+      sonarComponents.startBufferingIssues(inputFile);
+    }
     var telemetryAnalysisKeys = javaAnalysisKeys.exceptions();
     try {
       JavaTree.CompilationUnitTreeImpl ast = result.get();
@@ -191,6 +307,10 @@ public class JavaAstScanner {
         throw error;
       }
     } finally {
+      if (sonarComponents != null) {
+        sonarComponents.flushIssues();
+      }
+      visitor.flushFileRecord(inputFile);
       telemetry.aggregateAsCounter(telemetryAnalysisKeys.sizeCharsKey(), InputFileUtils.charCount(inputFile, 0));
       telemetry.aggregateAsCounter(telemetryAnalysisKeys.timeMsKey(), currentTimeMillis() - startTime);
     }
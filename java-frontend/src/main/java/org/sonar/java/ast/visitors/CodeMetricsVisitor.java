@@ -0,0 +1,274 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.ast.visitors;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.sonar.java.ast.api.JavaKeyword;
+import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
+import org.sonar.plugins.java.api.tree.BinaryExpressionTree;
+import org.sonar.plugins.java.api.tree.CaseGroupTree;
+import org.sonar.plugins.java.api.tree.CaseLabelTree;
+import org.sonar.plugins.java.api.tree.CatchTree;
+import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.ConditionalExpressionTree;
+import org.sonar.plugins.java.api.tree.DoWhileStatementTree;
+import org.sonar.plugins.java.api.tree.ForEachStatement;
+import org.sonar.plugins.java.api.tree.ForStatementTree;
+import org.sonar.plugins.java.api.tree.IfStatementTree;
+import org.sonar.plugins.java.api.tree.LambdaExpressionTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.NewClassTree;
+import org.sonar.plugins.java.api.tree.StatementTree;
+import org.sonar.plugins.java.api.tree.SwitchStatementTree;
+import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.TryStatementTree;
+import org.sonar.plugins.java.api.tree.VariableTree;
+import org.sonar.plugins.java.api.tree.WhileStatementTree;
+
+/**
+ * Computes the metrics used by design-oriented rules:
+ * <ul>
+ *   <li>the complexity of any tree, made of its methods with a body, its conditions, loops, non-default case labels, conditional
+ *   expressions and conditional operators. Nested types and lambdas only contribute to the complexity of types and compilation
+ *   units;</li>
+ *   <li>the deepest nesting level of a method, calculated starting from 0 and increased by 1 for each if, while, do, for, foreach,
+ *   lambda, switch case, try, catch, anonymous class and nested method body found nested within each other. An "else if" is not
+ *   nested deeper than the first "if";</li>
+ *   <li>the number of variables accessed by a method, which is the number of variables it declares, parameters included.</li>
+ * </ul>
+ * The metrics of a method are computed in a single traversal. Each metric only depends on part of the method: while traversing the
+ * union of these parts, the visitor keeps track of the metrics to which the current subtree contributes.
+ */
+public class CodeMetricsVisitor extends BaseTreeVisitor {
+
+  private static final String DEFAULT_KEYWORD = JavaKeyword.DEFAULT.getValue();
+
+  private final Tree root;
+  // nested types and lambdas only contribute to the complexity of types and compilation units
+  private final boolean complexityOfNestedCode;
+  private final List<Tree> complexityNodes = new ArrayList<>();
+  private int numberOfAccessedVariables = 0;
+  private int nestingLevel = 0;
+  private int maxNestingLevel = 0;
+
+  // whether the current subtree contributes to the complexity, the accessed variables and the nesting level
+  private boolean complexity = true;
+  private boolean variables;
+  private boolean nesting;
+
+  private CodeMetricsVisitor(Tree root, boolean allMetrics) {
+    this.root = root;
+    this.complexityOfNestedCode = root.is(Tree.Kind.CLASS, Tree.Kind.ENUM, Tree.Kind.INTERFACE, Tree.Kind.ANNOTATION_TYPE, Tree.Kind.COMPILATION_UNIT);
+    this.variables = allMetrics;
+    this.nesting = allMetrics;
+  }
+
+  public static MethodMetrics compute(MethodTree methodTree) {
+    CodeMetricsVisitor visitor = new CodeMetricsVisitor(methodTree, true);
+    visitor.scan(methodTree);
+    return new MethodMetrics(Collections.unmodifiableList(visitor.complexityNodes), visitor.maxNestingLevel, visitor.numberOfAccessedVariables);
+  }
+
+  /**
+   * Only computes the complexity, of any tree: the complexity of a method does not count its nested types and lambdas.
+   */
+  public static List<Tree> complexityNodes(Tree tree) {
+    CodeMetricsVisitor visitor = new CodeMetricsVisitor(tree, false);
+    visitor.scan(tree);
+    return visitor.complexityNodes;
+  }
+
+  public record MethodMetrics(List<Tree> complexityNodes, int maxNestingLevel, int numberOfAccessedVariables) {
+  }
+
+  @Override
+  public void visitMethod(MethodTree tree) {
+    if (complexity && tree.block() != null) {
+      complexityNodes.add(tree.simpleName().identifierToken());
+    }
+    // only the body of a method is nested, one level deeper than the enclosing code unless the method is the measured one
+    scan(tree.modifiers(), true, true, false, 0);
+    scan(tree.typeParameters(), true, true, false, 0);
+    scan(tree.returnType(), true, true, false, 0);
+    scan(tree.simpleName(), true, true, false, 0);
+    scanAll(tree.parameters(), true, true, false, 0);
+    scan(tree.defaultValue(), true, true, false, 0);
+    scan(tree.throwsClauses(), true, true, false, 0);
+    scan(tree.block(), true, true, true, tree == root ? 0 : 1);
+  }
+
+  @Override
+  public void visitClass(ClassTree tree) {
+    visit(complexityOfNestedCode, true, true, () -> super.visitClass(tree));
+  }
+
+  @Override
+  public void visitLambdaExpression(LambdaExpressionTree lambdaExpressionTree) {
+    boolean keepsComplexity = complexityOfNestedCode || lambdaExpressionTree == root;
+    if (keepsComplexity) {
+      addComplexityNode(lambdaExpressionTree.arrowToken());
+    }
+    scanAll(lambdaExpressionTree.parameters(), keepsComplexity, true, false, 0);
+    scan(lambdaExpressionTree.body(), keepsComplexity, true, true, 1);
+  }
+
+  @Override
+  public void visitCaseLabel(CaseLabelTree tree) {
+    if (complexity && !DEFAULT_KEYWORD.equals(tree.caseOrDefaultKeyword().text())) {
+      complexityNodes.add(tree.firstToken());
+    }
+    super.visitCaseLabel(tree);
+  }
+
+  @Override
+  public void visitForEachStatement(ForEachStatement tree) {
+    addComplexityNode(tree.firstToken());
+    scan(tree.variable(), true, true, false, 0);
+    scan(tree.expression(), true, true, false, 0);
+    scan(tree.statement(), true, true, true, 1);
+  }
+
+  @Override
+  public void visitForStatement(ForStatementTree tree) {
+    addComplexityNode(tree.firstToken());
+    scan(tree.initializer(), true, true, false, 0);
+    scan(tree.condition(), true, true, false, 0);
+    scan(tree.update(), true, true, false, 0);
+    scan(tree.statement(), true, true, true, 1);
+  }
+
+  @Override
+  public void visitWhileStatement(WhileStatementTree tree) {
+    addComplexityNode(tree.firstToken());
+    scan(tree.condition(), true, true, false, 0);
+    scan(tree.statement(), true, true, true, 1);
+  }
+
+  @Override
+  public void visitDoWhileStatement(DoWhileStatementTree tree) {
+    addComplexityNode(tree.firstToken());
+    scan(tree.statement(), true, true, true, 1);
+    scan(tree.condition(), true, true, false, 0);
+  }
+
+  @Override
+  public void visitIfStatement(IfStatementTree tree) {
+    addComplexityNode(tree.firstToken());
+    scan(tree.condition(), true, true, false, 0);
+    scan(tree.thenStatement(), true, true, true, 1);
+    StatementTree elseStatement = tree.elseStatement();
+    // "else if" is not nested deeper than the first "if"
+    scan(elseStatement, true, true, true, elseStatement != null && elseStatement.is(Tree.Kind.IF_STATEMENT) ? 0 : 1);
+  }
+
+  @Override
+  public void visitConditionalExpression(ConditionalExpressionTree tree) {
+    addComplexityNode(tree.questionToken());
+    super.visitConditionalExpression(tree);
+  }
+
+  @Override
+  public void visitBinaryExpression(BinaryExpressionTree tree) {
+    if (tree.is(Tree.Kind.CONDITIONAL_AND, Tree.Kind.CONDITIONAL_OR)) {
+      addComplexityNode(tree.operatorToken());
+    }
+    super.visitBinaryExpression(tree);
+  }
+
+  @Override
+  public void visitSwitchStatement(SwitchStatementTree tree) {
+    scan(tree.expression(), true, true, false, 0);
+    for (CaseGroupTree caseGroup : tree.cases()) {
+      scan(caseGroup, true, true, true, 1);
+    }
+  }
+
+  @Override
+  public void visitTryStatement(TryStatementTree tree) {
+    scan(tree.resourceList(), true, true, false, 0);
+    scan(tree.block(), true, true, true, 1);
+    for (CatchTree catchTree : tree.catches()) {
+      scan(catchTree, true, true, true, 1);
+    }
+    scan(tree.finallyBlock(), true, true, false, 0);
+  }
+
+  @Override
+  public void visitNewClass(NewClassTree tree) {
+    scan(tree.enclosingExpression(), true, true, false, 0);
+    scan(tree.identifier(), true, true, false, 0);
+    scan(tree.typeArguments(), true, true, false, 0);
+    scan(tree.arguments(), true, true, false, 0);
+    scan(tree.classBody(), true, true, true, 1);
+  }
+
+  @Override
+  public void visitVariable(VariableTree tree) {
+    if (variables) {
+      numberOfAccessedVariables++;
+    }
+    // the trees of a variable do not contribute to the accessed variables
+    visit(true, false, true, () -> super.visitVariable(tree));
+  }
+
+  private void addComplexityNode(Tree tree) {
+    if (complexity) {
+      complexityNodes.add(tree);
+    }
+  }
+
+  private void scanAll(List<? extends Tree> trees, boolean keepsComplexity, boolean keepsVariables, boolean keepsNesting, int nestingIncrement) {
+    for (Tree tree : trees) {
+      scan(tree, keepsComplexity, keepsVariables, keepsNesting, nestingIncrement);
+    }
+  }
+
+  /**
+   * Scans a subtree which only contributes to the metrics kept, among the ones to which the current subtree contributes.
+   */
+  private void scan(@Nullable Tree tree, boolean keepsComplexity, boolean keepsVariables, boolean keepsNesting, int nestingIncrement) {
+    if (tree == null) {
+      return;
+    }
+    int enclosingNestingLevel = nestingLevel;
+    if (nesting && keepsNesting) {
+      nestingLevel += nestingIncrement;
+      maxNestingLevel = Math.max(maxNestingLevel, nestingLevel);
+    }
+    visit(keepsComplexity, keepsVariables, keepsNesting, () -> scan(tree));
+    nestingLevel = enclosingNestingLevel;
+  }
+
+  private void visit(boolean keepsComplexity, boolean keepsVariables, boolean keepsNesting, Runnable visit) {
+    boolean enclosingComplexity = complexity;
+    boolean enclosingVariables = variables;
+    boolean enclosingNesting = nesting;
+    complexity &= keepsComplexity;
+    variables &= keepsVariables;
+    nesting &= keepsNesting;
+    if (complexity || variables || nesting) {
+      visit.run();
+    }
+    complexity = enclosingComplexity;
+    variables = enclosingVariables;
+    nesting = enclosingNesting;
+  }
+
+}
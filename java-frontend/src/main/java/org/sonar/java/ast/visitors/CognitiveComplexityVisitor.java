@@ -44,6 +44,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static org.sonar.plugins.java.api.tree.Tree.Kind.CONDITIONAL_AND;
@@ -102,6 +103,13 @@ public class CognitiveComplexityVisitor extends BaseTreeVisitor {
   }
 
   public static int compilationUnitComplexity(CompilationUnitTree cut) {
+    return compilationUnitComplexity(cut, CognitiveComplexityVisitor::methodComplexity);
+  }
+
+  /**
+   * @param methodComplexity computes the complexity of a method, allowing to reuse already computed method complexities
+   */
+  public static int compilationUnitComplexity(CompilationUnitTree cut, Function<MethodTree, Result> methodComplexity) {
     // only visit methods and initializers
     class CompilationUnitVisitor extends BaseTreeVisitor {
 
@@ -109,7 +117,7 @@ public class CognitiveComplexityVisitor extends BaseTreeVisitor {
 
       @Override
       public void visitMethod(MethodTree tree) {
-        cutComplexity += methodComplexity(tree).complexity;
+        cutComplexity += methodComplexity.apply(tree).complexity;
         super.visitMethod(tree);
       }
 
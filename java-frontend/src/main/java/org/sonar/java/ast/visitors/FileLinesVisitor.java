@@ -17,10 +17,9 @@
 package org.sonar.java.ast.visitors;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.measures.CoreMetrics;
 import org.sonar.api.measures.FileLinesContext;
@@ -28,6 +27,7 @@ import org.sonar.java.SonarComponents;
 import org.sonar.java.cfg.CFG;
 import org.sonar.java.model.ModifiersUtils;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.internal.SyntaxOnly;
 import org.sonar.plugins.java.api.tree.BlockTree;
 import org.sonar.plugins.java.api.tree.ExpressionTree;
 import org.sonar.plugins.java.api.tree.LambdaExpressionTree;
@@ -67,11 +67,12 @@ import static org.sonar.plugins.java.api.tree.Tree.Kind.WHILE_STATEMENT;
 /**
  * Saves information about lines directly into Sonar by using {@link FileLinesContext}.
  */
-public class FileLinesVisitor extends SubscriptionVisitor {
+public class FileLinesVisitor extends SubscriptionVisitor implements SyntaxOnly {
 
   private final SonarComponents sonarComponents;
-  private final Set<Integer> linesOfCode = new HashSet<>();
-  private final Set<Integer> executableLines = new HashSet<>();
+  private final BitSet linesOfCode = new BitSet();
+  private final BitSet executableLines = new BitSet();
+  private final ExecutableLinesTokenVisitor executableLinesTokenVisitor = new ExecutableLinesTokenVisitor();
 
   public FileLinesVisitor(SonarComponents sonarComponents) {
     this.sonarComponents = sonarComponents;
@@ -93,16 +94,25 @@ public class FileLinesVisitor extends SubscriptionVisitor {
     super.scanFile(context);
     InputFile currentFile = context.getInputFile();
     FileLinesContext fileLinesContext = sonarComponents.fileLinesContextFor(currentFile);
-    for (int line = 1; line <= currentFile.lines(); line++) {
-      fileLinesContext.setIntValue(CoreMetrics.NCLOC_DATA_KEY, line, linesOfCode.contains(line) ? 1 : 0);
-      fileLinesContext.setIntValue(CoreMetrics.EXECUTABLE_LINES_DATA_KEY, line, executableLines.contains(line) ? 1 : 0);
-    }
+    int lines = currentFile.lines();
+    saveLines(fileLinesContext, CoreMetrics.NCLOC_DATA_KEY, linesOfCode, lines);
+    saveLines(fileLinesContext, CoreMetrics.EXECUTABLE_LINES_DATA_KEY, executableLines, lines);
     fileLinesContext.save();
 
     linesOfCode.clear();
     executableLines.clear();
   }
 
+  /**
+   * Only the lines having the value 1 are set: 0 is the default value of these line metrics, and the lines having it are
+   * not stored when the file lines context is saved.
+   */
+  private static void saveLines(FileLinesContext fileLinesContext, String metricKey, BitSet lines, int numberOfLines) {
+    for (int line = lines.nextSetBit(1); line >= 0 && line <= numberOfLines; line = lines.nextSetBit(line + 1)) {
+      fileLinesContext.setIntValue(metricKey, line, 1);
+    }
+  }
+
   @Override
   public void visitNode(Tree tree) {
     List<? extends Tree> trees = Collections.emptyList();
@@ -125,7 +135,7 @@ public class FileLinesVisitor extends SubscriptionVisitor {
         FOR_EACH_STATEMENT,
         WHILE_STATEMENT,
         DO_STATEMENT:
-        executableLines.add(startLine(tree.lastToken()));
+        executableLines.set(startLine(tree.lastToken()));
         break;
       default:
         // Do nothing particular
@@ -140,7 +150,7 @@ public class FileLinesVisitor extends SubscriptionVisitor {
     }
     if(variableTree.parent().is(CATCH)) {
       // catch variable are counted as executable lines
-      new ExecutableLinesTokenVisitor().scanTree(variableTree);
+      executableLinesTokenVisitor.scanTree(variableTree);
     }
     return Collections.emptyList();
   }
@@ -159,7 +169,7 @@ public class FileLinesVisitor extends SubscriptionVisitor {
       // get the last
       TypeTree returnType = tree.returnType();
       if(returnType == null || "void".equals(returnType.firstToken().text())) {
-        executableLines.add(startLine(methodBody.closeBraceToken()));
+        executableLines.set(startLine(methodBody.closeBraceToken()));
       }
       return methodBody.body();
     }
@@ -179,13 +189,13 @@ public class FileLinesVisitor extends SubscriptionVisitor {
         t -> {
           if (t.is(NEW_CLASS)) {
             NewClassTree newClassTree = (NewClassTree) t;
-            new ExecutableLinesTokenVisitor().scanTree(newClassTree.identifier());
-            executableLines.add(startLine(newClassTree.newKeyword()));
+            executableLinesTokenVisitor.scanTree(newClassTree.identifier());
+            executableLines.set(startLine(newClassTree.newKeyword()));
           } else if (t.is(TRY_STATEMENT)) {
             // add last token of try statements
-            executableLines.add(startLine(t.lastToken()));
+            executableLines.set(startLine(t.lastToken()));
           } else {
-            executableLines.add(startLine(t));
+            executableLines.set(startLine(t));
           }
         }
       );
@@ -193,7 +203,7 @@ public class FileLinesVisitor extends SubscriptionVisitor {
 
   @Override
   public void visitToken(SyntaxToken syntaxToken) {
-    linesOfCode.add(startLine(syntaxToken));
+    linesOfCode.set(startLine(syntaxToken));
   }
 
   private static boolean isConstant(VariableTree variableTree) {
@@ -215,7 +225,7 @@ public class FileLinesVisitor extends SubscriptionVisitor {
 
     @Override
     public void visitToken(SyntaxToken syntaxToken) {
-      executableLines.add(startLine(syntaxToken));
+      executableLines.set(startLine(syntaxToken));
     }
   }
 }
@@ -33,6 +33,7 @@ import org.sonar.java.ast.api.JavaRestrictedKeyword;
 import org.sonar.java.model.ModifiersUtils;
 import org.sonar.java.model.declaration.ClassTreeImpl;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.internal.SyntaxOnly;
 import org.sonar.plugins.java.api.location.Position;
 import org.sonar.plugins.java.api.tree.AnnotationTree;
 import org.sonar.plugins.java.api.tree.ClassTree;
@@ -45,7 +46,7 @@ import org.sonar.plugins.java.api.tree.SyntaxTrivia.CommentKind;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.YieldStatementTree;
 
-public class SyntaxHighlighterVisitor extends SubscriptionVisitor {
+public class SyntaxHighlighterVisitor extends SubscriptionVisitor implements SyntaxOnly {
 
   private final SonarComponents sonarComponents;
   private final Map<Tree.Kind, TypeOfText> typesByKind;
@@ -23,6 +23,7 @@ import org.slf4j.LoggerFactory;
 import org.sonar.api.batch.sensor.SensorContext;
 import org.sonar.java.SonarComponents;
 import org.sonar.plugins.java.api.caching.CacheContext;
+import org.sonar.plugins.java.api.caching.FileRecordCache;
 import org.sonar.plugins.java.api.caching.JavaReadCache;
 import org.sonar.plugins.java.api.caching.JavaWriteCache;
 import org.sonar.plugins.java.api.caching.SonarLintCache;
@@ -39,11 +40,13 @@ public class CacheContextImpl implements CacheContext {
   private final boolean isCacheEnabled;
   private final JavaReadCache readCache;
   private final JavaWriteCache writeCache;
+  private final FileRecordCache fileRecordCache;
 
-  private CacheContextImpl(boolean isCacheEnabled, JavaReadCache readCache, JavaWriteCache writeCache) {
+  private CacheContextImpl(boolean isCacheEnabled, JavaReadCache readCache, JavaWriteCache writeCache, FileRecordCache fileRecordCache) {
     this.isCacheEnabled = isCacheEnabled;
     this.readCache = readCache;
     this.writeCache = writeCache;
+    this.fileRecordCache = fileRecordCache;
   }
 
   public static CacheContextImpl of(@Nullable SonarComponents sonarComponents) {
@@ -68,30 +71,40 @@ public class CacheContextImpl implements CacheContext {
       var isCachingEnabled = isCachingEnabled(sensorContext);
       LOGGER.trace("Caching is enabled: {}", isCachingEnabled);
       if (!isCachingEnabled) {
-        return dummyCache();
+        return localOrDummyCache(sonarComponents);
       }
 
-      return fromSensorContext(sensorContext);
+      return fromSensorContext(sonarComponents, sensorContext);
     } catch (NoSuchMethodError error) {
       LOGGER.debug("Missing cache related method from sonar-plugin-api: {}.", error.getMessage());
+      return localOrDummyCache(sonarComponents);
+    }
+  }
+
+  private static CacheContextImpl localOrDummyCache(SonarComponents sonarComponents) {
+    LocalFileCache localCache = sonarComponents.localCache();
+    if (localCache == null) {
       return dummyCache();
     }
+    return new CacheContextImpl(true, localCache, localCache, sonarComponents.fileRecordCache(localCache, localCache));
   }
 
   private static CacheContextImpl dummyCache() {
     var dummyCache = new DummyCache();
-    return new CacheContextImpl(false, dummyCache, dummyCache);
+    return new CacheContextImpl(false, dummyCache, dummyCache, new KeyPerSectionFileRecordCache(dummyCache, dummyCache));
   }
 
-  private static CacheContextImpl fromSensorContext(SensorContext context) {
-    return new CacheContextImpl(
-      true,
-      new JavaReadCacheImpl(context.previousCache()),
-      new JavaWriteCacheImpl(context.nextCache())
-    );
+  private static CacheContextImpl fromSensorContext(SonarComponents sonarComponents, SensorContext context) {
+    var readCache = new JavaReadCacheImpl(context.previousCache());
+    var writeCache = new JavaWriteCacheImpl(context.nextCache());
+    // Records are shared by all the contexts created for the same analysis, so that sections written by different visitors of a file
+    // end up in the same cache entry.
+    return new CacheContextImpl(true, readCache, writeCache, sonarComponents.fileRecordCache(readCache, writeCache));
   }
 
   private static CacheContextImpl fromSonarLintCache(SonarLintCache sonarLintCache) {
+    var readCache = new JavaReadCacheImpl(sonarLintCache);
+    var writeCache = new JavaWriteCacheImpl(sonarLintCache);
     return new CacheContextImpl(
       // SonarLintCache is not an actual cache, but a temporary solution to transferring data between plugins in SonarLint.
       // Hence, it should not report that caching is enabled so that no logic which is not aware of SonarLintCache tries to use it like
@@ -99,8 +112,9 @@ public class CacheContextImpl implements CacheContext {
       // (However, this means code which is aware of SonarLintCache needs to consciously ignore the `isCacheEnabled` setting where
       // appropriate.)
       false,
-      new JavaReadCacheImpl(sonarLintCache),
-      new JavaWriteCacheImpl(sonarLintCache)
+      readCache,
+      writeCache,
+      new KeyPerSectionFileRecordCache(readCache, writeCache)
     );
   }
 
@@ -127,4 +141,9 @@ public class CacheContextImpl implements CacheContext {
   public JavaWriteCache getWriteCache() {
     return writeCache;
   }
+
+  @Override
+  public FileRecordCache getFileRecordCache() {
+    return fileRecordCache;
+  }
 }
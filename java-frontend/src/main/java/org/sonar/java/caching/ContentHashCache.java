@@ -19,35 +19,38 @@ package org.sonar.java.caching;
 import java.io.IOException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sonar.api.batch.fs.InputFile;
-import org.sonar.api.batch.sensor.cache.ReadCache;
-import org.sonar.api.batch.sensor.cache.WriteCache;
 import org.sonar.java.SonarComponents;
+import org.sonar.plugins.java.api.caching.FileRecordCache;
 
 public class ContentHashCache {
 
   private static final Logger LOG = LoggerFactory.getLogger(ContentHashCache.class);
-  private static final String CONTENT_HASH_KEY = String.format("java:contentHash:%s:", FileHashingUtils.HASH_ALGORITHM);
+  private static final String CONTENT_HASH_SECTION = String.format("java:contentHash:%s", FileHashingUtils.HASH_ALGORITHM);
   private static final String HASH_COMPUTE_FAIL_MSG = "Failed to compute content hash for file %s";
 
-  private ReadCache readCache;
-  private WriteCache writeCache;
+  private FileRecordCache fileRecordCache;
   private final boolean enabled;
 
   public ContentHashCache(SonarComponents sonarComponents) {
     CacheContextImpl cacheContext = CacheContextImpl.of(sonarComponents);
     enabled = cacheContext.isCacheEnabled();
-
-    var sensorContext = sonarComponents.context();
     if (enabled) {
-      readCache = sensorContext.previousCache();
-      writeCache = sensorContext.nextCache();
+      fileRecordCache = cacheContext.getFileRecordCache();
     }
   }
 
   public boolean hasSameHashCached(InputFile inputFile) {
+    return hasSameHashCached(inputFile, null);
+  }
+
+  /**
+   * @param contentHash the content hash of the file when it was already computed, null to compute it
+   */
+  public boolean hasSameHashCached(InputFile inputFile, @Nullable byte[] contentHash) {
     if (!enabled) {
       if (inputFile.status() == InputFile.Status.SAME) {
         LOG.trace("Cache is disabled. File status is: {}. File can be skipped.", inputFile.status());
@@ -59,19 +62,21 @@ public class ContentHashCache {
     String cacheKey = getCacheKey(inputFile);
     try {
       LOG.trace("Reading cache for the file {}", inputFile.key());
-      byte[] cachedHash = readCache.read(cacheKey).readAllBytes();
-      byte[] fileHash = FileHashingUtils.inputFileContentHash(inputFile);
+      byte[] cachedHash = fileRecordCache.readSection(inputFile, CONTENT_HASH_SECTION);
+      if (cachedHash == null) {
+        LOG.trace(String.format("Could not find key %s in the cache", cacheKey));
+        writeToCache(inputFile, contentHash);
+        return false;
+      }
+      byte[] fileHash = contentHash != null ? contentHash : FileHashingUtils.inputFileContentHash(inputFile);
       boolean isHashEqual = MessageDigest.isEqual(fileHash, cachedHash);
       if (isHashEqual) {
         copyFromPrevious(inputFile);
       } else {
-        writeToCache(inputFile);
+        writeToCache(inputFile, fileHash);
       }
       return isHashEqual;
-    } catch (IllegalArgumentException e) {
-      LOG.trace(String.format("Could not find key %s in the cache", cacheKey));
-      writeToCache(inputFile);
-    } catch (IOException | NoSuchAlgorithmException e) {
+    } catch (IOException | NoSuchAlgorithmException | CacheReadException e) {
       LOG.warn(String.format(HASH_COMPUTE_FAIL_MSG, inputFile.key()));
     }
     return false;
@@ -82,10 +87,17 @@ public class ContentHashCache {
       LOG.trace("Cannot lookup cached hashes when the cache is disabled ({}).", inputFile.key());
       return false;
     }
-    return readCache.contains(getCacheKey(inputFile));
+    return fileRecordCache.readSection(inputFile, CONTENT_HASH_SECTION) != null;
   }
 
   public boolean writeToCache(InputFile inputFile) {
+    return writeToCache(inputFile, null);
+  }
+
+  /**
+   * @param contentHash the content hash of the file when it was already computed, null to compute it
+   */
+  public boolean writeToCache(InputFile inputFile, @Nullable byte[] contentHash) {
     if (!enabled) {
       LOG.trace("Cannot write hashes to the cache when the cache is disabled ({}).", inputFile.key());
       return false;
@@ -93,7 +105,8 @@ public class ContentHashCache {
     LOG.trace("Writing to the cache for file {}", inputFile.key());
     String cacheKey = getCacheKey(inputFile);
     try {
-      writeCache.write(cacheKey, FileHashingUtils.inputFileContentHash(inputFile));
+      byte[] fileHash = contentHash != null ? contentHash : FileHashingUtils.inputFileContentHash(inputFile);
+      fileRecordCache.writeSection(inputFile, CONTENT_HASH_SECTION, fileHash);
       return true;
     } catch (IllegalArgumentException e) {
       LOG.trace(String.format("Tried to write multiple times to cache key %s. Ignoring writes after the first.", cacheKey));
@@ -105,10 +118,10 @@ public class ContentHashCache {
 
   private void copyFromPrevious(InputFile inputFile) {
     LOG.trace("Copying cache from previous for file {}", inputFile.key());
-    writeCache.copyFromPrevious(getCacheKey(inputFile));
+    fileRecordCache.copySectionFromPrevious(inputFile, CONTENT_HASH_SECTION);
   }
 
   private static String getCacheKey(InputFile inputFile) {
-    return CONTENT_HASH_KEY + inputFile.key();
+    return KeyPerSectionFileRecordCache.cacheKey(inputFile, CONTENT_HASH_SECTION);
   }
 }
@@ -0,0 +1,249 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.caching;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.CheckForNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.java.annotations.VisibleForTesting;
+import org.sonar.plugins.java.api.caching.FileRecordCache;
+import org.sonar.plugins.java.api.caching.JavaReadCache;
+import org.sonar.plugins.java.api.caching.JavaWriteCache;
+
+/**
+ * {@link FileRecordCache} storing all the sections of a file in a single cache entry, {@code java:fileRecord:<file key>}.
+ * <p>
+ * The previous record of a file is read and decoded on the first access to one of its sections. Sections written or copied during
+ * the analysis are kept in memory until {@link #flush(InputFile)} is called, which writes the record once. Records that are still
+ * pending at the end of the analysis, for example because the analysis of their file failed, are written by {@link #flushAll()}.
+ * Once the record of a file is written, its sections cannot be written or copied anymore.
+ * When every section of the previous record was copied and nothing else was written, the whole entry is copied from the previous
+ * cache instead.
+ * <p>
+ * Records of different files can be read and written concurrently. Records are written to the cache one at a time, so that the write
+ * cache, which is not required to be thread-safe, is only used by a single thread.
+ * <p>
+ * Record format: a version byte, the number of sections, then for each section its name (modified UTF-8), the length of its data
+ * and the data itself.
+ */
+public class FileRecordCacheImpl implements FileRecordCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(FileRecordCacheImpl.class);
+
+  private static final String RECORD_KEY_PREFIX = "java:fileRecord:";
+  @VisibleForTesting
+  static final byte FORMAT_VERSION = 1;
+
+  private final JavaReadCache readCache;
+  private final JavaWriteCache writeCache;
+  private final Map<String, PendingRecord> pendingRecords = new ConcurrentHashMap<>();
+  private final Set<String> flushedFileKeys = ConcurrentHashMap.newKeySet();
+  private final Object writeLock = new Object();
+
+  public FileRecordCacheImpl(JavaReadCache readCache, JavaWriteCache writeCache) {
+    this.readCache = readCache;
+    this.writeCache = writeCache;
+  }
+
+  @CheckForNull
+  @Override
+  public byte[] readSection(InputFile inputFile, String section) {
+    PendingRecord pendingRecord = pendingRecord(inputFile);
+    synchronized (pendingRecord) {
+      return pendingRecord.previousSections().get(section);
+    }
+  }
+
+  @Override
+  public void writeSection(InputFile inputFile, String section, byte[] data) {
+    checkNotFlushed(inputFile, section);
+    PendingRecord pendingRecord = pendingRecord(inputFile);
+    synchronized (pendingRecord) {
+      checkNotWritten(pendingRecord, inputFile, section);
+      pendingRecord.sections.put(section, data);
+    }
+  }
+
+  @Override
+  public void copySectionFromPrevious(InputFile inputFile, String section) {
+    checkNotFlushed(inputFile, section);
+    PendingRecord pendingRecord = pendingRecord(inputFile);
+    synchronized (pendingRecord) {
+      byte[] previousData = pendingRecord.previousSections().get(section);
+      if (previousData == null) {
+        throw new IllegalArgumentException(String.format("Previous record of file '%s' has no section '%s'", inputFile.key(), section));
+      }
+      checkNotWritten(pendingRecord, inputFile, section);
+      pendingRecord.sections.put(section, previousData);
+      pendingRecord.copiedSections.add(section);
+    }
+  }
+
+  /**
+   * Writes the record of the given file to the cache. Writing or copying a section of this file afterward fails.
+   */
+  public void flush(InputFile inputFile) {
+    flushedFileKeys.add(inputFile.key());
+    PendingRecord pendingRecord = pendingRecords.remove(inputFile.key());
+    if (pendingRecord == null) {
+      return;
+    }
+    write(pendingRecord);
+  }
+
+  /**
+   * Writes the records of all the files that were not flushed yet.
+   */
+  public void flushAll() {
+    for (String fileKey : new ArrayList<>(pendingRecords.keySet())) {
+      flushedFileKeys.add(fileKey);
+      PendingRecord pendingRecord = pendingRecords.remove(fileKey);
+      if (pendingRecord != null) {
+        write(pendingRecord);
+      }
+    }
+  }
+
+  private void write(PendingRecord pendingRecord) {
+    synchronized (pendingRecord) {
+      if (!pendingRecord.sections.isEmpty()) {
+        writeRecord(pendingRecord);
+      }
+    }
+  }
+
+  private void writeRecord(PendingRecord pendingRecord) {
+    String recordKey = pendingRecord.key;
+    synchronized (writeLock) {
+      try {
+        if (pendingRecord.isCopyOfPrevious()) {
+          writeCache.copyFromPrevious(recordKey);
+        } else {
+          writeCache.write(recordKey, encode(pendingRecord.sections));
+        }
+      } catch (IllegalArgumentException e) {
+        LOG.trace("Could not store cache record '{}': {}", recordKey, e.getMessage());
+      }
+    }
+  }
+
+  private PendingRecord pendingRecord(InputFile inputFile) {
+    return pendingRecords.computeIfAbsent(inputFile.key(), fileKey -> new PendingRecord(RECORD_KEY_PREFIX + fileKey));
+  }
+
+  private void checkNotFlushed(InputFile inputFile, String section) {
+    if (flushedFileKeys.contains(inputFile.key())) {
+      throw new IllegalArgumentException(String.format("Section '%s' of file '%s' cannot be written after its record was stored", section,
+        inputFile.key()));
+    }
+  }
+
+  private static void checkNotWritten(PendingRecord pendingRecord, InputFile inputFile, String section) {
+    if (pendingRecord.sections.containsKey(section)) {
+      throw new IllegalArgumentException(String.format("Section '%s' of file '%s' cannot be written to multiple times", section, inputFile.key()));
+    }
+  }
+
+  @VisibleForTesting
+  static byte[] encode(Map<String, byte[]> sections) {
+    var bytes = new ByteArrayOutputStream();
+    try (var out = new DataOutputStream(bytes)) {
+      out.writeByte(FORMAT_VERSION);
+      out.writeInt(sections.size());
+      for (Map.Entry<String, byte[]> section : sections.entrySet()) {
+        out.writeUTF(section.getKey());
+        out.writeInt(section.getValue().length);
+        out.write(section.getValue());
+      }
+    } catch (IOException e) {
+      // Cannot happen when writing to a ByteArrayOutputStream
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * @throws IOException if the data is not a record in the current format.
+   */
+  @VisibleForTesting
+  static Map<String, byte[]> decode(byte[] data) throws IOException {
+    try (var in = new DataInputStream(new ByteArrayInputStream(data))) {
+      byte version = in.readByte();
+      if (version != FORMAT_VERSION) {
+        throw new IOException("Unsupported record format version " + version);
+      }
+      int sectionCount = in.readInt();
+      Map<String, byte[]> sections = new LinkedHashMap<>();
+      for (int i = 0; i < sectionCount; i++) {
+        String section = in.readUTF();
+        byte[] sectionData = new byte[in.readInt()];
+        in.readFully(sectionData);
+        sections.put(section, sectionData);
+      }
+      return sections;
+    }
+  }
+
+  private class PendingRecord {
+    private final String key;
+    private final Map<String, byte[]> sections = new LinkedHashMap<>();
+    private final Set<String> copiedSections = new HashSet<>();
+    private Map<String, byte[]> previousSections;
+
+    private PendingRecord(String key) {
+      this.key = key;
+    }
+
+    private Map<String, byte[]> previousSections() {
+      if (previousSections == null) {
+        previousSections = readPreviousSections();
+      }
+      return previousSections;
+    }
+
+    private Map<String, byte[]> readPreviousSections() {
+      byte[] data = readCache.readBytes(key);
+      if (data == null) {
+        return Collections.emptyMap();
+      }
+      try {
+        return decode(data);
+      } catch (IOException | RuntimeException e) {
+        LOG.trace("Ignoring unreadable cache record '{}': {}", key, e.getMessage());
+        return Collections.emptyMap();
+      }
+    }
+
+    private boolean isCopyOfPrevious() {
+      return copiedSections.size() == sections.size() && copiedSections.size() == previousSections().size();
+    }
+  }
+}
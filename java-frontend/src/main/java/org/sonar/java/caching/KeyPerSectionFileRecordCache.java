@@ -0,0 +1,58 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.caching;
+
+import javax.annotation.CheckForNull;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.plugins.java.api.caching.FileRecordCache;
+import org.sonar.plugins.java.api.caching.JavaReadCache;
+import org.sonar.plugins.java.api.caching.JavaWriteCache;
+
+/**
+ * {@link FileRecordCache} storing every section of a file under its own cache key, {@code <section>:<file key>}.
+ * Used where records cannot be flushed at the end of the analysis of a file, and by the test tooling to inspect sections separately.
+ */
+public class KeyPerSectionFileRecordCache implements FileRecordCache {
+
+  private final JavaReadCache readCache;
+  private final JavaWriteCache writeCache;
+
+  public KeyPerSectionFileRecordCache(JavaReadCache readCache, JavaWriteCache writeCache) {
+    this.readCache = readCache;
+    this.writeCache = writeCache;
+  }
+
+  @CheckForNull
+  @Override
+  public byte[] readSection(InputFile inputFile, String section) {
+    return readCache.readBytes(cacheKey(inputFile, section));
+  }
+
+  @Override
+  public void writeSection(InputFile inputFile, String section, byte[] data) {
+    writeCache.write(cacheKey(inputFile, section), data);
+  }
+
+  @Override
+  public void copySectionFromPrevious(InputFile inputFile, String section) {
+    writeCache.copyFromPrevious(cacheKey(inputFile, section));
+  }
+
+  public static String cacheKey(InputFile inputFile, String section) {
+    return section + ":" + inputFile.key();
+  }
+}
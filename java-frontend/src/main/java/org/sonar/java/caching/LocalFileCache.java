@@ -0,0 +1,343 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.caching;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.java.annotations.VisibleForTesting;
+import org.sonar.plugins.java.api.caching.JavaReadCache;
+import org.sonar.plugins.java.api.caching.JavaWriteCache;
+
+/**
+ * Analysis cache stored on the local filesystem, used when the server does not provide one.
+ * <p>
+ * The values are appended to a data file, which is memory-mapped to read the entries of the previous analysis. An index file maps each
+ * key to the position of its value in the data file. It is rewritten at the end of the analysis, when {@link #save()} is called, and
+ * only references the entries written or copied during that analysis. Copying an entry from the previous analysis is therefore free.
+ * When the data file mostly contains unreferenced values, it is compacted into a new data file containing only the referenced ones.
+ * <p>
+ * Until {@link #save()} succeeds, the previous index stays untouched: an interrupted analysis, which only calls {@link #close()}, leaves
+ * the cache of the previous analysis usable. Once the cache is saved or closed, or after a failed write, it can still be read but
+ * writes are ignored.
+ */
+public class LocalFileCache implements JavaReadCache, JavaWriteCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(LocalFileCache.class);
+
+  private static final String INDEX_FILE = "index";
+  private static final String DATA_FILE_PREFIX = "data-";
+  private static final int FORMAT_VERSION = 1;
+  /**
+   * Data files smaller than this are never compacted.
+   */
+  @VisibleForTesting
+  static final long MIN_COMPACTION_SIZE = 1024L * 1024L;
+
+  private final Path directory;
+  private final Map<String, Slot> previousEntries;
+  private final Map<String, Slot> nextEntries = new LinkedHashMap<>();
+  private final int generation;
+  private final FileChannel dataChannel;
+  @Nullable
+  private final MappedByteBuffer previousData;
+  private final DataOutputStream appender;
+  private long dataSize;
+  private boolean closed = false;
+  private boolean writeFailed = false;
+
+  private LocalFileCache(Path directory, int generation, Map<String, Slot> previousEntries) throws IOException {
+    this.directory = directory;
+    this.generation = generation;
+    Path dataFile = directory.resolve(DATA_FILE_PREFIX + generation);
+    this.dataChannel = FileChannel.open(dataFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    if (dataChannel.size() > Integer.MAX_VALUE) {
+      // Too large to be mapped, should not happen thanks to compaction
+      LOG.warn("The local analysis cache in {} is too large and will be reset.", directory);
+      dataChannel.truncate(0);
+      previousEntries = Collections.emptyMap();
+    }
+    this.dataSize = dataChannel.size();
+    this.previousEntries = isConsistent(previousEntries, dataSize) ? previousEntries : Collections.emptyMap();
+    this.previousData = dataSize > 0 ? dataChannel.map(FileChannel.MapMode.READ_ONLY, 0, dataSize) : null;
+    this.appender = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(dataChannel.position(dataSize))));
+  }
+
+  /**
+   * Opens the cache stored in the given directory, which is created if needed. A missing or unreadable cache is considered empty.
+   */
+  public static LocalFileCache open(Path directory) throws IOException {
+    Files.createDirectories(directory);
+    Path indexFile = directory.resolve(INDEX_FILE);
+    int generation = 0;
+    Map<String, Slot> entries = Collections.emptyMap();
+    if (Files.isRegularFile(indexFile)) {
+      try (var in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(indexFile)))) {
+        if (in.readInt() != FORMAT_VERSION) {
+          throw new IOException("Unsupported format version");
+        }
+        generation = in.readInt();
+        entries = readEntries(in);
+      } catch (IOException | RuntimeException e) {
+        LOG.warn("The local analysis cache in {} is unreadable and will be reset: {}", directory, e.getMessage());
+        generation = 0;
+        entries = Collections.emptyMap();
+      }
+    }
+    deleteUnusedDataFiles(directory, DATA_FILE_PREFIX + generation);
+    return new LocalFileCache(directory, generation, entries);
+  }
+
+  @Override
+  public InputStream read(String key) {
+    byte[] data = readBytes(key);
+    if (data == null) {
+      throw new IllegalArgumentException(String.format("No cache data available for key '%s'", key));
+    }
+    return new ByteArrayInputStream(data);
+  }
+
+  @CheckForNull
+  @Override
+  public byte[] readBytes(String key) {
+    Slot slot = previousEntries.get(key);
+    if (slot == null || previousData == null) {
+      LOG.trace("Cache miss for key '{}'", key);
+      return null;
+    }
+    byte[] data = new byte[slot.length];
+    previousData.slice((int) slot.offset, slot.length).get(data);
+    return data;
+  }
+
+  @Override
+  public boolean contains(String key) {
+    return previousEntries.containsKey(key);
+  }
+
+  @Override
+  public void write(String key, InputStream data) {
+    try {
+      write(key, data.readAllBytes());
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @Override
+  public synchronized void write(String key, byte[] data) {
+    if (!isWritable(key)) {
+      return;
+    }
+    byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+    try {
+      appender.writeInt(keyBytes.length);
+      appender.write(keyBytes);
+      appender.writeInt(data.length);
+      appender.write(data);
+    } catch (IOException e) {
+      // The data file may end with a partial record: the entries of this analysis are not saved
+      LOG.warn("Unable to write key '{}' to the local analysis cache, it will not be updated: {}", key, e.getMessage());
+      writeFailed = true;
+      return;
+    }
+    long valueOffset = dataSize + Integer.BYTES + keyBytes.length + Integer.BYTES;
+    dataSize = valueOffset + data.length;
+    nextEntries.put(key, new Slot(valueOffset, data.length));
+  }
+
+  @Override
+  public synchronized void copyFromPrevious(String key) {
+    Slot slot = previousEntries.get(key);
+    if (slot == null) {
+      throw new IllegalArgumentException(String.format("No cache data available for key '%s'", key));
+    }
+    if (isWritable(key)) {
+      nextEntries.put(key, slot);
+    }
+  }
+
+  private boolean isWritable(String key) {
+    if (nextEntries.containsKey(key)) {
+      throw new IllegalArgumentException(String.format("Same key cannot be written to multiple times (%s)", key));
+    }
+    if (closed || writeFailed) {
+      LOG.debug("The local analysis cache is not writable anymore, key '{}' is ignored.", key);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Stores the entries written or copied during this analysis for the next one, and closes the cache.
+   */
+  public synchronized void save() throws IOException {
+    if (closed) {
+      return;
+    }
+    if (writeFailed) {
+      close();
+      return;
+    }
+    closed = true;
+    try {
+      appender.flush();
+      dataChannel.force(false);
+      long liveSize = nextEntries.entrySet().stream().mapToLong(entry -> recordSize(entry.getKey(), entry.getValue())).sum();
+      if (dataSize >= MIN_COMPACTION_SIZE && liveSize * 2 < dataSize) {
+        compact(liveSize);
+      } else {
+        writeIndex(generation, nextEntries);
+      }
+    } finally {
+      dataChannel.close();
+    }
+  }
+
+  /**
+   * Closes the cache without storing the entries of this analysis, so that the next analysis uses the entries of the previous one.
+   */
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      dataChannel.close();
+    } catch (IOException e) {
+      LOG.debug("Unable to close the local analysis cache: {}", e.getMessage());
+    }
+  }
+
+  private void compact(long liveSize) throws IOException {
+    int nextGeneration = generation + 1;
+    Path compactedFile = directory.resolve(DATA_FILE_PREFIX + nextGeneration);
+    Map<String, Slot> compactedEntries = new LinkedHashMap<>();
+    try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(compactedFile)))) {
+      long offset = 0;
+      for (Map.Entry<String, Slot> entry : nextEntries.entrySet()) {
+        byte[] keyBytes = entry.getKey().getBytes(StandardCharsets.UTF_8);
+        Slot slot = entry.getValue();
+        ByteBuffer value = ByteBuffer.allocate(slot.length);
+        while (value.hasRemaining()) {
+          if (dataChannel.read(value, slot.offset + value.position()) < 0) {
+            throw new IOException("Unexpected end of the local analysis cache data");
+          }
+        }
+        out.writeInt(keyBytes.length);
+        out.write(keyBytes);
+        out.writeInt(slot.length);
+        out.write(value.array());
+        long valueOffset = offset + Integer.BYTES + keyBytes.length + Integer.BYTES;
+        compactedEntries.put(entry.getKey(), new Slot(valueOffset, slot.length));
+        offset = valueOffset + slot.length;
+      }
+    }
+    writeIndex(nextGeneration, compactedEntries);
+    LOG.debug("Compacted the local analysis cache from {} to {} bytes.", dataSize, liveSize);
+    // The previous data file may still be mapped, in which case it is deleted when the cache is opened next time
+    deleteUnusedDataFiles(directory, compactedFile.getFileName().toString());
+  }
+
+  private void writeIndex(int indexGeneration, Map<String, Slot> entries) throws IOException {
+    Path temporaryIndex = directory.resolve(INDEX_FILE + ".tmp");
+    try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryIndex)))) {
+      out.writeInt(FORMAT_VERSION);
+      out.writeInt(indexGeneration);
+      out.writeInt(entries.size());
+      for (Map.Entry<String, Slot> entry : entries.entrySet()) {
+        byte[] keyBytes = entry.getKey().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(keyBytes.length);
+        out.write(keyBytes);
+        out.writeLong(entry.getValue().offset);
+        out.writeInt(entry.getValue().length);
+      }
+    }
+    Path indexFile = directory.resolve(INDEX_FILE);
+    try {
+      Files.move(temporaryIndex, indexFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temporaryIndex, indexFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  private static Map<String, Slot> readEntries(DataInputStream in) throws IOException {
+    int count = in.readInt();
+    Map<String, Slot> entries = new HashMap<>();
+    for (int i = 0; i < count; i++) {
+      byte[] keyBytes = new byte[in.readInt()];
+      in.readFully(keyBytes);
+      entries.put(new String(keyBytes, StandardCharsets.UTF_8), new Slot(in.readLong(), in.readInt()));
+    }
+    return entries;
+  }
+
+  private static boolean isConsistent(Map<String, Slot> entries, long dataSize) {
+    boolean consistent = entries.values().stream().allMatch(slot -> slot.offset >= 0 && slot.length >= 0 && slot.offset + slot.length <= dataSize);
+    if (!consistent) {
+      LOG.warn("The local analysis cache references missing data and will be reset.");
+    }
+    return consistent;
+  }
+
+  private static void deleteUnusedDataFiles(Path directory, String usedDataFile) {
+    try (Stream<Path> files = Files.list(directory)) {
+      files
+        .filter(file -> file.getFileName().toString().startsWith(DATA_FILE_PREFIX) && !file.getFileName().toString().equals(usedDataFile))
+        .forEach(LocalFileCache::deleteQuietly);
+    } catch (IOException e) {
+      LOG.debug("Unable to list the files of the local analysis cache: {}", e.getMessage());
+    }
+  }
+
+  private static void deleteQuietly(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      LOG.debug("Unable to delete unused file {} of the local analysis cache: {}", file, e.getMessage());
+    }
+  }
+
+  private static long recordSize(String key, Slot slot) {
+    return Integer.BYTES + (long) key.getBytes(StandardCharsets.UTF_8).length + Integer.BYTES + slot.length;
+  }
+
+  private record Slot(long offset, int length) {
+  }
+}
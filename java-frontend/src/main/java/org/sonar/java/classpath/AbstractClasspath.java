@@ -33,11 +33,16 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +50,7 @@ import org.sonar.api.batch.ScannerSide;
 import org.sonar.api.batch.fs.FileSystem;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.config.Configuration;
+import org.sonar.java.classpath.ClasspathGlobCache.Glob;
 import org.sonar.java.collections.CollectionUtils;
 import org.sonarsource.api.sonarlint.SonarLintSide;
 
@@ -58,6 +64,7 @@ public abstract class AbstractClasspath {
   protected final Configuration settings;
   protected final FileSystem fs;
   private final InputFile.Type fileType;
+  private final ClasspathGlobCache globCache;
   private static final Path[] STANDARD_CLASSES_DIRS = {Paths.get("target", "classes"), Paths.get("target", "test-classes")};
 
   protected final List<File> binaries;
@@ -67,9 +74,14 @@ public abstract class AbstractClasspath {
   private boolean inAndroidContext = false;
 
   protected AbstractClasspath(Configuration settings, FileSystem fs, InputFile.Type fileType) {
+    this(settings, fs, fileType, new ClasspathGlobCache());
+  }
+
+  protected AbstractClasspath(Configuration settings, FileSystem fs, InputFile.Type fileType, ClasspathGlobCache globCache) {
     this.settings = settings;
     this.fs = fs;
     this.fileType = fileType;
+    this.globCache = globCache;
     this.binaries = new ArrayList<>();
     this.elements = new ArrayList<>();
     initialized = false;
@@ -111,14 +123,28 @@ public abstract class AbstractClasspath {
   protected Set<File> getFilesFromProperty(String property) {
     Set<File> result = new LinkedHashSet<>();
     if (settings.hasKey(property)) {
+      long start = System.nanoTime();
       List<String> fileNames = Arrays.stream(settings.getStringArray(property))
         .filter(s -> !s.isEmpty()).toList();
-      File baseDir = fs.baseDir();
+      Path baseDir = fs.baseDir().toPath();
       boolean hasJavaSources = hasJavaSources();
       boolean validateLibs = validateLibraries;
       boolean isLibraryProperty = property.endsWith("libraries");
+      // patterns which are not files require to walk directories: they are resolved together, through the cache of the analysis
+      Map<String, File> files = new HashMap<>();
+      Map<String, Glob> globs = new HashMap<>();
+      for (String pathPattern : fileNames) {
+        File file = existingFile(baseDir, pathPattern);
+        if (file != null) {
+          files.put(pathPattern, file);
+        } else {
+          globs.put(pathPattern, Glob.of(baseDir, pathPattern, isLibraryProperty));
+        }
+      }
+      Map<Glob, Set<File>> filesByGlob = globCache.resolve(globs.values(), AbstractClasspath::getFilesForGlob);
       for (String pathPattern : fileNames) {
-        Set<File> libraryFilesForPattern = getFilesForPattern(baseDir.toPath(), pathPattern, isLibraryProperty);
+        File file = files.get(pathPattern);
+        Set<File> libraryFilesForPattern = file != null ? getMatchingFile(pathPattern, file) : filesByGlob.get(globs.get(pathPattern));
         if (validateLibraries && libraryFilesForPattern.isEmpty() && hasJavaSources) {
           LOG.error("Invalid value for '{}' property.", property);
           String message = "No files nor directories matching '" + pathPattern + "'";
@@ -130,6 +156,7 @@ public abstract class AbstractClasspath {
       if (result.stream().anyMatch(f -> f.getName().endsWith("android.jar"))) {
         inAndroidContext = true;
       }
+      LOG.debug("Property '{}' resolved in {} ms", property, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
     }
     return result;
   }
@@ -142,15 +169,23 @@ public abstract class AbstractClasspath {
     return CollectionUtils.size(fs.inputFiles(fs.predicates().and(fs.predicates().hasLanguage("java"), fs.predicates().hasType(fileType)))) > 1;
   }
 
-  private Set<File> getFilesForPattern(Path baseDir, String pathPattern, boolean libraryProperty) {
+  @CheckForNull
+  private static File existingFile(Path baseDir, String pathPattern) {
+    try {
+      File file = resolvePath(baseDir, pathPattern).toFile();
+      return file.isFile() ? file : null;
+    } catch (InvalidPathException e) {
+      return null;
+    }
+  }
 
+  private static Set<File> getFilesForGlob(Glob glob) {
+    Path baseDir = glob.baseDir();
+    String pathPattern = glob.pattern();
+    boolean libraryProperty = glob.libraries();
     try {
       Path filePath = resolvePath(baseDir, pathPattern);
-      File file = filePath.toFile();
-      if (file.isFile()) {
-        return getMatchingFile(pathPattern, file);
-      }
-      if (file.isDirectory()) {
+      if (filePath.toFile().isDirectory()) {
         return getMatchesInDir(filePath, libraryProperty);
       }
     } catch (IOException | InvalidPathException e) {
@@ -241,19 +276,22 @@ public abstract class AbstractClasspath {
 
   private static Set<File> getMatchingLibraries(String pattern, Path dir) throws IOException {
     Set<File> matches = new LinkedHashSet<>();
-    Set<File> dirs = getMatchingDirs(pattern, dir);
-
     PathMatcher matcher = FileSystems.getDefault().getPathMatcher(getGlob(dir, pattern));
+    boolean hasPattern = !StringUtils.isEmpty(pattern);
+    // match jar in the base dir when using wildcard
+    PathMatcher baseDirMatcher = pattern.startsWith("**/") ? FileSystems.getDefault().getPathMatcher(getGlob(dir, pattern.substring(3))) : null;
+    // matching dirs and libraries are found in a single walk of the directory
+    DirAndLibraryFinder finder = new DirAndLibraryFinder(hasPattern ? matcher : null, matcher, baseDirMatcher);
+    Files.walkFileTree(dir, finder);
+    Set<File> dirs = hasPattern ? finder.matchedDirs : Collections.singleton(dir.toFile());
+
     for (File d : dirs) {
       matches.addAll(getLibs(d.toPath()));
     }
 
     matches.addAll(dirs);
-    matches.addAll(new LibraryFinder().find(dir, matcher));
-    if (pattern.startsWith("**/")) {
-      // match jar in the base dir when using wildcard
-      matches.addAll(new LibraryFinder().find(dir, FileSystems.getDefault().getPathMatcher(getGlob(dir, pattern.substring(3)))));
-    }
+    matches.addAll(finder.matchedLibraries);
+    matches.addAll(finder.matchedBaseDirLibraries);
     return matches;
   }
 
@@ -304,6 +342,45 @@ public abstract class AbstractClasspath {
     }
   }
 
+  private static class DirAndLibraryFinder extends SimpleFileVisitor<Path> {
+    private final Set<File> matchedDirs = new LinkedHashSet<>();
+    private final Set<File> matchedLibraries = new LinkedHashSet<>();
+    private final Set<File> matchedBaseDirLibraries = new LinkedHashSet<>();
+    @Nullable
+    private final PathMatcher dirMatcher;
+    private final PathMatcher libraryMatcher;
+    @Nullable
+    private final PathMatcher baseDirLibraryMatcher;
+
+    DirAndLibraryFinder(@Nullable PathMatcher dirMatcher, PathMatcher libraryMatcher, @Nullable PathMatcher baseDirLibraryMatcher) {
+      this.dirMatcher = dirMatcher;
+      this.libraryMatcher = libraryMatcher;
+      this.baseDirLibraryMatcher = baseDirLibraryMatcher;
+    }
+
+    @Override
+    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+      if (dirMatcher != null && dirMatcher.matches(dir)) {
+        matchedDirs.add(dir.toFile());
+      }
+      return FileVisitResult.CONTINUE;
+    }
+
+    @Override
+    public FileVisitResult visitFile(Path file, BasicFileAttributes attr) {
+      String name = file.getFileName().toString();
+      if (name.endsWith(".jar") || name.endsWith(".zip")) {
+        if (libraryMatcher.matches(file)) {
+          matchedLibraries.add(file.toFile());
+        }
+        if (baseDirLibraryMatcher != null && baseDirLibraryMatcher.matches(file)) {
+          matchedBaseDirLibraries.add(file.toFile());
+        }
+      }
+      return FileVisitResult.CONTINUE;
+    }
+  }
+
   private static Path resolvePath(Path baseDir, String fileName) {
     Path filePath = Paths.get(fileName);
     if (!filePath.isAbsolute()) {
@@ -0,0 +1,83 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.classpath;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.CheckForNull;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.java.annotations.VisibleForTesting;
+
+/**
+ * Locates, in the directories of {@code sonar.java.binaries}, the class file compiled from a given source file.
+ * When unchanged files are not given to the parser, the types they declare are resolved from these class files,
+ * which is only correct if the class file exists and is not older than its source.
+ */
+public class BinaryClassLookup {
+
+  private static final Pattern PACKAGE_DECLARATION = Pattern.compile("^\\s*package\\s+([\\w.\\s]+?)\\s*;", Pattern.MULTILINE);
+  private static final String JAVA_EXTENSION = ".java";
+
+  private final List<File> binaryDirs;
+
+  public BinaryClassLookup(List<File> binaryDirs) {
+    this.binaryDirs = binaryDirs;
+  }
+
+  /**
+   * @return true when a class file compiled from the given source file exists in one of the binary directories
+   * and was written after the last modification of the source file.
+   */
+  public boolean hasUpToDateClassFile(InputFile inputFile) {
+    String classFilePath;
+    try {
+      classFilePath = classFilePath(inputFile.filename(), inputFile.contents());
+    } catch (IOException e) {
+      return false;
+    }
+    if (classFilePath == null) {
+      return false;
+    }
+    long sourceLastModified = new File(inputFile.absolutePath()).lastModified();
+    for (File binaryDir : binaryDirs) {
+      File classFile = new File(binaryDir, classFilePath);
+      if (classFile.isFile()) {
+        return classFile.lastModified() >= sourceLastModified;
+      }
+    }
+    return false;
+  }
+
+  @VisibleForTesting
+  @CheckForNull
+  static String classFilePath(String fileName, String contents) {
+    if (!fileName.endsWith(JAVA_EXTENSION)) {
+      return null;
+    }
+    String className = fileName.substring(0, fileName.length() - JAVA_EXTENSION.length()) + ".class";
+    Matcher matcher = PACKAGE_DECLARATION.matcher(contents);
+    if (!matcher.find()) {
+      return className;
+    }
+    String packageName = matcher.group(1).replaceAll("\\s", "");
+    return packageName.replace('.', '/') + "/" + className;
+  }
+
+}
@@ -36,6 +36,11 @@ public class ClasspathForMain extends AbstractClasspath {
   private boolean hasSuspiciousEmptyLibraries = false;
   private boolean alreadyReported = false;
 
+  public ClasspathForMain(Configuration settings, FileSystem fs, AnalysisWarningsWrapper analysisWarnings, ClasspathGlobCache globCache) {
+    super(settings, fs, InputFile.Type.MAIN, globCache);
+    this.analysisWarnings = analysisWarnings;
+  }
+
   public ClasspathForMain(Configuration settings, FileSystem fs, AnalysisWarningsWrapper analysisWarnings) {
     super(settings, fs, InputFile.Type.MAIN);
     this.analysisWarnings = analysisWarnings;
@@ -32,6 +32,10 @@ public class ClasspathForTest extends AbstractClasspath {
   private boolean hasSuspiciousEmptyLibraries = false;
   private boolean alreadyReported = false;
 
+  public ClasspathForTest(Configuration settings, FileSystem fs, ClasspathGlobCache globCache) {
+    super(settings, fs, InputFile.Type.TEST, globCache);
+  }
+
   public ClasspathForTest(Configuration settings, FileSystem fs) {
     super(settings, fs, InputFile.Type.TEST);
   }
@@ -0,0 +1,149 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.classpath;
+
+import java.io.File;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.sonar.api.batch.InstantiationStrategy;
+import org.sonar.api.batch.ScannerSide;
+import org.sonar.java.annotations.VisibleForTesting;
+
+/**
+ * Keeps, for the whole analysis, the files matched by the patterns of the classpath properties, so that a directory matched
+ * by a pattern is walked once, whatever the number of classpaths and modules using this pattern.
+ */
+@ScannerSide
+@InstantiationStrategy("PER_BATCH")
+public class ClasspathGlobCache {
+
+  /**
+   * Idle walker threads are released after this delay, so that the pool does not need to be shut down.
+   */
+  private static final long WALKER_KEEP_ALIVE_SECONDS = 10;
+
+  private final Map<Glob, Set<File>> resolvedGlobs = new ConcurrentHashMap<>();
+  private final int threads;
+  private ThreadPoolExecutor executor;
+
+  public ClasspathGlobCache() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  @VisibleForTesting
+  ClasspathGlobCache(int threads) {
+    this.threads = threads;
+  }
+
+  /**
+   * A pattern of a classpath property, relative to the base directory of the module defining it.
+   */
+  record Glob(Path baseDir, String pattern, boolean libraries) {
+
+    /**
+     * An absolute pattern does not depend on the base directory: it is keyed on its root and normalized form, so that modules with
+     * different base directories share its resolution.
+     */
+    static Glob of(Path baseDir, String pattern, boolean libraries) {
+      try {
+        Path patternPath = Paths.get(pattern);
+        if (patternPath.isAbsolute()) {
+          return new Glob(patternPath.getRoot(), patternPath.normalize().toString(), libraries);
+        }
+      } catch (InvalidPathException e) {
+        // wildcards are not valid in paths of some file systems, the pattern is kept as is
+      }
+      return new Glob(baseDir, pattern, libraries);
+    }
+  }
+
+  /**
+   * Resolves the globs which have not been resolved yet, walking independent globs in parallel, and returns the files matched by each glob.
+   */
+  Map<Glob, Set<File>> resolve(Collection<Glob> globs, Function<Glob, Set<File>> resolver) {
+    List<Glob> unresolvedGlobs = globs.stream().distinct().filter(glob -> !resolvedGlobs.containsKey(glob)).toList();
+    int walkers = Math.min(threads, unresolvedGlobs.size());
+    if (walkers <= 1) {
+      unresolvedGlobs.forEach(glob -> resolvedGlobs.put(glob, resolver.apply(glob)));
+    } else {
+      ThreadPoolExecutor walkerPool = walkerPool();
+      List<Future<Set<File>>> walks = unresolvedGlobs.stream()
+        .map(glob -> walkerPool.submit(() -> resolver.apply(glob)))
+        .toList();
+      try {
+        for (int i = 0; i < walks.size(); i++) {
+          resolvedGlobs.put(unresolvedGlobs.get(i), awaitWalk(walks.get(i)));
+        }
+      } finally {
+        walks.forEach(walk -> walk.cancel(true));
+      }
+    }
+    Map<Glob, Set<File>> result = new HashMap<>();
+    globs.forEach(glob -> result.put(glob, resolvedGlobs.get(glob)));
+    return result;
+  }
+
+  /**
+   * The pool is shared by all the classpath properties of the analysis, instead of being created for each of them.
+   */
+  private synchronized ThreadPoolExecutor walkerPool() {
+    if (executor == null) {
+      executor = new ThreadPoolExecutor(threads, threads, WALKER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+        ClasspathGlobCache::newWalkerThread);
+      executor.allowCoreThreadTimeOut(true);
+    }
+    return executor;
+  }
+
+  private static Set<File> awaitWalk(Future<Set<File>> walk) {
+    try {
+      return walk.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Classpath resolution cancelled", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  private static Thread newWalkerThread(Runnable runnable) {
+    Thread thread = new Thread(runnable, "sonar-java-classpath-resolution");
+    thread.setDaemon(true);
+    return thread;
+  }
+
+}
@@ -17,35 +17,164 @@
 package org.sonar.java.classpath;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Properties;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.sonar.plugins.java.api.Version;
 
+/**
+ * Infers the versions of the dependencies of a project from its classpath.
+ * The versions are first looked up in the names of the jars, which are indexed once per classpath. The jars without version
+ * in their names (shaded or renamed jars) are only opened when a dependency is not found otherwise: their versions are then
+ * read from their Maven metadata or, lacking it, from their manifest.
+ */
 public class DependencyVersionInference {
 
-  /** Cache for dependency retrieval. Indexed by artifactId. */
-  private final Map<String, Optional<Version>> dependencyVersionsCache = new HashMap<>();
+  private static final Logger LOG = LoggerFactory.getLogger(DependencyVersionInference.class);
 
-  static Pattern makeJarPattern(String artifactId) {
-    return Pattern.compile(artifactId + "-" + VersionImpl.VERSION_REGEX + "\\.jar");
-  }
+  private static final String JAR_EXTENSION = ".jar";
+  private static final Pattern VERSION_PATTERN = Pattern.compile(VersionImpl.VERSION_REGEX);
+  private static final Pattern POM_PROPERTIES = Pattern.compile("META-INF/maven/[^/]++/([^/]++)/pom\\.properties");
+
+  @Nullable
+  private List<File> indexedClasspath;
+  /** Versions inferred from the names of the jars of the classpath. Indexed by artifactId. */
+  private final Map<String, Version> versionsFromFileNames = new HashMap<>();
+  private final List<File> jarsWithoutVersion = new ArrayList<>();
+  /** Versions read from the jars without version in their names, only computed when needed. Indexed by artifactId. */
+  @Nullable
+  private Map<String, Version> versionsFromMetadata;
 
   public Optional<Version> infer(String artifactId, List<File> classpath) {
-    return dependencyVersionsCache
-      .computeIfAbsent(artifactId, key -> infer(makeJarPattern(key), classpath));
+    if (classpath != indexedClasspath) {
+      index(classpath);
+    }
+    Version version = versionsFromFileNames.get(artifactId);
+    if (version == null) {
+      if (versionsFromMetadata == null) {
+        versionsFromMetadata = readVersionsFromMetadata(jarsWithoutVersion);
+      }
+      version = versionsFromMetadata.get(artifactId);
+    }
+    return Optional.ofNullable(version);
   }
 
-  private static Optional<Version> infer(Pattern jarPattern, List<File> classpath) {
+  /**
+   * A jar named "artifactId-version.jar" is indexed under every artifactId for which the rest of the name is a version, the first
+   * jar of the classpath being kept for a given artifactId.
+   */
+  private void index(List<File> classpath) {
+    indexedClasspath = classpath;
+    versionsFromFileNames.clear();
+    jarsWithoutVersion.clear();
+    versionsFromMetadata = null;
     for (File file : classpath) {
-      Matcher matcher = jarPattern.matcher(file.getName());
+      String fileName = file.getName();
+      if (fileName.endsWith(JAR_EXTENSION) && !indexFileName(fileName.substring(0, fileName.length() - JAR_EXTENSION.length()))) {
+        jarsWithoutVersion.add(file);
+      }
+    }
+  }
+
+  private boolean indexFileName(String name) {
+    boolean hasVersion = false;
+    for (int i = name.indexOf('-'); i >= 0; i = name.indexOf('-', i + 1)) {
+      if (i + 1 < name.length() && isDigit(name.charAt(i + 1))) {
+        Matcher matcher = VERSION_PATTERN.matcher(name.substring(i + 1));
+        if (matcher.matches()) {
+          versionsFromFileNames.putIfAbsent(name.substring(0, i), VersionImpl.matcherToVersion(matcher));
+          hasVersion = true;
+        }
+      }
+    }
+    return hasVersion;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static Map<String, Version> readVersionsFromMetadata(List<File> jars) {
+    Map<String, Version> versions = new HashMap<>();
+    for (File jar : jars) {
+      if (jar.isFile()) {
+        try (JarFile jarFile = new JarFile(jar)) {
+          if (!readPomProperties(jarFile, versions)) {
+            readManifest(jarFile, jar.getName().substring(0, jar.getName().length() - JAR_EXTENSION.length()), versions);
+          }
+        } catch (IOException | RuntimeException e) {
+          LOG.debug("Unable to read the version of the dependencies packaged in {}: {}", jar, e.getMessage());
+        }
+      }
+    }
+    return versions;
+  }
+
+  /**
+   * @return true when the jar contains Maven metadata, its versions being read from it.
+   */
+  private static boolean readPomProperties(JarFile jarFile, Map<String, Version> versions) throws IOException {
+    boolean hasPomProperties = false;
+    Enumeration<JarEntry> entries = jarFile.entries();
+    while (entries.hasMoreElements()) {
+      JarEntry entry = entries.nextElement();
+      Matcher matcher = POM_PROPERTIES.matcher(entry.getName());
       if (matcher.matches()) {
-        return Optional.of(VersionImpl.matcherToVersion(matcher));
+        hasPomProperties = true;
+        Properties properties = new Properties();
+        try (InputStream inputStream = jarFile.getInputStream(entry)) {
+          properties.load(inputStream);
+        }
+        String artifactId = properties.getProperty("artifactId", matcher.group(1));
+        Version version = parseVersion(properties.getProperty("version"));
+        if (version != null) {
+          versions.putIfAbsent(artifactId, version);
+        }
       }
     }
-    return Optional.empty();
+    return hasPomProperties;
+  }
+
+  /**
+   * Without Maven metadata, the name of the jar is assumed to be the artifactId.
+   */
+  private static void readManifest(JarFile jarFile, String artifactId, Map<String, Version> versions) throws IOException {
+    Manifest manifest = jarFile.getManifest();
+    if (manifest == null) {
+      return;
+    }
+    Attributes attributes = manifest.getMainAttributes();
+    Version version = parseVersion(attributes.getValue(Attributes.Name.IMPLEMENTATION_VERSION));
+    if (version == null) {
+      version = parseVersion(attributes.getValue("Bundle-Version"));
+    }
+    if (version != null) {
+      versions.putIfAbsent(artifactId, version);
+    }
+  }
+
+  @CheckForNull
+  private static Version parseVersion(@Nullable String version) {
+    if (version == null) {
+      return null;
+    }
+    Matcher matcher = VERSION_PATTERN.matcher(version.trim());
+    return matcher.matches() ? VersionImpl.matcherToVersion(matcher) : null;
   }
 }
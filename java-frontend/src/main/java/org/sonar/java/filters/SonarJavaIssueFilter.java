@@ -16,9 +16,19 @@
  */
 package org.sonar.java.filters;
 
+import org.sonar.api.rule.RuleKey;
 import org.sonar.api.scan.issue.filter.IssueFilter;
 import org.sonar.plugins.java.api.JavaCheck;
 
 public interface SonarJavaIssueFilter extends JavaCheck, IssueFilter {
 
+  /**
+   * Tells, while a file is being analyzed, whether an issue of the given rule starting at the given line of the file would be accepted
+   * by this filter. Lets the issues which are going to be filtered out be dropped before their secondary locations and flows are
+   * computed. Accepts every issue by default.
+   */
+  default boolean accept(String componentKey, RuleKey ruleKey, int line) {
+    return true;
+  }
+
 }
@@ -17,8 +17,11 @@
 package org.sonar.java.matcher;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import javax.annotation.CheckForNull;
@@ -47,16 +50,29 @@ public class MethodMatchersBuilder implements MethodMatchers.TypeBuilder, Method
   @Nullable
   private final Predicate<List<Type>> parametersPredicate;
 
+  /**
+   * Names accepted by {@link #namePredicate}, null when any name can be accepted.
+   */
+  @Nullable
+  private final Set<String> names;
+
+  /**
+   * Numbers of parameters accepted by {@link #parametersPredicate}, null when any number can be accepted.
+   */
+  @Nullable
+  private final Set<Integer> parametersCounts;
+
   public MethodMatchersBuilder() {
-    this.typePredicate = null;
-    this.namePredicate = null;
-    this.parametersPredicate = null;
+    this(null, null, null, Collections.emptySet(), Collections.emptySet());
   }
 
-  private MethodMatchersBuilder(@Nullable Predicate<Type> typePredicate, @Nullable Predicate<String> namePredicate, @Nullable Predicate<List<Type>> parametersPredicate) {
+  private MethodMatchersBuilder(@Nullable Predicate<Type> typePredicate, @Nullable Predicate<String> namePredicate, @Nullable Predicate<List<Type>> parametersPredicate,
+    @Nullable Set<String> names, @Nullable Set<Integer> parametersCounts) {
     this.typePredicate = typePredicate;
     this.namePredicate = namePredicate;
     this.parametersPredicate = parametersPredicate;
+    this.names = names;
+    this.parametersCounts = parametersCounts;
   }
 
   private static <T> Predicate<T> substituteAny(Predicate<T> predicate, String... elements) {
@@ -108,15 +124,16 @@ public class MethodMatchersBuilder implements MethodMatchers.TypeBuilder, Method
 
   @Override
   public NameBuilder ofType(Predicate<Type> typePredicate) {
-    return new MethodMatchersBuilder(or(this.typePredicate, typePredicate), namePredicate, parametersPredicate);
+    return new MethodMatchersBuilder(or(this.typePredicate, typePredicate), namePredicate, parametersPredicate, names, parametersCounts);
   }
 
   @Override
   public ParametersBuilder names(String... names) {
-    return name(substituteAnyAndCreateEfficientPredicate(
+    Predicate<String> predicate = substituteAnyAndCreateEfficientPredicate(
       names,
       name -> name::equals,
-      nameList -> nameList::contains));
+      nameList -> nameList::contains);
+    return name(predicate, Arrays.asList(names).contains(ANY) ? null : union(this.names, Arrays.asList(names)));
   }
 
   @Override
@@ -131,7 +148,11 @@ public class MethodMatchersBuilder implements MethodMatchers.TypeBuilder, Method
 
   @Override
   public ParametersBuilder name(Predicate<String> namePredicate) {
-    return new MethodMatchersBuilder(typePredicate, or(this.namePredicate, namePredicate), parametersPredicate);
+    return name(namePredicate, null);
+  }
+
+  private ParametersBuilder name(Predicate<String> namePredicate, @Nullable Set<String> names) {
+    return new MethodMatchersBuilder(typePredicate, or(this.namePredicate, namePredicate), parametersPredicate, names, parametersCounts);
   }
 
   @Override
@@ -142,7 +163,8 @@ public class MethodMatchersBuilder implements MethodMatchers.TypeBuilder, Method
   }
 
   private ParametersBuilder addParametersMatcher(List<Predicate<Type>> parametersType) {
-    return addParametersMatcher((List<Type> actualTypes) -> exactMatchesParameters(parametersType, actualTypes));
+    return addParametersMatcher((List<Type> actualTypes) -> exactMatchesParameters(parametersType, actualTypes),
+      union(parametersCounts, Collections.singletonList(parametersType.size())));
   }
 
   @Override
@@ -160,7 +182,11 @@ public class MethodMatchersBuilder implements MethodMatchers.TypeBuilder, Method
 
   @Override
   public ParametersBuilder addParametersMatcher(Predicate<List<Type>> parametersPredicate) {
-    return new MethodMatchersBuilder(typePredicate, namePredicate, or(this.parametersPredicate, parametersPredicate));
+    return addParametersMatcher(parametersPredicate, null);
+  }
+
+  private ParametersBuilder addParametersMatcher(Predicate<List<Type>> parametersPredicate, @Nullable Set<Integer> parametersCounts) {
+    return new MethodMatchersBuilder(typePredicate, namePredicate, or(this.parametersPredicate, parametersPredicate), names, parametersCounts);
   }
 
   private static boolean exactMatchesParameters(List<Predicate<Type>> expectedTypes, List<Type> actualTypes) {
@@ -212,6 +238,22 @@ public class MethodMatchersBuilder implements MethodMatchers.TypeBuilder, Method
     return this;
   }
 
+  /**
+   * @return the names of the methods which can be matched, null when it is not restricted to a known set of names
+   */
+  @CheckForNull
+  Set<String> names() {
+    return names;
+  }
+
+  /**
+   * @return the numbers of parameters of the methods which can be matched, null when it is not restricted to known numbers of parameters
+   */
+  @CheckForNull
+  Set<Integer> parametersCounts() {
+    return parametersCounts;
+  }
+
   private boolean matches(Symbol symbol, @Nullable Type callSiteType) {
     return symbol.isMethodSymbol() && isSearchedMethod((Symbol.MethodSymbol) symbol, callSiteType);
   }
@@ -251,7 +293,7 @@ public class MethodMatchersBuilder implements MethodMatchers.TypeBuilder, Method
       typePredicate.test(type);
   }
 
-  private static IdentifierTree getIdentifier(MethodInvocationTree mit) {
+  static IdentifierTree getIdentifier(MethodInvocationTree mit) {
     // methodSelect can only be Tree.Kind.IDENTIFIER or Tree.Kind.MEMBER_SELECT
     if (mit.methodSelect().is(Tree.Kind.IDENTIFIER)) {
       return (IdentifierTree) mit.methodSelect();
@@ -263,4 +305,14 @@ public class MethodMatchersBuilder implements MethodMatchers.TypeBuilder, Method
     return accumulator != null ? accumulator.or(next) : next;
   }
 
+  @CheckForNull
+  private static <T> Set<T> union(@Nullable Set<T> accumulator, Collection<T> next) {
+    if (accumulator == null) {
+      return null;
+    }
+    Set<T> union = new HashSet<>(accumulator);
+    union.addAll(next);
+    return union;
+  }
+
 }
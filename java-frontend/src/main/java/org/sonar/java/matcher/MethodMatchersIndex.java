@@ -0,0 +1,165 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.matcher;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.sonar.plugins.java.api.semantic.MethodMatchers;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
+import org.sonar.plugins.java.api.tree.MethodReferenceTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.NewClassTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+/**
+ * Table of elements, each associated to the {@link MethodMatchers} it relies on, indexed by the names and numbers of parameters of the
+ * methods these matchers can match. Given a method, it returns the elements whose matchers can possibly match it, without testing any of
+ * the matchers: almost all the matchers fail on the method name, most of them do not need to be tested at all.
+ * <p>
+ * Only the names and numbers of parameters given to {@link MethodMatchersBuilder} are known, an element whose matchers rely on a predicate
+ * is a candidate for any method. The candidates are returned in the order of the elements given to the index.
+ */
+public final class MethodMatchersIndex<T> {
+
+  private static final char PARAMETERS_COUNT_SEPARATOR = '/';
+
+  private final List<T> elements;
+  private final BitSet anyMethodPositions = new BitSet();
+  private final Map<String, BitSet> positionsBySignature = new HashMap<>();
+  private final Set<String> indexedNames = new HashSet<>();
+  private final List<T> anyMethodCandidates;
+  private final Map<String, List<T>> candidatesBySignature = new ConcurrentHashMap<>();
+
+  /**
+   * @param matchers gives the matchers of an element, or null when the element is a candidate for any method
+   */
+  public MethodMatchersIndex(List<? extends T> elements, Function<T, MethodMatchers> matchers) {
+    this.elements = List.copyOf(elements);
+    for (int i = 0; i < this.elements.size(); i++) {
+      Set<String> signatures = signatures(matchers.apply(this.elements.get(i)));
+      if (signatures == null) {
+        anyMethodPositions.set(i);
+      } else {
+        for (String signature : signatures) {
+          positionsBySignature.computeIfAbsent(signature, k -> new BitSet()).set(i);
+          indexedNames.add(name(signature));
+        }
+      }
+    }
+    anyMethodCandidates = elementsAt(anyMethodPositions);
+  }
+
+  /**
+   * @return the elements whose matchers can match the method invoked, instantiated, referenced or declared by the given tree, all the
+   * elements for other kinds of tree
+   */
+  public List<T> candidates(Tree tree) {
+    switch (tree.kind()) {
+      case METHOD_INVOCATION:
+        return candidates(MethodMatchersBuilder.getIdentifier((MethodInvocationTree) tree).symbol());
+      case NEW_CLASS:
+        return candidates(((NewClassTree) tree).methodSymbol());
+      case METHOD_REFERENCE:
+        return candidates(((MethodReferenceTree) tree).method().symbol());
+      case METHOD, CONSTRUCTOR:
+        return candidates(((MethodTree) tree).symbol());
+      default:
+        return elements;
+    }
+  }
+
+  /**
+   * @return the elements whose matchers can match the given symbol
+   */
+  public List<T> candidates(Symbol symbol) {
+    if (!symbol.isMethodSymbol()) {
+      // no matcher built by MethodMatchersBuilder matches symbols which are not methods
+      return anyMethodCandidates;
+    }
+    String name = symbol.name();
+    if (!indexedNames.contains(name)) {
+      return anyMethodCandidates;
+    }
+    int parametersCount = ((Symbol.MethodSymbol) symbol).parameterTypes().size();
+    return candidatesBySignature.computeIfAbsent(signature(name, parametersCount), signature -> {
+      BitSet positions = (BitSet) anyMethodPositions.clone();
+      positions.or(positionsBySignature.getOrDefault(name, new BitSet()));
+      positions.or(positionsBySignature.getOrDefault(signature, new BitSet()));
+      return elementsAt(positions);
+    });
+  }
+
+  private List<T> elementsAt(BitSet positions) {
+    if (positions.cardinality() == elements.size()) {
+      return elements;
+    }
+    return positions.stream().mapToObj(elements::get).toList();
+  }
+
+  /**
+   * @return the signatures, names optionally followed by a number of parameters, of the methods which can be matched, null when any
+   * method can be matched
+   */
+  @CheckForNull
+  private static Set<String> signatures(@Nullable MethodMatchers matchers) {
+    if (matchers instanceof NoneMethodMatchers) {
+      return Collections.emptySet();
+    }
+    if (matchers instanceof MethodMatchersBuilder builder) {
+      Set<String> names = builder.names();
+      Set<Integer> parametersCounts = builder.parametersCounts();
+      if (names == null || parametersCounts == null) {
+        return names;
+      }
+      Set<String> signatures = new HashSet<>();
+      names.forEach(name -> parametersCounts.forEach(parametersCount -> signatures.add(signature(name, parametersCount))));
+      return signatures;
+    }
+    if (matchers instanceof MethodMatchersList list) {
+      Set<String> signatures = new HashSet<>();
+      for (MethodMatchers child : list.matchers()) {
+        Set<String> childSignatures = signatures(child);
+        if (childSignatures == null) {
+          return null;
+        }
+        signatures.addAll(childSignatures);
+      }
+      return signatures;
+    }
+    return null;
+  }
+
+  private static String signature(String name, int parametersCount) {
+    return name + PARAMETERS_COUNT_SEPARATOR + parametersCount;
+  }
+
+  private static String name(String signature) {
+    int separator = signature.indexOf(PARAMETERS_COUNT_SEPARATOR);
+    return separator < 0 ? signature : signature.substring(0, separator);
+  }
+
+}
@@ -18,6 +18,7 @@ package org.sonar.java.matcher;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 import org.sonar.plugins.java.api.semantic.MethodMatchers;
 import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.tree.MethodInvocationTree;
@@ -28,34 +29,40 @@ import org.sonar.plugins.java.api.tree.NewClassTree;
 public class MethodMatchersList implements MethodMatchers {
 
   private List<? extends MethodMatchers> matchers;
+  private final MethodMatchersIndex<MethodMatchers> index;
 
   public MethodMatchersList(List<? extends MethodMatchers> matchers) {
     this.matchers = new ArrayList<>(matchers);
+    this.index = new MethodMatchersIndex<>(this.matchers, Function.identity());
+  }
+
+  List<? extends MethodMatchers> matchers() {
+    return matchers;
   }
 
   @Override
   public boolean matches(NewClassTree newClassTree) {
-    return matchers.stream().anyMatch(matcher -> matcher.matches(newClassTree));
+    return index.candidates(newClassTree).stream().anyMatch(matcher -> matcher.matches(newClassTree));
   }
 
   @Override
   public boolean matches(MethodInvocationTree mit) {
-    return matchers.stream().anyMatch(matcher -> matcher.matches(mit));
+    return index.candidates(mit).stream().anyMatch(matcher -> matcher.matches(mit));
   }
 
   @Override
   public boolean matches(MethodTree methodTree) {
-    return matchers.stream().anyMatch(matcher -> matcher.matches(methodTree));
+    return index.candidates(methodTree).stream().anyMatch(matcher -> matcher.matches(methodTree));
   }
 
   @Override
   public boolean matches(MethodReferenceTree methodReferenceTree) {
-    return matchers.stream().anyMatch(matcher -> matcher.matches(methodReferenceTree));
+    return index.candidates(methodReferenceTree).stream().anyMatch(matcher -> matcher.matches(methodReferenceTree));
   }
 
   @Override
   public boolean matches(Symbol symbol) {
-    return matchers.stream().anyMatch(matcher -> matcher.matches(symbol));
+    return index.candidates(symbol).stream().anyMatch(matcher -> matcher.matches(symbol));
   }
 
 }
@@ -0,0 +1,35 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.matcher;
+
+import javax.annotation.CheckForNull;
+import org.sonar.plugins.java.api.semantic.MethodMatchers;
+
+/**
+ * Implemented by the subscription visitors which only act on the method invocations, constructor calls and method references matched by
+ * their {@link MethodMatchers}. They are not notified of such nodes when the method cannot be matched, which the visitors runner finds out
+ * once for all the visitors from a {@link MethodMatchersIndex}. They are notified of the other kinds of nodes as usual.
+ */
+public interface MethodMatchersVisitor {
+
+  /**
+   * @return the matchers of the methods this visitor acts on, or null when it must be notified of all the methods
+   */
+  @CheckForNull
+  MethodMatchers methodMatchers();
+
+}
@@ -16,131 +16,145 @@
  */
 package org.sonar.java.metrics;
 
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import javax.annotation.Nullable;
 import org.sonar.java.annotations.VisibleForTesting;
+import org.sonar.java.ast.visitors.CodeMetricsVisitor;
+import org.sonar.java.ast.visitors.CodeMetricsVisitor.MethodMetrics;
 import org.sonar.java.ast.visitors.CognitiveComplexityVisitor;
 import org.sonar.java.ast.visitors.CommentLinesVisitor;
-import org.sonar.java.ast.visitors.ComplexityVisitor;
 import org.sonar.java.ast.visitors.LinesOfCodeVisitor;
-import org.sonar.java.ast.visitors.MethodNestingLevelVisitor;
-import org.sonar.java.ast.visitors.NumberOfAccessedVariablesVisitor;
 import org.sonar.java.ast.visitors.StatementVisitor;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
+/**
+ * Computes the metrics of the trees of a file and keeps them in a side table keyed by tree identity, so that each metric
+ * is computed at most once per tree whatever the number of checks requesting it.
+ * The complexity, nesting level and number of accessed variables of a method are computed together, in a single traversal
+ * of the method, the first time any of them is requested.
+ */
 public class MetricsComputer {
 
-  private final Map<Integer, List<Tree>> methodComplexityNodes = new HashMap<>();
-  private final Map<Integer, CognitiveComplexityVisitor.Result> methodComplexity = new HashMap<>();
-  private final Map<Integer, Integer> compilationUnityComplexity = new HashMap<>();
-  private final Map<Integer, Integer> methodNumberOfAccessedVariables = new HashMap<>();
-  private final Map<Integer, Integer> treeLinesOfCode = new HashMap<>();
-  private final Map<Integer, Integer> treeNumberOfStatements = new HashMap<>();
-  private final Map<Integer, Integer> treeNumberOfCommentedLines = new HashMap<>();
-  private final Map<Integer, Set<Integer>> treeNoSonarLines = new HashMap<>();
-  private final Map<Integer, Integer> methodNestingLevel = new HashMap<>();
+  private final Map<Tree, TreeMetrics> treeMetrics = new IdentityHashMap<>();
 
-  ComplexityVisitor complexityVisitor = new ComplexityVisitor();
+  LinesOfCodeVisitor linesOfCodeVisitor = new LinesOfCodeVisitor();
+  StatementVisitor numberOfStatementsVisitor = new StatementVisitor();
+  CommentLinesVisitor commentedLineVisitor = new CommentLinesVisitor();
 
   public List<Tree> getComplexityNodes(Tree tree) {
-    return methodComplexityNodes.computeIfAbsent(tree.hashCode(), k -> complexityVisitor.getNodes(tree));
+    if (tree instanceof MethodTree methodTree) {
+      return methodMetrics(methodTree).complexityNodes();
+    }
+    TreeMetrics metrics = metrics(tree);
+    if (metrics.complexityNodes == null) {
+      metrics.complexityNodes = CodeMetricsVisitor.complexityNodes(tree);
+    }
+    return metrics.complexityNodes;
   }
 
   public CognitiveComplexityVisitor.Result getMethodComplexity(MethodTree tree) {
-    return methodComplexity.computeIfAbsent(tree.hashCode(), k -> CognitiveComplexityVisitor.methodComplexity(tree));
+    TreeMetrics metrics = metrics(tree);
+    if (metrics.cognitiveComplexity == null) {
+      metrics.cognitiveComplexity = CognitiveComplexityVisitor.methodComplexity(tree);
+    }
+    return metrics.cognitiveComplexity;
   }
 
-  NumberOfAccessedVariablesVisitor methodBodyVisitor = new NumberOfAccessedVariablesVisitor();
-
   public int getNumberOfAccessedVariables(MethodTree tree) {
-    return methodNumberOfAccessedVariables.computeIfAbsent(tree.hashCode(), k -> methodBodyVisitor.getNumberOfAccessedVariables(tree));
+    return methodMetrics(tree).numberOfAccessedVariables();
   }
 
-  LinesOfCodeVisitor linesOfCodeVisitor = new LinesOfCodeVisitor();
-
   public int getLinesOfCode(Tree tree) {
-    return treeLinesOfCode.computeIfAbsent(tree.hashCode(), k -> linesOfCodeVisitor.linesOfCode(tree));
+    TreeMetrics metrics = metrics(tree);
+    if (metrics.linesOfCode == null) {
+      metrics.linesOfCode = linesOfCodeVisitor.linesOfCode(tree);
+    }
+    return metrics.linesOfCode;
   }
 
-  StatementVisitor numberOfStatementsVisitor = new StatementVisitor();
-
   public int getNumberOfStatements(Tree tree) {
-    return treeNumberOfStatements.computeIfAbsent(tree.hashCode(), k -> numberOfStatementsVisitor.numberOfStatements(tree));
+    TreeMetrics metrics = metrics(tree);
+    if (metrics.numberOfStatements == null) {
+      metrics.numberOfStatements = numberOfStatementsVisitor.numberOfStatements(tree);
+    }
+    return metrics.numberOfStatements;
   }
 
-  CommentLinesVisitor commentedLineVisitor = new CommentLinesVisitor();
-
   public Integer getNumberOfCommentedLines(CompilationUnitTree tree) {
-    return treeNumberOfCommentedLines.computeIfAbsent(tree.hashCode(), k -> {
-      commentedLineVisitor.analyzeCommentLines(tree);
-      return commentedLineVisitor.commentLinesMetric();
-    });
+    return commentLinesMetrics(tree).numberOfCommentedLines;
   }
 
   public Set<Integer> getNoSonarLines(CompilationUnitTree tree) {
-    return treeNoSonarLines.computeIfAbsent(tree.hashCode(), k -> {
-      commentedLineVisitor.analyzeCommentLines(tree);
-      return commentedLineVisitor.noSonarLines();
-    });
+    return commentLinesMetrics(tree).noSonarLines;
   }
 
   public int getCompilationUnitComplexity(CompilationUnitTree tree) {
-    return compilationUnityComplexity.computeIfAbsent(tree.hashCode(), k -> CognitiveComplexityVisitor.compilationUnitComplexity(tree));
+    TreeMetrics metrics = metrics(tree);
+    if (metrics.compilationUnitComplexity == null) {
+      metrics.compilationUnitComplexity = CognitiveComplexityVisitor.compilationUnitComplexity(tree, this::getMethodComplexity);
+    }
+    return metrics.compilationUnitComplexity;
   }
 
-  MethodNestingLevelVisitor methodNestingVisitor = new MethodNestingLevelVisitor();
-
   public int getMethodNestingLevel(MethodTree tree) {
-    return methodNestingLevel.computeIfAbsent(tree.hashCode(), k -> methodNestingVisitor.getMaxNestingLevel(tree));
-  }
-
-  @VisibleForTesting
-  Map<Integer, List<Tree>> getMethodComplexityNodes() {
-    return methodComplexityNodes;
-  }
-
-  @VisibleForTesting
-  Map<Integer, CognitiveComplexityVisitor.Result> getMethodComplexity() {
-    return methodComplexity;
+    return methodMetrics(tree).maxNestingLevel();
   }
 
-  @VisibleForTesting
-  Map<Integer, Integer> getCompilationUnityComplexity() {
-    return compilationUnityComplexity;
+  private TreeMetrics metrics(Tree tree) {
+    return treeMetrics.computeIfAbsent(tree, k -> new TreeMetrics());
   }
 
-  @VisibleForTesting
-  Map<Integer, Integer> getMethodNumberOfAccessedVariables() {
-    return methodNumberOfAccessedVariables;
+  private MethodMetrics methodMetrics(MethodTree tree) {
+    TreeMetrics metrics = metrics(tree);
+    if (metrics.methodMetrics == null) {
+      metrics.methodMetrics = CodeMetricsVisitor.compute(tree);
+    }
+    return metrics.methodMetrics;
   }
 
-  @VisibleForTesting
-  Map<Integer, Integer> getTreeLinesOfCode() {
-    return treeLinesOfCode;
-  }
-
-  @VisibleForTesting
-  Map<Integer, Integer> getTreeNumberOfStatements() {
-    return treeNumberOfStatements;
-  }
-
-  @VisibleForTesting
-  Map<Integer, Integer> getTreeNumberOfCommentedLines() {
-    return treeNumberOfCommentedLines;
+  private TreeMetrics commentLinesMetrics(CompilationUnitTree tree) {
+    TreeMetrics metrics = metrics(tree);
+    if (metrics.noSonarLines == null) {
+      commentedLineVisitor.analyzeCommentLines(tree);
+      metrics.numberOfCommentedLines = commentedLineVisitor.commentLinesMetric();
+      // the visitor reuses the returned set on its next call
+      metrics.noSonarLines = new HashSet<>(commentedLineVisitor.noSonarLines());
+    }
+    return metrics;
   }
 
   @VisibleForTesting
-  Map<Integer, Set<Integer>> getTreeNoSonarLines() {
-    return treeNoSonarLines;
+  Map<Tree, TreeMetrics> getTreeMetrics() {
+    return treeMetrics;
   }
 
+  /**
+   * Metrics of a tree, a null value meaning that the metric has not been computed yet.
+   */
   @VisibleForTesting
-  Map<Integer, Integer> getMethodNestingLevel() {
-    return methodNestingLevel;
+  static class TreeMetrics {
+    @Nullable
+    MethodMetrics methodMetrics;
+    @Nullable
+    List<Tree> complexityNodes;
+    @Nullable
+    CognitiveComplexityVisitor.Result cognitiveComplexity;
+    @Nullable
+    Integer compilationUnitComplexity;
+    @Nullable
+    Integer linesOfCode;
+    @Nullable
+    Integer numberOfStatements;
+    @Nullable
+    Integer numberOfCommentedLines;
+    @Nullable
+    Set<Integer> noSonarLines;
   }
 
 }
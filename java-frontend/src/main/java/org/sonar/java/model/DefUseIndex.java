@@ -0,0 +1,107 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import javax.annotation.CheckForNull;
+import org.sonar.plugins.java.api.location.Position;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.AssignmentExpressionTree;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+import org.sonar.plugins.java.api.tree.SyntaxToken;
+import org.sonar.plugins.java.api.tree.Tree;
+
+/**
+ * Assignments to variables, in source order. The assignments of a variable are computed when first requested
+ * and are kept by the semantic model of the file: all the rules looking for the values of a variable
+ * share them instead of going through the usages of the variable again.
+ */
+public final class DefUseIndex {
+
+  private DefUseIndex() {
+  }
+
+  /**
+   * @return the assignments to the given variable, in source order. The declaration of the variable is not included.
+   */
+  public static List<AssignmentExpressionTree> assignments(Symbol variable) {
+    if (variable instanceof JVariableSymbol variableSymbol) {
+      return variableSymbol.sema.assignments(variable);
+    }
+    return computeAssignments(variable.usages());
+  }
+
+  /**
+   * @return the last assignment to the given variable starting before the given tree, or null if there is none.
+   */
+  @CheckForNull
+  public static AssignmentExpressionTree lastAssignmentBefore(Symbol variable, Tree tree) {
+    SyntaxToken firstToken = tree.firstToken();
+    if (firstToken == null) {
+      return null;
+    }
+    Position start = Position.startOf(firstToken);
+    List<AssignmentExpressionTree> assignments = assignments(variable);
+    int low = 0;
+    int high = assignments.size() - 1;
+    AssignmentExpressionTree result = null;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      AssignmentExpressionTree assignment = assignments.get(middle);
+      if (Position.startOf(assignment).isBefore(start)) {
+        result = assignment;
+        low = middle + 1;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return result;
+  }
+
+  static List<AssignmentExpressionTree> computeAssignments(List<IdentifierTree> usages) {
+    List<AssignmentExpressionTree> assignments = new ArrayList<>();
+    for (IdentifierTree usage : usages) {
+      AssignmentExpressionTree assignment = assignmentOf(usage);
+      if (assignment != null) {
+        assignments.add(assignment);
+      }
+    }
+    assignments.sort(Comparator.comparing(Position::startOf));
+    return Collections.unmodifiableList(assignments);
+  }
+
+  /**
+   * @return the assignment of which the given usage, possibly parenthesized, is the variable, or null if there is none.
+   */
+  @CheckForNull
+  public static AssignmentExpressionTree assignmentOf(IdentifierTree usage) {
+    Tree previousTree = usage;
+    Tree nonParenthesisParent = previousTree.parent();
+    while (nonParenthesisParent != null && nonParenthesisParent.is(Tree.Kind.PARENTHESIZED_EXPRESSION)) {
+      previousTree = nonParenthesisParent;
+      nonParenthesisParent = previousTree.parent();
+    }
+    if (nonParenthesisParent instanceof AssignmentExpressionTree assignment && assignment.variable().equals(previousTree)) {
+      return assignment;
+    }
+    return null;
+  }
+
+}
@@ -18,14 +18,17 @@ package org.sonar.java.model;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import org.sonar.api.batch.fs.InputComponent;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.java.SonarComponents;
-import org.sonar.java.ast.visitors.ComplexityVisitor;
+import org.sonar.java.ast.visitors.CodeMetricsVisitor;
 import org.sonar.java.metrics.MetricsComputer;
 import org.sonar.java.metrics.MetricsScannerContext;
 import org.sonar.java.regex.RegexCache;
@@ -51,8 +54,8 @@ import org.sonarsource.analyzer.commons.regex.ast.RegexSyntaxElement;
 public class DefaultJavaFileScannerContext extends DefaultInputFileScannerContext implements JavaFileScannerContext, RegexScannerContext, FluentReporting, MetricsScannerContext {
   private final JavaTree.CompilationUnitTreeImpl tree;
   private final boolean semanticEnabled;
-  private final ComplexityVisitor complexityVisitor;
   private final RegexCache regexCache;
+  private final Map<Class<?>, Object> sharedRegexStates = new HashMap<>();
   private final MetricsComputer metricsComputer;
   private final boolean fileParsed;
 
@@ -65,8 +68,7 @@ public class DefaultJavaFileScannerContext extends DefaultInputFileScannerContex
     super(sonarComponents, inputFile, javaVersion, inAndroidContext, cacheContext);
     this.tree = (JavaTree.CompilationUnitTreeImpl) tree;
     this.semanticEnabled = semanticModel != null;
-    this.complexityVisitor = new ComplexityVisitor();
-    this.regexCache = new RegexCache();
+    this.regexCache = new RegexCache(sonarComponents != null ? sonarComponents.regexParseCache() : null);
     this.metricsComputer = new MetricsComputer();
     this.fileParsed = fileParsed;
   }
@@ -105,7 +107,8 @@ public class DefaultJavaFileScannerContext extends DefaultInputFileScannerContex
   public void reportIssue(RegexCheck regexCheck, RegexSyntaxElement regexTree, String message, @Nullable Integer cost, List<RegexCheck.RegexIssueLocation> secondaries) {
     List<RegexCheck.RegexIssueLocation> completedSecondaries = new ArrayList<>();
 
-    List<RegexCheck.RegexIssueLocation> mainLocations = new RegexCheck.RegexIssueLocation(regexTree, message).toSingleLocationItems();
+    List<RegexCheck.RegexIssueLocation> mainLocations = new RegexCheck.RegexIssueLocation(regexTree, message)
+      .toSingleLocationItems(regexCache::locationSource);
     if (mainLocations.size() > 1) {
       // handle other main locations as secondaries with same message
       mainLocations.subList(1, mainLocations.size())
@@ -123,10 +126,13 @@ public class DefaultJavaFileScannerContext extends DefaultInputFileScannerContex
   }
 
   private void reportIssue(RegexCheck regexCheck, AnalyzerMessage.TextSpan mainLocation, String message, @Nullable Integer cost, List<RegexCheck.RegexIssueLocation> secondaries) {
+    if (isIssueRejected(regexCheck, mainLocation)) {
+      return;
+    }
     List<List<RegexCheck.RegexIssueLocation>> secondariesAsFlows = new ArrayList<>();
 
     secondaries.stream()
-      .flatMap(regexIssueLocation -> regexIssueLocation.toSingleLocationItems().stream())
+      .flatMap(regexIssueLocation -> regexIssueLocation.toSingleLocationItems(regexCache::locationSource).stream())
       .map(Collections::singletonList)
       .forEach(secondariesAsFlows::add);
 
@@ -140,17 +146,19 @@ public class DefaultJavaFileScannerContext extends DefaultInputFileScannerContex
     return regexCache.getRegexForLiterals(initialFlags, stringLiterals);
   }
 
+  @Override
+  public <T> T sharedRegexState(Class<T> type, Supplier<T> factory) {
+    return type.cast(sharedRegexStates.computeIfAbsent(type, t -> factory.get()));
+  }
+
   @Override
   public void reportIssue(JavaCheck javaCheck, Tree syntaxNode, String message, List<Location> secondary, @Nullable Integer cost) {
-    List<List<Location>> flows = secondary.stream().map(Collections::singletonList).toList();
-    reportIssueWithFlow(javaCheck, syntaxNode, message, flows, cost);
+    reportIssue(javaCheck, syntaxNode, null, message, () -> secondariesAsFlows(secondary), cost);
   }
 
   @Override
   public void reportIssueWithFlow(JavaCheck javaCheck, Tree syntaxNode, String message, Iterable<List<Location>> flows, @Nullable Integer cost) {
-    throwIfEndOfAnalysisCheck(javaCheck);
-
-    reportIssue(createAnalyzerMessage(inputFile, javaCheck, syntaxNode, null, message, flows, cost));
+    reportIssue(javaCheck, syntaxNode, null, message, () -> flows, cost);
   }
 
   @Override
@@ -160,10 +168,35 @@ public class DefaultJavaFileScannerContext extends DefaultInputFileScannerContex
 
   @Override
   public void reportIssue(JavaCheck javaCheck, Tree startTree, Tree endTree, String message, List<Location> secondary, @Nullable Integer cost) {
+    reportIssue(javaCheck, startTree, endTree, message, () -> secondariesAsFlows(secondary), cost);
+  }
+
+  /**
+   * The flows are only computed when the issue is not going to be filtered out.
+   */
+  private void reportIssue(JavaCheck javaCheck, Tree startTree, @Nullable Tree endTree, String message, Supplier<Iterable<List<Location>>> flows,
+    @Nullable Integer cost) {
     throwIfEndOfAnalysisCheck(javaCheck);
 
-    List<List<Location>> flows = secondary.stream().map(Collections::singletonList).toList();
-    reportIssue(createAnalyzerMessage(inputFile, javaCheck, startTree, endTree, message, flows, cost));
+    AnalyzerMessage.TextSpan location = textSpan(startTree, endTree);
+    if (isIssueRejected(javaCheck, location)) {
+      return;
+    }
+    AnalyzerMessage analyzerMessage = new AnalyzerMessage(javaCheck, inputFile, location, message, cost != null ? cost : 0);
+    completeAnalyzerMessageWithFlows(analyzerMessage, flows.get(), loc -> AnalyzerMessage.textSpanFor(loc.syntaxNode), loc -> loc.msg);
+    reportIssue(analyzerMessage);
+  }
+
+  private boolean isIssueRejected(JavaCheck javaCheck, AnalyzerMessage.TextSpan location) {
+    return sonarComponents != null && sonarComponents.isIssueRejected(javaCheck, inputFile, location.startLine);
+  }
+
+  private static List<List<Location>> secondariesAsFlows(List<Location> secondary) {
+    return secondary.stream().map(Collections::singletonList).toList();
+  }
+
+  private static AnalyzerMessage.TextSpan textSpan(Tree startTree, @Nullable Tree endTree) {
+    return endTree != null ? AnalyzerMessage.textSpanBetween(startTree, endTree) : AnalyzerMessage.textSpanFor(startTree);
   }
 
   @Override
@@ -189,8 +222,7 @@ public class DefaultJavaFileScannerContext extends DefaultInputFileScannerContex
   protected static AnalyzerMessage createAnalyzerMessage(InputFile inputFile, JavaCheck javaCheck, Tree startTree, @Nullable Tree endTree, String message,
     Iterable<List<Location>> flows, @Nullable Integer cost) {
 
-    AnalyzerMessage.TextSpan location = endTree != null ? AnalyzerMessage.textSpanBetween(startTree, endTree) : AnalyzerMessage.textSpanFor(startTree);
-    AnalyzerMessage analyzerMessage = new AnalyzerMessage(javaCheck, inputFile, location, message, cost != null ? cost : 0);
+    AnalyzerMessage analyzerMessage = new AnalyzerMessage(javaCheck, inputFile, textSpan(startTree, endTree), message, cost != null ? cost : 0);
     completeAnalyzerMessageWithFlows(analyzerMessage, flows, loc -> AnalyzerMessage.textSpanFor(loc.syntaxNode), loc -> loc.msg);
     return analyzerMessage;
   }
@@ -214,7 +246,7 @@ public class DefaultJavaFileScannerContext extends DefaultInputFileScannerContex
 
   @Override
   public List<Tree> getComplexityNodes(Tree tree) {
-    return complexityVisitor.getNodes(tree);
+    return CodeMetricsVisitor.complexityNodes(tree);
   }
 
   protected static void throwIfEndOfAnalysisCheck(JavaCheck javaCheck) {
@@ -29,12 +29,14 @@ import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaVersion;
 import org.sonar.plugins.java.api.ModuleScannerContext;
 import org.sonar.plugins.java.api.caching.CacheContext;
+import org.sonar.plugins.java.api.semantic.SymbolUsageIndex;
 
 public class DefaultModuleScannerContext implements ModuleScannerContext {
   protected final SonarComponents sonarComponents;
   protected final JavaVersion javaVersion;
   protected final boolean inAndroidContext;
   protected final CacheContext cacheContext;
+  private SymbolUsageIndex symbolUsageIndex;
 
   public DefaultModuleScannerContext(@Nullable SonarComponents sonarComponents, JavaVersion javaVersion, boolean inAndroidContext,
     @Nullable CacheContext cacheContext) {
@@ -109,5 +111,14 @@ public class DefaultModuleScannerContext implements ModuleScannerContext {
     return sonarComponents.getConfiguration();
   }
 
+  @CheckForNull
+  @Override
+  public SymbolUsageIndex getSymbolUsageIndex() {
+    return symbolUsageIndex;
+  }
+
+  public void setSymbolUsageIndex(SymbolUsageIndex symbolUsageIndex) {
+    this.symbolUsageIndex = symbolUsageIndex;
+  }
 
 }
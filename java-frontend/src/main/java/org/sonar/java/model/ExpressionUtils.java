@@ -22,6 +22,7 @@ import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.sonar.java.model.expression.AssessableExpressionTree;
 import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.tree.AssignmentExpressionTree;
 import org.sonar.plugins.java.api.tree.BinaryExpressionTree;
@@ -224,8 +225,24 @@ public final class ExpressionUtils {
     return newExpression.is(Tree.Kind.IDENTIFIER) && "this".equals(((IdentifierTree) newExpression).name());
   }
 
+  /**
+   * @return the constant value of the expression, or null if it is not a constant. The value computed for a tree built by the parser,
+   * including a null one, is kept on the tree and returned to the next callers.
+   */
   @CheckForNull
   public static Object resolveAsConstant(ExpressionTree tree) {
+    if (tree instanceof AssessableExpressionTree assessableExpressionTree) {
+      return assessableExpressionTree.asConstant().orElse(null);
+    }
+    return computeConstant(tree);
+  }
+
+  /**
+   * Same as {@link #resolveAsConstant(ExpressionTree)}, without looking at the value kept on the given tree.
+   * Operands of the expression are still resolved through {@link #resolveAsConstant(ExpressionTree)}.
+   */
+  @CheckForNull
+  public static Object computeConstant(ExpressionTree tree) {
     ExpressionTree expression = tree;
     while (expression.is(Tree.Kind.PARENTHESIZED_EXPRESSION)) {
       expression = ((ParenthesizedTree) expression).expression();
@@ -233,6 +250,9 @@ public final class ExpressionUtils {
     if (expression.is(Tree.Kind.MEMBER_SELECT)) {
       expression = ((MemberSelectExpressionTree) expression).identifier();
     }
+    if (expression != tree) {
+      return resolveAsConstant(expression);
+    }
     if (expression.is(Tree.Kind.IDENTIFIER)) {
       return resolveIdentifier((IdentifierTree) expression);
     }
@@ -25,6 +25,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -46,6 +47,7 @@ public class GeneratedFile implements InputFile {
   private final Path path;
   private String contents = null;
   private String md5 = null;
+  private boolean unchanged = false;
 
   @VisibleForTesting
   final List<SmapFile> smapFiles = new ArrayList<>();
@@ -67,6 +69,21 @@ public class GeneratedFile implements InputFile {
     smapFiles.add(smap);
   }
 
+  public List<SmapFile> getSmapFiles() {
+    return Collections.unmodifiableList(smapFiles);
+  }
+
+  /**
+   * Marks this file as generated from a JSP which, like all the files it includes, did not change since the previous analysis.
+   */
+  public void markUnchanged() {
+    unchanged = true;
+  }
+
+  public boolean isUnchanged() {
+    return unchanged;
+  }
+
   class SourceMapImpl implements SourceMap {
 
     final Map<Integer, Location> lines = new HashMap<>();
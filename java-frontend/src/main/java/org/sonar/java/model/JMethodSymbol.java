@@ -62,7 +62,14 @@ final class JMethodSymbol extends JSymbol implements Symbol.MethodSymbol {
 
   JMethodSymbol(JSema sema, IMethodBinding methodBinding) {
     super(sema, methodBinding);
-    this.signature = methodBinding().getDeclaringClass().getBinaryName()
+    String key = methodBinding.getKey();
+    this.signature = key != null && JType.isFromBinaries(methodBinding.getDeclaringClass())
+      ? sema.bindingCache.methodSignature(key, this::computeSignature)
+      : computeSignature();
+  }
+
+  private String computeSignature() {
+    return methodBinding().getDeclaringClass().getBinaryName()
       + "#" + name()
       + ASTUtils.signature(methodBinding().getMethodDeclaration());
   }
@@ -276,6 +276,15 @@ public class JParser {
    * @throws RecognitionException in case of syntax errors
    */
   public static JavaTree.CompilationUnitTreeImpl parse(ASTParser astParser, String version, String unitName, String source) {
+    return parse(astParser, version, unitName, source, new ModuleBindingCache());
+  }
+
+  /**
+   * @param bindingCache shared with the other compilation units parsed with the same Java version and classpath
+   * @throws RecognitionException in case of syntax errors
+   */
+  public static JavaTree.CompilationUnitTreeImpl parse(ASTParser astParser, String version, String unitName, String source,
+    ModuleBindingCache bindingCache) {
     astParser.setUnitName(unitName);
     astParser.setSource(source.toCharArray());
 
@@ -287,10 +296,15 @@ public class JParser {
       throw new RecognitionException(-1, "ECJ: Unable to parse file.", e);
     }
 
-    return convert(version, unitName, source, astNode);
+    return convert(version, unitName, source, astNode, bindingCache);
   }
 
   static JavaTree.CompilationUnitTreeImpl convert(String version, String unitName, String source, CompilationUnit astNode) {
+    return convert(version, unitName, source, astNode, new ModuleBindingCache());
+  }
+
+  static JavaTree.CompilationUnitTreeImpl convert(String version, String unitName, String source, CompilationUnit astNode,
+    ModuleBindingCache bindingCache) {
     List<IProblem> errors = Stream.of(astNode.getProblems()).filter(IProblem::isError).toList();
     Optional<IProblem> possibleSyntaxError = errors.stream().filter(IS_SYNTAX_ERROR).findFirst();
     LineColumnConverter lineColumnConverter = new LineColumnConverter(source);
@@ -310,7 +324,7 @@ public class JParser {
       .collect(Collectors.toSet());
 
     JParser converter = new JParser();
-    converter.sema = new JSema(astNode.getAST());
+    converter.sema = new JSema(astNode.getAST(), bindingCache);
     converter.sema.undefinedTypes.addAll(undefinedTypes);
     converter.compilationUnit = astNode;
     converter.tokenManager = createTokenManager(version, unitName, source);
@@ -17,8 +17,11 @@
 package org.sonar.java.model;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -29,6 +32,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.BooleanSupplier;
 import java.util.stream.StreamSupport;
+import javax.annotation.Nullable;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.dom.AST;
@@ -59,6 +63,13 @@ public abstract class JParserConfig {
   final JavaVersion javaVersion;
   final List<File> classpath;
   final boolean shouldIgnoreUnnamedModuleForSplitPackage;
+  @Nullable
+  ParseCache parseCache;
+  @Nullable
+  ModuleBindingCache bindingCache;
+  boolean syntaxOnly = false;
+  @Nullable
+  private String environmentFingerprint;
 
   private JParserConfig(JavaVersion javaVersion, List<File> classpath, boolean shouldIgnoreUnnamedModuleForSplitPackage) {
     this.javaVersion = javaVersion;
@@ -69,6 +80,109 @@ public abstract class JParserConfig {
   public abstract void parse(Iterable<? extends InputFile> inputFiles, BooleanSupplier isCanceled,
     AnalysisProgress analysisProgress, BiConsumer<InputFile, Result> action);
 
+  /**
+   * Same as {@link #parse(Iterable, BooleanSupplier, AnalysisProgress, BiConsumer)}, but the {@code resolutionOnlyFiles} are also
+   * given to the parser when it supports it. They are only used to resolve the bindings of the {@code inputFiles},
+   * and are neither converted nor passed to the {@code action}.
+   */
+  public void parse(Iterable<? extends InputFile> inputFiles, Collection<? extends InputFile> resolutionOnlyFiles, BooleanSupplier isCanceled,
+    AnalysisProgress analysisProgress, BiConsumer<InputFile, Result> action) {
+    parse(inputFiles, isCanceled, analysisProgress, action);
+  }
+
+  /**
+   * Reuse the trees of unchanged files from the given cache, and store newly parsed trees in it. Only supported in file by file mode.
+   */
+  public JParserConfig withParseCache(@Nullable ParseCache parseCache) {
+    this.parseCache = parseCache;
+    return this;
+  }
+
+  /**
+   * Share what is computed about the types coming from binaries between all the parsed files, and with the other parser configurations
+   * given the same cache. The cache must only be shared by configurations having the same {@link #environmentFingerprint()}.
+   */
+  public JParserConfig withBindingCache(@Nullable ModuleBindingCache bindingCache) {
+    this.bindingCache = bindingCache;
+    return this;
+  }
+
+  /**
+   * Parse the files without resolving the bindings and without loading the classpath, when none of the visitors needs the semantic model.
+   * Symbols and types of the resulting trees are all unknown.
+   */
+  public JParserConfig withSyntaxOnly(boolean syntaxOnly) {
+    this.syntaxOnly = syntaxOnly;
+    this.environmentFingerprint = null;
+    return this;
+  }
+
+  /**
+   * @return a fingerprint of the Java version and classpath used to resolve the bindings. It is computed once per configuration, as
+   * fingerprinting the classpath directories walks their content.
+   */
+  public String environmentFingerprint() {
+    if (environmentFingerprint == null) {
+      if (syntaxOnly) {
+        environmentFingerprint = "syntaxOnly;"
+          + ParseCache.environmentFingerprint(javaVersion, Collections.emptyList(), shouldIgnoreUnnamedModuleForSplitPackage);
+      } else {
+        environmentFingerprint = ParseCache.environmentFingerprint(javaVersion, classpath, shouldIgnoreUnnamedModuleForSplitPackage);
+      }
+    }
+    return environmentFingerprint;
+  }
+
+  void logSyntaxOnlyAnalysis(int fileCount, long durationNanos) {
+    if (syntaxOnly && fileCount > 0) {
+      long durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+      LOG.info("Syntax-only analysis of {} files took {} ms ({} ms per file): types were not resolved and the classpath was not loaded.",
+        fileCount, durationMillis, durationMillis / fileCount);
+    }
+  }
+
+  ModuleBindingCache bindingCache() {
+    if (bindingCache == null) {
+      bindingCache = new ModuleBindingCache();
+    }
+    return bindingCache;
+  }
+
+  /**
+   * Parses a single file, reusing its cached tree when a parse cache is set.
+   */
+  void parseFile(InputFile inputFile, BiConsumer<InputFile, Result> action) {
+    Result result;
+    PerformanceMeasure.Duration parseDuration = PerformanceMeasure.start("JParser");
+    try {
+      result = new Result(parseOrReuse(inputFile));
+    } catch (Exception e) {
+      result = new Result(e);
+    } finally {
+      parseDuration.stop();
+    }
+    action.accept(inputFile, result);
+  }
+
+  private JavaTree.CompilationUnitTreeImpl parseOrReuse(InputFile inputFile) throws IOException {
+    String contents = inputFile.contents();
+    if (parseCache == null) {
+      return JParser.parse(astParser(), javaVersion.effectiveJavaVersionAsString(), inputFile.filename(), contents, bindingCache());
+    }
+    String path = inputFile.absolutePath();
+    byte[] contentHash = ParseCache.contentHash(contents);
+    String environment = environmentFingerprint();
+    JavaTree.CompilationUnitTreeImpl cachedTree = parseCache.get(path, contentHash, environment);
+    if (cachedTree != null) {
+      LOG.trace("Reusing the cached tree of {}", inputFile);
+      return cachedTree;
+    }
+    JavaTree.CompilationUnitTreeImpl tree = JParser.parse(astParser(), javaVersion.effectiveJavaVersionAsString(), inputFile.filename(), contents,
+      bindingCache());
+    parseCache.put(path, contentHash, environment, tree);
+    return tree;
+  }
+
   public enum Mode {
     BATCH(Batch::new),
     FILE_BY_FILE(FileByFile::new);
@@ -130,6 +244,13 @@ public abstract class JParserConfig {
 
     astParser.setCompilerOptions(options);
 
+    if (syntaxOnly) {
+      astParser.setEnvironment(new String[] {}, new String[] {}, new String[] {}, false);
+      astParser.setResolveBindings(false);
+      astParser.setBindingsRecovery(false);
+      return astParser;
+    }
+
     boolean includeRunningVMBootclasspath = classpath.stream()
       .noneMatch(f -> JRE_JARS.contains(f.getName()));
 
@@ -153,6 +274,12 @@ public abstract class JParserConfig {
     @Override
     public void parse(Iterable<? extends InputFile> inputFiles, BooleanSupplier isCanceled,
       AnalysisProgress analysisProgress, BiConsumer<InputFile, Result> action) {
+      parse(inputFiles, Collections.emptyList(), isCanceled, analysisProgress, action);
+    }
+
+    @Override
+    public void parse(Iterable<? extends InputFile> inputFiles, Collection<? extends InputFile> resolutionOnlyFiles, BooleanSupplier isCanceled,
+      AnalysisProgress analysisProgress, BiConsumer<InputFile, Result> action) {
 
       List<String> sourceFilePaths = new ArrayList<>();
       Set<InputFile> notYetAnalyzedFiles = new LinkedHashSet<>();
@@ -165,20 +292,33 @@ public abstract class JParserConfig {
         encodings.add(inputFile.charset().name());
         notYetAnalyzedFiles.add(inputFile);
       }
+      Set<File> resolutionOnlyPaths = new HashSet<>();
+      for (InputFile inputFile : resolutionOnlyFiles) {
+        String sourceFilePath = inputFile.absolutePath();
+        resolutionOnlyPaths.add(new File(sourceFilePath));
+        sourceFilePaths.add(sourceFilePath);
+        encodings.add(inputFile.charset().name());
+      }
 
       ExecutionTimeReport executionTimeReport = new ExecutionTimeReport();
       ProgressMonitor monitor = new ProgressMonitor(isCanceled, analysisProgress);
       PerformanceMeasure.Duration batchPerformance = PerformanceMeasure.start("ParseAsBatch");
+      long startNanos = System.nanoTime();
       try {
         astParser().createASTs(sourceFilePaths.toArray(new String[0]), encodings.toArray(new String[0]), new String[0], new FileASTRequestor() {
           @Override
           public void acceptAST(String sourceFilePath, CompilationUnit ast) {
+            if (resolutionOnlyPaths.contains(new File(sourceFilePath))) {
+              // only provided to resolve the types it declares, not analyzed
+              return;
+            }
             PerformanceMeasure.Duration convertDuration = PerformanceMeasure.start("Convert");
             InputFile inputFile = inputs.get(new File(sourceFilePath));
             executionTimeReport.start(inputFile);
             Result result;
             try {
-              result = new Result(JParser.convert(javaVersion.effectiveJavaVersionAsString(), inputFile.filename(), inputFile.contents(), ast));
+              result = new Result(JParser.convert(javaVersion.effectiveJavaVersionAsString(), inputFile.filename(), inputFile.contents(), ast,
+                bindingCache()));
             } catch (Exception e) {
               result = new Result(e);
             }
@@ -192,7 +332,7 @@ public abstract class JParserConfig {
           }
         }, monitor);
         if (!notYetAnalyzedFiles.isEmpty()) {
-          String message = String.format("%d/%d files were not analyzed by the batch mode", notYetAnalyzedFiles.size(), sourceFilePaths.size());
+          String message = String.format("%d/%d files were not analyzed by the batch mode", notYetAnalyzedFiles.size(), inputs.size());
           throw new AnalysisException(message);
         }
       } catch (OperationCanceledException e) {
@@ -204,6 +344,7 @@ public abstract class JParserConfig {
         }
       } finally {
         batchPerformance.stop();
+        logSyntaxOnlyAnalysis(inputs.size() - notYetAnalyzedFiles.size(), System.nanoTime() - startNanos);
         // ExecutionTimeReport will not include the parsing time by file when using batch mode.
         executionTimeReport.reportAsBatch();
         monitor.done();
@@ -216,7 +357,7 @@ public abstract class JParserConfig {
         if (isCanceled.getAsBoolean()) {
           break;
         }
-        FileByFile.parse(astParser(), inputFile, javaVersion, action);
+        parseFile(inputFile, action);
       }
     }
 
@@ -240,6 +381,8 @@ public abstract class JParserConfig {
         .map(InputFile::toString)
         .toList();
       progressReport.start(filesNames);
+      long startNanos = System.nanoTime();
+      int parsedFileCount = 0;
       try {
         for (InputFile inputFile : inputFiles) {
           if (isCanceled.getAsBoolean()) {
@@ -247,7 +390,8 @@ public abstract class JParserConfig {
             break;
           }
           executionTimeReport.start(inputFile);
-          parse(astParser(), inputFile, javaVersion, action);
+          parseFile(inputFile, action);
+          parsedFileCount++;
           executionTimeReport.end();
           progressReport.nextFile();
         }
@@ -259,21 +403,9 @@ public abstract class JParserConfig {
           progressReport.cancel();
         }
         executionTimeReport.report();
+        logSyntaxOnlyAnalysis(parsedFileCount, System.nanoTime() - startNanos);
       }
     }
-
-    private static void parse(ASTParser astParser, InputFile inputFile, JavaVersion javaVersion, BiConsumer<InputFile, Result> action) {
-      Result result;
-      PerformanceMeasure.Duration parseDuration = PerformanceMeasure.start("JParser");
-      try {
-        result = new Result(JParser.parse(astParser, javaVersion.effectiveJavaVersionAsString(), inputFile.filename(), inputFile.contents()));
-      } catch (Exception e) {
-        result = new Result(e);
-      } finally {
-        parseDuration.stop();
-      }
-      action.accept(inputFile, result);
-    }
   }
 
   @VisibleForTesting
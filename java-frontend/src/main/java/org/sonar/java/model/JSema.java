@@ -35,12 +35,17 @@ import org.eclipse.jdt.core.dom.IVariableBinding;
 import org.sonar.plugins.java.api.semantic.Sema;
 import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.semantic.Type;
+import org.sonar.plugins.java.api.tree.AssignmentExpressionTree;
 import org.sonar.plugins.java.api.tree.IdentifierTree;
 import org.sonar.plugins.java.api.tree.Tree;
+import org.sonarsource.performance.measure.PerformanceMeasure;
 
 public final class JSema implements Sema {
 
+  private static final IAnnotationBinding[] NO_ANNOTATIONS = new IAnnotationBinding[0];
+
   private final AST ast;
+  final ModuleBindingCache bindingCache;
   final Set<JProblem> undefinedTypes = new HashSet<>();
   final Map<IBinding, Tree> declarations = new HashMap<>();
   final Map<IBinding, List<IdentifierTree>> usages = new HashMap<>();
@@ -50,9 +55,15 @@ public final class JSema implements Sema {
   private final Map<Symbol.TypeSymbol, JInitializerBlockSymbol> staticInitializerBlockSymbols = new HashMap<>();
   private final Map<IAnnotationBinding, JSymbolMetadata.JAnnotationInstance> annotations = new HashMap<>();
   private final Map<String, Type> nameToTypeCache = new HashMap<>();
+  private final Map<Symbol, List<AssignmentExpressionTree>> assignmentsByVariable = new HashMap<>();
 
   JSema(AST ast) {
+    this(ast, new ModuleBindingCache());
+  }
+
+  JSema(AST ast, ModuleBindingCache bindingCache) {
     this.ast = ast;
+    this.bindingCache = bindingCache;
   }
 
   public JType type(ITypeBinding typeBinding) {
@@ -144,7 +155,21 @@ public final class JSema implements Sema {
   }
 
   IAnnotationBinding[] resolvePackageAnnotations(String packageName) {
-    return ASTUtils.resolvePackageAnnotations(ast, packageName);
+    if (bindingCache.isPackageWithoutAnnotations(packageName)) {
+      PerformanceMeasure.start("PackageAnnotationsCache.hit").stop();
+      return NO_ANNOTATIONS;
+    }
+    PerformanceMeasure.Duration missDuration = PerformanceMeasure.start("PackageAnnotationsCache.miss");
+    IAnnotationBinding[] annotations = ASTUtils.resolvePackageAnnotations(ast, packageName);
+    missDuration.stop();
+    if (annotations.length == 0) {
+      bindingCache.addPackageWithoutAnnotations(packageName);
+    }
+    return annotations;
+  }
+
+  List<AssignmentExpressionTree> assignments(Symbol variable) {
+    return assignmentsByVariable.computeIfAbsent(variable, v -> DefUseIndex.computeAssignments(v.usages()));
   }
 
   public Runnable getEnvironmentCleaner() {
@@ -34,6 +34,7 @@ import org.sonar.plugins.java.api.semantic.SymbolMetadata;
 import org.sonar.plugins.java.api.tree.AnnotationTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.Tree;
+import org.sonarsource.performance.measure.PerformanceMeasure;
 
 import static org.sonar.java.model.JSymbolMetadataNullabilityHelper.getNullabilityDataAtLevel;
 
@@ -45,6 +46,8 @@ final class JSymbolMetadata implements SymbolMetadata {
   private static final NullabilityData[] UNKNOWN_NULLABILITY =
     forEachLevel(level -> new JNullabilityData(NullabilityType.UNKNOWN, level, null, null, false));
 
+  private static final String SOURCE_TYPE_KEY_PREFIX = "source:";
+
   private final JSema sema;
   private final Symbol symbol;
   private final IAnnotationBinding[] symbolBindings;
@@ -206,6 +209,48 @@ final class JSymbolMetadata implements SymbolMetadata {
   }
 
   private NullabilityData resolveNullability(NullabilityTarget target) {
+    String typeKey = symbol instanceof JTypeSymbol typeSymbol ? sharedNullabilityKey(typeSymbol.typeBinding()) : null;
+    if (typeKey == null) {
+      return computeNullability(target);
+    }
+    Map<NullabilityTarget, NullabilityData> moduleCache = sema.bindingCache.typeNullability(typeKey);
+    NullabilityData cached = moduleCache.get(target);
+    if (cached != null) {
+      PerformanceMeasure.start("NullabilityCache.hit").stop();
+      return cached;
+    }
+    PerformanceMeasure.Duration missDuration = PerformanceMeasure.start("NullabilityCache.miss");
+    NullabilityData nullabilityData = computeNullability(target);
+    missDuration.stop();
+    // annotation instances and trees belong to the semantic of the current compilation unit, and can not be shared
+    if (nullabilityData.annotation() == null && nullabilityData.declaration() == null) {
+      moduleCache.put(target, nullabilityData);
+    }
+    return nullabilityData;
+  }
+
+  /**
+   * Types declared in the analyzed sources are the same in all the compilation units of an analysis, as long as they are resolved from
+   * the sources. They are kept apart from their compiled version, found on the classpath by the other compilation units, which can be
+   * outdated. Local and anonymous types are not shared, their keys are only unique within their compilation unit.
+   */
+  @Nullable
+  private static String sharedNullabilityKey(ITypeBinding typeBinding) {
+    if (JType.isFromBinaries(typeBinding)) {
+      return typeBinding.getKey();
+    }
+    if (typeBinding.isFromSource()
+      && !typeBinding.isRecovered()
+      && !typeBinding.isParameterizedType()
+      && !typeBinding.isLocal()
+      && (typeBinding.isClass() || typeBinding.isInterface() || typeBinding.isEnum())
+      && typeBinding.getKey() != null) {
+      return SOURCE_TYPE_KEY_PREFIX + typeBinding.getKey();
+    }
+    return null;
+  }
+
+  private NullabilityData computeNullability(NullabilityTarget target) {
     NullabilityLevel currentLevel = getLevel(symbol);
     NullabilityData nullabilityDataAtLevel = getNullabilityDataAtLevel(this, target, currentLevel);
     if (nullabilityDataAtLevel.type() != NullabilityType.NO_ANNOTATION) {
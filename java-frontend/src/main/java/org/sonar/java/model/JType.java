@@ -17,8 +17,10 @@
 package org.sonar.java.model;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.TreeSet;
 import javax.annotation.Nullable;
@@ -27,6 +29,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.semantic.Type;
+import org.sonarsource.performance.measure.PerformanceMeasure;
 
 final class JType implements Type, Type.ArrayType {
 
@@ -57,10 +60,17 @@ final class JType implements Type, Type.ArrayType {
    */
   private List<Type> typeArguments;
 
+  /**
+   * Cache for {@link #isSubtypeOf(String)}, when the type is not shared through the {@link ModuleBindingCache}.
+   */
+  private Map<String, Boolean> subtypes;
+
   JType(JSema sema, ITypeBinding typeBinding) {
     this.sema = Objects.requireNonNull(sema);
     this.typeBinding = Objects.requireNonNull(typeBinding);
-    this.fullyQualifiedName = fullyQualifiedName(typeBinding);
+    this.fullyQualifiedName = isFromBinaries(typeBinding)
+      ? sema.bindingCache.fullyQualifiedName(typeBinding.getKey(), () -> fullyQualifiedName(typeBinding))
+      : fullyQualifiedName(typeBinding);
   }
 
   @Override
@@ -70,7 +80,39 @@ final class JType implements Type, Type.ArrayType {
 
   @Override
   public boolean isSubtypeOf(String fullyQualifiedName) {
-    return isSubtypeOf(sema.getClassType(fullyQualifiedName));
+    Map<String, Boolean> knownSubtypes = subtypes();
+    Boolean isSubtype = knownSubtypes.get(fullyQualifiedName);
+    if (isSubtype != null) {
+      PerformanceMeasure.start("SubtypeCache.hit").stop();
+      return isSubtype;
+    }
+    PerformanceMeasure.Duration missDuration = PerformanceMeasure.start("SubtypeCache.miss");
+    isSubtype = isSubtypeOf(sema.getClassType(fullyQualifiedName));
+    missDuration.stop();
+    knownSubtypes.put(fullyQualifiedName, isSubtype);
+    return isSubtype;
+  }
+
+  private Map<String, Boolean> subtypes() {
+    if (isFromBinaries(typeBinding)) {
+      return sema.bindingCache.subtypes(typeBinding.getKey());
+    }
+    if (subtypes == null) {
+      subtypes = new HashMap<>();
+    }
+    return subtypes;
+  }
+
+  /**
+   * Types read from class files are the same in all the compilation units of a module, unlike the types declared in sources,
+   * the recovered types, the type variables or the parameterizations, which can depend on their own compilation unit.
+   */
+  static boolean isFromBinaries(ITypeBinding typeBinding) {
+    return !typeBinding.isFromSource()
+      && !typeBinding.isRecovered()
+      && !typeBinding.isParameterizedType()
+      && (typeBinding.isClass() || typeBinding.isInterface() || typeBinding.isEnum())
+      && typeBinding.getKey() != null;
   }
 
   @Override
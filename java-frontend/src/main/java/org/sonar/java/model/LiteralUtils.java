@@ -21,6 +21,7 @@ import java.util.stream.Collectors;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import org.apache.commons.lang3.StringUtils;
+import org.sonar.java.model.expression.LiteralTreeImpl;
 import org.sonar.plugins.java.api.tree.ExpressionTree;
 import org.sonar.plugins.java.api.tree.LiteralTree;
 import org.sonar.plugins.java.api.tree.Tree;
@@ -164,7 +165,21 @@ public class LiteralUtils {
     return tree.is(Kind.UNARY_MINUS) && isOne(((UnaryExpressionTree) tree).expression());
   }
 
+  /**
+   * @return the value of the literal without its quotes and, for text blocks, without incidental white space.
+   * The value computed for a literal built by the parser is kept on the literal and returned to the next callers.
+   */
   public static String getAsStringValue(LiteralTree tree) {
+    if (tree instanceof LiteralTreeImpl literalTree) {
+      return literalTree.stringValue();
+    }
+    return computeStringValue(tree);
+  }
+
+  /**
+   * Same as {@link #getAsStringValue(LiteralTree)}, without looking at the value kept on the given literal.
+   */
+  public static String computeStringValue(LiteralTree tree) {
     if (!tree.is(Kind.TEXT_BLOCK)) {
       return tree.is(Kind.STRING_LITERAL) ? trimQuotes(tree.value()) : tree.value();
     }
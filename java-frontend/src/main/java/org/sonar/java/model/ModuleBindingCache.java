@@ -0,0 +1,104 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.model;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.sonar.plugins.java.api.semantic.SymbolMetadata.NullabilityData;
+import org.sonar.plugins.java.api.semantic.SymbolMetadata.NullabilityTarget;
+import org.sonarsource.performance.measure.PerformanceMeasure;
+
+/**
+ * Semantic information about the types coming from binaries, i.e. libraries and the JDK, shared by all the compilation units of a module.
+ * Unlike the types declared in the analyzed sources, these types are the same in every compilation unit, so what is computed about them
+ * for one file holds for all the others. Bindings themselves are specific to a compilation unit, entries are therefore keyed by binding key.
+ * <p>
+ * Only values which do not refer to any binding are shared: fully qualified names, method signatures, subtype answers, packages without
+ * annotations and nullability which does not come from an annotation. The {@link JType}, {@link JSymbol} and {@link JSymbolMetadata}
+ * wrappers, as well as the annotation instances, are still created for each compilation unit: they hold the bindings of their own
+ * compilation unit, whose environment is cleaned up once it is analyzed. The hits and misses of each shared value are measured, e.g.
+ * {@code FullyQualifiedNameCache.hit} and {@code FullyQualifiedNameCache.miss}.
+ * <p>
+ * A cache must only be shared by compilation units parsed with the same Java version and classpath.
+ */
+public final class ModuleBindingCache {
+
+  private final Map<String, Map<String, Boolean>> subtypes = new ConcurrentHashMap<>();
+  private final Map<String, String> fullyQualifiedNames = new ConcurrentHashMap<>();
+  private final Map<String, String> methodSignatures = new ConcurrentHashMap<>();
+  private final Set<String> packagesWithoutAnnotations = ConcurrentHashMap.newKeySet();
+  private final Map<String, Map<NullabilityTarget, NullabilityData>> typesNullability = new ConcurrentHashMap<>();
+
+  /**
+   * @return the known answers to {@link JType#isSubtypeOf(String)}, by fully qualified name of the supertype, for the type with the given
+   * binding key
+   */
+  Map<String, Boolean> subtypes(String typeBindingKey) {
+    return subtypes.computeIfAbsent(typeBindingKey, k -> new ConcurrentHashMap<>());
+  }
+
+  /**
+   * @return the {@link JType#fullyQualifiedName()} of the type with the given binding key, computed once for the module
+   */
+  String fullyQualifiedName(String typeBindingKey, Supplier<String> fullyQualifiedName) {
+    return sharedValue(fullyQualifiedNames, typeBindingKey, fullyQualifiedName, "FullyQualifiedNameCache");
+  }
+
+  /**
+   * @return the {@link JMethodSymbol#signature()} of the method with the given binding key, computed once for the module
+   */
+  String methodSignature(String methodBindingKey, Supplier<String> signature) {
+    return sharedValue(methodSignatures, methodBindingKey, signature, "MethodSignatureCache");
+  }
+
+  private static String sharedValue(Map<String, String> values, String bindingKey, Supplier<String> value, String measureName) {
+    String knownValue = values.get(bindingKey);
+    if (knownValue != null) {
+      PerformanceMeasure.start(measureName + ".hit").stop();
+      return knownValue;
+    }
+    PerformanceMeasure.Duration missDuration = PerformanceMeasure.start(measureName + ".miss");
+    String computedValue = values.computeIfAbsent(bindingKey, k -> value.get());
+    missDuration.stop();
+    return computedValue;
+  }
+
+  /**
+   * Package annotations are read from the {@code package-info.class} files of the classpath, a package without any is the same for all
+   * the compilation units.
+   */
+  boolean isPackageWithoutAnnotations(String packageName) {
+    return packagesWithoutAnnotations.contains(packageName);
+  }
+
+  void addPackageWithoutAnnotations(String packageName) {
+    packagesWithoutAnnotations.add(packageName);
+  }
+
+  /**
+   * @return the known nullability, by target, of the type with the given key, see {@link JSymbolMetadata}. It covers the types declared
+   * in the analyzed sources too, which do not change during an analysis. Only the nullability which does not refer to any annotation,
+   * e.g. when neither the type nor its owners are annotated, can be shared: the annotation instance of a nullability default, as well as
+   * the bindings it is built from, belong to the compilation unit it was resolved in.
+   */
+  Map<NullabilityTarget, NullabilityData> typeNullability(String typeBindingKey) {
+    return typesNullability.computeIfAbsent(typeBindingKey, k -> new ConcurrentHashMap<>());
+  }
+
+}
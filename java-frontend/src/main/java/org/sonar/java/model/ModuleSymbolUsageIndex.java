@@ -0,0 +1,188 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.CheckForNull;
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.IVariableBinding;
+import org.sonar.java.annotations.VisibleForTesting;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.semantic.SymbolUsageIndex;
+import org.sonar.plugins.java.api.tree.IdentifierTree;
+
+/**
+ * {@link SymbolUsageIndex} keyed by the binding keys of the symbols. The usages of a symbol are stored as postings: pairs of ints made
+ * of the index of the file in {@link #files} and of the line of the usage.
+ * <p>
+ * The usages of a file are stored in its cache record as: a version byte, the number of symbols, then for each symbol its key
+ * (modified UTF-8), the number of lines and the lines.
+ */
+public class ModuleSymbolUsageIndex implements SymbolUsageIndex {
+
+  public static final String CACHE_SECTION = "java:symbolUsages";
+  @VisibleForTesting
+  static final byte FORMAT_VERSION = 1;
+
+  private final List<String> files = new ArrayList<>();
+  private final Map<String, Postings> postingsBySymbol = new HashMap<>();
+
+  @CheckForNull
+  @Override
+  public String key(Symbol symbol) {
+    if (!(symbol instanceof JSymbol jSymbol)) {
+      return null;
+    }
+    return key(JSema.declarationBinding(jSymbol.binding));
+  }
+
+  @CheckForNull
+  private static String key(IBinding declarationBinding) {
+    boolean indexed = declarationBinding instanceof ITypeBinding
+      || declarationBinding instanceof IMethodBinding
+      || (declarationBinding instanceof IVariableBinding variableBinding && variableBinding.isField());
+    return indexed ? declarationBinding.getKey() : null;
+  }
+
+  @Override
+  public synchronized List<Usage> usages(String symbolKey) {
+    Postings postings = postingsBySymbol.get(symbolKey);
+    if (postings == null) {
+      return Collections.emptyList();
+    }
+    List<Usage> usages = new ArrayList<>(postings.size / 2);
+    for (int i = 0; i < postings.size; i += 2) {
+      usages.add(new Usage(files.get(postings.data[i]), postings.data[i + 1]));
+    }
+    return usages;
+  }
+
+  /**
+   * Adds to the index the usages of a file, as returned by {@link #usagesOf(JSema)} or {@link #decode(byte[])}.
+   */
+  public synchronized void add(String fileKey, Map<String, int[]> linesBySymbol) {
+    if (linesBySymbol.isEmpty()) {
+      return;
+    }
+    int file = files.size();
+    files.add(fileKey);
+    linesBySymbol.forEach((symbolKey, lines) -> {
+      Postings postings = postingsBySymbol.computeIfAbsent(symbolKey, k -> new Postings());
+      for (int line : lines) {
+        postings.add(file, line);
+      }
+    });
+  }
+
+  /**
+   * @return the lines of the usages, in the compilation unit of the given semantic, of the symbols whose usages are indexed.
+   */
+  public static Map<String, int[]> usagesOf(JSema sema) {
+    Map<String, int[]> linesBySymbol = new LinkedHashMap<>();
+    sema.usages.forEach((declarationBinding, identifiers) -> {
+      String symbolKey = key(declarationBinding);
+      if (symbolKey != null && !identifiers.isEmpty()) {
+        int[] lines = new int[identifiers.size()];
+        for (int i = 0; i < lines.length; i++) {
+          IdentifierTree identifier = identifiers.get(i);
+          lines[i] = identifier.identifierToken().range().start().line();
+        }
+        linesBySymbol.merge(symbolKey, lines, ModuleSymbolUsageIndex::concat);
+      }
+    });
+    return linesBySymbol;
+  }
+
+  private static int[] concat(int[] first, int[] second) {
+    int[] lines = new int[first.length + second.length];
+    System.arraycopy(first, 0, lines, 0, first.length);
+    System.arraycopy(second, 0, lines, first.length, second.length);
+    return lines;
+  }
+
+  public static byte[] encode(Map<String, int[]> linesBySymbol) {
+    var bytes = new ByteArrayOutputStream();
+    try (var out = new DataOutputStream(bytes)) {
+      out.writeByte(FORMAT_VERSION);
+      out.writeInt(linesBySymbol.size());
+      for (Map.Entry<String, int[]> entry : linesBySymbol.entrySet()) {
+        out.writeUTF(entry.getKey());
+        out.writeInt(entry.getValue().length);
+        for (int line : entry.getValue()) {
+          out.writeInt(line);
+        }
+      }
+    } catch (IOException e) {
+      // Cannot happen when writing to a ByteArrayOutputStream
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * @throws IOException if the data is not in the current format.
+   */
+  public static Map<String, int[]> decode(byte[] data) throws IOException {
+    try (var in = new DataInputStream(new ByteArrayInputStream(data))) {
+      byte version = in.readByte();
+      if (version != FORMAT_VERSION) {
+        throw new IOException("Unsupported symbol usages format version " + version);
+      }
+      int symbolCount = in.readInt();
+      Map<String, int[]> linesBySymbol = new LinkedHashMap<>();
+      for (int i = 0; i < symbolCount; i++) {
+        String symbolKey = in.readUTF();
+        int[] lines = new int[in.readInt()];
+        for (int j = 0; j < lines.length; j++) {
+          lines[j] = in.readInt();
+        }
+        linesBySymbol.put(symbolKey, lines);
+      }
+      return linesBySymbol;
+    }
+  }
+
+  private static class Postings {
+    private int[] data = new int[4];
+    private int size = 0;
+
+    private void add(int file, int line) {
+      if (size + 2 > data.length) {
+        int[] newData = new int[data.length * 2];
+        System.arraycopy(data, 0, newData, 0, size);
+        data = newData;
+      }
+      data[size] = file;
+      data[size + 1] = line;
+      size += 2;
+    }
+  }
+
+}
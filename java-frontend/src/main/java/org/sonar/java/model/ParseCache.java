@@ -0,0 +1,234 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.SoftReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.CheckForNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.java.annotations.VisibleForTesting;
+import org.sonar.java.caching.FileHashingUtils;
+import org.sonar.plugins.java.api.JavaVersion;
+
+/**
+ * Bounded LRU cache of the trees, with their semantic, of recently analyzed files. It is used in SonarLint to avoid parsing and resolving
+ * a file again when neither its content nor its parsing environment changed. It is owned by a single analysis, which clears it when it
+ * ends, so that trees and name environments are never shared between analyses of different projects or classpaths.
+ * <p>
+ * Entries are keyed by a fingerprint of the parsing environment (java version and classpath, including the last modification time of
+ * its jars and the content of its directories) and by file path, and are validated against the hash of the file content. The trees are softly referenced, so that they
+ * are dropped under memory pressure. The name environment of a cached tree is only cleaned up when the entry is evicted, as cleaning
+ * it up earlier would prevent any further type resolution in that tree. When more than {@value #MAX_ENVIRONMENTS} environments are in
+ * use, which means that the classpath changed, the entries of the least recently used environment are evicted.
+ */
+public class ParseCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ParseCache.class);
+
+  public static final int DEFAULT_MAX_ENTRIES = 32;
+  /**
+   * One environment for main files and one for test files.
+   */
+  @VisibleForTesting
+  static final int MAX_ENVIRONMENTS = 2;
+
+  private final int maxEntries;
+  private final Map<String, Entry> entries;
+  private final Set<String> environments = new LinkedHashSet<>();
+
+  public ParseCache(int maxEntries) {
+    this.maxEntries = maxEntries;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  public static String environmentFingerprint(JavaVersion javaVersion, List<File> classpath, boolean shouldIgnoreUnnamedModuleForSplitPackage) {
+    String options = javaVersion.effectiveJavaVersionAsString() + ";" + javaVersion.arePreviewFeaturesEnabled() + ";"
+      + shouldIgnoreUnnamedModuleForSplitPackage + ";";
+    return classpath.stream()
+      .map(file -> file.getAbsolutePath() + "@" + entryFingerprint(file))
+      .collect(Collectors.joining(File.pathSeparator, options, ""));
+  }
+
+  /**
+   * The last modification time of a directory does not change when one of the files it contains is rewritten, so the fingerprint of a
+   * directory is made of the number, total size and latest modification time of all the files below it.
+   */
+  private static String entryFingerprint(File file) {
+    if (!file.isDirectory()) {
+      return Long.toString(file.lastModified());
+    }
+    long count = 0;
+    long size = 0;
+    long lastModified = 0;
+    try (Stream<Path> paths = Files.walk(file.toPath())) {
+      Iterator<BasicFileAttributes> iterator = paths.map(ParseCache::attributes).iterator();
+      while (iterator.hasNext()) {
+        BasicFileAttributes attributes = iterator.next();
+        if (attributes.isRegularFile()) {
+          count++;
+          size += attributes.size();
+          lastModified = Math.max(lastModified, attributes.lastModifiedTime().toMillis());
+        }
+      }
+    } catch (IOException | UncheckedIOException e) {
+      LOG.debug("Unable to fingerprint the content of {}: {}", file, e.getMessage());
+      return "unreadable";
+    }
+    return count + ":" + size + ":" + lastModified;
+  }
+
+  private static BasicFileAttributes attributes(Path path) {
+    try {
+      return Files.readAttributes(path, BasicFileAttributes.class);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public static byte[] contentHash(String contents) {
+    try {
+      return MessageDigest.getInstance(FileHashingUtils.HASH_ALGORITHM).digest(contents.getBytes(StandardCharsets.UTF_8));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * @return the cached tree of the file at the given path, if its content and environment did not change since it was cached.
+   */
+  @CheckForNull
+  public synchronized JavaTree.CompilationUnitTreeImpl get(String path, byte[] contentHash, String environment) {
+    useEnvironment(environment);
+    purgeCollectedEntries();
+    String key = key(path, environment);
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+    JavaTree.CompilationUnitTreeImpl tree = entry.tree.get();
+    if (tree == null || !Arrays.equals(entry.contentHash, contentHash)) {
+      evict(key);
+      return null;
+    }
+    return tree;
+  }
+
+  public synchronized void put(String path, byte[] contentHash, String environment, JavaTree.CompilationUnitTreeImpl tree) {
+    useEnvironment(environment);
+    String key = key(path, environment);
+    evict(key);
+    entries.put(key, new Entry(contentHash, environment, tree));
+    while (entries.size() > maxEntries) {
+      evict(entries.keySet().iterator().next());
+    }
+  }
+
+  /**
+   * @return true if the given tree is held by the cache, in which case its environment must not be cleaned up.
+   */
+  public synchronized boolean contains(JavaTree.CompilationUnitTreeImpl tree) {
+    return entries.values().stream().anyMatch(entry -> entry.tree.get() == tree);
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public synchronized void clear() {
+    new ArrayList<>(entries.keySet()).forEach(this::evict);
+    environments.clear();
+  }
+
+  private static String key(String path, String environment) {
+    return environment + '\n' + path;
+  }
+
+  private void useEnvironment(String environment) {
+    environments.remove(environment);
+    environments.add(environment);
+    if (environments.size() > MAX_ENVIRONMENTS) {
+      String outdated = environments.iterator().next();
+      environments.remove(outdated);
+      LOG.debug("Classpath changed, evicting trees cached for the previous classpath.");
+      entries.entrySet().stream()
+        .filter(entry -> entry.getValue().environment.equals(outdated))
+        .map(Map.Entry::getKey)
+        .toList()
+        .forEach(this::evict);
+    }
+  }
+
+  private void purgeCollectedEntries() {
+    Iterator<Entry> iterator = entries.values().iterator();
+    while (iterator.hasNext()) {
+      Entry entry = iterator.next();
+      if (entry.tree.get() == null) {
+        iterator.remove();
+        entry.cleanUp();
+      }
+    }
+  }
+
+  private void evict(String key) {
+    Entry entry = entries.remove(key);
+    if (entry != null) {
+      entry.cleanUp();
+    }
+  }
+
+  private static class Entry {
+    private final byte[] contentHash;
+    private final String environment;
+    private final SoftReference<JavaTree.CompilationUnitTreeImpl> tree;
+    private final Runnable environmentCleaner;
+
+    private Entry(byte[] contentHash, String environment, JavaTree.CompilationUnitTreeImpl tree) {
+      this.contentHash = contentHash;
+      this.environment = environment;
+      this.tree = new SoftReference<>(tree);
+      // The cleaner only references the name environment, not the tree, so it does not prevent the tree from being collected
+      this.environmentCleaner = tree.sema != null ? tree.sema.getEnvironmentCleaner() : () -> {};
+    }
+
+    private void cleanUp() {
+      try {
+        environmentCleaner.run();
+      } catch (RuntimeException e) {
+        LOG.debug("Unable to clean up the environment of an evicted tree: {}", e.getMessage());
+      }
+    }
+  }
+}
@@ -53,12 +53,16 @@ public class SmapFile {
 
   private static final Logger LOG = LoggerFactory.getLogger(SmapFile.class);
 
+  private final Path rootDir;
+  private final String smapString;
   private final Path generatedFile;
   private final Map<Integer, FileInfo> fileSection;
   private final List<LineInfo> lineSection;
   private final Scanner sc;
 
   public SmapFile(Path rootDir, String smapString, Path uriRoot, FileSystem fileSystem) {
+    this.rootDir = rootDir;
+    this.smapString = smapString;
     this.sc = new Scanner(smapString);
     String header = sc.nextLine();
     if (!"SMAP".equals(header)) {
@@ -81,6 +85,23 @@ public class SmapFile {
     return generatedFile;
   }
 
+  public Path getRootDir() {
+    return rootDir;
+  }
+
+  public String getSmapString() {
+    return smapString;
+  }
+
+  /**
+   * @return the paths of the JSP files and the files they include, as listed in the file section, relative to the context root
+   */
+  public List<String> getSourcePaths() {
+    return fileSection.values().stream()
+      .map(fileInfo -> fileInfo.sourcePath != null ? fileInfo.sourcePath : fileInfo.sourceName)
+      .toList();
+  }
+
   Map<Integer, FileInfo> getFileSection() {
     return fileSection;
   }
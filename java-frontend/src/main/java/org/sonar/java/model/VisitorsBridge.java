@@ -18,16 +18,21 @@ package org.sonar.java.model;
 
 import com.sonar.sslr.api.RecognitionException;
 import java.io.File;
+import java.io.IOException;
 import java.io.InterruptedIOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.StreamSupport;
+import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,9 +48,12 @@ import org.sonar.java.annotations.VisibleForTesting;
 import org.sonar.java.ast.visitors.SonarSymbolTableVisitor;
 import org.sonar.java.ast.visitors.SubscriptionVisitor;
 import org.sonar.java.caching.CacheContextImpl;
+import org.sonar.java.caching.FileRecordCacheImpl;
 import org.sonar.java.classpath.DependencyVersionInference;
 import org.sonar.java.exceptions.ApiMismatchException;
 import org.sonar.java.exceptions.ThrowableUtils;
+import org.sonar.java.matcher.MethodMatchersIndex;
+import org.sonar.java.matcher.MethodMatchersVisitor;
 import org.sonar.plugins.java.api.DependencyVersionAware;
 import org.sonar.plugins.java.api.InputFileScannerContext;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
@@ -57,6 +65,9 @@ import org.sonar.plugins.java.api.JavaVersionAwareVisitor;
 import org.sonar.plugins.java.api.ModuleScannerContext;
 import org.sonar.plugins.java.api.caching.CacheContext;
 import org.sonar.plugins.java.api.internal.EndOfAnalysis;
+import org.sonar.plugins.java.api.internal.RequiresSymbolUsageIndex;
+import org.sonar.plugins.java.api.internal.SyntaxOnly;
+import org.sonar.plugins.java.api.semantic.MethodMatchers;
 import org.sonar.plugins.java.api.semantic.Sema;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 import org.sonar.plugins.java.api.tree.SyntaxToken;
@@ -81,6 +92,12 @@ public class VisitorsBridge {
   @VisibleForTesting
   CacheContext cacheContext;
   private final DependencyVersionInference dependencyService;
+  /**
+   * Only filled when one of the visitors requires it, see {@link RequiresSymbolUsageIndex}.
+   */
+  @Nullable
+  private final ModuleSymbolUsageIndex symbolUsageIndex;
+  private boolean syntaxOnly = false;
 
   @VisibleForTesting
   public VisitorsBridge(JavaFileScanner visitor) {
@@ -107,6 +124,9 @@ public class VisitorsBridge {
     this.javaVersion = javaVersion;
     this.inAndroidContext = inAndroidContext;
     dependencyService = new DependencyVersionInference();
+    this.symbolUsageIndex = StreamSupport.stream(visitors.spliterator(), false).anyMatch(RequiresSymbolUsageIndex.class::isInstance)
+      ? new ModuleSymbolUsageIndex()
+      : null;
     updateScanners();
   }
 
@@ -114,8 +134,13 @@ public class VisitorsBridge {
     allScanners.clear();
     scannersThatCannotBeSkipped.clear();
 
-    allScanners.addAll(filterVisitors(visitors, v ->
-      isVisitorJavaVersionCompatible(v) && isVisitorDependencyVersionCompatible(v)));
+    // the compatibility of each visitor is only evaluated once, it can require to infer the versions of dependencies
+    List<JavaCheck> activeVisitors = StreamSupport.stream(visitors.spliterator(), false)
+      .filter(v -> isVisitorJavaVersionCompatible(v) && isVisitorDependencyVersionCompatible(v))
+      .map(JavaCheck.class::cast)
+      .toList();
+    allScanners.addAll(filterVisitors(activeVisitors, v -> true));
+    syntaxOnly = !activeVisitors.isEmpty() && activeVisitors.stream().allMatch(SyntaxOnly.class::isInstance);
     if (canSkipScanningOfUnchangedFiles()) {
       scannersThatCannotBeSkipped.addAll(filterVisitors(visitors, this::isUnskippableVisitor));
     }
@@ -149,6 +174,14 @@ public class VisitorsBridge {
     return scanners;
   }
 
+  /**
+   * @return true when none of the active visitors needs the semantic model, see {@link SyntaxOnly}. Files are then analyzed without
+   * semantic model, and the symbol table is not provided.
+   */
+  public boolean isSyntaxOnly() {
+    return syntaxOnly;
+  }
+
   boolean canSkipScanningOfUnchangedFiles() {
     try {
       return sonarComponents != null && sonarComponents.canSkipUnchangedFiles();
@@ -189,9 +222,34 @@ public class VisitorsBridge {
    * @return True if all scanners successfully scan the file without contents. False otherwise.
    */
   public boolean scanWithoutParsing(InputFile inputFile) {
-    if (sonarComponents != null && sonarComponents.fileCanBeSkipped(inputFile)) {
+    return scanWithoutParsing(inputFile, fileCanBeSkipped(inputFile));
+  }
+
+  /**
+   * Computes the content hash of the file and compares it with the cached one, ahead of {@link #scanWithoutParsing(InputFile, boolean)}.
+   */
+  public boolean fileCanBeSkipped(InputFile inputFile) {
+    return fileCanBeSkipped(inputFile, null);
+  }
+
+  /**
+   * Compares the given content hash of the file, computed when null, with the cached one. The caches are not thread-safe, so this must be
+   * called from the analysis thread, while the content hashes can be computed concurrently beforehand.
+   */
+  public boolean fileCanBeSkipped(InputFile inputFile, @Nullable byte[] contentHash) {
+    return sonarComponents != null && sonarComponents.fileCanBeSkipped(inputFile, contentHash);
+  }
+
+  /**
+   * Runs the scanners that cannot be skipped on a file without parsing it, when the file can be skipped.
+   *
+   * @param fileCanBeSkipped the result of {@link #fileCanBeSkipped(InputFile)} for the file
+   */
+  public boolean scanWithoutParsing(InputFile inputFile, boolean fileCanBeSkipped) {
+    if (fileCanBeSkipped) {
       PerformanceMeasure.Duration duration = PerformanceMeasure.start("ScanWithoutParsing");
-      boolean allScansSucceeded = true;
+      Map<String, int[]> cachedSymbolUsages = readSymbolUsagesFromCache(inputFile);
+      boolean allScansSucceeded = symbolUsageIndex == null || cachedSymbolUsages != null;
 
       List<JavaFileScanner> scannersRequiringParsing = new ArrayList<>();
       List<JavaFileScanner> scannersNotRequiringParsing = new ArrayList<>();
@@ -234,12 +292,75 @@ public class VisitorsBridge {
       LOG.trace("Scanners that do not require parsing of {}: {}", inputFile, scannersNotRequiringParsing);
       LOG.debug("Scanners that require parsing of {}: {}", inputFile, scannersRequiringParsing);
 
+      if (allScansSucceeded && cachedSymbolUsages != null) {
+        allScansSucceeded = reuseCachedSymbolUsages(inputFile, cachedSymbolUsages);
+      }
+      if (allScansSucceeded) {
+        // The file will not be parsed: its cache record is complete
+        flushFileRecord(inputFile);
+      }
       return allScansSucceeded;
     } else {
       return false;
     }
   }
 
+  @CheckForNull
+  private Map<String, int[]> readSymbolUsagesFromCache(InputFile inputFile) {
+    if (symbolUsageIndex == null) {
+      return null;
+    }
+    byte[] data = cacheContext.getFileRecordCache().readSection(inputFile, ModuleSymbolUsageIndex.CACHE_SECTION);
+    if (data == null) {
+      return null;
+    }
+    try {
+      return ModuleSymbolUsageIndex.decode(data);
+    } catch (IOException e) {
+      LOG.trace("Ignoring unreadable symbol usages of file '{}': {}", inputFile.key(), e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * @return false when the symbol usages could not be kept in the cache, the file then has to be parsed to index them again.
+   */
+  private boolean reuseCachedSymbolUsages(InputFile inputFile, Map<String, int[]> cachedSymbolUsages) {
+    try {
+      cacheContext.getFileRecordCache().copySectionFromPrevious(inputFile, ModuleSymbolUsageIndex.CACHE_SECTION);
+    } catch (IllegalArgumentException e) {
+      LOG.trace("Could not copy symbol usages of file '{}' from the previous cache: {}", inputFile.key(), e.getMessage());
+      return false;
+    }
+    symbolUsageIndex.add(inputFile.key(), cachedSymbolUsages);
+    return true;
+  }
+
+  private void indexSymbolUsages(JSema sema) {
+    PerformanceMeasure.Duration duration = PerformanceMeasure.start("SymbolUsageIndex");
+    Map<String, int[]> symbolUsages = ModuleSymbolUsageIndex.usagesOf(sema);
+    symbolUsageIndex.add(currentFile.key(), symbolUsages);
+    if (cacheContext.isCacheEnabled()) {
+      try {
+        cacheContext.getFileRecordCache().writeSection(currentFile, ModuleSymbolUsageIndex.CACHE_SECTION,
+          ModuleSymbolUsageIndex.encode(symbolUsages));
+      } catch (IllegalArgumentException e) {
+        LOG.trace("Could not store symbol usages of file '{}' in the cache: {}", currentFile.key(), e.getMessage());
+      }
+    }
+    duration.stop();
+  }
+
+  /**
+   * Stores in the cache the sections written or copied for the given file by the visitors.
+   * To be called once the analysis of the file is complete.
+   */
+  public void flushFileRecord(InputFile inputFile) {
+    if (cacheContext.getFileRecordCache() instanceof FileRecordCacheImpl fileRecordCache) {
+      fileRecordCache.flush(inputFile);
+    }
+  }
+
   public void visitFile(@Nullable Tree parsedTree, boolean fileCanBeSkipped) {
     if (fileCanBeSkipped) {
       skippedFileCount++;
@@ -255,11 +376,17 @@ public class VisitorsBridge {
     boolean fileParsed = parsedTree != null;
     if (fileParsed && parsedTree.is(Tree.Kind.COMPILATION_UNIT)) {
       tree = (JavaTree.CompilationUnitTreeImpl) parsedTree;
-      createSonarSymbolTable(tree);
+      if (!syntaxOnly) {
+        createSonarSymbolTable(tree);
+      }
     }
     symbolTableDuration.stop();
 
-    JavaFileScannerContext javaFileScannerContext = createScannerContext(tree, tree.sema, sonarComponents, fileParsed);
+    if (symbolUsageIndex != null && tree.sema != null) {
+      indexSymbolUsages(tree.sema);
+    }
+
+    JavaFileScannerContext javaFileScannerContext = createScannerContext(tree, syntaxOnly ? null : tree.sema, sonarComponents, fileParsed);
     var scanners = getScanners(fileCanBeSkipped);
 
     PerformanceMeasure.Duration scannersDuration = PerformanceMeasure.start("Scanners");
@@ -390,6 +517,9 @@ public class VisitorsBridge {
     }
 
     var moduleContext = createScannerContext(sonarComponents, javaVersion, inAndroidContext, cacheContext);
+    if (symbolUsageIndex != null && moduleContext instanceof DefaultModuleScannerContext defaultModuleContext) {
+      defaultModuleContext.setSymbolUsageIndex(symbolUsageIndex);
+    }
 
     allScanners.stream()
       .filter(EndOfAnalysis.class::isInstance)
@@ -398,8 +528,15 @@ public class VisitorsBridge {
   }
 
   private class IssuableSubscriptionVisitorsRunner implements JavaFileScanner, EndOfAnalysis {
+    private static final Set<Tree.Kind> METHOD_MATCHERS_KINDS = EnumSet.of(Tree.Kind.METHOD_INVOCATION, Tree.Kind.NEW_CLASS, Tree.Kind.METHOD_REFERENCE);
+
     private EnumMap<Tree.Kind, List<SubscriptionVisitor>> checks;
     private List<SubscriptionVisitor> subscriptionVisitors;
+    /**
+     * Visitors subscribed to the kinds of {@link #METHOD_MATCHERS_KINDS} when some of them are {@link MethodMatchersVisitor}, indexed by the
+     * methods they can match. Built on the first scanned file, once all the visitors are fully configured.
+     */
+    private Map<Tree.Kind, MethodMatchersIndex<SubscriptionVisitor>> methodMatchersIndexes;
 
     IssuableSubscriptionVisitorsRunner() {
       checks = new EnumMap<>(Tree.Kind.class);
@@ -439,6 +576,9 @@ public class VisitorsBridge {
     public void scanFile(JavaFileScannerContext javaFileScannerContext) {
       PerformanceMeasure.Duration issuableSubscriptionVisitorsDuration = PerformanceMeasure.start("IssuableSubscriptionVisitors");
       try {
+        if (methodMatchersIndexes == null) {
+          methodMatchersIndexes = methodMatchersIndexes();
+        }
         forEach(subscriptionVisitors, s -> s.setContext(javaFileScannerContext));
         visit(javaFileScannerContext.getTree());
         forEach(subscriptionVisitors, s -> s.leaveFile(javaFileScannerContext));
@@ -457,6 +597,38 @@ public class VisitorsBridge {
         .forEach(check -> check.endOfAnalysis(cachedContext));
     }
 
+    private Map<Tree.Kind, MethodMatchersIndex<SubscriptionVisitor>> methodMatchersIndexes() {
+      Map<Tree.Kind, MethodMatchersIndex<SubscriptionVisitor>> indexes = new EnumMap<>(Tree.Kind.class);
+      for (Tree.Kind kind : METHOD_MATCHERS_KINDS) {
+        List<SubscriptionVisitor> subscribed = checks.getOrDefault(kind, Collections.emptyList());
+        if (subscribed.stream().anyMatch(MethodMatchersVisitor.class::isInstance)) {
+          indexes.put(kind, new MethodMatchersIndex<>(subscribed, IssuableSubscriptionVisitorsRunner::methodMatchers));
+        }
+      }
+      return indexes;
+    }
+
+    @CheckForNull
+    private static MethodMatchers methodMatchers(SubscriptionVisitor visitor) {
+      if (visitor instanceof MethodMatchersVisitor methodMatchersVisitor) {
+        try {
+          return methodMatchersVisitor.methodMatchers();
+        } catch (RuntimeException e) {
+          // notified of all the nodes, the failure is reported when the visitor fails to visit them
+          return null;
+        }
+      }
+      return null;
+    }
+
+    private List<SubscriptionVisitor> subscribed(Tree tree, Kind kind) {
+      MethodMatchersIndex<SubscriptionVisitor> methodMatchersIndex = methodMatchersIndexes.get(kind);
+      if (methodMatchersIndex != null) {
+        return methodMatchersIndex.candidates(tree);
+      }
+      return checks.getOrDefault(kind, Collections.emptyList());
+    }
+
     private void visitChildren(Tree tree) throws CheckFailureException {
       JavaTree javaTree = (JavaTree) tree;
       if (!javaTree.isLeaf()) {
@@ -470,7 +642,7 @@ public class VisitorsBridge {
 
     private void visit(Tree tree) throws CheckFailureException {
       Kind kind = tree.kind();
-      List<SubscriptionVisitor> subscribed = checks.getOrDefault(kind, Collections.emptyList());
+      List<SubscriptionVisitor> subscribed = subscribed(tree, kind);
       Consumer<SubscriptionVisitor> callback;
       boolean isToken = (kind == Tree.Kind.TOKEN);
       if (isToken) {
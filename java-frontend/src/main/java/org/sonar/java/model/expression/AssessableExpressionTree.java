@@ -26,9 +26,19 @@ import org.sonar.plugins.java.api.tree.ExpressionTree;
  */
 public abstract class AssessableExpressionTree extends AbstractTypedTree implements ExpressionTree {
 
+  private static final Object NOT_COMPUTED = new Object();
+
+  /**
+   * Constant value of the expression, null when it is not a constant, computed on first request.
+   */
+  private Object constantValue = NOT_COMPUTED;
+
   @Override
   public Optional<Object> asConstant() {
-    return Optional.ofNullable(ExpressionUtils.resolveAsConstant(this));
+    if (constantValue == NOT_COMPUTED) {
+      constantValue = ExpressionUtils.computeConstant(this);
+    }
+    return Optional.ofNullable(constantValue);
   }
 
   @Override
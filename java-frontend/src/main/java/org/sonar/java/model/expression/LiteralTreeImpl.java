@@ -18,6 +18,7 @@ package org.sonar.java.model.expression;
 
 import java.util.List;
 import org.sonar.java.model.InternalSyntaxToken;
+import org.sonar.java.model.LiteralUtils;
 import org.sonar.plugins.java.api.tree.LiteralTree;
 import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.Tree;
@@ -30,6 +31,10 @@ public class LiteralTreeImpl extends AssessableExpressionTree implements Literal
 
   private final Kind kind;
   private final InternalSyntaxToken token;
+  /**
+   * Value of the literal as returned by {@link LiteralUtils#getAsStringValue(LiteralTree)}, computed on first request.
+   */
+  private String stringValue;
 
   public LiteralTreeImpl(Kind kind, InternalSyntaxToken token) {
     this.kind = Objects.requireNonNull(kind);
@@ -46,6 +51,13 @@ public class LiteralTreeImpl extends AssessableExpressionTree implements Literal
     return token.text();
   }
 
+  public String stringValue() {
+    if (stringValue == null) {
+      stringValue = LiteralUtils.computeStringValue(this);
+    }
+    return stringValue;
+  }
+
   @Override
   public SyntaxToken token() {
     return token;
@@ -47,7 +47,7 @@ public class JavaAnalyzerRegexSource extends JavaRegexSource {
     }
   }
 
-  private static String literalsToString(List<LiteralTree> stringLiterals) {
+  static String literalsToString(List<LiteralTree> stringLiterals) {
     StringBuilder sb = new StringBuilder();
     for (LiteralTree literal : stringLiterals) {
       String text = getString(literal);
@@ -18,26 +18,73 @@ package org.sonar.java.regex;
 
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import javax.annotation.Nullable;
 import org.sonar.plugins.java.api.tree.LiteralTree;
 import org.sonarsource.analyzer.commons.regex.RegexParseResult;
 import org.sonarsource.analyzer.commons.regex.RegexParser;
+import org.sonarsource.analyzer.commons.regex.RegexSource;
 import org.sonarsource.analyzer.commons.regex.ast.FlagSet;
 import org.sonarsource.performance.measure.PerformanceMeasure;
 
 public final class RegexCache {
   private final Map<List<LiteralTree>, RegexParseResult> cache = new HashMap<>();
+  /**
+   * Literals of this file that each regex of the module cache has been given for, and the sources locating these regexes on them
+   */
+  private final Map<RegexSource, List<LiteralTree>> moduleSourceLiterals = new IdentityHashMap<>();
+  private final Map<RegexSource, JavaAnalyzerRegexSource> locatedModuleSources = new IdentityHashMap<>();
+  @Nullable
+  private final RegexParseCache moduleCache;
+
+  public RegexCache() {
+    this(null);
+  }
+
+  /**
+   * @param moduleCache when given, regexes are looked up in this cache shared by the files of the module instead of being parsed for
+   *                    this file only.
+   */
+  public RegexCache(@Nullable RegexParseCache moduleCache) {
+    this.moduleCache = moduleCache;
+  }
 
   public RegexParseResult getRegexForLiterals(FlagSet initialFlags, LiteralTree... stringLiterals) {
-    return cache.computeIfAbsent(
-      Arrays.asList(stringLiterals),
-      k -> {
-        PerformanceMeasure.Duration regexForLiteralsDuration = PerformanceMeasure.start("RegexParser");
-        RegexParseResult result = new RegexParser(new JavaAnalyzerRegexSource(k), initialFlags).parse();
-        regexForLiteralsDuration.stop();
-        return result;
-      });
+    return cache.computeIfAbsent(Arrays.asList(stringLiterals), k -> {
+      if (moduleCache == null) {
+        return parse(initialFlags, new JavaAnalyzerRegexSource(k));
+      }
+      RegexParseResult result = moduleCache.get(JavaAnalyzerRegexSource.literalsToString(k), initialFlags);
+      if (moduleSourceLiterals.putIfAbsent(result.getResult().getSource(), k) != null) {
+        // Rules may keep the results of a file until its end: other literals of the file with the same content get their own result
+        return parse(initialFlags, new JavaAnalyzerRegexSource(k));
+      }
+      return result;
+    });
+  }
+
+  /**
+   * @return the source locating the syntax elements of the given source on the literals of this file. Regexes coming from the module
+   * cache are only located once they are reported on.
+   */
+  public JavaAnalyzerRegexSource locationSource(RegexSource source) {
+    if (source instanceof JavaAnalyzerRegexSource javaAnalyzerRegexSource) {
+      return javaAnalyzerRegexSource;
+    }
+    List<LiteralTree> literals = moduleSourceLiterals.get(source);
+    if (literals == null) {
+      throw new IllegalArgumentException("The regex was not requested for the literals of this file");
+    }
+    return locatedModuleSources.computeIfAbsent(source, s -> new JavaAnalyzerRegexSource(literals));
+  }
+
+  static RegexParseResult parse(FlagSet initialFlags, RegexSource source) {
+    PerformanceMeasure.Duration regexForLiteralsDuration = PerformanceMeasure.start("RegexParser");
+    RegexParseResult result = new RegexParser(source, initialFlags).parse();
+    regexForLiteralsDuration.stop();
+    return result;
   }
 
 }
@@ -19,9 +19,12 @@ package org.sonar.java.regex;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Stream;
+import javax.annotation.Nullable;
 import org.sonar.java.reporting.AnalyzerMessage;
 import org.sonar.plugins.java.api.JavaCheck;
+import org.sonarsource.analyzer.commons.regex.RegexSource;
 import org.sonarsource.analyzer.commons.regex.ast.IndexRange;
 import org.sonarsource.analyzer.commons.regex.ast.RegexSyntaxElement;
 
@@ -36,16 +39,20 @@ public interface RegexCheck extends JavaCheck {
   class RegexIssueLocation {
 
     private static final String CONTINUATION_MESSAGE = "Continuing here";
+    private final List<RegexSyntaxElement> trees;
+    @Nullable
     private final List<AnalyzerMessage.TextSpan> locations;
     private final String message;
 
     public RegexIssueLocation(RegexSyntaxElement tree, String message) {
-      this.locations = ((JavaAnalyzerRegexSource) tree.getSource()).textSpansFor(tree.getRange());
+      this.trees = Collections.singletonList(tree);
+      this.locations = null;
       this.message = message;
     }
 
     public RegexIssueLocation(List<RegexSyntaxElement> trees, String message) {
-      this.locations = textSpansFromRegexSyntaxElements(trees);
+      this.trees = trees;
+      this.locations = null;
       this.message = message;
     }
 
@@ -54,30 +61,37 @@ public interface RegexCheck extends JavaCheck {
     }
 
     private RegexIssueLocation(AnalyzerMessage.TextSpan location, String message) {
+      this.trees = Collections.emptyList();
       this.locations = Collections.singletonList(location);
       this.message = message;
     }
 
-    public List<AnalyzerMessage.TextSpan> locations() {
-      return locations;
+    /**
+     * @param locationSources gives the source locating the syntax elements of a regex on literals, for regexes that were parsed
+     *                        without locations, see {@link RegexCache#locationSource(RegexSource)}.
+     */
+    public List<AnalyzerMessage.TextSpan> locations(Function<RegexSource, JavaAnalyzerRegexSource> locationSources) {
+      if (locations != null) {
+        return locations;
+      }
+      return textSpansFromRegexSyntaxElements(trees, locationSources);
     }
 
     public String message() {
       return message;
     }
 
-    public List<RegexIssueLocation> toSingleLocationItems() {
-      if (locations.size() == 1) {
-        return Collections.singletonList(this);
-      }
+    public List<RegexIssueLocation> toSingleLocationItems(Function<RegexSource, JavaAnalyzerRegexSource> locationSources) {
+      List<AnalyzerMessage.TextSpan> textSpans = locations(locationSources);
       return Stream.concat(
-        Stream.of(new RegexIssueLocation(locations.get(0), message)),
-        locations.stream().skip(1).map(loc -> new RegexIssueLocation(loc, CONTINUATION_MESSAGE)))
+        Stream.of(new RegexIssueLocation(textSpans.get(0), message)),
+        textSpans.stream().skip(1).map(loc -> new RegexIssueLocation(loc, CONTINUATION_MESSAGE)))
         .toList();
     }
 
-    private static List<AnalyzerMessage.TextSpan> textSpansFromRegexSyntaxElements(List<RegexSyntaxElement> trees) {
-      JavaAnalyzerRegexSource source = (JavaAnalyzerRegexSource) trees.get(0).getSource();
+    private static List<AnalyzerMessage.TextSpan> textSpansFromRegexSyntaxElements(List<RegexSyntaxElement> trees,
+      Function<RegexSource, JavaAnalyzerRegexSource> locationSources) {
+      JavaAnalyzerRegexSource source = locationSources.apply(trees.get(0).getSource());
       List<AnalyzerMessage.TextSpan> locations = new ArrayList<>();
       IndexRange current = null;
       for (RegexSyntaxElement tree : trees) {
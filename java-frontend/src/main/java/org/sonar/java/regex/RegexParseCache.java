@@ -0,0 +1,70 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.regex;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.sonarsource.analyzer.commons.regex.RegexParseResult;
+import org.sonarsource.analyzer.commons.regex.ast.FlagSet;
+import org.sonarsource.analyzer.commons.regex.java.JavaRegexSource;
+import org.sonarsource.performance.measure.PerformanceMeasure;
+
+/**
+ * Bounded LRU cache of the regexes parsed in a module, keyed by the content of the regex and its initial flags. The same patterns,
+ * like {@code "\\s+"}, are found in many files of a module: they are parsed once.
+ * <p>
+ * The cached regexes are parsed from their content only and know nothing about the literals they come from, so the cache does not
+ * retain any tree of the analyzed files. Each file maps the regexes it uses to its own literals, see {@link RegexCache}.
+ */
+public final class RegexParseCache {
+
+  public static final int DEFAULT_MAX_ENTRIES = 1_000;
+
+  private final int maxEntries;
+  private final Map<Key, RegexParseResult> entries;
+
+  public RegexParseCache(int maxEntries) {
+    this.maxEntries = maxEntries;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+  }
+
+  /**
+   * @return the parse result of the given regex, whose syntax elements have a {@link JavaRegexSource} without locations as source.
+   */
+  public synchronized RegexParseResult get(String regex, FlagSet initialFlags) {
+    Key key = new Key(regex, initialFlags.getMask());
+    RegexParseResult result = entries.get(key);
+    if (result != null) {
+      PerformanceMeasure.start("RegexParseCache.hit").stop();
+      return result;
+    }
+    result = RegexCache.parse(initialFlags, new JavaRegexSource(regex));
+    entries.put(key, result);
+    if (entries.size() > maxEntries) {
+      entries.remove(entries.keySet().iterator().next());
+    }
+    return result;
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  private record Key(String regex, int flags) {
+  }
+
+}
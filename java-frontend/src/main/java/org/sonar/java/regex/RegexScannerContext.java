@@ -17,6 +17,7 @@
 package org.sonar.java.regex;
 
 import java.util.List;
+import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import org.sonar.plugins.java.api.tree.LiteralTree;
 import org.sonar.plugins.java.api.tree.Tree;
@@ -32,4 +33,10 @@ public interface RegexScannerContext {
 
   RegexParseResult regexForLiterals(FlagSet initialFlags, LiteralTree... stringLiterals);
 
+  /**
+   * @return the state of the given type shared by all the regex rules analyzing the current file, created with the given factory by
+   * the first rule asking for it. It allows the regexes of the file to be found once for all the rules.
+   */
+  <T> T sharedRegexState(Class<T> type, Supplier<T> factory);
+
 }
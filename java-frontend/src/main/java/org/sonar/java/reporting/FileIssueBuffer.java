@@ -0,0 +1,115 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.reporting;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.rule.RuleKey;
+
+/**
+ * Issues reported on a file while it is analyzed, saved in one pass once the analysis of the file is complete.
+ * Identical issues, of the same rule with the same primary location and message, are only saved once, and the number of issues of a
+ * rule saved on a file can be capped.
+ */
+public class FileIssueBuffer {
+
+  private static final Logger LOG = LoggerFactory.getLogger(FileIssueBuffer.class);
+
+  private final int maxIssuesPerRule;
+  @Nullable
+  private InputFile inputFile;
+  private final Map<IssueKey, AnalyzerMessage> issues = new LinkedHashMap<>();
+  private final Map<RuleKey, IssueCount> issueCountByRule = new HashMap<>();
+
+  /**
+   * @param maxIssuesPerRule maximum number of issues of a rule saved on a file, no limit when not strictly positive
+   */
+  public FileIssueBuffer(int maxIssuesPerRule) {
+    this.maxIssuesPerRule = maxIssuesPerRule;
+  }
+
+  /**
+   * Starts buffering the issues reported on the given file, dropping the issues which were not flushed.
+   */
+  public void startFile(InputFile inputFile) {
+    clear();
+    this.inputFile = inputFile;
+  }
+
+  /**
+   * @return false when the issue is not reported on the file being analyzed, in which case it has to be saved right away
+   */
+  public boolean add(RuleKey ruleKey, AnalyzerMessage analyzerMessage) {
+    if (inputFile == null || !inputFile.equals(analyzerMessage.getInputComponent())) {
+      return false;
+    }
+    IssueKey key = new IssueKey(ruleKey, analyzerMessage.primaryLocation(), analyzerMessage.getMessage());
+    if (issues.containsKey(key)) {
+      return true;
+    }
+    IssueCount count = issueCountByRule.computeIfAbsent(ruleKey, k -> new IssueCount());
+    if (maxIssuesPerRule > 0 && count.kept >= maxIssuesPerRule) {
+      count.dropped++;
+      return true;
+    }
+    count.kept++;
+    issues.put(key, analyzerMessage);
+    return true;
+  }
+
+  /**
+   * Gives the buffered issues, in the order they were reported, to the given consumer and stops buffering.
+   */
+  public void flush(BiConsumer<RuleKey, AnalyzerMessage> issueSaver) {
+    InputFile flushedFile = inputFile;
+    if (flushedFile == null) {
+      return;
+    }
+    inputFile = null;
+    try {
+      issues.forEach((key, analyzerMessage) -> issueSaver.accept(key.ruleKey(), analyzerMessage));
+    } finally {
+      issueCountByRule.forEach((ruleKey, count) -> {
+        if (count.dropped > 0) {
+          LOG.debug("{} issues of rule {} were not reported on file {}, the limit of {} issues per rule and file is reached.",
+            count.dropped, ruleKey, flushedFile, maxIssuesPerRule);
+        }
+      });
+      clear();
+    }
+  }
+
+  private void clear() {
+    issues.clear();
+    issueCountByRule.clear();
+  }
+
+  private record IssueKey(RuleKey ruleKey, @Nullable AnalyzerMessage.TextSpan textSpan, String message) {
+  }
+
+  private static class IssueCount {
+    private int kept;
+    private int dropped;
+  }
+
+}
@@ -57,9 +57,9 @@ public class InternalJavaIssueBuilder implements JavaIssueBuilderExtended {
   private AnalyzerMessage.TextSpan textSpan;
   private String message;
   @Nullable
-  private List<JavaFileScannerContext.Location> secondaries;
+  private Supplier<List<JavaFileScannerContext.Location>> secondaries;
   @Nullable
-  private List<List<JavaFileScannerContext.Location>> flows;
+  private Supplier<List<List<JavaFileScannerContext.Location>>> flows;
   @Nullable
   private Integer cost;
   private final List<Supplier<List<JavaQuickFix>>> quickFixes = new ArrayList<>();
@@ -136,21 +136,33 @@ public class InternalJavaIssueBuilder implements JavaIssueBuilderExtended {
 
   @Override
   public final InternalJavaIssueBuilder withSecondaries(List<JavaFileScannerContext.Location> secondaries) {
+    List<JavaFileScannerContext.Location> unmodifiableSecondaries = Collections.unmodifiableList(secondaries);
+    return withSecondaries(() -> unmodifiableSecondaries);
+  }
+
+  @Override
+  public final InternalJavaIssueBuilder withSecondaries(Supplier<List<JavaFileScannerContext.Location>> secondaries) {
     requiresValueToBeSet(this.message, MESSAGE_NAME);
     requiresValueNotToBeSet(this.flows, FLOWS_NAME, SECONDARIES_NAME);
     requiresSetOnlyOnce(this.secondaries, SECONDARIES_NAME);
 
-    this.secondaries = Collections.unmodifiableList(secondaries);
+    this.secondaries = secondaries;
     return this;
   }
 
   @Override
   public final InternalJavaIssueBuilder withFlows(List<List<JavaFileScannerContext.Location>> flows) {
+    List<List<JavaFileScannerContext.Location>> unmodifiableFlows = Collections.unmodifiableList(flows);
+    return withFlows(() -> unmodifiableFlows);
+  }
+
+  @Override
+  public final InternalJavaIssueBuilder withFlows(Supplier<List<List<JavaFileScannerContext.Location>>> flows) {
     requiresValueToBeSet(this.message, MESSAGE_NAME);
     requiresValueNotToBeSet(this.secondaries, SECONDARIES_NAME, FLOWS_NAME);
     requiresSetOnlyOnce(this.flows, FLOWS_NAME);
 
-    this.flows = Collections.unmodifiableList(flows);
+    this.flows = flows;
     return this;
   }
 
@@ -199,6 +211,11 @@ public class InternalJavaIssueBuilder implements JavaIssueBuilderExtended {
     }
 
     final RuleKey ruleKeyVal = ruleKey.get();
+    if (sonarComponents.isIssueRejected(ruleKeyVal, inputFile, textSpan.startLine)) {
+      // the issue would be filtered out: its secondary locations, flows and quick fixes are not computed
+      LOG.trace("Issue rejected by the issue filter - discarding issue");
+      return;
+    }
     NewIssue newIssue = sonarComponents.context().newIssue()
       .forRule(ruleKeyVal)
       .gap(cost == null ? 0 : cost.doubleValue());
@@ -209,15 +226,16 @@ public class InternalJavaIssueBuilder implements JavaIssueBuilderExtended {
         .at(inputFile.newRange(textSpan.startLine, textSpan.startCharacter, textSpan.endLine, textSpan.endCharacter))
         .message(message));
 
+    List<List<JavaFileScannerContext.Location>> issueFlows = null;
     if (secondaries != null) {
       // Transform secondaries into flows: List(size:N)<Location> -> List(size:N)<List(size:1)<Location>>"
-      flows = secondaries.stream().map(Collections::singletonList).toList();
-      // Keep secondaries and flows mutually exclusive.
-      secondaries = null;
+      issueFlows = secondaries.get().stream().map(Collections::singletonList).toList();
+    } else if (flows != null) {
+      issueFlows = flows.get();
     }
 
-    if (flows != null) {
-      for (List<JavaFileScannerContext.Location> flow : flows) {
+    if (issueFlows != null) {
+      for (List<JavaFileScannerContext.Location> flow : issueFlows) {
         newIssue.addFlow(flow.stream()
           .map(location -> newIssue.newLocation()
             .on(inputFile)
@@ -300,12 +318,18 @@ public class InternalJavaIssueBuilder implements JavaIssueBuilderExtended {
     return Optional.ofNullable(cost);
   }
 
+  /**
+   * @return the secondary locations, computed by calling the supplier given to {@link #withSecondaries(Supplier)} if any
+   */
   public Optional<List<JavaFileScannerContext.Location>> secondaries() {
-    return Optional.ofNullable(secondaries);
+    return Optional.ofNullable(secondaries).map(Supplier::get);
   }
 
+  /**
+   * @return the flows, computed by calling the supplier given to {@link #withFlows(Supplier)} if any
+   */
   public Optional<List<List<JavaFileScannerContext.Location>>> flows() {
-    return Optional.ofNullable(flows);
+    return Optional.ofNullable(flows).map(Supplier::get);
   }
 
   public List<Supplier<List<JavaQuickFix>>> quickFixes() {
@@ -18,6 +18,7 @@ package org.sonar.java.reporting;
 
 import java.util.List;
 import java.util.function.Supplier;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
 
 public interface JavaIssueBuilderExtended extends FluentReporting.JavaIssueBuilder {
 
@@ -25,4 +26,15 @@ public interface JavaIssueBuilderExtended extends FluentReporting.JavaIssueBuild
 
   JavaIssueBuilderExtended withQuickFixes(Supplier<List<JavaQuickFix>> quickFixes);
 
+  /**
+   * Same as {@link #withSecondaries(List)}, but the secondary locations are only computed when the issue is reported and not
+   * filtered out.
+   */
+  JavaIssueBuilderExtended withSecondaries(Supplier<List<JavaFileScannerContext.Location>> secondaries);
+
+  /**
+   * Same as {@link #withFlows(List)}, but the flows are only computed when the issue is reported and not filtered out.
+   */
+  JavaIssueBuilderExtended withFlows(Supplier<List<List<JavaFileScannerContext.Location>>> flows);
+
 }
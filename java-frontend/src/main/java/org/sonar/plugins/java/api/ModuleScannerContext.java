@@ -22,7 +22,9 @@ import org.sonar.api.SonarProduct;
 import org.sonar.api.SonarRuntime;
 import org.sonar.api.batch.fs.InputComponent;
 import org.sonar.api.config.Configuration;
+import org.sonar.java.annotations.Beta;
 import org.sonar.plugins.java.api.caching.CacheContext;
+import org.sonar.plugins.java.api.semantic.SymbolUsageIndex;
 
 public interface ModuleScannerContext {
   /**
@@ -95,4 +97,14 @@ public interface ModuleScannerContext {
    */
   Configuration getConfiguration();
 
+  /**
+   * @return the usages of symbols by all the files of the module, see {@link SymbolUsageIndex}, or null when the index was not built
+   * because no visitor of the analysis requires it, see {@link org.sonar.plugins.java.api.internal.RequiresSymbolUsageIndex}.
+   */
+  @Beta
+  @CheckForNull
+  default SymbolUsageIndex getSymbolUsageIndex() {
+    return null;
+  }
+
 }
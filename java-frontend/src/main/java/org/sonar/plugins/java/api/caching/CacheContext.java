@@ -26,4 +26,9 @@ public interface CacheContext {
   JavaReadCache getReadCache();
 
   JavaWriteCache getWriteCache();
+
+  /**
+   * @return the per-file view of the caches returned by {@link #getReadCache()} and {@link #getWriteCache()}.
+   */
+  FileRecordCache getFileRecordCache();
 }
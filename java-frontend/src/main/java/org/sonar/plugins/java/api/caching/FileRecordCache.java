@@ -0,0 +1,53 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.plugins.java.api.caching;
+
+import javax.annotation.CheckForNull;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.java.annotations.Beta;
+
+/**
+ * Per-file view of the analysis cache. All the data cached for a given file is grouped in named sections, which the
+ * implementation is free to store as a single cache entry. Sections are looked up lazily: the record of a file is only
+ * read from the previous analysis when one of its sections is first requested.
+ * <p>
+ * Section names should be prefixed by the repository and rule keys of their owner (e.g. {@code "java:S1234"}).
+ */
+@Beta
+public interface FileRecordCache {
+
+  /**
+   * @return the data stored in the given section of the file's record by the previous analysis, {@code null} if there is none.
+   */
+  @CheckForNull
+  byte[] readSection(InputFile inputFile, String section);
+
+  /**
+   * Stores data in the given section of the file's record for the next analysis.
+   * @throws IllegalArgumentException if the section was already written during this analysis, or if the record of the file was already
+   * stored.
+   */
+  void writeSection(InputFile inputFile, String section, byte[] data);
+
+  /**
+   * Carries over the given section of the file's record from the previous analysis to the next one.
+   * @throws IllegalArgumentException if the previous record doesn't contain the section, if the section was already written during this
+   * analysis, or if the record of the file was already stored.
+   */
+  void copySectionFromPrevious(InputFile inputFile, String section);
+
+}
@@ -14,24 +14,16 @@
  * You should have received a copy of the Sonar Source-Available License
  * along with this program; if not, see https://sonarsource.com/license/ssal/
  */
-package org.sonar.java.ast.visitors;
+package org.sonar.plugins.java.api.internal;
 
-import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
-import org.sonar.plugins.java.api.tree.MethodTree;
-import org.sonar.plugins.java.api.tree.VariableTree;
-
-public class NumberOfAccessedVariablesVisitor extends BaseTreeVisitor {
-  private int numberOfAccessedVariables = 0;
-
-  @Override
-  public void visitVariable(VariableTree tree) {
-    numberOfAccessedVariables++;
-  }
-
-  public int getNumberOfAccessedVariables(MethodTree tree) {
-    numberOfAccessedVariables = 0;
-    scan(tree);
-    return numberOfAccessedVariables;
-  }
+import org.sonar.java.annotations.Beta;
+import org.sonar.plugins.java.api.ModuleScannerContext;
+import org.sonar.plugins.java.api.semantic.SymbolUsageIndex;
 
+/**
+ * Visitors implementing this interface make the analysis fill the {@link SymbolUsageIndex} of the module, which they can query from
+ * {@link ModuleScannerContext#getSymbolUsageIndex()} at the {@link EndOfAnalysis end of the analysis}.
+ */
+@Beta
+public interface RequiresSymbolUsageIndex {
 }
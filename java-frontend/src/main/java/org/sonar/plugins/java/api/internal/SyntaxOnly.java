@@ -0,0 +1,28 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.plugins.java.api.internal;
+
+import org.sonar.java.annotations.Beta;
+
+/**
+ * Visitors implementing this interface only rely on the syntax trees, and never on the semantic model: symbols and types.
+ * When all the active visitors of a module implement it, the files are parsed without resolving the bindings and without loading the
+ * classpath, and {@link org.sonar.plugins.java.api.JavaFileScannerContext#getSemanticModel()} returns {@code null}.
+ */
+@Beta
+public interface SyntaxOnly {
+}
@@ -0,0 +1,60 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.plugins.java.api.semantic;
+
+import java.util.List;
+import javax.annotation.CheckForNull;
+import org.sonar.java.annotations.Beta;
+
+/**
+ * Usages of the members and types declared in the module, or in its dependencies, by all the files of the module.
+ * <p>
+ * The index is filled while the files are scanned, only when one of the active visitors implements
+ * {@link org.sonar.plugins.java.api.internal.RequiresSymbolUsageIndex}. It is complete when
+ * {@link org.sonar.plugins.java.api.internal.EndOfAnalysis#endOfAnalysis(org.sonar.plugins.java.api.ModuleScannerContext)} is called.
+ * Files which are not parsed because they did not change since the previous analysis contribute the usages stored in the cache.
+ */
+@Beta
+public interface SymbolUsageIndex {
+
+  /**
+   * @return the key identifying the given symbol in the index, the same for all the files of the module, {@code null} if the usages of
+   * the symbol are not indexed, e.g. for local variables or unknown symbols.
+   */
+  @CheckForNull
+  String key(Symbol symbol);
+
+  /**
+   * @return the usages of the symbol with the given key, grouped by file in the order the files were scanned.
+   */
+  List<Usage> usages(String symbolKey);
+
+  /**
+   * @return true if the symbol with the given key is used in another file than the given one.
+   */
+  default boolean isUsedOutsideOf(String symbolKey, String fileKey) {
+    return usages(symbolKey).stream().anyMatch(usage -> !usage.fileKey().equals(fileKey));
+  }
+
+  /**
+   * @param fileKey key of the file, see {@link org.sonar.api.batch.fs.InputFile#key()}
+   * @param line line of the identifier referring to the symbol
+   */
+  record Usage(String fileKey, int line) {
+  }
+
+}
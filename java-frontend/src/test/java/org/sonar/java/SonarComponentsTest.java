@@ -37,6 +37,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.CsvSource;
@@ -73,12 +74,15 @@ import org.sonar.api.rule.RuleScope;
 import org.sonar.api.testfixtures.log.LogTesterJUnit5;
 import org.sonar.api.utils.Version;
 import org.sonar.check.Rule;
+import org.sonar.java.caching.CacheContextImpl;
+import org.sonar.java.caching.LocalFileCache;
 import org.sonar.java.classpath.ClasspathForMain;
 import org.sonar.java.classpath.ClasspathForTest;
 import org.sonar.java.exceptions.ApiMismatchException;
 import org.sonar.java.model.GeneratedFile;
 import org.sonar.java.model.JParserTestUtils;
 import org.sonar.java.model.JavaTree;
+import org.sonar.java.model.ParseCache;
 import org.sonar.java.reporting.AnalyzerMessage;
 import org.sonar.java.testing.ThreadLocalLogTester;
 import org.sonar.plugins.java.api.CheckRegistrar;
@@ -86,6 +90,9 @@ import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.JspCodeVisitor;
+import org.sonar.plugins.java.api.caching.FileRecordCache;
+import org.sonar.plugins.java.api.caching.JavaReadCache;
+import org.sonar.plugins.java.api.caching.JavaWriteCache;
 import org.sonar.plugins.java.api.caching.SonarLintCache;
 import org.sonarsource.sonarlint.core.plugin.commons.sonarapi.SonarLintRuntimeImpl;
 
@@ -573,6 +580,39 @@ class SonarComponentsTest {
 
   }
 
+  @Test
+  void issues_reported_on_the_analyzed_file_are_saved_when_flushed() {
+    JavaCheck expectedCheck = new CustomCheck();
+    CheckRegistrar expectedRegistrar = getRegistrar(expectedCheck);
+    InputFile inputFile = new TestInputFileBuilder("", "file.java")
+      .initMetadata("class A {\n  void foo() {}\n}\n").build();
+
+    SensorContextTester specificContext = SensorContextTester.create(new File(""));
+    specificContext.setSettings(new MapSettings().setProperty(SonarComponents.SONAR_MAX_ISSUES_PER_RULE_AND_FILE_KEY, 2));
+    when(this.checks.ruleKey(any(JavaCheck.class))).thenReturn(RuleKey.of("MyRepo", "CustomCheck"));
+    SonarComponents sonarComponents = new SonarComponents(fileLinesContextFactory, specificContext.fileSystem(), null, null,
+      checkFactory, specificContext.activeRules(), new CheckRegistrar[]{expectedRegistrar});
+    sonarComponents.setSensorContext(specificContext);
+
+    sonarComponents.startBufferingIssues(inputFile);
+    sonarComponents.reportIssue(new AnalyzerMessage(expectedCheck, inputFile, 1, "message", 0));
+    sonarComponents.reportIssue(new AnalyzerMessage(expectedCheck, inputFile, 1, "message", 0));
+    sonarComponents.reportIssue(new AnalyzerMessage(expectedCheck, inputFile, 2, "message", 0));
+    sonarComponents.reportIssue(new AnalyzerMessage(expectedCheck, inputFile, 3, "message", 0));
+    assertThat(specificContext.allIssues()).isEmpty();
+
+    sonarComponents.flushIssues();
+    assertThat(specificContext.allIssues())
+      .extracting(issue -> issue.primaryLocation().textRange().start().line())
+      .containsExactly(1, 2);
+
+    AnalyzerMessage.TextSpan emptyTextSpan = new AnalyzerMessage.TextSpan(2, 10, 2, 10);
+    AnalyzerMessage analyzerMessageEmptyLocation = new AnalyzerMessage(expectedCheck, inputFile, emptyTextSpan, "message", 0);
+    sonarComponents.startBufferingIssues(inputFile);
+    assertThatThrownBy(() -> sonarComponents.reportIssue(analyzerMessageEmptyLocation))
+      .isInstanceOf(IllegalStateException.class).hasMessageContaining("Issue location should not be empty");
+  }
+
   @Test
   void fail_on_empty_location() {
     JavaCheck expectedCheck = new CustomCheck();
@@ -802,6 +842,105 @@ class SonarComponentsTest {
     assertThat(sonarComponents.getBatchModeSizeInKB()).isEqualTo(-1L);
   }
 
+  @Test
+  void resolve_unchanged_files_from_binaries_getter() {
+    MapSettings settings = new MapSettings();
+    SonarComponents sonarComponents = new SonarComponents(null, null, null, null, null, null);
+    sonarComponents.setSensorContext(SensorContextTester.create(new File("")).setSettings(settings));
+
+    assertThat(sonarComponents.shouldResolveUnchangedFilesFromBinaries()).isFalse();
+    assertThat(sonarComponents.getJavaBinaryDirs()).isEmpty();
+    assertThat(sonarComponents.getJavaTestBinaryDirs()).isEmpty();
+
+    settings.setProperty("sonar.java.experimental.resolveUnchangedFromBinaries", "true");
+    assertThat(sonarComponents.shouldResolveUnchangedFilesFromBinaries()).isTrue();
+  }
+
+  @Test
+  void local_cache_is_opened_in_the_work_dir_when_enabled(@TempDir Path workDir) {
+    MapSettings settings = new MapSettings();
+    SensorContextTester sensorContext = SensorContextTester.create(workDir.toFile()).setSettings(settings);
+    sensorContext.fileSystem().setWorkDir(workDir);
+    SonarComponents sonarComponents = new SonarComponents(null, sensorContext.fileSystem(), null, null, null, null);
+    sonarComponents.setSensorContext(sensorContext);
+    assertThat(sonarComponents.localCache()).isNull();
+
+    settings.setProperty(SonarComponents.SONAR_LOCAL_CACHE_KEY, "true");
+    LocalFileCache localCache = sonarComponents.localCache();
+    assertThat(localCache).isNotNull().isSameAs(sonarComponents.localCache());
+    localCache.write("key", new byte[] {42});
+    sonarComponents.saveLocalCache();
+    assertThat(workDir.resolve("java-local-cache").resolve("root").resolve("index")).isRegularFile();
+
+    // the saved cache is kept, writes to it are ignored
+    assertThat(sonarComponents.localCache()).isSameAs(localCache);
+    localCache.write("other", new byte[] {1});
+    sonarComponents.saveLocalCache();
+    sonarComponents.closeLocalCache();
+    LocalFileCache reopened = LocalFileCache.open(workDir.resolve("java-local-cache").resolve("root"));
+    assertThat(reopened.readBytes("key")).containsExactly(42);
+    assertThat(reopened.contains("other")).isFalse();
+    reopened.close();
+
+    settings.setProperty(CacheContextImpl.SONAR_CACHING_ENABLED_KEY, "false");
+    assertThat(sonarComponents.localCache()).isNull();
+  }
+
+  @Test
+  void pending_file_records_are_flushed_to_the_write_cache() {
+    SonarComponents sonarComponents = new SonarComponents(null, null, null, null, null, null);
+    // nothing to flush before the file record cache is used
+    sonarComponents.flushFileRecords();
+
+    JavaReadCache readCache = mock(JavaReadCache.class);
+    JavaWriteCache writeCache = mock(JavaWriteCache.class);
+    FileRecordCache fileRecordCache = sonarComponents.fileRecordCache(readCache, writeCache);
+    assertThat(fileRecordCache).isSameAs(sonarComponents.fileRecordCache(readCache, writeCache));
+    fileRecordCache.writeSection(TestUtils.emptyInputFile("Foo.java"), "section", new byte[] {42});
+
+    sonarComponents.flushFileRecords();
+    verify(writeCache).write(anyString(), any(byte[].class));
+  }
+
+  @Test
+  void parse_cache_is_owned_by_a_single_analysis() {
+    SensorContextTester sensorContext = SensorContextTester.create(new File(""));
+    SonarComponents sonarComponents = new SonarComponents(null, sensorContext.fileSystem(), null, null, null, null);
+    sonarComponents.setSensorContext(sensorContext);
+    assertThat(sonarComponents.parseCache()).isNull();
+
+    sensorContext.setRuntime(SonarRuntimeImpl.forSonarLint(V8_9));
+    ParseCache parseCache = sonarComponents.parseCache();
+    assertThat(parseCache).isNotNull().isSameAs(sonarComponents.parseCache());
+    parseCache.put("A.java", ParseCache.contentHash("class A {}"), "env", (JavaTree.CompilationUnitTreeImpl) JParserTestUtils.parse("class A {}"));
+
+    SonarComponents otherAnalysis = new SonarComponents(null, sensorContext.fileSystem(), null, null, null, null);
+    otherAnalysis.setSensorContext(sensorContext);
+    assertThat(otherAnalysis.parseCache()).isNotNull().isNotSameAs(parseCache);
+
+    sonarComponents.releaseParseCache();
+    assertThat(parseCache.size()).isZero();
+    assertThat(sonarComponents.parseCache()).isNotSameAs(parseCache);
+  }
+
+  @Test
+  void scan_without_parsing_threads_are_bounded_and_configurable() {
+    MapSettings settings = new MapSettings();
+    SensorContextTester sensorContext = SensorContextTester.create(new File("")).setSettings(settings);
+    SonarComponents sonarComponents = new SonarComponents(null, sensorContext.fileSystem(), null, null, null, null);
+    sonarComponents.setSensorContext(sensorContext);
+    assertThat(sonarComponents.scanWithoutParsingThreads()).isBetween(1, SonarComponents.MAX_SCAN_WITHOUT_PARSING_THREADS);
+
+    settings.setProperty(SonarComponents.SONAR_SCAN_WITHOUT_PARSING_THREADS_KEY, "16");
+    assertThat(sonarComponents.scanWithoutParsingThreads()).isEqualTo(16);
+    settings.setProperty(SonarComponents.SONAR_SCAN_WITHOUT_PARSING_THREADS_KEY, "0");
+    assertThat(sonarComponents.scanWithoutParsingThreads()).isEqualTo(1);
+
+    settings.setProperty(SonarComponents.SONAR_SCAN_WITHOUT_PARSING_THREADS_KEY, "16");
+    settings.setProperty("sonar.java.performance.measure", "true");
+    assertThat(sonarComponents.scanWithoutParsingThreads()).isEqualTo(1);
+  }
+
   @ParameterizedTest
   @CsvSource({
     "50, 2",
@@ -903,7 +1042,7 @@ class SonarComponentsTest {
   }
 
   @Test
-  void fileCanBeSkipped_returns_false_when_the_file_is_a_generated_file() {
+  void fileCanBeSkipped_returns_true_only_when_the_file_is_generated_from_an_unchanged_jsp() {
     SensorContextTester sensorContextTester = SensorContextTester.create(new File(""));
     SonarComponents sonarComponents = spy(
       new SonarComponents(
@@ -916,9 +1055,12 @@ class SonarComponentsTest {
     SensorContext contextMock = mock(SensorContext.class);
     sonarComponents.setSensorContext(contextMock);
 
-    InputFile inputFile = new GeneratedFile(Path.of("non-existing-generated-file.java"));
+    GeneratedFile inputFile = new GeneratedFile(Path.of("non-existing-generated-file.java"));
 
     assertThat(sonarComponents.fileCanBeSkipped(inputFile)).isFalse();
+
+    inputFile.markUnchanged();
+    assertThat(sonarComponents.fileCanBeSkipped(inputFile)).isTrue();
   }
 
   @Test
@@ -18,13 +18,17 @@ package org.sonar.java.ast;
 
 import com.sonar.sslr.api.RecognitionException;
 import java.io.File;
+import java.io.IOException;
 import java.io.InterruptedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
@@ -44,6 +48,7 @@ import org.sonar.java.ExceptionHandler;
 import org.sonar.java.Measurer;
 import org.sonar.java.SonarComponents;
 import org.sonar.java.TestUtils;
+import org.sonar.java.caching.FileHashingUtils;
 import org.sonar.java.checks.VisitorThatCanBeSkipped;
 import org.sonar.java.classpath.ClasspathForMain;
 import org.sonar.java.classpath.ClasspathForTest;
@@ -71,7 +76,11 @@ import static org.assertj.core.api.Assertions.fail;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
@@ -395,7 +404,7 @@ class JavaAstScannerTest {
   void skippableVisitors_are_not_used_when_file_is_unchanged() throws ApiMismatchException {
     SonarComponents sonarComponents = mock(SonarComponents.class);
     doReturn(true).when(sonarComponents).canSkipUnchangedFiles();
-    doReturn(true).when(sonarComponents).fileCanBeSkipped(any());
+    doReturn(true).when(sonarComponents).fileCanBeSkipped(any(), any());
     JavaAstScanner jas = new JavaAstScanner(sonarComponents, new NoOpTelemetry(), TelemetryKey.JAVA_ANALYSIS_MAIN);
 
     VisitorThatCanBeSkipped skippable = spy(new VisitorThatCanBeSkipped());
@@ -418,7 +427,7 @@ class JavaAstScannerTest {
   void scanWithoutParsing_returns_the_same_list_of_files_when_the_visitorsBridge_cannot_scan_without_parsing() {
     SonarComponents sonarComponents = mock(SonarComponents.class);
     VisitorsBridge visitorsBridge = mock(VisitorsBridge.class);
-    doReturn(false).when(visitorsBridge).scanWithoutParsing(any());
+    doReturn(false).when(visitorsBridge).scanWithoutParsing(any(), anyBoolean());
     JavaAstScanner javaAstScanner = new JavaAstScanner(sonarComponents, new NoOpTelemetry(), TelemetryKey.JAVA_ANALYSIS_MAIN);
     javaAstScanner.setVisitorBridge(visitorsBridge);
 
@@ -443,8 +452,8 @@ class JavaAstScannerTest {
     var files = List.of(successful, unsuccessful, successful);
 
     VisitorsBridge visitorsBridge = mock(VisitorsBridge.class);
-    doReturn(true).when(visitorsBridge).scanWithoutParsing(any());
-    doReturn(false).when(visitorsBridge).scanWithoutParsing(unsuccessful);
+    doReturn(true).when(visitorsBridge).scanWithoutParsing(any(), anyBoolean());
+    doReturn(false).when(visitorsBridge).scanWithoutParsing(eq(unsuccessful), anyBoolean());
 
     JavaAstScanner javaAstScanner = new JavaAstScanner(mock(SonarComponents.class), new NoOpTelemetry(), TelemetryKey.JAVA_ANALYSIS_MAIN);
     javaAstScanner.setVisitorBridge(visitorsBridge);
@@ -455,6 +464,73 @@ class JavaAstScannerTest {
     assertThat(actual.get(true)).containsExactly(successful, successful);
   }
 
+  @Test
+  void scanWithoutParsing_hashes_files_concurrently_and_looks_them_up_in_order_on_the_analysis_thread() throws Exception {
+    List<InputFile> files = IntStream.range(0, 50)
+      .mapToObj(i -> new TestInputFileBuilder("moduleKey", "File" + i + ".java").setContents("class File" + i + " {}").build())
+      .collect(Collectors.toList());
+    Set<InputFile> unchanged = files.stream().filter(file -> file.filename().matches("File\\d*[02468]\\.java")).collect(Collectors.toSet());
+
+    SonarComponents sonarComponents = mock(SonarComponents.class);
+    doReturn(4).when(sonarComponents).scanWithoutParsingThreads();
+    Thread analysisThread = Thread.currentThread();
+    List<InputFile> lookedUp = new ArrayList<>();
+    VisitorsBridge visitorsBridge = mock(VisitorsBridge.class);
+    doAnswer(invocation -> {
+      assertThat(Thread.currentThread()).isSameAs(analysisThread);
+      InputFile inputFile = invocation.getArgument(0);
+      assertThat((byte[]) invocation.getArgument(1)).isEqualTo(FileHashingUtils.inputFileContentHash(inputFile));
+      lookedUp.add(inputFile);
+      return unchanged.contains(inputFile);
+    }).when(visitorsBridge).fileCanBeSkipped(any(), any());
+    doAnswer(invocation -> {
+      assertThat(Thread.currentThread()).isSameAs(analysisThread);
+      return invocation.getArgument(1);
+    }).when(visitorsBridge).scanWithoutParsing(any(), anyBoolean());
+
+    JavaAstScanner javaAstScanner = new JavaAstScanner(sonarComponents, new NoOpTelemetry(), TelemetryKey.JAVA_ANALYSIS_MAIN);
+    javaAstScanner.setVisitorBridge(visitorsBridge);
+
+    Map<Boolean, List<InputFile>> actual = javaAstScanner.scanWithoutParsing(files);
+    assertThat(lookedUp).containsExactlyElementsOf(files);
+    assertThat(actual.get(true)).containsExactlyElementsOf(files.stream().filter(unchanged::contains).toList());
+    assertThat(actual.get(false)).containsExactlyElementsOf(files.stream().filter(file -> !unchanged.contains(file)).toList());
+  }
+
+  @Test
+  void scanWithoutParsing_rethrows_the_failure_of_a_concurrent_hashing() throws IOException {
+    SonarComponents sonarComponents = mock(SonarComponents.class);
+    doReturn(2).when(sonarComponents).scanWithoutParsingThreads();
+    VisitorsBridge visitorsBridge = mock(VisitorsBridge.class);
+    IllegalStateException failure = new IllegalStateException("boom");
+    InputFile inputFile = mock(InputFile.class);
+    doThrow(failure).when(inputFile).contents();
+
+    JavaAstScanner javaAstScanner = new JavaAstScanner(sonarComponents, new NoOpTelemetry(), TelemetryKey.JAVA_ANALYSIS_MAIN);
+    javaAstScanner.setVisitorBridge(visitorsBridge);
+
+    List<InputFile> files = List.of(inputFile, mock(InputFile.class));
+    assertThatThrownBy(() -> javaAstScanner.scanWithoutParsing(files)).isSameAs(failure);
+    verify(visitorsBridge, never()).fileCanBeSkipped(any(), any());
+  }
+
+  @Test
+  void scanWithoutParsing_looks_up_files_whose_hash_cannot_be_computed_without_hash() throws IOException {
+    SonarComponents sonarComponents = mock(SonarComponents.class);
+    doReturn(2).when(sonarComponents).scanWithoutParsingThreads();
+    VisitorsBridge visitorsBridge = mock(VisitorsBridge.class);
+    InputFile unreadable = mock(InputFile.class);
+    doThrow(new IOException("unreadable")).when(unreadable).contents();
+    InputFile readable = new TestInputFileBuilder("moduleKey", "A.java").setContents("class A {}").build();
+
+    JavaAstScanner javaAstScanner = new JavaAstScanner(sonarComponents, new NoOpTelemetry(), TelemetryKey.JAVA_ANALYSIS_MAIN);
+    javaAstScanner.setVisitorBridge(visitorsBridge);
+    javaAstScanner.scanWithoutParsing(List.of(unreadable, readable));
+
+    verify(visitorsBridge).fileCanBeSkipped(unreadable, null);
+    verify(visitorsBridge).fileCanBeSkipped(eq(readable), any(byte[].class));
+  }
+
   @Test
   void test_modifyCompilationUnit_modify_ast() {
 
@@ -0,0 +1,378 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.ast.visitors;
+
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.sonar.java.ast.visitors.CodeMetricsVisitor.MethodMetrics;
+import org.sonar.java.model.JParserTestUtils;
+import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.NewClassTree;
+import org.sonar.plugins.java.api.tree.Tree;
+import org.sonar.plugins.java.api.tree.VariableTree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CodeMetricsVisitorTest {
+
+  static Stream<Arguments> methods() {
+    return Stream.of(
+      Arguments.of(
+        "abstract void foo(int a, String... b);",
+        0, 0, 2),
+      Arguments.of(
+        "Object foo(int a) {" +
+          "  if (a > 0 && a < 10) { return null; }" +
+          "  else if (a == 0 || a == 10) { for (int i = 0, j = 1; i < a; i++) { while (j < i) { j++; } } }" +
+          "  else { do { a--; } while (a > 0); }" +
+          "  return a > 5 ? new Object() : null;" +
+          "}",
+        9, 3, 3),
+      Arguments.of(
+        "void foo(java.util.List<String> list) {" +
+          "  int count = list.isEmpty() ? 0 : 1;" +
+          "  for (String s : list) { if (s.isEmpty()) { count++; } }" +
+          "  list.forEach(s -> { if (s.isEmpty() && count > 0) { System.out.println(s); } });" +
+          "  list.stream().map((String s) -> s.length() > 2 ? s : null).filter(s -> { int l = s.length(); return l > 0; });" +
+          "  java.util.function.Function<String, String> f = s -> { if (s == null) { return null; } return s; };" +
+          "}",
+        4, 2, 8),
+      Arguments.of(
+        "void foo(int a) {" +
+          "  switch (a) { case 1: case 2: if (a > 1) { break; } default: a++; }" +
+          "  int b = switch (a) { case 1 -> { if (a > 0) { yield 1; } yield 2; } default -> 3; };" +
+          "  try (java.io.InputStream in = open(a > 0 && a < 2)) {" +
+          "    if (a > 0) { while (true) { a--; } }" +
+          "  } catch (IllegalStateException | IllegalArgumentException e) {" +
+          "    if (a > 0) { for (;;) { a++; } }" +
+          "  } finally {" +
+          "    if (a > 0) { if (a > 1) { if (a > 2) { if (a > 3) { a--; } } } }" +
+          "  }" +
+          "}",
+        15, 3, 4),
+      Arguments.of(
+        "void foo(int a) {" +
+          "  Runnable r = new Runnable() {" +
+          "    int field = a > 0 ? 1 : 2;" +
+          "    @Override public void run() { if (a > 0) { while (a > 1) { field++; } } }" +
+          "  };" +
+          "  Object o = new Object() { { if (a > 0) { a++; } } };" +
+          "  class Local {" +
+          "    int b;" +
+          "    void bar(int c) { if (c > 0) { for (int i : new int[] {c}) { c--; } } }" +
+          "    abstract void qix();" +
+          "  }" +
+          "  if (a > 0) { new Local() { void baz() { if (a > 0) { a--; } } }; }" +
+          "}",
+        2, 4, 6),
+      Arguments.of(
+        "void foo(Object o) {" +
+          "  if (o instanceof String s && !s.isEmpty()) { o = s; }" +
+          "  for (int i = 0; i < 3; i++) for (int j = 0; j < i; j++) if (i == j) o = null;" +
+          "  while (o != null) try { o = next(o); } catch (Exception e) { o = null; }" +
+          "  synchronized (o) { if (o == null) { Runnable r = () -> { if (o == null) { int x = 0; } }; } }" +
+          "}",
+        8, 3, 6));
+  }
+
+  @ParameterizedTest
+  @MethodSource("methods")
+  void metrics_of_a_method(String methodCode, int complexity, int maxNestingLevel, int numberOfAccessedVariables) {
+    MethodTree methodTree = firstMethod("abstract class A { " + methodCode + " }");
+    MethodMetrics metrics = CodeMetricsVisitor.compute(methodTree);
+    assertThat(metrics.complexityNodes()).hasSize(complexity);
+    assertThat(metrics.maxNestingLevel()).isEqualTo(maxNestingLevel);
+    assertThat(metrics.numberOfAccessedVariables()).isEqualTo(numberOfAccessedVariables);
+    assertThat(CodeMetricsVisitor.complexityNodes(methodTree)).containsExactlyElementsOf(metrics.complexityNodes());
+  }
+
+  @Test
+  void nested_types_and_lambdas_only_contribute_to_the_complexity_of_types() {
+    String code = "class A { void foo() { Runnable r = () -> { if (a) {} }; new Object() { void bar() { if (b) {} } }; } }";
+    MethodTree methodTree = firstMethod(code);
+    assertThat(CodeMetricsVisitor.compute(methodTree).complexityNodes()).hasSize(1);
+    CompilationUnitTree cut = JParserTestUtils.parse(code);
+    List<Tree> classComplexityNodes = CodeMetricsVisitor.complexityNodes(cut.types().get(0));
+    assertThat(classComplexityNodes).hasSize(5);
+    assertThat(CodeMetricsVisitor.complexityNodes(cut)).containsExactlyElementsOf(classComplexityNodes);
+  }
+
+  @Test
+  void records_do_not_contribute_to_the_complexity() {
+    CompilationUnitTree cut = JParserTestUtils.parse("record R(int a) { void foo() { if (a > 0) {} } }");
+    assertThat(CodeMetricsVisitor.complexityNodes(cut.types().get(0))).isEmpty();
+  }
+
+  @Test
+  void complexity_of_a_lambda() {
+    CompilationUnitTree cut = JParserTestUtils.parse("class A { Function f = s -> {if(s.isEmpty()) return s; return new MyClass(){ void foo(){if(a) return;} };};}");
+    ExpressionTree lambda = ((VariableTree) ((ClassTree) cut.types().get(0)).members().get(0)).initializer();
+    List<Tree> nodes = CodeMetricsVisitor.complexityNodes(lambda);
+    assertThat(nodes).hasSize(2);
+  }
+
+  @Test
+  void complexity_of_a_method() {
+    CompilationUnitTree cut = JParserTestUtils.parse("class A {" +
+        " Object foo(){" +
+        " if(a) { " +
+        "    return new MyClass(){ " +
+        "        void foo(){" +
+        "            if(a) {return;} " +
+        "        } " +
+        "    };" +
+        " } " +
+        "}}");
+    MethodTree methodTree = (MethodTree) ((ClassTree) cut.types().get(0)).members().get(0);
+    List<Tree> nodes = CodeMetricsVisitor.complexityNodes(methodTree);
+    assertThat(nodes).hasSize(2);
+  }
+
+  @Test
+  void default_case_does_not_contribute_to_the_complexity() {
+    CompilationUnitTree cut = JParserTestUtils.parse(
+      "class A {" +
+        "  String foo(int a) {" +
+        "    switch (a) {" +
+        "      case 0:" +
+        "        return \"none\";" +
+        "      case 1:" +
+        "        return \"one\";" +
+        "      case 2:" +
+        "        return \"many\";" +
+        "      default:" +
+        "        return \"it's complicated\";" +
+        "    }" +
+        "  }" +
+        "}");
+    MethodTree methodTree = (MethodTree) ((ClassTree) cut.types().get(0)).members().get(0);
+    List<Tree> nodes = CodeMetricsVisitor.complexityNodes(methodTree);
+    // default case does not count.
+    assertThat(nodes).hasSize(4);
+  }
+
+  @Test
+  void nesting_level_of_anonymous_classes() {
+    CompilationUnitTree cut = JParserTestUtils.parse("class A {" +
+      " Object foo(){" +
+      "   Runnable runnable = new Runnable() { " +
+      "     @Override " +
+      "     public void run() { if(true){ System.out.println(\"Hi.\"); } }" +
+      "     };" +
+      "   abstract class AbsAnonym { " +
+      "     abstract void absVoid(); " +
+      "   } " +
+      " } " +
+      "}");
+    var methodTree = (MethodTree) ((ClassTree) cut.types().get(0)).members().get(0);
+    int nesting = CodeMetricsVisitor.compute(methodTree).maxNestingLevel();
+    assertThat(nesting).isEqualTo(3);
+    var anonymousClass = (NewClassTree) ((VariableTree) methodTree.block().body().get(0)).initializer();
+    var anonymousMethod = (MethodTree) anonymousClass.classBody().members().get(0);
+    int anonymousMethodNesting = CodeMetricsVisitor.compute(anonymousMethod).maxNestingLevel();
+    assertThat(anonymousMethodNesting).isEqualTo(1);
+  }
+
+  @Test
+  void nesting_level_of_else_if() {
+    CompilationUnitTree cut = JParserTestUtils.parse("class A {" +
+      " Object foo(){" +
+      "   if(a) { return new Object(); } " +
+      "   else if(b){ return null; } " +
+      "   else { " +
+      "     if(c){ something(); } " +
+      "   } " +
+      " } " +
+      "}");
+    var methodTree = (MethodTree) ((ClassTree) cut.types().get(0)).members().get(0);
+    int nesting = CodeMetricsVisitor.compute(methodTree).maxNestingLevel();
+    assertThat(nesting).isEqualTo(2);
+  }
+  
+  @Test
+  void nesting_level_of_if() {
+    CompilationUnitTree cut = JParserTestUtils.parse("class A {" +
+      " Object foo(){" +
+      "   if(a) { return new Object(); } " +
+      "   else { " +
+      "     if(c){ something(); } " +
+      "     else{  if(d){ return null; }  }"+
+      "   } " +
+      " } " +
+      "}");
+    var methodTree = (MethodTree) ((ClassTree) cut.types().get(0)).members().get(0);
+    int nesting = CodeMetricsVisitor.compute(methodTree).maxNestingLevel();
+    assertThat(nesting).isEqualTo(3);
+  }
+
+  @Test
+  void nesting_level_of_while() {
+    CompilationUnitTree cut = JParserTestUtils.parse(
+      "class A {" +
+        "  Object foo(java.util.List<Integer> list){" +
+        "    while(a) { " +
+        "      do{" +
+        "        list.forEach(elem -> { " +
+        "          System.out.println(elem);" +
+        "        });" +
+        "      }" +
+        "      while(list.size() > 10);" +
+        "    }" +
+        "  } " +
+        "}");
+    var methodTree = (MethodTree) ((ClassTree) cut.types().get(0)).members().get(0);
+    int nesting = CodeMetricsVisitor.compute(methodTree).maxNestingLevel();
+    assertThat(nesting).isEqualTo(3);
+  }
+
+  @Test
+  void nesting_level_of_for() {
+    CompilationUnitTree cut = JParserTestUtils.parse(
+      "class A {" +
+        "  Object foo(java.util.List<Integer> list){" +
+        "    if(a) { " +
+        "      for(int i : new int[]{1,2}) {" +
+        "        for(int x =0; x < i; x++) { " +
+        "          System.out.println(elem2);" +
+        "        }" +
+        "      }" +
+        "      return new Object();   " +
+        "    }" +
+        "  } " +
+        "}");
+    var methodTree = (MethodTree) ((ClassTree) cut.types().get(0)).members().get(0);
+    int nesting = CodeMetricsVisitor.compute(methodTree).maxNestingLevel();
+    assertThat(nesting).isEqualTo(3);
+  }
+
+  @Test
+  void nesting_level_of_lambdas() {
+    CompilationUnitTree cut = JParserTestUtils.parse(
+      "class A {" +
+        "  Object foo(java.util.List<Integer> list, Stream<Object> objs){" +
+        "    list.forEach( x -> {" +
+        "      objs.forEach( o -> {" +
+        "        System.out.println(o.toString());" +
+        "      });" +
+        "    });" +
+        "  } " +
+        "}");
+    var methodTree = (MethodTree) ((ClassTree) cut.types().get(0)).members().get(0);
+    int nesting = CodeMetricsVisitor.compute(methodTree).maxNestingLevel();
+    assertThat(nesting).isEqualTo(2);
+  }
+
+  @Test
+  void nesting_level_of_switch() {
+    CompilationUnitTree cut = JParserTestUtils.parse(
+      "class A {" +
+        "  String foo(int a) {" +
+        "    switch (a) {" +
+        "      case 0:" +
+        "        return \"none\";" +
+        "      case 1:" +
+        "        return \"one\";" +
+        "      case 2:" +
+        "        if(i==2){ return null; } else { return null; } " +
+        "      default:" +
+        "        return \"it's complicated\";" +
+        "    }" +
+        "  }" +
+        "}");
+    var methodTree = (MethodTree) ((ClassTree) cut.types().get(0)).members().get(0);
+    int nesting = CodeMetricsVisitor.compute(methodTree).maxNestingLevel();
+    assertThat(nesting).isEqualTo(2);
+  }
+
+  @Test
+  void nesting_level_of_try() {
+    CompilationUnitTree cut = JParserTestUtils.parse("class A {" +
+      " Object foo(){" +
+      " try { " +
+      "    if(a) { " +
+      "      for(int i=0; i<3; i++) { if(i==2){ return null; } }" +
+      "      return new Object();   " +
+      "    };" +
+      "    }catch(Exception e){}" +
+      " } " +
+      "}");
+    var methodTree = (MethodTree) ((ClassTree) cut.types().get(0)).members().get(0);
+    int nesting = CodeMetricsVisitor.compute(methodTree).maxNestingLevel();
+    assertThat(nesting).isEqualTo(4);
+  }
+
+  @Test
+  void nesting_level_of_a_method_without_body() {
+    CompilationUnitTree cut = JParserTestUtils.parse("class A {" +
+      " abstract Object foo();" +
+      "}");
+    var methodTree = (MethodTree) ((ClassTree) cut.types().get(0)).members().get(0);
+    int nesting = CodeMetricsVisitor.compute(methodTree).maxNestingLevel();
+    assertThat(nesting).isZero();
+  }
+
+  @Test
+  void no_accessed_variables() {
+    CompilationUnitTree cut = JParserTestUtils.parse("class A {" +
+      " private Object foo(){ }" +
+      "}");
+    MethodTree methodTree = (MethodTree) ((ClassTree) cut.types().get(0)).members().get(0);
+    int numberOfVariables = CodeMetricsVisitor.compute(methodTree).numberOfAccessedVariables();
+    assertThat(numberOfVariables).isZero();
+  }
+
+  @Test
+  void accessed_variables() {
+    CompilationUnitTree cut = JParserTestUtils.parse("class A {" +
+      " private Object foo(String v1){"
+      + " String v2 = null;  "
+      + " for(int v3 = 0; v3 < 2; v3++) {}  "
+      + "}" +
+      "}");
+    MethodTree methodTree = (MethodTree) ((ClassTree) cut.types().get(0)).members().get(0);
+    int numberOfVariables = CodeMetricsVisitor.compute(methodTree).numberOfAccessedVariables();
+    assertThat(numberOfVariables).isEqualTo(3);
+  }
+
+  @Test
+  void multiple_accesses_to_the_same_variable_count_once() {
+    CompilationUnitTree cut = JParserTestUtils.parse("class A {" +
+      " private Object foo(String v1){"
+      + " String v2 = null; "
+      + " v2 = v1; "
+      + " v1 = \"another string\"; "
+      + " v2 = null; "
+      + "}" +
+      "}");
+    MethodTree methodTree = (MethodTree) ((ClassTree) cut.types().get(0)).members().get(0);
+    int numberOfVariables = CodeMetricsVisitor.compute(methodTree).numberOfAccessedVariables();
+    assertThat(numberOfVariables).isEqualTo(2);
+  }
+
+  private static MethodTree firstMethod(String code) {
+    CompilationUnitTree cut = JParserTestUtils.parse(code);
+    return (MethodTree) ((ClassTree) cut.types().get(0)).members().get(0);
+  }
+
+}
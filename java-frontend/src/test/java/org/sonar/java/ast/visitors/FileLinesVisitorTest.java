@@ -32,7 +32,11 @@ import org.sonar.java.telemetry.NoOpTelemetry;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.sonar.java.TestUtils.mockSonarComponents;
@@ -62,10 +66,10 @@ class FileLinesVisitorTest {
     FileLinesContext context = mock(FileLinesContext.class);
     checkLines("LinesOfCode.java", context);
 
-    verify(context).setIntValue(CoreMetrics.NCLOC_DATA_KEY, 1, 0);
-    verify(context).setIntValue(CoreMetrics.NCLOC_DATA_KEY, 2, 0);
-    verify(context).setIntValue(CoreMetrics.NCLOC_DATA_KEY, 3, 0);
-    verify(context).setIntValue(CoreMetrics.NCLOC_DATA_KEY, 4, 0);
+    verify(context, never()).setIntValue(eq(CoreMetrics.NCLOC_DATA_KEY), eq(1), anyInt());
+    verify(context, never()).setIntValue(eq(CoreMetrics.NCLOC_DATA_KEY), eq(2), anyInt());
+    verify(context, never()).setIntValue(eq(CoreMetrics.NCLOC_DATA_KEY), eq(3), anyInt());
+    verify(context, never()).setIntValue(eq(CoreMetrics.NCLOC_DATA_KEY), eq(4), anyInt());
     verify(context).setIntValue(CoreMetrics.NCLOC_DATA_KEY, 5, 1);
     verify(context).setIntValue(CoreMetrics.NCLOC_DATA_KEY, 6, 1);
 
@@ -81,8 +85,9 @@ class FileLinesVisitorTest {
     assertThat(expected).hasSize(56);
     for (int i = 0; i < expected.length; i++) {
       int line = i + 1;
-      verify(context).setIntValue(CoreMetrics.EXECUTABLE_LINES_DATA_KEY, line, expected[i]);
+      verify(context, times(expected[i])).setIntValue(CoreMetrics.EXECUTABLE_LINES_DATA_KEY, line, 1);
     }
+    verify(context, never()).setIntValue(eq(CoreMetrics.EXECUTABLE_LINES_DATA_KEY), anyInt(), eq(0));
     verify(context).save();
   }
 
@@ -28,9 +28,11 @@ import org.sonar.api.config.Configuration;
 import org.sonar.java.SonarComponents;
 import org.sonar.java.testing.ThreadLocalLogTester;
 import org.sonar.plugins.java.api.caching.CacheContext;
+import org.sonar.plugins.java.api.caching.FileRecordCache;
 import org.sonar.plugins.java.api.caching.SonarLintCache;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -70,6 +72,35 @@ class CacheContextImplTest {
     assertThat(cci.getWriteCache()).isEqualTo(new JavaWriteCacheImpl(sensorContext.nextCache()));
   }
 
+  @Test
+  void file_records_are_shared_through_sonar_components() {
+    var sensorContext = mockSensorContext();
+    doReturn(true).when(sensorContext).isCacheEnabled();
+    var sonarComponents = mockSonarComponents(sensorContext, null);
+    var fileRecordCache = mock(FileRecordCache.class);
+    doReturn(fileRecordCache).when(sonarComponents).fileRecordCache(any(), any());
+
+    assertThat(CacheContextImpl.of(sonarComponents).getFileRecordCache()).isSameAs(fileRecordCache);
+    assertThat(CacheContextImpl.of(null).getFileRecordCache()).isInstanceOf(KeyPerSectionFileRecordCache.class);
+  }
+
+  @Test
+  void local_cache_is_used_when_the_server_does_not_provide_one() {
+    var sensorContext = mockSensorContext();
+    doReturn(false).when(sensorContext).isCacheEnabled();
+    var sonarComponents = mockSonarComponents(sensorContext, null);
+    var localCache = mock(LocalFileCache.class);
+    doReturn(localCache).when(sonarComponents).localCache();
+
+    CacheContextImpl cci = CacheContextImpl.of(sonarComponents);
+    assertThat(cci.isCacheEnabled()).isTrue();
+    assertThat(cci.getReadCache()).isSameAs(localCache);
+    assertThat(cci.getWriteCache()).isSameAs(localCache);
+
+    doThrow(new NoSuchMethodError("boom")).when(sensorContext).isCacheEnabled();
+    assertThat(CacheContextImpl.of(sonarComponents).getReadCache()).isSameAs(localCache);
+  }
+
   @Test
   void isCacheEnabled_returns_false_when_appropriate() {
     var sensorContext = mockSensorContext();
@@ -36,6 +36,8 @@ import org.sonar.java.testing.ThreadLocalLogTester;
 import org.sonar.plugins.java.api.caching.SonarLintCache;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -60,6 +62,13 @@ class ContentHashCacheTest {
         "Copying cache from previous for file " + inputFile.key());
   }
 
+  @Test
+  void hasSameHashCached_compares_the_given_content_hash_with_the_cached_one() throws IOException, NoSuchAlgorithmException {
+    byte[] contentHash = FileHashingUtils.inputFileContentHash(inputFile);
+    Assertions.assertTrue(new ContentHashCache(mockSonarComponents(getSonarComponentsTester())).hasSameHashCached(inputFile, contentHash));
+    Assertions.assertFalse(new ContentHashCache(mockSonarComponents(getSonarComponentsTester())).hasSameHashCached(inputFile, new byte[] {42}));
+  }
+
   @Test
   void hasSameHashCached_returns_false_when_content_hash_file_is_not_in_read_cache_with_proper_logging() {
     String[] messages = new String[]{
@@ -263,6 +272,8 @@ class ContentHashCacheTest {
   private static SonarComponents mockSonarComponents(SensorContext sensorContext) {
     var sonarComponents = mock(SonarComponents.class);
     doReturn(sensorContext).when(sonarComponents).context();
+    doAnswer(invocation -> new KeyPerSectionFileRecordCache(invocation.getArgument(0), invocation.getArgument(1)))
+      .when(sonarComponents).fileRecordCache(any(), any());
 
     return sonarComponents;
   }
@@ -0,0 +1,295 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.caching;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.slf4j.event.Level;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.java.testing.ThreadLocalLogTester;
+import org.sonar.plugins.java.api.caching.JavaReadCache;
+import org.sonar.plugins.java.api.caching.JavaWriteCache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class FileRecordCacheImplTest {
+
+  private static final String RECORD_KEY = "java:fileRecord:file.java";
+
+  @RegisterExtension
+  ThreadLocalLogTester logTester = new ThreadLocalLogTester().setLevel(Level.TRACE);
+
+  private final InputFile inputFile = inputFile("file.java");
+  private final JavaReadCache readCache = mock(JavaReadCache.class);
+  private final JavaWriteCache writeCache = mock(JavaWriteCache.class);
+  private final FileRecordCacheImpl cache = new FileRecordCacheImpl(readCache, writeCache);
+
+  @Test
+  void encode_and_decode_are_symmetric() throws IOException {
+    Map<String, byte[]> sections = new LinkedHashMap<>();
+    sections.put("java:S1", bytes("first"));
+    sections.put("java:S2", new byte[0]);
+    sections.put("java:S3", bytes("third"));
+
+    Map<String, byte[]> decoded = FileRecordCacheImpl.decode(FileRecordCacheImpl.encode(sections));
+
+    assertThat(decoded).containsOnlyKeys("java:S1", "java:S2", "java:S3");
+    assertThat(decoded.get("java:S1")).isEqualTo(bytes("first"));
+    assertThat(decoded.get("java:S2")).isEmpty();
+    assertThat(decoded.get("java:S3")).isEqualTo(bytes("third"));
+  }
+
+  @Test
+  void decode_rejects_unknown_format_version() {
+    byte[] data = FileRecordCacheImpl.encode(Map.of("java:S1", bytes("data")));
+    data[0] = FileRecordCacheImpl.FORMAT_VERSION + 1;
+    assertThatThrownBy(() -> FileRecordCacheImpl.decode(data))
+      .isInstanceOf(IOException.class)
+      .hasMessage("Unsupported record format version 2");
+  }
+
+  @Test
+  void previous_record_is_read_once_and_only_on_demand() {
+    doReturn(FileRecordCacheImpl.encode(Map.of("java:S1", bytes("one"), "java:S2", bytes("two")))).when(readCache).readBytes(RECORD_KEY);
+    verify(readCache, never()).readBytes(anyString());
+
+    assertThat(cache.readSection(inputFile, "java:S1")).isEqualTo(bytes("one"));
+    assertThat(cache.readSection(inputFile, "java:S2")).isEqualTo(bytes("two"));
+    assertThat(cache.readSection(inputFile, "java:S3")).isNull();
+
+    verify(readCache, times(1)).readBytes(RECORD_KEY);
+  }
+
+  @Test
+  void missing_or_unreadable_previous_record_has_no_section() {
+    assertThat(cache.readSection(inputFile, "java:S1")).isNull();
+
+    InputFile corrupted = inputFile("corrupted.java");
+    doReturn(new byte[] {FileRecordCacheImpl.FORMAT_VERSION, 0, 0}).when(readCache).readBytes("java:fileRecord:corrupted.java");
+    assertThat(cache.readSection(corrupted, "java:S1")).isNull();
+    assertThat(logTester.logs(Level.TRACE)).anyMatch(log -> log.startsWith("Ignoring unreadable cache record 'java:fileRecord:corrupted.java'"));
+  }
+
+  @Test
+  void written_sections_are_stored_in_a_single_entry_on_flush() throws IOException {
+    cache.writeSection(inputFile, "java:S1", bytes("one"));
+    cache.writeSection(inputFile, "java:S2", bytes("two"));
+    verify(writeCache, never()).write(anyString(), any(byte[].class));
+
+    cache.flush(inputFile);
+
+    var captor = ArgumentCaptor.forClass(byte[].class);
+    verify(writeCache, times(1)).write(eq(RECORD_KEY), captor.capture());
+    Map<String, byte[]> stored = FileRecordCacheImpl.decode(captor.getValue());
+    assertThat(stored).containsOnlyKeys("java:S1", "java:S2");
+    assertThat(stored.get("java:S2")).isEqualTo(bytes("two"));
+
+    cache.flush(inputFile);
+    verify(writeCache, times(1)).write(anyString(), any(byte[].class));
+  }
+
+  @Test
+  void writing_a_section_twice_fails() {
+    cache.writeSection(inputFile, "java:S1", bytes("one"));
+    assertThatThrownBy(() -> cache.writeSection(inputFile, "java:S1", bytes("other")))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("Section 'java:S1' of file 'file.java' cannot be written to multiple times");
+  }
+
+  @Test
+  void writing_a_section_after_the_record_was_stored_fails() {
+    doReturn(FileRecordCacheImpl.encode(Map.of("java:S1", bytes("one")))).when(readCache).readBytes(RECORD_KEY);
+    cache.writeSection(inputFile, "java:S2", bytes("two"));
+    cache.flush(inputFile);
+
+    assertThatThrownBy(() -> cache.writeSection(inputFile, "java:S3", bytes("three")))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("Section 'java:S3' of file 'file.java' cannot be written after its record was stored");
+    assertThatThrownBy(() -> cache.copySectionFromPrevious(inputFile, "java:S1"))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("Section 'java:S1' of file 'file.java' cannot be written after its record was stored");
+    verify(writeCache, times(1)).write(eq(RECORD_KEY), any(byte[].class));
+  }
+
+  @Test
+  void writing_a_section_after_all_the_records_were_stored_fails() {
+    cache.writeSection(inputFile, "java:S1", bytes("one"));
+    cache.flushAll();
+
+    assertThatThrownBy(() -> cache.writeSection(inputFile, "java:S2", bytes("two")))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("Section 'java:S2' of file 'file.java' cannot be written after its record was stored");
+    cache.flushAll();
+    verify(writeCache, times(1)).write(eq(RECORD_KEY), any(byte[].class));
+  }
+
+  @Test
+  void copying_a_missing_section_fails() {
+    assertThatThrownBy(() -> cache.copySectionFromPrevious(inputFile, "java:S1"))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("Previous record of file 'file.java' has no section 'java:S1'");
+  }
+
+  @Test
+  void copying_every_previous_section_copies_the_whole_entry() {
+    doReturn(FileRecordCacheImpl.encode(Map.of("java:S1", bytes("one"), "java:S2", bytes("two")))).when(readCache).readBytes(RECORD_KEY);
+    cache.copySectionFromPrevious(inputFile, "java:S1");
+    cache.copySectionFromPrevious(inputFile, "java:S2");
+
+    cache.flush(inputFile);
+
+    verify(writeCache, times(1)).copyFromPrevious(RECORD_KEY);
+    verify(writeCache, never()).write(anyString(), any(byte[].class));
+  }
+
+  @Test
+  void copied_sections_are_merged_with_written_ones() throws IOException {
+    doReturn(FileRecordCacheImpl.encode(Map.of("java:S1", bytes("one"), "java:S2", bytes("two")))).when(readCache).readBytes(RECORD_KEY);
+    cache.copySectionFromPrevious(inputFile, "java:S1");
+    cache.writeSection(inputFile, "java:S3", bytes("three"));
+
+    cache.flush(inputFile);
+
+    var captor = ArgumentCaptor.forClass(byte[].class);
+    verify(writeCache, times(1)).write(eq(RECORD_KEY), captor.capture());
+    verify(writeCache, never()).copyFromPrevious(anyString());
+    Map<String, byte[]> stored = FileRecordCacheImpl.decode(captor.getValue());
+    assertThat(stored).containsOnlyKeys("java:S1", "java:S3");
+    assertThat(stored.get("java:S1")).isEqualTo(bytes("one"));
+  }
+
+  @Test
+  void flush_without_sections_writes_nothing() {
+    cache.readSection(inputFile, "java:S1");
+    cache.flush(inputFile);
+    cache.flush(inputFile("other.java"));
+
+    verify(writeCache, never()).write(anyString(), any(byte[].class));
+    verify(writeCache, never()).copyFromPrevious(anyString());
+  }
+
+  @Test
+  void flush_failures_are_logged() {
+    doThrow(new IllegalArgumentException("boom")).when(writeCache).write(eq(RECORD_KEY), any(byte[].class));
+    cache.writeSection(inputFile, "java:S1", bytes("one"));
+
+    cache.flush(inputFile);
+
+    assertThat(logTester.logs(Level.TRACE)).contains("Could not store cache record 'java:fileRecord:file.java': boom");
+  }
+
+  @Test
+  void flush_all_writes_the_records_that_were_not_flushed() throws IOException {
+    InputFile otherFile = inputFile("other.java");
+    InputFile readOnlyFile = inputFile("readOnly.java");
+    cache.writeSection(inputFile, "java:S1", bytes("one"));
+    cache.writeSection(otherFile, "java:S1", bytes("other"));
+    cache.readSection(readOnlyFile, "java:S1");
+    cache.flush(otherFile);
+
+    cache.flushAll();
+    cache.flushAll();
+
+    ArgumentCaptor<byte[]> data = ArgumentCaptor.forClass(byte[].class);
+    verify(writeCache).write(eq(RECORD_KEY), data.capture());
+    assertThat(FileRecordCacheImpl.decode(data.getValue()).get("java:S1")).isEqualTo(bytes("one"));
+    verify(writeCache, times(1)).write(eq("java:fileRecord:other.java"), any(byte[].class));
+    verify(writeCache, never()).write(eq("java:fileRecord:readOnly.java"), any(byte[].class));
+  }
+
+  @Test
+  void records_of_different_files_are_built_concurrently_and_written_one_at_a_time() throws Exception {
+    AtomicInteger concurrentWrites = new AtomicInteger();
+    AtomicInteger maxConcurrentWrites = new AtomicInteger();
+    Map<String, byte[]> written = new ConcurrentHashMap<>();
+    JavaWriteCache countingWriteCache = new JavaWriteCache() {
+      @Override
+      public void write(String key, InputStream data) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public void write(String key, byte[] data) {
+        maxConcurrentWrites.accumulateAndGet(concurrentWrites.incrementAndGet(), Math::max);
+        written.put(key, data);
+        concurrentWrites.decrementAndGet();
+      }
+
+      @Override
+      public void copyFromPrevious(String key) {
+        throw new UnsupportedOperationException();
+      }
+    };
+    FileRecordCacheImpl concurrentCache = new FileRecordCacheImpl(readCache, countingWriteCache);
+    List<InputFile> files = IntStream.range(0, 200).mapToObj(i -> inputFile("file" + i + ".java")).toList();
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> tasks = new ArrayList<>();
+      for (InputFile file : files) {
+        tasks.add(executor.submit(() -> {
+          concurrentCache.writeSection(file, "java:S1", bytes(file.key()));
+          concurrentCache.writeSection(file, "java:S2", bytes("two"));
+          concurrentCache.flush(file);
+        }));
+      }
+      for (Future<?> task : tasks) {
+        task.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(written).hasSize(200);
+    assertThat(FileRecordCacheImpl.decode(written.get("java:fileRecord:file42.java")).get("java:S1")).isEqualTo(bytes("file42.java"));
+    assertThat(maxConcurrentWrites).hasValue(1);
+  }
+
+  private static InputFile inputFile(String key) {
+    InputFile inputFile = mock(InputFile.class);
+    doReturn(key).when(inputFile).key();
+    return inputFile;
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.caching;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.plugins.java.api.caching.JavaReadCache;
+import org.sonar.plugins.java.api.caching.JavaWriteCache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class KeyPerSectionFileRecordCacheTest {
+
+  @Test
+  void sections_are_stored_under_their_own_key() {
+    InputFile inputFile = mock(InputFile.class);
+    doReturn("module:file.java").when(inputFile).key();
+    JavaReadCache readCache = mock(JavaReadCache.class);
+    JavaWriteCache writeCache = mock(JavaWriteCache.class);
+    byte[] data = "data".getBytes(StandardCharsets.UTF_8);
+    doReturn(data).when(readCache).readBytes("java:S1:module:file.java");
+
+    var cache = new KeyPerSectionFileRecordCache(readCache, writeCache);
+
+    assertThat(KeyPerSectionFileRecordCache.cacheKey(inputFile, "java:S1")).isEqualTo("java:S1:module:file.java");
+    assertThat(cache.readSection(inputFile, "java:S1")).isSameAs(data);
+    assertThat(cache.readSection(inputFile, "java:S2")).isNull();
+    cache.writeSection(inputFile, "java:S2", data);
+    verify(writeCache).write("java:S2:module:file.java", data);
+    cache.copySectionFromPrevious(inputFile, "java:S1");
+    verify(writeCache).copyFromPrevious("java:S1:module:file.java");
+  }
+}
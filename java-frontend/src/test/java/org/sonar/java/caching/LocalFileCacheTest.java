@@ -0,0 +1,178 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.caching;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.event.Level;
+import org.sonar.java.testing.ThreadLocalLogTester;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalFileCacheTest {
+
+  @RegisterExtension
+  ThreadLocalLogTester logTester = new ThreadLocalLogTester().setLevel(Level.DEBUG);
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void written_and_copied_entries_are_available_to_the_next_analysis_only() throws IOException {
+    LocalFileCache first = LocalFileCache.open(directory);
+    assertThat(first.contains("a")).isFalse();
+    assertThat(first.readBytes("a")).isNull();
+    first.write("a", bytes("value a"));
+    first.write("b", new ByteArrayInputStream(bytes("value b")));
+    // written entries are not visible before the next analysis
+    assertThat(first.contains("a")).isFalse();
+    first.save();
+
+    LocalFileCache second = LocalFileCache.open(directory);
+    assertThat(second.contains("a")).isTrue();
+    assertThat(second.readBytes("a")).isEqualTo(bytes("value a"));
+    assertThat(second.read("b").readAllBytes()).isEqualTo(bytes("value b"));
+    second.copyFromPrevious("a");
+    second.write("c", bytes("value c"));
+    second.save();
+
+    LocalFileCache third = LocalFileCache.open(directory);
+    assertThat(third.readBytes("a")).isEqualTo(bytes("value a"));
+    assertThat(third.contains("b")).isFalse();
+    assertThat(third.readBytes("c")).isEqualTo(bytes("value c"));
+    third.save();
+  }
+
+  @Test
+  void unsaved_analysis_does_not_alter_the_previous_one() throws IOException {
+    LocalFileCache first = LocalFileCache.open(directory);
+    first.write("a", bytes("value a"));
+    first.save();
+
+    LocalFileCache interrupted = LocalFileCache.open(directory);
+    interrupted.write("b", bytes("value b"));
+
+    LocalFileCache next = LocalFileCache.open(directory);
+    assertThat(next.readBytes("a")).isEqualTo(bytes("value a"));
+    assertThat(next.contains("b")).isFalse();
+    next.save();
+    interrupted.save();
+  }
+
+  @Test
+  void keys_cannot_be_written_twice() throws IOException {
+    LocalFileCache first = LocalFileCache.open(directory);
+    first.write("a", bytes("value a"));
+    assertThatThrownBy(() -> first.write("a", bytes("other")))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("Same key cannot be written to multiple times (a)");
+    first.save();
+
+    LocalFileCache second = LocalFileCache.open(directory);
+    assertThatThrownBy(() -> second.copyFromPrevious("missing"))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("No cache data available for key 'missing'");
+    assertThatThrownBy(() -> second.read("missing"))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("No cache data available for key 'missing'");
+    second.write("a", bytes("new value"));
+    assertThatThrownBy(() -> second.copyFromPrevious("a"))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("Same key cannot be written to multiple times (a)");
+    second.save();
+  }
+
+  @Test
+  void writes_after_save_or_close_are_ignored() throws IOException {
+    LocalFileCache first = LocalFileCache.open(directory);
+    first.write("a", bytes("value a"));
+    first.save();
+    first.write("b", bytes("value b"));
+    assertThat(logTester.logs(Level.DEBUG)).contains("The local analysis cache is not writable anymore, key 'b' is ignored.");
+
+    LocalFileCache closed = LocalFileCache.open(directory);
+    closed.write("c", bytes("value c"));
+    closed.close();
+    closed.copyFromPrevious("a");
+    closed.save();
+    // the previous entries can still be read
+    assertThat(closed.readBytes("a")).isEqualTo(bytes("value a"));
+
+    LocalFileCache next = LocalFileCache.open(directory);
+    assertThat(next.readBytes("a")).isEqualTo(bytes("value a"));
+    assertThat(next.contains("b")).isFalse();
+    assertThat(next.contains("c")).isFalse();
+    next.close();
+  }
+
+  @Test
+  void data_file_is_compacted_when_mostly_unreferenced() throws IOException {
+    byte[] large = new byte[(int) LocalFileCache.MIN_COMPACTION_SIZE];
+    LocalFileCache first = LocalFileCache.open(directory);
+    first.write("large", large);
+    first.write("small", bytes("small"));
+    first.save();
+    assertThat(Files.size(directory.resolve("data-0"))).isGreaterThan(LocalFileCache.MIN_COMPACTION_SIZE);
+
+    LocalFileCache second = LocalFileCache.open(directory);
+    second.copyFromPrevious("small");
+    second.write("other", bytes("other"));
+    second.save();
+
+    assertThat(logTester.logs(Level.DEBUG)).anyMatch(log -> log.startsWith("Compacted the local analysis cache from"));
+    LocalFileCache third = LocalFileCache.open(directory);
+    assertThat(directory.resolve("data-0")).doesNotExist();
+    assertThat(Files.size(directory.resolve("data-1"))).isLessThan(100L);
+    assertThat(third.readBytes("small")).isEqualTo(bytes("small"));
+    assertThat(third.readBytes("other")).isEqualTo(bytes("other"));
+    assertThat(third.contains("large")).isFalse();
+    third.save();
+  }
+
+  @Test
+  void unreadable_cache_is_reset() throws IOException {
+    Files.write(directory.resolve("index"), new byte[] {0, 0, 0, 1, 0, 0});
+    LocalFileCache cache = LocalFileCache.open(directory);
+    assertThat(cache.contains("a")).isFalse();
+    cache.save();
+    assertThat(logTester.logs(Level.WARN)).anyMatch(log -> log.startsWith("The local analysis cache in " + directory + " is unreadable and will be reset"));
+  }
+
+  @Test
+  void cache_referencing_missing_data_is_reset() throws IOException {
+    LocalFileCache first = LocalFileCache.open(directory);
+    first.write("a", bytes("value a"));
+    first.save();
+    Files.write(directory.resolve("data-0"), new byte[0]);
+
+    LocalFileCache second = LocalFileCache.open(directory);
+    assertThat(second.contains("a")).isFalse();
+    second.save();
+    assertThat(logTester.logs(Level.WARN)).contains("The local analysis cache references missing data and will be reset.");
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.classpath;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.java.TestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BinaryClassLookupTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void class_file_path_is_computed_from_package_declaration() {
+    assertThat(BinaryClassLookup.classFilePath("A.java", "package org.foo;\nclass A {}")).isEqualTo("org/foo/A.class");
+    assertThat(BinaryClassLookup.classFilePath("A.java", "/*\n * package in comment\n */\npackage  org . foo ;\nclass A {}")).isEqualTo("org/foo/A.class");
+    assertThat(BinaryClassLookup.classFilePath("A.java", "class A {}")).isEqualTo("A.class");
+    assertThat(BinaryClassLookup.classFilePath("A.jsp", "class A {}")).isNull();
+  }
+
+  @Test
+  void up_to_date_class_file_is_found_in_binary_dirs() throws IOException {
+    File emptyBinaries = Files.createDirectories(tempDir.resolve("empty")).toFile();
+    File binaries = Files.createDirectories(tempDir.resolve("classes")).toFile();
+    InputFile source = sourceFile("src/org/foo/A.java", "package org.foo;\nclass A {}");
+    File classFile = classFile(binaries, "org/foo/A.class");
+    assertThat(classFile.setLastModified(new File(source.absolutePath()).lastModified() + 1_000L)).isTrue();
+
+    assertThat(new BinaryClassLookup(List.of(emptyBinaries, binaries)).hasUpToDateClassFile(source)).isTrue();
+    assertThat(new BinaryClassLookup(List.of(emptyBinaries)).hasUpToDateClassFile(source)).isFalse();
+  }
+
+  @Test
+  void stale_class_file_is_not_up_to_date() throws IOException {
+    File binaries = Files.createDirectories(tempDir.resolve("classes")).toFile();
+    InputFile source = sourceFile("src/org/foo/A.java", "package org.foo;\nclass A {}");
+    File classFile = classFile(binaries, "org/foo/A.class");
+    assertThat(classFile.setLastModified(new File(source.absolutePath()).lastModified() - 10_000L)).isTrue();
+
+    assertThat(new BinaryClassLookup(List.of(binaries)).hasUpToDateClassFile(source)).isFalse();
+  }
+
+  private InputFile sourceFile(String relativePath, String contents) throws IOException {
+    Path path = tempDir.resolve(relativePath);
+    Files.createDirectories(path.getParent());
+    Files.writeString(path, contents);
+    return TestUtils.inputFile(path.toFile());
+  }
+
+  private static File classFile(File binaryDir, String relativePath) throws IOException {
+    Path path = binaryDir.toPath().resolve(relativePath);
+    Files.createDirectories(path.getParent());
+    Files.write(path, new byte[0]);
+    return path.toFile();
+  }
+
+}
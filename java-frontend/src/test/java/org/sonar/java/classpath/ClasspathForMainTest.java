@@ -309,9 +309,24 @@ class ClasspathForMainTest {
     assertThat(javaClasspath.getElements()).extracting("name").contains("hello.jar", "world.jar", "foo.jar");
 
     assertThat(logTester.logs(Level.DEBUG))
-      .hasSize(2)
+      .hasSize(3)
       .allMatch(debug -> (debug.startsWith("Property 'sonar.java.libraries' resolved with:") && debug.contains("world.jar") && debug.contains("hello.jar"))
-        || debug.equals("Property 'sonar.java.jdkHome' resolved with:" + System.lineSeparator() + "[]"));
+        || debug.equals("Property 'sonar.java.jdkHome' resolved with:" + System.lineSeparator() + "[]")
+        || debug.matches("Property 'sonar.java.libraries' resolved in \\d+ ms"));
+  }
+
+  @Test
+  void classpaths_sharing_a_glob_cache_resolve_the_same_libraries() {
+    settings.setProperty(ClasspathProperties.SONAR_JAVA_LIBRARIES, "lib/**/*.jar,lib/hello.jar");
+    settings.setProperty(ClasspathProperties.SONAR_JAVA_TEST_LIBRARIES, "lib/**/*.jar");
+    ClasspathGlobCache globCache = new ClasspathGlobCache();
+
+    List<File> mainElements = new ClasspathForMain(settings.asConfig(), fs, analysisWarnings, globCache).getElements();
+    List<File> testElements = new ClasspathForTest(settings.asConfig(), fs, globCache).getElements();
+
+    assertThat(mainElements).extracting("name").containsExactlyInAnyOrder("hello.jar", "world.jar", "foo.jar");
+    assertThat(testElements).containsExactlyElementsOf(mainElements);
+    assertThat(testElements).isEqualTo(createJavaClasspath().getElements());
   }
 
   @Test
@@ -0,0 +1,135 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.classpath;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.sonar.java.classpath.ClasspathGlobCache.Glob;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClasspathGlobCacheTest {
+
+  private static final Path BASE_DIR = Path.of("src/test/files/classpath");
+
+  @Test
+  void globs_are_resolved_once() {
+    ClasspathGlobCache globCache = new ClasspathGlobCache(1);
+    AtomicInteger resolutions = new AtomicInteger();
+    Glob jars = new Glob(BASE_DIR, "lib/*.jar", true);
+    Glob dirs = new Glob(BASE_DIR, "lib/*", false);
+
+    Map<Glob, Set<File>> resolved = globCache.resolve(List.of(jars, dirs, jars), glob -> {
+      resolutions.incrementAndGet();
+      return Set.of(new File(glob.pattern()));
+    });
+    assertThat(resolved).containsOnlyKeys(jars, dirs);
+    assertThat(resolved.get(jars)).containsExactly(new File("lib/*.jar"));
+    assertThat(resolutions).hasValue(2);
+
+    Map<Glob, Set<File>> resolvedAgain = globCache.resolve(List.of(new Glob(BASE_DIR, "lib/*.jar", true)), glob -> {
+      resolutions.incrementAndGet();
+      return Set.of();
+    });
+    assertThat(resolvedAgain.get(jars)).isSameAs(resolved.get(jars));
+    assertThat(resolutions).hasValue(2);
+  }
+
+  @Test
+  void globs_of_other_base_directories_or_properties_are_resolved_separately() {
+    ClasspathGlobCache globCache = new ClasspathGlobCache(1);
+    List<Glob> globs = List.of(
+      new Glob(BASE_DIR, "lib/*.jar", true),
+      new Glob(BASE_DIR, "lib/*.jar", false),
+      new Glob(BASE_DIR.resolve("lib"), "lib/*.jar", true));
+
+    Map<Glob, Set<File>> resolved = globCache.resolve(globs, glob -> Set.of(glob.baseDir().resolve(glob.pattern()).toFile()));
+
+    assertThat(resolved).containsOnlyKeys(globs);
+  }
+
+  @Test
+  void absolute_globs_do_not_depend_on_the_base_directory() {
+    Path absoluteDir = BASE_DIR.toAbsolutePath().resolve("lib");
+    String pattern = absoluteDir.resolve("../lib/*.jar").toString();
+
+    Glob fromModule = Glob.of(BASE_DIR, pattern, true);
+    Glob fromOtherModule = Glob.of(BASE_DIR.resolve("lib"), pattern, true);
+    assertThat(fromModule)
+      .isEqualTo(fromOtherModule)
+      .isEqualTo(Glob.of(BASE_DIR, absoluteDir.resolve("*.jar").toString(), true));
+    assertThat(fromModule.baseDir()).isEqualTo(absoluteDir.getRoot());
+
+    assertThat(Glob.of(BASE_DIR, "lib/*.jar", true)).isEqualTo(new Glob(BASE_DIR, "lib/*.jar", true));
+    assertThat(Glob.of(BASE_DIR, "lib/*.jar", true)).isNotEqualTo(Glob.of(BASE_DIR.resolve("lib"), "lib/*.jar", true));
+  }
+
+  @Test
+  void walker_threads_are_shared_by_the_resolutions() {
+    ClasspathGlobCache globCache = new ClasspathGlobCache(2);
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    globCache.resolve(List.of(new Glob(BASE_DIR, "a", true), new Glob(BASE_DIR, "b", true)), glob -> {
+      threads.add(Thread.currentThread());
+      return Set.of();
+    });
+    globCache.resolve(List.of(new Glob(BASE_DIR, "c", true), new Glob(BASE_DIR, "d", true)), glob -> {
+      threads.add(Thread.currentThread());
+      return Set.of();
+    });
+
+    assertThat(threads).hasSizeBetween(1, 2).allMatch(Thread::isDaemon);
+  }
+
+  @Test
+  void independent_globs_are_resolved_in_parallel() {
+    ClasspathGlobCache globCache = new ClasspathGlobCache(4);
+    Set<String> threadNames = ConcurrentHashMap.newKeySet();
+    List<Glob> globs = List.of(
+      new Glob(BASE_DIR, "lib/*.jar", true),
+      new Glob(BASE_DIR, "bin/*", false),
+      new Glob(BASE_DIR, "android/**/*.jar", true));
+
+    Map<Glob, Set<File>> resolved = globCache.resolve(globs, glob -> {
+      threadNames.add(Thread.currentThread().getName());
+      return Set.of(new File(glob.pattern()));
+    });
+
+    assertThat(resolved).hasSize(3);
+    assertThat(resolved.get(globs.get(1))).containsExactly(new File("bin/*"));
+    assertThat(threadNames).containsOnly("sonar-java-classpath-resolution");
+  }
+
+  @Test
+  void failure_of_a_resolution_is_propagated() {
+    ClasspathGlobCache globCache = new ClasspathGlobCache(2);
+    List<Glob> globs = List.of(new Glob(BASE_DIR, "lib/*.jar", true), new Glob(BASE_DIR, "bin/*", false));
+
+    assertThatThrownBy(() -> globCache.resolve(globs, glob -> {
+      throw new IllegalStateException("walk failed");
+    }))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessage("walk failed");
+  }
+
+}
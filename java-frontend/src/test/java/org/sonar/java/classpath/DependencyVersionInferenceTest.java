@@ -16,15 +16,27 @@
  */
 package org.sonar.java.classpath;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import javax.annotation.Nullable;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import org.junit.jupiter.api.io.TempDir;
 import org.sonar.java.test.classpath.TestClasspathUtils;
 import org.sonar.plugins.java.api.Version;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class DependencyVersionInferenceTest {
@@ -58,4 +70,81 @@ class DependencyVersionInferenceTest {
     Assertions.assertTrue(version.isPresent());
     assertEquals(new VersionImpl(3, 2, 4, null), version.get());
   }
+
+  @Test
+  void versions_are_inferred_from_jar_names() {
+    List<File> classpath = List.of(
+      new File("target/classes"),
+      new File("lib/spring-boot-autoconfigure-3.1.0.jar"),
+      new File("lib/spring-boot-3.2.4.jar"),
+      new File("lib/spring-boot-2.7.0.jar"),
+      new File("lib/commons-lang3-3.12.0-sources.jar"),
+      new File("lib/guava-33.0.0-jre.jar"));
+    DependencyVersionInference inference = new DependencyVersionInference();
+
+    assertThat(inference.infer("spring-boot", classpath)).contains(new VersionImpl(3, 2, 4, null));
+    assertThat(inference.infer("spring-boot-autoconfigure", classpath)).contains(new VersionImpl(3, 1, 0, null));
+    assertThat(inference.infer("commons-lang3", classpath)).contains(new VersionImpl(3, 12, 0, "-sources"));
+    assertThat(inference.infer("guava", classpath)).contains(new VersionImpl(33, 0, 0, "-jre"));
+    assertThat(inference.infer("lombok", classpath)).isEmpty();
+    assertThat(inference.infer("classes", classpath)).isEmpty();
+  }
+
+  @Test
+  void versions_are_inferred_again_for_another_classpath() {
+    DependencyVersionInference inference = new DependencyVersionInference();
+
+    assertThat(inference.infer("lombok", List.of(new File("lombok-1.18.30.jar")))).contains(new VersionImpl(1, 18, 30, null));
+    assertThat(inference.infer("lombok", List.of(new File("lombok-1.18.38.jar")))).contains(new VersionImpl(1, 18, 38, null));
+  }
+
+  @Test
+  void versions_of_jars_without_version_in_their_name_are_read_from_maven_metadata(@TempDir Path tempDir) throws IOException {
+    File shadedJar = jar(tempDir.resolve("shaded.jar"), null,
+      "META-INF/maven/org.projectlombok/lombok/pom.properties", "groupId=org.projectlombok\nartifactId=lombok\nversion=1.18.38\n",
+      "META-INF/maven/com.google.guava/guava/pom.properties", "version=33.0.0-jre\n",
+      "META-INF/maven/org.example/broken/pom.properties", "version=latest\n");
+    List<File> classpath = List.of(new File("lib/lombok-1.18.30.jar"), shadedJar);
+    DependencyVersionInference inference = new DependencyVersionInference();
+
+    assertThat(inference.infer("lombok", classpath)).contains(new VersionImpl(1, 18, 30, null));
+    assertThat(inference.infer("guava", classpath)).contains(new VersionImpl(33, 0, 0, "-jre"));
+    assertThat(inference.infer("broken", classpath)).isEmpty();
+    assertThat(inference.infer("shaded", classpath)).isEmpty();
+  }
+
+  @Test
+  void versions_of_jars_without_version_in_their_name_nor_maven_metadata_are_read_from_their_manifest(@TempDir Path tempDir) throws IOException {
+    Manifest implementationVersion = new Manifest();
+    implementationVersion.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+    implementationVersion.getMainAttributes().put(Attributes.Name.IMPLEMENTATION_VERSION, "6.1.5");
+    Manifest bundleVersion = new Manifest();
+    bundleVersion.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+    bundleVersion.getMainAttributes().putValue("Bundle-Version", "2.17.0");
+    List<File> classpath = List.of(
+      jar(tempDir.resolve("spring-core.jar"), implementationVersion),
+      jar(tempDir.resolve("jackson-databind.jar"), bundleVersion),
+      jar(tempDir.resolve("no-manifest.jar"), null),
+      Files.writeString(tempDir.resolve("not-a-jar.jar"), "not a jar").toFile(),
+      tempDir.resolve("missing.jar").toFile());
+    DependencyVersionInference inference = new DependencyVersionInference();
+
+    assertThat(inference.infer("spring-core", classpath)).contains(new VersionImpl(6, 1, 5, null));
+    assertThat(inference.infer("jackson-databind", classpath)).contains(new VersionImpl(2, 17, 0, null));
+    assertThat(inference.infer("no-manifest", classpath)).isEmpty();
+    assertThat(inference.infer("not-a-jar", classpath)).isEmpty();
+    assertThat(inference.infer("missing", classpath)).isEmpty();
+  }
+
+  private static File jar(Path path, @Nullable Manifest manifest, String... entriesAndContents) throws IOException {
+    try (OutputStream outputStream = Files.newOutputStream(path);
+      JarOutputStream jar = manifest == null ? new JarOutputStream(outputStream) : new JarOutputStream(outputStream, manifest)) {
+      for (int i = 0; i < entriesAndContents.length; i += 2) {
+        jar.putNextEntry(new JarEntry(entriesAndContents[i]));
+        jar.write(entriesAndContents[i + 1].getBytes(StandardCharsets.UTF_8));
+        jar.closeEntry();
+      }
+    }
+    return path.toFile();
+  }
 }
@@ -0,0 +1,130 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.matcher;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.sonar.java.model.JParserTestUtils;
+import org.sonar.plugins.java.api.semantic.MethodMatchers;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
+import org.sonar.plugins.java.api.tree.MethodReferenceTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.NewClassTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MethodMatchersIndexTest {
+
+  private static final CompilationUnitTree TREE = JParserTestUtils.parse("""
+    class A {
+      A(int i) { }
+      void m(String s) {
+        s.toString();
+        Integer.toString(1);
+        s.equals(s);
+        s.substring(1);
+        s.substring(1, 2);
+        s.hashCode();
+        unknown();
+        new A(1);
+        java.util.function.Function<Object, String> f = String::valueOf;
+      }
+    }
+    """);
+
+  private final Map<String, MethodMatchers> matchers = new LinkedHashMap<>();
+
+  @Test
+  void candidates_are_the_elements_whose_matchers_can_match_the_method_in_the_order_of_the_elements() {
+    matchers.put("toString", MethodMatchers.create().ofAnyType().names("toString").addWithoutParametersMatcher().build());
+    matchers.put("equals", MethodMatchers.create().ofAnyType().names("equals").addParametersMatcher(MethodMatchers.ANY).build());
+    matchers.put("substring", MethodMatchers.create().ofAnyType().names("length", "substring").withAnyParameters().build());
+    matchers.put("predicate", MethodMatchers.create().ofAnyType().name(name -> name.startsWith("sub")).withAnyParameters().build());
+    matchers.put("none", MethodMatchers.none());
+    matchers.put("or", MethodMatchers.or(
+      MethodMatchers.create().ofAnyType().names("hashCode").addWithoutParametersMatcher().build(),
+      MethodMatchers.create().ofAnyType().names("substring").addParametersMatcher("int", "int").build()));
+    matchers.put("constructor", MethodMatchers.create().ofAnyType().constructor().addParametersMatcher("int").build());
+    matchers.put("valueOf", MethodMatchers.create().ofAnyType().names("valueOf").addParametersMatcher("java.lang.Object").build());
+    List<String> elements = new ArrayList<>(matchers.keySet());
+    elements.add("any");
+    MethodMatchersIndex<String> index = new MethodMatchersIndex<>(elements, matchers::get);
+
+    List<MethodInvocationTree> invocations = invocations();
+    assertThat(index.candidates(invocations.get(0))).containsExactly("toString", "predicate", "any");
+    assertThat(index.candidates(invocations.get(1))).containsExactly("predicate", "any");
+    assertThat(index.candidates(invocations.get(2))).containsExactly("equals", "predicate", "any");
+    assertThat(index.candidates(invocations.get(3))).containsExactly("substring", "predicate", "any");
+    assertThat(index.candidates(invocations.get(4))).containsExactly("substring", "predicate", "or", "any");
+    assertThat(index.candidates(invocations.get(5))).containsExactly("predicate", "or", "any");
+    assertThat(index.candidates(invocations.get(6))).containsExactly("predicate", "any");
+    assertThat(index.candidates(find(NewClassTree.class))).containsExactly("predicate", "constructor", "any");
+    assertThat(index.candidates(find(MethodReferenceTree.class))).containsExactly("predicate", "valueOf", "any");
+    assertThat(index.candidates(find(MethodTree.class))).containsExactly("predicate", "constructor", "any");
+    assertThat(index.candidates(Symbol.UNKNOWN_SYMBOL)).containsExactly("predicate", "any");
+    assertThat(index.candidates(TREE)).containsExactlyElementsOf(elements);
+  }
+
+  @Test
+  void methods_matched_are_always_candidates() {
+    MethodMatchers toStringOrSubstring = MethodMatchers.or(
+      MethodMatchers.create().ofAnyType().names("toString").addWithoutParametersMatcher().build(),
+      MethodMatchers.create().ofSubTypes("java.lang.String").names("substring").addParametersMatcher("int").build());
+    MethodMatchersIndex<MethodMatchers> index = new MethodMatchersIndex<>(List.of(toStringOrSubstring), m -> m);
+
+    List<MethodInvocationTree> invocations = invocations();
+    List<MethodInvocationTree> matched = invocations.stream().filter(toStringOrSubstring::matches).toList();
+    assertThat(matched).hasSize(2);
+    assertThat(invocations.stream().filter(invocation -> !index.candidates(invocation).isEmpty()).toList())
+      .isEqualTo(matched);
+  }
+
+  private static List<MethodInvocationTree> invocations() {
+    List<MethodInvocationTree> invocations = new ArrayList<>();
+    TREE.accept(new BaseTreeVisitor() {
+      @Override
+      public void visitMethodInvocation(MethodInvocationTree tree) {
+        invocations.add(tree);
+        super.visitMethodInvocation(tree);
+      }
+    });
+    return invocations;
+  }
+
+  private static <T extends Tree> T find(Class<T> treeClass) {
+    List<T> found = new ArrayList<>();
+    TREE.accept(new BaseTreeVisitor() {
+      @Override
+      protected void scan(@Nullable Tree tree) {
+        if (treeClass.isInstance(tree) && (!(tree instanceof MethodTree methodTree) || methodTree.is(Tree.Kind.CONSTRUCTOR))) {
+          found.add(treeClass.cast(tree));
+        }
+        super.scan(tree);
+      }
+    });
+    return found.get(0);
+  }
+
+}
@@ -16,11 +16,14 @@
  */
 package org.sonar.java.metrics;
 
+import java.util.List;
 import org.junit.jupiter.api.Test;
+import org.sonar.java.ast.visitors.CognitiveComplexityVisitor;
 import org.sonar.java.model.JParserTestUtils;
 import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.Tree;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -48,42 +51,70 @@ class MetricsComputerTest implements MetricsScannerContext {
     
     MethodTree methodTree = (MethodTree) ((ClassTree) cut.types().get(0)).members().get(0);
 
-    assertThat(mc.getMethodComplexityNodes()).isEmpty();
-    mc.getComplexityNodes(methodTree).size();
-    assertThat(mc.getMethodComplexityNodes()).containsKey(methodTree.hashCode());
+    assertThat(mc.getTreeMetrics()).isEmpty();
+    List<Tree> complexityNodes = mc.getComplexityNodes(methodTree);
+    assertThat(mc.getTreeMetrics()).containsOnlyKeys(methodTree);
+    assertThat(mc.getTreeMetrics().get(methodTree).methodMetrics).isNotNull();
+    assertThat(mc.getComplexityNodes(methodTree)).isSameAs(complexityNodes);
+
+    CognitiveComplexityVisitor.Result methodComplexity = mc.getMethodComplexity(methodTree);
+    assertThat(mc.getMethodComplexity(methodTree)).isSameAs(methodComplexity);
+
+    assertThat(mc.getNumberOfAccessedVariables(methodTree)).isEqualTo(2);
+    assertThat(mc.getMethodNestingLevel(methodTree)).isEqualTo(3);
 
-    assertThat(mc.getMethodComplexity()).isEmpty();
-    mc.getMethodComplexity(methodTree);
-    assertThat(mc.getMethodComplexity()).containsKey(methodTree.hashCode());
-    
-    assertThat(mc.getMethodNumberOfAccessedVariables()).isEmpty();
-    mc.getNumberOfAccessedVariables(methodTree);
-    assertThat(mc.getMethodNumberOfAccessedVariables()).containsKey(methodTree.hashCode());
-    
-    assertThat(mc.getTreeLinesOfCode()).isEmpty();
     mc.getLinesOfCode(methodTree);
-    assertThat(mc.getTreeLinesOfCode()).containsKey(methodTree.hashCode());
-    
-    assertThat(mc.getTreeNumberOfStatements()).isEmpty();
+    assertThat(mc.getTreeMetrics().get(methodTree).linesOfCode).isNotNull();
+
     mc.getNumberOfStatements(methodTree);
-    assertThat(mc.getTreeNumberOfStatements()).containsKey(methodTree.hashCode());
-    
-    assertThat(mc.getTreeNumberOfCommentedLines()).isEmpty();
+    assertThat(mc.getTreeMetrics().get(methodTree).numberOfStatements).isNotNull();
+    assertThat(mc.getTreeMetrics()).containsOnlyKeys(methodTree);
+
     mc.getNumberOfCommentedLines(cut);
-    assertThat(mc.getTreeNumberOfCommentedLines()).containsKey(cut.hashCode());
-    
-    assertThat(mc.getTreeNoSonarLines()).isEmpty();
+    assertThat(mc.getTreeMetrics().get(cut).noSonarLines).isNotNull();
+    assertThat(mc.getTreeMetrics().get(cut).numberOfCommentedLines).isNotNull();
+
     mc.getNoSonarLines(cut);
-    assertThat(mc.getTreeNoSonarLines()).containsKey(cut.hashCode());
-    
-    assertThat(mc.getCompilationUnityComplexity()).isEmpty();
+    assertThat(mc.getTreeMetrics().get(cut).noSonarLines).isNotNull();
+
     mc.getCompilationUnitComplexity(cut);
-    assertThat(mc.getCompilationUnityComplexity()).containsKey(cut.hashCode());
-    
-    assertThat(mc.getMethodNestingLevel()).isEmpty();
-    mc.getMethodNestingLevel(methodTree);
-    assertThat(mc.getMethodNestingLevel()).containsKey(methodTree.hashCode());
-    
+    assertThat(mc.getTreeMetrics().get(cut).compilationUnitComplexity).isNotNull();
+    assertThat(mc.getTreeMetrics()).containsOnlyKeys(methodTree, cut);
   }
-  
+
+  @Test
+  void complexity_nodes_of_a_tree_are_not_modified_by_computing_those_of_another_tree() {
+    CompilationUnitTree cut = JParserTestUtils.parse(
+      "class A {" +
+        "  void foo() { if (a) { } }" +
+        "}" +
+        "class B {" +
+        "  void bar() { while (b && c) { } }" +
+        "}");
+    ClassTree classA = (ClassTree) cut.types().get(0);
+    ClassTree classB = (ClassTree) cut.types().get(1);
+
+    List<Tree> complexityNodesOfA = mc.getComplexityNodes(classA);
+    assertThat(complexityNodesOfA).hasSize(2);
+    assertThat(mc.getComplexityNodes(classB)).hasSize(3);
+    assertThat(complexityNodesOfA).hasSize(2);
+    assertThat(mc.getComplexityNodes(classA)).isSameAs(complexityNodesOfA);
+  }
+
+  @Test
+  void compilation_unit_complexity_reuses_the_complexity_of_its_methods() {
+    CompilationUnitTree cut = JParserTestUtils.parse(
+      "class A {" +
+        "  void foo() { if (a) { } }" +
+        "  void bar() { while (b && c) { } }" +
+        "}");
+    MethodTree foo = (MethodTree) ((ClassTree) cut.types().get(0)).members().get(0);
+    CognitiveComplexityVisitor.Result fooComplexity = mc.getMethodComplexity(foo);
+
+    assertThat(mc.getCompilationUnitComplexity(cut)).isEqualTo(CognitiveComplexityVisitor.compilationUnitComplexity(cut));
+    assertThat(mc.getMethodComplexity(foo)).isSameAs(fooComplexity);
+    MethodTree bar = (MethodTree) ((ClassTree) cut.types().get(0)).members().get(1);
+    assertThat(mc.getTreeMetrics().get(bar).cognitiveComplexity).isNotNull();
+  }
+
 }
@@ -0,0 +1,96 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.model;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.AssignmentExpressionTree;
+import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.ExpressionStatementTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.StatementTree;
+import org.sonar.plugins.java.api.tree.VariableTree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DefUseIndexTest {
+
+  private static final String SOURCE = """
+    class C {
+      int field;
+      void m() {
+        int a = 1;
+        a = 2;
+        (a) = 3;
+        a += 4;
+        foo(a);
+        field = a;
+      }
+      void foo(int i) {}
+    }
+    """;
+
+  @Test
+  void assignments_are_in_source_order_and_shared_by_the_semantic_model_of_the_file() {
+    JavaTree.CompilationUnitTreeImpl cu = (JavaTree.CompilationUnitTreeImpl) JParserTestUtils.parse(SOURCE);
+    List<StatementTree> body = method(cu).block().body();
+    Symbol a = ((VariableTree) body.get(0)).symbol();
+
+    List<AssignmentExpressionTree> assignments = DefUseIndex.assignments(a);
+    assertThat(assignments).containsExactly(assignment(body.get(1)), assignment(body.get(2)), assignment(body.get(3)));
+    assertThat(DefUseIndex.assignments(a)).isSameAs(assignments);
+    assertThat(cu.sema.assignments(a)).isSameAs(assignments);
+
+    Symbol field = ((VariableTree) ((ClassTree) cu.types().get(0)).members().get(0)).symbol();
+    assertThat(DefUseIndex.assignments(field)).containsExactly(assignment(body.get(5)));
+  }
+
+  @Test
+  void last_assignment_before_a_tree() {
+    JavaTree.CompilationUnitTreeImpl cu = (JavaTree.CompilationUnitTreeImpl) JParserTestUtils.parse(SOURCE);
+    List<StatementTree> body = method(cu).block().body();
+    Symbol a = ((VariableTree) body.get(0)).symbol();
+
+    assertThat(DefUseIndex.lastAssignmentBefore(a, body.get(0))).isNull();
+    assertThat(DefUseIndex.lastAssignmentBefore(a, body.get(1))).isNull();
+    assertThat(DefUseIndex.lastAssignmentBefore(a, body.get(2))).isSameAs(assignment(body.get(1)));
+    assertThat(DefUseIndex.lastAssignmentBefore(a, body.get(4))).isSameAs(assignment(body.get(3)));
+  }
+
+  @Test
+  void assignments_of_symbols_not_created_by_the_parser_are_computed_from_their_usages() {
+    JavaTree.CompilationUnitTreeImpl cu = (JavaTree.CompilationUnitTreeImpl) JParserTestUtils.parse(SOURCE);
+    List<StatementTree> body = method(cu).block().body();
+    Symbol a = ((VariableTree) body.get(0)).symbol();
+    Symbol variable = mock(Symbol.class);
+    when(variable.usages()).thenReturn(a.usages());
+
+    assertThat(DefUseIndex.assignments(variable)).containsExactlyElementsOf(DefUseIndex.assignments(a));
+  }
+
+  private static MethodTree method(JavaTree.CompilationUnitTreeImpl cu) {
+    return (MethodTree) ((ClassTree) cu.types().get(0)).members().get(1);
+  }
+
+  private static AssignmentExpressionTree assignment(StatementTree statement) {
+    return (AssignmentExpressionTree) ((ExpressionStatementTree) statement).expression();
+  }
+
+}
@@ -227,6 +227,23 @@ class DefaultJavaFileScannerContextTest extends DefaultInputFileScannerContextTe
     assertMessagePosition(reportedMessage, 4, 6, 5, 10);
   }
 
+  @Test
+  void rejected_issue_is_not_reported_and_its_flows_are_not_computed() {
+    ClassTree tree = (ClassTree) compilationUnitTree.types().get(0);
+    when(sonarComponents.isIssueRejected(CHECK, JAVA_INPUT_FILE, 3)).thenReturn(true);
+    Iterable<List<Location>> flows = () -> {
+      throw new AssertionError("flows of a rejected issue should not be computed");
+    };
+
+    context.reportIssueWithFlow(CHECK, tree.simpleName(), "msg", flows, null);
+    context.reportIssue(CHECK, tree.simpleName(), "msg", List.of(new Location("secondary", tree.members().get(0))), null);
+    assertThat(reportedMessage).isNull();
+
+    context.reportIssue(CHECK, tree.members().get(0), "msg", List.of(new Location("secondary", tree.members().get(1))), null);
+    assertThat(reportedMessage).isNotNull();
+    assertThat(reportedMessage.flows).hasSize(1);
+  }
+
   @Test
   void report_issue_on_regex_tree() {
     RegexCheck regexCheck = new RegexCheck() {
@@ -313,6 +330,13 @@ class DefaultJavaFileScannerContextTest extends DefaultInputFileScannerContextTe
     assertThat(cc.getWriteCache()).isNotNull();
   }
 
+  @Test
+  void shared_regex_state_is_created_once_per_file() {
+    StringBuilder state = context.sharedRegexState(StringBuilder.class, StringBuilder::new);
+    assertThat(context.sharedRegexState(StringBuilder.class, () -> new StringBuilder("other"))).isSameAs(state);
+    assertThat(context.sharedRegexState(Object.class, Object::new)).isNotSameAs(state);
+  }
+
   private static void assertMessagePosition(AnalyzerMessage message, int startLine, int startColumn, int endLine, int endColumn) {
     TextSpan location = message.primaryLocation();
     assertThat(location.startLine).isEqualTo(startLine);
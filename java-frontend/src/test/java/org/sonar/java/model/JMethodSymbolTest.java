@@ -454,6 +454,28 @@ class JMethodSymbolTest {
     assertThat(symbol.declarationParameters()).hasSize(6);
   }
 
+  @Test
+  void signatures_of_binary_methods_are_shared_by_compilation_units_using_the_same_cache() {
+    ModuleBindingCache bindingCache = new ModuleBindingCache();
+    String source = "class A { int m(String s) { return s.length(); } }";
+    CompilationUnitTreeImpl first = (CompilationUnitTreeImpl) JParserTestUtils.parse(source, bindingCache);
+    CompilationUnitTreeImpl other = (CompilationUnitTreeImpl) JParserTestUtils.parse(source, bindingCache);
+
+    String lengthSignature = lengthInvocation(first).methodSymbol().signature();
+    assertThat(lengthSignature).isEqualTo("java.lang.String#length()I");
+    assertThat(lengthInvocation(other).methodSymbol().signature()).isSameAs(lengthSignature);
+
+    String mSignature = firstMethod(firstClass(first)).symbol().signature();
+    assertThat(firstMethod(firstClass(other)).symbol().signature())
+      .isEqualTo(mSignature)
+      .isNotSameAs(mSignature);
+  }
+
+  private static MethodInvocationTree lengthInvocation(CompilationUnitTreeImpl cu) {
+    ReturnStatementTreeImpl returnStatement = (ReturnStatementTreeImpl) firstMethod(firstClass(cu)).block().body().get(0);
+    return (MethodInvocationTree) returnStatement.expression();
+  }
+
   private static JMethodSymbol getJMethodSymbolFromClassText(String classText){
     return getJMethodSymbolFromClassText(classText, false);
   }
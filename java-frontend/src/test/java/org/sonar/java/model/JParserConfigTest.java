@@ -16,13 +16,27 @@
  */
 package org.sonar.java.model;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nullable;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
 import org.slf4j.event.Level;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.java.AnalysisProgress;
+import org.sonar.java.TestUtils;
 import org.sonar.java.testing.ThreadLocalLogTester;
+import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.VariableTree;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
 import static org.sonar.java.model.JParserConfig.shouldEnablePreviewFlag;
 
 class JParserConfigTest {
@@ -55,4 +69,99 @@ class JParserConfigTest {
     JParserConfig.Mode.BATCH.create(new JavaVersionImpl(17), Collections.emptyList(), true);
     assertThat(logTester.logs()).containsExactly("The Java analyzer will ignore the unnamed module for split packages.");
   }
+
+  @Test
+  void resolution_only_files_are_used_for_bindings_but_not_analyzed(@TempDir Path tempDir) throws IOException {
+    Path a = Files.writeString(tempDir.resolve("A.java"), "class A { B b; }");
+    Path b = Files.writeString(tempDir.resolve("B.java"), "class B { }");
+    InputFile inputA = TestUtils.inputFile(a.toFile());
+    InputFile inputB = TestUtils.inputFile(b.toFile());
+
+    List<String> processed = new ArrayList<>();
+    JParserConfig.Mode.BATCH
+      .create(JParserConfig.MAXIMUM_SUPPORTED_JAVA_VERSION, JParserTestUtils.DEFAULT_CLASSPATH)
+      .parse(List.of(inputA), List.of(inputB), () -> false, new AnalysisProgress(1), (inputFile, result) -> {
+        processed.add(inputFile.filename());
+        try {
+          ClassTree classA = (ClassTree) result.get().types().get(0);
+          VariableTree field = (VariableTree) classA.members().get(0);
+          assertThat(field.type().symbolType().isUnknown()).isFalse();
+          assertThat(field.type().symbolType().fullyQualifiedName()).isEqualTo("B");
+        } catch (Exception e) {
+          fail(e);
+        }
+      });
+
+    assertThat(processed).containsExactly("A.java");
+  }
+
+  @Test
+  void file_by_file_mode_reuses_cached_trees_of_unchanged_files(@TempDir Path tempDir) throws Exception {
+    Path a = Files.writeString(tempDir.resolve("A.java"), "class A { }");
+    InputFile inputA = TestUtils.inputFile(a.toFile());
+    ParseCache parseCache = new ParseCache(ParseCache.DEFAULT_MAX_ENTRIES);
+
+    JavaTree.CompilationUnitTreeImpl first = parseFileByFile(inputA, parseCache);
+    JavaTree.CompilationUnitTreeImpl second = parseFileByFile(inputA, parseCache);
+    assertThat(second).isSameAs(first);
+
+    Files.writeString(a, "class A { int i; }");
+    JavaTree.CompilationUnitTreeImpl third = parseFileByFile(TestUtils.inputFile(a.toFile()), parseCache);
+    assertThat(third).isNotSameAs(first);
+    assertThat(parseCache.contains(first)).isFalse();
+    assertThat(parseCache.contains(third)).isTrue();
+
+    assertThat(parseFileByFile(inputA, null)).isNotSameAs(third);
+  }
+
+  @Test
+  void syntax_only_parsing_does_not_resolve_types() {
+    CompilationUnitTree tree = JParserTestUtils.parseSyntaxOnly("class A { java.util.List<String> list; }");
+    VariableTree field = (VariableTree) ((ClassTree) tree.types().get(0)).members().get(0);
+    assertThat(field.type().symbolType().isUnknown()).isTrue();
+  }
+
+  @Test
+  void syntax_only_configurations_do_not_share_cached_trees_with_semantic_ones() {
+    JavaVersionImpl version = new JavaVersionImpl(17);
+    JParserConfig semantic = JParserConfig.Mode.FILE_BY_FILE.create(version, JParserTestUtils.DEFAULT_CLASSPATH);
+    JParserConfig syntaxOnly = JParserConfig.Mode.FILE_BY_FILE.create(version, JParserTestUtils.DEFAULT_CLASSPATH).withSyntaxOnly(true);
+    JParserConfig syntaxOnlyWithoutClasspath = JParserConfig.Mode.FILE_BY_FILE.create(version, Collections.emptyList()).withSyntaxOnly(true);
+    assertThat(syntaxOnly.environmentFingerprint())
+      .isNotEqualTo(semantic.environmentFingerprint())
+      .isEqualTo(syntaxOnlyWithoutClasspath.environmentFingerprint());
+  }
+
+  @Test
+  void duration_of_syntax_only_analysis_is_logged(@TempDir Path tempDir) throws Exception {
+    Path a = Files.writeString(tempDir.resolve("A.java"), "class A { }");
+    List<JavaTree.CompilationUnitTreeImpl> trees = new ArrayList<>();
+    JParserConfig.Mode.BATCH
+      .create(JParserConfig.MAXIMUM_SUPPORTED_JAVA_VERSION, JParserTestUtils.DEFAULT_CLASSPATH)
+      .withSyntaxOnly(true)
+      .parse(List.of(TestUtils.inputFile(a.toFile())), () -> false, new AnalysisProgress(1), (file, result) -> {
+        try {
+          trees.add(result.get());
+        } catch (Exception e) {
+          fail(e);
+        }
+      });
+    assertThat(trees).hasSize(1);
+    assertThat(logTester.logs()).anyMatch(log -> log.startsWith("Syntax-only analysis of 1 files took "));
+  }
+
+  private static JavaTree.CompilationUnitTreeImpl parseFileByFile(InputFile inputFile, @Nullable ParseCache parseCache) throws Exception {
+    List<JavaTree.CompilationUnitTreeImpl> trees = new ArrayList<>();
+    JParserConfig.Mode.FILE_BY_FILE
+      .create(JParserConfig.MAXIMUM_SUPPORTED_JAVA_VERSION, JParserTestUtils.DEFAULT_CLASSPATH)
+      .withParseCache(parseCache)
+      .parse(List.of(inputFile), () -> false, new AnalysisProgress(1), (file, result) -> {
+        try {
+          trees.add(result.get());
+        } catch (Exception e) {
+          fail(e);
+        }
+      });
+    return trees.get(0);
+  }
 }
@@ -84,6 +84,17 @@ public class JParserTestUtils {
     return JParser.parse(JParserConfig.Mode.FILE_BY_FILE.create(version, classpath).astParser(), version.toString(), unitName, source);
   }
 
+  public static CompilationUnitTree parseSyntaxOnly(String source) {
+    JavaVersion version = JParserConfig.MAXIMUM_SUPPORTED_JAVA_VERSION;
+    return JParser.parse(JParserConfig.Mode.FILE_BY_FILE.create(version, DEFAULT_CLASSPATH).withSyntaxOnly(true).astParser(), version.toString(), "File.java", source);
+  }
+
+  public static CompilationUnitTree parse(String source, ModuleBindingCache bindingCache) {
+    JavaVersion version = JParserConfig.MAXIMUM_SUPPORTED_JAVA_VERSION;
+    return JParser.parse(JParserConfig.Mode.FILE_BY_FILE.create(version, DEFAULT_CLASSPATH).astParser(), version.toString(), "File.java", source,
+      bindingCache);
+  }
+
   public static List<File> checksTestClassPath() throws IOException {
     Path testProjectDir = CHECKS_TEST_DIR.toRealPath();
     String classpathTextFilePath = testProjectDir.resolve(Paths.get("target", "test-classpath.txt")).toString();
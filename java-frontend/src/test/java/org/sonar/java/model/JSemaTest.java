@@ -23,7 +23,12 @@ import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ITypeBinding;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.sonar.plugins.java.api.semantic.SymbolMetadata.NullabilityData;
+import org.sonar.plugins.java.api.semantic.SymbolMetadata.NullabilityTarget;
+import org.sonar.plugins.java.api.semantic.SymbolMetadata.NullabilityType;
 import org.sonar.plugins.java.api.semantic.Type;
+import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
@@ -73,10 +78,75 @@ class JSemaTest {
       .hasSize(1);
   }
 
+  @Test
+  void packages_without_annotations_are_shared_by_compilation_units_using_the_same_cache() {
+    ModuleBindingCache bindingCache = new ModuleBindingCache();
+    JSema firstSema = newSema(bindingCache);
+    assertThat(bindingCache.isPackageWithoutAnnotations("java.util")).isFalse();
+    assertThat(firstSema.resolvePackageAnnotations("java.util")).isEmpty();
+    assertThat(firstSema.resolvePackageAnnotations("org.sonar.java.resolve.targets")).hasSize(1);
+
+    assertThat(bindingCache.isPackageWithoutAnnotations("java.util")).isTrue();
+    assertThat(bindingCache.isPackageWithoutAnnotations("org.sonar.java.resolve.targets")).isFalse();
+
+    JSema otherSema = newSema(bindingCache);
+    assertThat(otherSema.resolvePackageAnnotations("java.util")).isEmpty();
+    assertThat(otherSema.resolvePackageAnnotations("org.sonar.java.resolve.targets")).hasSize(1);
+  }
+
+  @Test
+  void nullability_of_binary_types_is_shared_by_compilation_units_using_the_same_cache_when_not_annotated() {
+    ModuleBindingCache bindingCache = new ModuleBindingCache();
+    JSema firstSema = newSema(bindingCache);
+    JSema otherSema = newSema(bindingCache);
+
+    NullabilityData notAnnotated = nullabilityData(firstSema, "java.util.ArrayList");
+    assertThat(notAnnotated.type()).isEqualTo(NullabilityType.NO_ANNOTATION);
+    assertThat(nullabilityData(otherSema, "java.util.ArrayList")).isSameAs(notAnnotated);
+
+    NullabilityData annotated = nullabilityData(firstSema, "org.sonar.java.resolve.targets.ClassWithConstants");
+    assertThat(annotated.type()).isEqualTo(NullabilityType.NON_NULL);
+    assertThat(annotated.annotation()).isNotNull();
+    NullabilityData otherAnnotated = nullabilityData(otherSema, "org.sonar.java.resolve.targets.ClassWithConstants");
+    assertThat(otherAnnotated.type()).isEqualTo(NullabilityType.NON_NULL);
+    assertThat(otherAnnotated).isNotSameAs(annotated);
+  }
+
+  @Test
+  void nullability_of_source_types_is_shared_by_compilation_units_using_the_same_cache_when_not_annotated() {
+    ModuleBindingCache bindingCache = new ModuleBindingCache();
+    String source = "class A { }";
+
+    NullabilityData notAnnotated = sourceTypeNullability(JParserTestUtils.parse(source, bindingCache));
+    assertThat(notAnnotated.annotation()).isNull();
+    assertThat(sourceTypeNullability(JParserTestUtils.parse(source, bindingCache))).isSameAs(notAnnotated);
+    // the compiled version of a type is not mixed up with its source
+    assertThat(bindingCache.typeNullability("LA;")).isEmpty();
+
+    String annotatedSource = "package org.sonar.java.resolve.targets; class A { }";
+    NullabilityData annotated = sourceTypeNullability(JParserTestUtils.parse(annotatedSource, bindingCache));
+    assertThat(annotated.annotation()).isNotNull();
+    assertThat(sourceTypeNullability(JParserTestUtils.parse(annotatedSource, bindingCache))).isNotSameAs(annotated);
+  }
+
+  private static NullabilityData sourceTypeNullability(CompilationUnitTree compilationUnit) {
+    ClassTree classTree = (ClassTree) compilationUnit.types().get(0);
+    return classTree.symbol().metadata().nullabilityData(NullabilityTarget.PARAMETER);
+  }
+
+  private static NullabilityData nullabilityData(JSema sema, String typeName) {
+    ITypeBinding typeBinding = Objects.requireNonNull(sema.resolveType(typeName));
+    return sema.typeSymbol(typeBinding).metadata().nullabilityData(NullabilityTarget.PARAMETER);
+  }
+
   private JSema sema;
 
   @BeforeEach
   void setup() {
+    sema = newSema(new ModuleBindingCache());
+  }
+
+  private static JSema newSema(ModuleBindingCache bindingCache) {
     ASTParser astParser = ASTParser.newParser(AST.getJLSLatest());
     String version = JParserConfig.MAXIMUM_SUPPORTED_JAVA_VERSION.effectiveJavaVersionAsString();
     JavaCore.setComplianceOptions(version, JavaCore.getOptions());
@@ -90,7 +160,7 @@ class JSemaTest {
     astParser.setUnitName("File.java");
     astParser.setSource("".toCharArray());
     AST ast = astParser.createAST(null).getAST();
-    sema = new JSema(ast);
+    return new JSema(ast, bindingCache);
   }
 
 }
@@ -40,7 +40,10 @@ import org.sonar.plugins.java.api.semantic.Type;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.sonar.java.model.assertions.TypeAssert.assertThat;
 
@@ -295,6 +298,61 @@ class JTypeTest {
       .containsExactly("NullPointerException while resolving isSubTypeCompatible()");
   }
 
+  @Test
+  void is_subtype_of_fully_qualified_name_is_memoized() {
+    ITypeBinding arrayListBinding = spy(Objects.requireNonNull(sema.resolveType("java.util.ArrayList")));
+    JType arrayListType = new JType(sema, arrayListBinding);
+
+    assertThat(arrayListType.isSubtypeOf("java.util.List")).isTrue();
+    assertThat(arrayListType.isSubtypeOf("java.util.List")).isTrue();
+    assertThat(arrayListType.isSubtypeOf("java.lang.Runnable")).isFalse();
+    assertThat(arrayListType.isSubtypeOf("java.lang.Runnable")).isFalse();
+
+    verify(arrayListBinding, times(2)).isSubTypeCompatible(any());
+  }
+
+  @Test
+  void is_subtype_of_answers_about_binary_types_are_shared_by_compilation_units_using_the_same_cache() {
+    ModuleBindingCache bindingCache = new ModuleBindingCache();
+    JSema firstSema = newSema(bindingCache);
+    assertThat(firstSema.type(firstSema.resolveType("java.util.ArrayList")).isSubtypeOf("java.util.List")).isTrue();
+
+    JSema otherSema = newSema(bindingCache);
+    ITypeBinding arrayListBinding = spy(Objects.requireNonNull(otherSema.resolveType("java.util.ArrayList")));
+    assertThat(new JType(otherSema, arrayListBinding).isSubtypeOf("java.util.List")).isTrue();
+    verify(arrayListBinding, never()).isSubTypeCompatible(any());
+
+    JSema notSharingSema = newSema(new ModuleBindingCache());
+    ITypeBinding notSharedBinding = spy(Objects.requireNonNull(notSharingSema.resolveType("java.util.ArrayList")));
+    assertThat(new JType(notSharingSema, notSharedBinding).isSubtypeOf("java.util.List")).isTrue();
+    verify(notSharedBinding, times(1)).isSubTypeCompatible(any());
+  }
+
+  @Test
+  void is_subtype_of_answers_about_source_types_are_not_shared_by_compilation_units() {
+    ModuleBindingCache bindingCache = new ModuleBindingCache();
+    JavaTree.CompilationUnitTreeImpl runnable = test("class C implements Runnable { public void run() { } }", bindingCache);
+    JavaTree.CompilationUnitTreeImpl notRunnable = test("class C { }", bindingCache);
+
+    assertThat(((ClassTreeImpl) runnable.types().get(0)).symbol().type().isSubtypeOf("java.lang.Runnable")).isTrue();
+    assertThat(((ClassTreeImpl) notRunnable.types().get(0)).symbol().type().isSubtypeOf("java.lang.Runnable")).isFalse();
+  }
+
+  @Test
+  void fully_qualified_names_of_binary_types_are_shared_by_compilation_units_using_the_same_cache() {
+    ModuleBindingCache bindingCache = new ModuleBindingCache();
+    JSema firstSema = newSema(bindingCache);
+    JSema otherSema = newSema(bindingCache);
+    JSema notSharingSema = newSema(new ModuleBindingCache());
+
+    String fullyQualifiedName = firstSema.type(firstSema.resolveType("java.util.ArrayList")).fullyQualifiedName();
+    assertThat(fullyQualifiedName).isEqualTo("java.util.ArrayList");
+    assertThat(otherSema.type(otherSema.resolveType("java.util.ArrayList")).fullyQualifiedName()).isSameAs(fullyQualifiedName);
+    assertThat(notSharingSema.type(notSharingSema.resolveType("java.util.ArrayList")).fullyQualifiedName())
+      .isEqualTo(fullyQualifiedName)
+      .isNotSameAs(fullyQualifiedName);
+  }
+
   @Test
   void wildcard() {
     JavaTree.CompilationUnitTreeImpl cu = test("class C<T1, T2, T3> { C<? extends String, ? extends String, ? super String> f; }");
@@ -317,6 +375,10 @@ class JTypeTest {
     return (JavaTree.CompilationUnitTreeImpl) JParserTestUtils.parse(source);
   }
 
+  private static JavaTree.CompilationUnitTreeImpl test(String source, ModuleBindingCache bindingCache) {
+    return (JavaTree.CompilationUnitTreeImpl) JParserTestUtils.parse(source, bindingCache);
+  }
+
   private JType type(String name) {
     ITypeBinding typeBinding = Objects.requireNonNull(sema.resolveType(name));
     return sema.type(typeBinding);
@@ -326,6 +388,10 @@ class JTypeTest {
 
   @BeforeEach
   void setup() {
+    sema = newSema(new ModuleBindingCache());
+  }
+
+  private static JSema newSema(ModuleBindingCache bindingCache) {
     ASTParser astParser = ASTParser.newParser(AST.getJLSLatest());
     astParser.setEnvironment(
       new String[]{},
@@ -337,7 +403,7 @@ class JTypeTest {
     astParser.setUnitName("File.java");
     astParser.setSource("".toCharArray());
     AST ast = astParser.createAST(null).getAST();
-    sema = new JSema(ast);
+    return new JSema(ast, bindingCache);
   }
 
 }
@@ -0,0 +1,117 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.model;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.semantic.SymbolUsageIndex.Usage;
+import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.VariableTree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ModuleSymbolUsageIndexTest {
+
+  private final ModuleSymbolUsageIndex index = new ModuleSymbolUsageIndex();
+
+  @Test
+  void usages_of_types_members_and_fields_are_indexed_by_binding_key() {
+    JSema sema = sema("""
+      class A {
+        int field;
+        void foo() {
+          int local = field;
+          System.out.println(local + field);
+        }
+      }
+      """);
+
+    Map<String, int[]> usages = ModuleSymbolUsageIndex.usagesOf(sema);
+
+    assertThat(usages.keySet())
+      .contains(
+        "LA;.field)I",
+        "Ljava/lang/System;",
+        "Ljava/lang/System;.out)Ljava/io/PrintStream;",
+        "Ljava/io/PrintStream;.println(I)V")
+      .noneMatch(key -> key.contains("local"));
+    assertThat(usages.get("LA;.field)I")).containsExactly(4, 5);
+    assertThat(usages.get("Ljava/lang/System;")).containsExactly(5);
+  }
+
+  @Test
+  void keys_are_only_provided_for_indexed_symbols() {
+    ClassTree classTree = (ClassTree) JParserTestUtils.parse("class A { int field; void foo() { int local; } }").types().get(0);
+    VariableTree field = (VariableTree) classTree.members().get(0);
+    MethodTree method = (MethodTree) classTree.members().get(1);
+    VariableTree local = (VariableTree) method.block().body().get(0);
+
+    assertThat(index.key(classTree.symbol())).isEqualTo("LA;");
+    assertThat(index.key(field.symbol())).isEqualTo("LA;.field)I");
+    assertThat(index.key(method.symbol())).isEqualTo("LA;.foo()V");
+    assertThat(index.key(local.symbol())).isNull();
+    assertThat(index.key(Symbol.ROOT_PACKAGE)).isNull();
+  }
+
+  @Test
+  void usages_are_grouped_by_file() {
+    index.add("A.java", Map.of("LA;", new int[] {1, 3}));
+    index.add("Empty.java", Map.of());
+    index.add("B.java", Map.of("LA;", new int[] {2}, "LB;", new int[] {1}));
+
+    assertThat(index.usages("LA;")).containsExactly(
+      new Usage("A.java", 1),
+      new Usage("A.java", 3),
+      new Usage("B.java", 2));
+    assertThat(index.usages("LB;")).containsExactly(new Usage("B.java", 1));
+    assertThat(index.usages("LC;")).isEmpty();
+    assertThat(index.isUsedOutsideOf("LA;", "A.java")).isTrue();
+    assertThat(index.isUsedOutsideOf("LB;", "B.java")).isFalse();
+  }
+
+  @Test
+  void usages_of_a_file_can_be_stored_in_the_cache() throws IOException {
+    Map<String, int[]> usages = new LinkedHashMap<>();
+    usages.put("LA;", new int[] {1, 3});
+    usages.put("LA;.foo()V", new int[0]);
+
+    Map<String, int[]> decoded = ModuleSymbolUsageIndex.decode(ModuleSymbolUsageIndex.encode(usages));
+
+    assertThat(decoded.keySet()).containsExactly("LA;", "LA;.foo()V");
+    assertThat(decoded.get("LA;")).containsExactly(1, 3);
+    assertThat(decoded.get("LA;.foo()V")).isEmpty();
+  }
+
+  @Test
+  void usages_stored_in_another_format_are_rejected() {
+    byte[] data = ModuleSymbolUsageIndex.encode(Map.of());
+    data[0] = ModuleSymbolUsageIndex.FORMAT_VERSION + 1;
+    assertThatThrownBy(() -> ModuleSymbolUsageIndex.decode(data))
+      .isInstanceOf(IOException.class)
+      .hasMessage("Unsupported symbol usages format version 2");
+  }
+
+  private static JSema sema(String source) {
+    return ((JavaTree.CompilationUnitTreeImpl) JParserTestUtils.parse(source)).sema;
+  }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParseCacheTest {
+
+  private static final String ENVIRONMENT = "17;false;false;";
+
+  @Test
+  void trees_are_reused_only_for_the_same_content_and_environment() {
+    ParseCache cache = new ParseCache(ParseCache.DEFAULT_MAX_ENTRIES);
+    JavaTree.CompilationUnitTreeImpl tree = parse("class A {}");
+    byte[] hash = ParseCache.contentHash("class A {}");
+    cache.put("A.java", hash, ENVIRONMENT, tree);
+
+    assertThat(cache.contains(tree)).isTrue();
+    assertThat(cache.get("A.java", ParseCache.contentHash("class A {}"), ENVIRONMENT)).isSameAs(tree);
+    assertThat(cache.get("B.java", hash, ENVIRONMENT)).isNull();
+
+    assertThat(cache.get("A.java", ParseCache.contentHash("class A { }"), ENVIRONMENT)).isNull();
+    // outdated entries are evicted
+    assertThat(cache.contains(tree)).isFalse();
+    assertThat(cache.size()).isZero();
+
+    // entries are keyed by environment
+    cache.put("A.java", hash, ENVIRONMENT, tree);
+    assertThat(cache.get("A.java", hash, "11;false;false;")).isNull();
+    JavaTree.CompilationUnitTreeImpl treeForJava11 = parse("class A {}");
+    cache.put("A.java", hash, "11;false;false;", treeForJava11);
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.get("A.java", hash, ENVIRONMENT)).isSameAs(tree);
+    assertThat(cache.get("A.java", hash, "11;false;false;")).isSameAs(treeForJava11);
+  }
+
+  @Test
+  void least_recently_used_trees_are_evicted_first() {
+    ParseCache cache = new ParseCache(2);
+    JavaTree.CompilationUnitTreeImpl a = parse("class A {}");
+    JavaTree.CompilationUnitTreeImpl b = parse("class B {}");
+    JavaTree.CompilationUnitTreeImpl c = parse("class C {}");
+    cache.put("A.java", ParseCache.contentHash("a"), ENVIRONMENT, a);
+    cache.put("B.java", ParseCache.contentHash("b"), ENVIRONMENT, b);
+    assertThat(cache.get("A.java", ParseCache.contentHash("a"), ENVIRONMENT)).isSameAs(a);
+
+    cache.put("C.java", ParseCache.contentHash("c"), ENVIRONMENT, c);
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.contains(a)).isTrue();
+    assertThat(cache.contains(b)).isFalse();
+    assertThat(cache.contains(c)).isTrue();
+  }
+
+  @Test
+  void entries_of_outdated_environments_are_evicted() {
+    ParseCache cache = new ParseCache(ParseCache.DEFAULT_MAX_ENTRIES);
+    JavaTree.CompilationUnitTreeImpl main = parse("class A {}");
+    JavaTree.CompilationUnitTreeImpl test = parse("class ATest {}");
+    cache.put("A.java", ParseCache.contentHash("a"), "main", main);
+    cache.put("ATest.java", ParseCache.contentHash("test"), "test", test);
+    assertThat(cache.size()).isEqualTo(2);
+
+    // classpath of main files changed
+    assertThat(cache.get("ATest.java", ParseCache.contentHash("test"), "test")).isSameAs(test);
+    assertThat(cache.get("A.java", ParseCache.contentHash("a"), "main-updated")).isNull();
+
+    assertThat(cache.contains(main)).isFalse();
+    assertThat(cache.contains(test)).isTrue();
+
+    cache.clear();
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void environment_fingerprint_depends_on_version_and_classpath() {
+    List<File> classpath = List.of(new File("target/classes"), new File("lib.jar"));
+    String fingerprint = ParseCache.environmentFingerprint(new JavaVersionImpl(17), classpath, false);
+
+    assertThat(fingerprint)
+      .startsWith("17;false;false;")
+      .contains(new File("target/classes").getAbsolutePath() + "@")
+      .isEqualTo(ParseCache.environmentFingerprint(new JavaVersionImpl(17), classpath, false))
+      .isNotEqualTo(ParseCache.environmentFingerprint(new JavaVersionImpl(21), classpath, false))
+      .isNotEqualTo(ParseCache.environmentFingerprint(new JavaVersionImpl(17), classpath.subList(0, 1), false))
+      .isNotEqualTo(ParseCache.environmentFingerprint(new JavaVersionImpl(17), classpath, true));
+  }
+
+  @Test
+  void environment_fingerprint_depends_on_the_content_of_classpath_directories(@TempDir Path classes) throws IOException {
+    Path dir = Files.createDirectories(classes.resolve("org/foo"));
+    Path classFile = Files.write(dir.resolve("A.class"), new byte[] {1, 2});
+    Files.setLastModifiedTime(classFile, FileTime.fromMillis(1_000_000L));
+    FileTime directoryTime = Files.getLastModifiedTime(dir);
+    List<File> classpath = List.of(classes.toFile());
+    String fingerprint = ParseCache.environmentFingerprint(new JavaVersionImpl(17), classpath, false);
+
+    assertThat(ParseCache.environmentFingerprint(new JavaVersionImpl(17), classpath, false)).isEqualTo(fingerprint);
+
+    // rewriting a class file does not change the modification time of its directory
+    Files.write(classFile, new byte[] {1, 2, 3});
+    Files.setLastModifiedTime(dir, directoryTime);
+    String rewritten = ParseCache.environmentFingerprint(new JavaVersionImpl(17), classpath, false);
+    assertThat(rewritten).isNotEqualTo(fingerprint);
+
+    Files.write(dir.resolve("B.class"), new byte[0]);
+    assertThat(ParseCache.environmentFingerprint(new JavaVersionImpl(17), classpath, false)).isNotEqualTo(rewritten);
+  }
+
+  private static JavaTree.CompilationUnitTreeImpl parse(String source) {
+    return (JavaTree.CompilationUnitTreeImpl) JParserTestUtils.parse(source);
+  }
+}
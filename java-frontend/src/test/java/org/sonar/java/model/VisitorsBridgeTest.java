@@ -23,12 +23,14 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 import org.assertj.core.api.Fail;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
 import org.slf4j.event.Level;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.sensor.SensorContext;
@@ -42,6 +44,7 @@ import org.sonar.java.ast.visitors.SubscriptionVisitor;
 import org.sonar.java.checks.EndOfAnalysisVisitor;
 import org.sonar.java.checks.VisitorThatCanBeSkipped;
 import org.sonar.java.exceptions.ApiMismatchException;
+import org.sonar.java.matcher.MethodMatchersVisitor;
 import org.sonar.java.notchecks.VisitorNotInChecksPackage;
 import org.sonar.java.testing.ThreadLocalLogTester;
 import org.sonar.plugins.java.api.DependencyVersionAware;
@@ -54,8 +57,16 @@ import org.sonar.plugins.java.api.JavaVersionAwareVisitor;
 import org.sonar.plugins.java.api.ModuleScannerContext;
 import org.sonar.plugins.java.api.Version;
 import org.sonar.plugins.java.api.caching.CacheContext;
+import org.sonar.plugins.java.api.caching.FileRecordCache;
 import org.sonar.plugins.java.api.internal.EndOfAnalysis;
+import org.sonar.plugins.java.api.internal.RequiresSymbolUsageIndex;
+import org.sonar.plugins.java.api.internal.SyntaxOnly;
+import org.sonar.plugins.java.api.semantic.MethodMatchers;
+import org.sonar.plugins.java.api.semantic.Sema;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.semantic.SymbolUsageIndex;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
 import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.SyntaxTrivia;
 import org.sonar.plugins.java.api.tree.Tree;
@@ -330,6 +341,75 @@ class VisitorsBridgeTest {
     assertThat(vb.canSkipScanningOfUnchangedFiles()).isFalse();
   }
 
+  @Test
+  void method_matchers_visitors_are_only_notified_of_the_methods_they_can_match() {
+    MethodInvocationsRecorder allInvocations = new MethodInvocationsRecorder();
+    MethodMatchersRecorder println = new MethodMatchersRecorder(
+      MethodMatchers.create().ofAnyType().names("println").addWithoutParametersMatcher().build());
+    MethodMatchersRecorder printlnWithParameter = new MethodMatchersRecorder(
+      MethodMatchers.create().ofAnyType().names("println").addParametersMatcher(MethodMatchers.ANY).build());
+    MethodMatchersRecorder print = new MethodMatchersRecorder(
+      MethodMatchers.create().ofAnyType().names("print").withAnyParameters().build());
+
+    visitorsBridge(List.of(allInvocations, println, printlnWithParameter, print), true)
+      .visitFile(COMPILATION_UNIT_TREE, false);
+
+    assertThat(allInvocations.visited).containsExactly("visit println", "leave println");
+    assertThat(println.visited).containsExactly("visit println", "leave println");
+    assertThat(printlnWithParameter.visited).isEmpty();
+    assertThat(print.visited).isEmpty();
+  }
+
+  @Test
+  void symbol_usages_are_indexed_when_a_visitor_requires_them() {
+    SymbolUsagesRecorder recorder = new SymbolUsagesRecorder();
+    VisitorsBridge visitorsBridge = visitorsBridge(recorder, true);
+    visitorsBridge.visitFile(COMPILATION_UNIT_TREE, false);
+    visitorsBridge.endOfAnalysis();
+
+    assertThat(recorder.systemKey).isEqualTo("Ljava/lang/System;");
+    assertThat(recorder.endOfAnalysisIndex.usages(recorder.systemKey))
+      .containsExactly(new SymbolUsageIndex.Usage(INPUT_FILE.key(), 4));
+    assertThat(recorder.endOfAnalysisIndex.isUsedOutsideOf(recorder.systemKey, INPUT_FILE.key())).isFalse();
+  }
+
+  @Test
+  void symbol_usages_are_not_indexed_when_no_visitor_requires_them() {
+    EndOfAnalysisVisitor endOfAnalysisVisitor = spy(new EndOfAnalysisVisitor());
+    VisitorsBridge visitorsBridge = visitorsBridge(endOfAnalysisVisitor, true);
+    visitorsBridge.visitFile(COMPILATION_UNIT_TREE, false);
+    visitorsBridge.endOfAnalysis();
+
+    ArgumentCaptor<ModuleScannerContext> moduleContext = ArgumentCaptor.forClass(ModuleScannerContext.class);
+    verify(endOfAnalysisVisitor).endOfAnalysis(moduleContext.capture());
+    assertThat(moduleContext.getValue().getSymbolUsageIndex()).isNull();
+  }
+
+  @Test
+  void files_are_scanned_without_semantic_when_all_visitors_are_syntax_only() {
+    SemanticModelRecorder recorder = new SemanticModelRecorder();
+    VisitorsBridge visitorsBridge = visitorsBridge(recorder, true);
+    assertThat(visitorsBridge.isSyntaxOnly()).isTrue();
+
+    visitorsBridge.visitFile(COMPILATION_UNIT_TREE, false);
+    assertThat(recorder.semanticModels).containsExactly((Object) null);
+  }
+
+  @Test
+  void files_are_scanned_with_semantic_when_a_visitor_is_not_syntax_only() {
+    SemanticModelRecorder recorder = new SemanticModelRecorder();
+    VisitorsBridge visitorsBridge = visitorsBridge(List.of(recorder, new EndOfAnalysisVisitor()), true);
+    assertThat(visitorsBridge.isSyntaxOnly()).isFalse();
+
+    visitorsBridge.visitFile(COMPILATION_UNIT_TREE, false);
+    assertThat(recorder.semanticModels).hasSize(1).doesNotContainNull();
+  }
+
+  @Test
+  void isSyntaxOnly_returns_false_without_visitors() {
+    assertThat(visitorsBridge(Collections.emptyList(), true).isSyntaxOnly()).isFalse();
+  }
+
   @Test
   void canSkipScanningOfUnchangedFiles_returns_based_on_context() throws ApiMismatchException {
     SonarComponents specificSonarComponents = mock(SonarComponents.class);
@@ -474,7 +554,7 @@ class VisitorsBridgeTest {
 
       // When SonarComponents is set and does not allow the file to be skipped
       SonarComponents specificSonarComponents = mock(SonarComponents.class);
-      doReturn(false).when(specificSonarComponents).fileCanBeSkipped(any(InputFile.class));
+      doReturn(false).when(specificSonarComponents).fileCanBeSkipped(any(InputFile.class), any());
       doReturn(true).when(specificSonarComponents).canSkipUnchangedFiles();
       VisitorsBridge visitorsBridgeWithSonarComponents = new VisitorsBridge(
         Collections.emptyList(),
@@ -555,7 +635,7 @@ class VisitorsBridgeTest {
 
     private void returns_false_when_a_scanner_throws_an_exception_while_scanning_without_parsing_and_fail_fast_is_disabled(JavaFileScanner scanner) throws ApiMismatchException {
       SonarComponents specificSonarComponents = mock(SonarComponents.class);
-      doReturn(true).when(specificSonarComponents).fileCanBeSkipped(any(InputFile.class));
+      doReturn(true).when(specificSonarComponents).fileCanBeSkipped(any(InputFile.class), any());
       doReturn(true).when(specificSonarComponents).canSkipUnchangedFiles();
       doReturn(false).when(specificSonarComponents).shouldFailAnalysisOnException();
 
@@ -564,7 +644,7 @@ class VisitorsBridgeTest {
 
     private void triggers_an_AnalysisException_when_a_scanner_throws_while_scanning_without_parsing(JavaFileScanner scanner) throws ApiMismatchException {
       SonarComponents specificSonarComponents = mock(SonarComponents.class);
-      doReturn(true).when(specificSonarComponents).fileCanBeSkipped(any(InputFile.class));
+      doReturn(true).when(specificSonarComponents).fileCanBeSkipped(any(InputFile.class), any());
       doReturn(true).when(specificSonarComponents).canSkipUnchangedFiles();
       doReturn(true).when(specificSonarComponents).shouldFailAnalysisOnException();
 
@@ -586,9 +666,68 @@ class VisitorsBridgeTest {
       assertThat(logTester.logs(Level.WARN)).containsExactly(expectedLogMessage);
     }
 
+    @Test
+    void scanWithoutParsing_indexes_the_symbol_usages_stored_in_the_cache() {
+      FileRecordCache fileRecordCache = mock(FileRecordCache.class);
+      doReturn(ModuleSymbolUsageIndex.encode(Map.of("Ljava/lang/System;", new int[] {4, 7})))
+        .when(fileRecordCache).readSection(INPUT_FILE, ModuleSymbolUsageIndex.CACHE_SECTION);
+      SymbolUsagesRecorder recorder = new SymbolUsagesRecorder();
+      VisitorsBridge visitorsBridge = symbolUsagesVisitorsBridge(recorder, fileRecordCache);
+
+      assertThat(visitorsBridge.scanWithoutParsing(INPUT_FILE)).isTrue();
+      verify(fileRecordCache).copySectionFromPrevious(INPUT_FILE, ModuleSymbolUsageIndex.CACHE_SECTION);
+      visitorsBridge.endOfAnalysis();
+
+      assertThat(recorder.endOfAnalysisIndex.usages("Ljava/lang/System;")).containsExactly(
+        new SymbolUsageIndex.Usage(INPUT_FILE.key(), 4),
+        new SymbolUsageIndex.Usage(INPUT_FILE.key(), 7));
+    }
+
+    @Test
+    void scanWithoutParsing_returns_false_when_the_symbol_usages_cannot_be_copied_from_the_previous_cache() {
+      logTester.setLevel(Level.TRACE);
+      FileRecordCache fileRecordCache = mock(FileRecordCache.class);
+      doReturn(ModuleSymbolUsageIndex.encode(Map.of("Ljava/lang/System;", new int[] {4})))
+        .when(fileRecordCache).readSection(INPUT_FILE, ModuleSymbolUsageIndex.CACHE_SECTION);
+      doThrow(new IllegalArgumentException("boom"))
+        .when(fileRecordCache).copySectionFromPrevious(INPUT_FILE, ModuleSymbolUsageIndex.CACHE_SECTION);
+      SymbolUsagesRecorder recorder = new SymbolUsagesRecorder();
+      VisitorsBridge visitorsBridge = symbolUsagesVisitorsBridge(recorder, fileRecordCache);
+
+      assertThat(visitorsBridge.scanWithoutParsing(INPUT_FILE)).isFalse();
+      assertThat(logTester.logs(Level.TRACE))
+        .contains("Could not copy symbol usages of file '" + INPUT_FILE.key() + "' from the previous cache: boom");
+      visitorsBridge.endOfAnalysis();
+      assertThat(recorder.endOfAnalysisIndex.usages("Ljava/lang/System;")).isEmpty();
+    }
+
+    @Test
+    void scanWithoutParsing_returns_false_when_the_symbol_usages_are_not_in_the_cache() {
+      FileRecordCache fileRecordCache = mock(FileRecordCache.class);
+      SymbolUsagesRecorder recorder = new SymbolUsagesRecorder();
+      VisitorsBridge visitorsBridge = symbolUsagesVisitorsBridge(recorder, fileRecordCache);
+
+      assertThat(visitorsBridge.scanWithoutParsing(INPUT_FILE)).isFalse();
+      verify(fileRecordCache, never()).copySectionFromPrevious(any(), any());
+    }
+
+    private VisitorsBridge symbolUsagesVisitorsBridge(SymbolUsagesRecorder recorder, FileRecordCache fileRecordCache) {
+      SonarComponents specificSonarComponents = mock(SonarComponents.class);
+      doReturn(true).when(specificSonarComponents).fileCanBeSkipped(any(InputFile.class), any());
+      doReturn(true).when(specificSonarComponents).canSkipUnchangedFiles();
+      CacheContext cacheContext = mock(CacheContext.class);
+      doReturn(true).when(cacheContext).isCacheEnabled();
+      doReturn(fileRecordCache).when(cacheContext).getFileRecordCache();
+
+      VisitorsBridge visitorsBridge = new VisitorsBridge(Collections.singletonList(recorder), Collections.emptyList(), specificSonarComponents);
+      visitorsBridge.setCacheContext(cacheContext);
+      visitorsBridge.setCurrentFile(INPUT_FILE);
+      return visitorsBridge;
+    }
+
     private boolean scan_without_parsing(JavaFileScanner scanner) throws ApiMismatchException {
       SonarComponents specificSonarComponents = mock(SonarComponents.class);
-      doReturn(true).when(specificSonarComponents).fileCanBeSkipped(any(InputFile.class));
+      doReturn(true).when(specificSonarComponents).fileCanBeSkipped(any(InputFile.class), any());
       doReturn(true).when(specificSonarComponents).canSkipUnchangedFiles();
 
       return scan_without_parsing(specificSonarComponents, scanner);
@@ -643,6 +782,63 @@ class VisitorsBridgeTest {
     }
   }
 
+  private static class MethodInvocationsRecorder extends IssuableSubscriptionVisitor {
+    final List<String> visited = new ArrayList<>();
+
+    @Override
+    public List<Tree.Kind> nodesToVisit() {
+      return List.of(Tree.Kind.METHOD_INVOCATION);
+    }
+
+    @Override
+    public void visitNode(Tree tree) {
+      visited.add("visit " + ((MethodInvocationTree) tree).methodSymbol().name());
+    }
+
+    @Override
+    public void leaveNode(Tree tree) {
+      visited.add("leave " + ((MethodInvocationTree) tree).methodSymbol().name());
+    }
+  }
+
+  private static class MethodMatchersRecorder extends MethodInvocationsRecorder implements MethodMatchersVisitor {
+    private final MethodMatchers methodMatchers;
+
+    MethodMatchersRecorder(MethodMatchers methodMatchers) {
+      this.methodMatchers = methodMatchers;
+    }
+
+    @Override
+    public MethodMatchers methodMatchers() {
+      return methodMatchers;
+    }
+  }
+
+  private static class SymbolUsagesRecorder implements JavaFileScanner, EndOfAnalysis, RequiresSymbolUsageIndex {
+    private String systemKey;
+    private SymbolUsageIndex endOfAnalysisIndex;
+
+    @Override
+    public void scanFile(JavaFileScannerContext context) {
+      Symbol system = ((Sema) context.getSemanticModel()).getClassType("java.lang.System").symbol();
+      systemKey = context.getSymbolUsageIndex().key(system);
+    }
+
+    @Override
+    public void endOfAnalysis(ModuleScannerContext context) {
+      endOfAnalysisIndex = context.getSymbolUsageIndex();
+    }
+  }
+
+  private static class SemanticModelRecorder implements JavaFileScanner, SyntaxOnly {
+    private final List<Object> semanticModels = new ArrayList<>();
+
+    @Override
+    public void scanFile(JavaFileScannerContext context) {
+      semanticModels.add(context.getSemanticModel());
+    }
+  }
+
   @org.sonar.check.Rule(key = "SV1")
   private static class SV1_ThrowingNPEVisitingClass extends SubscriptionVisitor {
     @Override
@@ -20,13 +20,18 @@ import java.io.File;
 import java.util.List;
 import java.util.function.Function;
 import org.junit.jupiter.api.Test;
+import org.sonar.java.model.ExpressionUtils;
 import org.sonar.java.model.JParserTestUtils;
+import org.sonar.java.model.LiteralUtils;
+import org.sonar.plugins.java.api.tree.BinaryExpressionTree;
 import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 import org.sonar.plugins.java.api.tree.ExpressionStatementTree;
 import org.sonar.plugins.java.api.tree.ExpressionTree;
+import org.sonar.plugins.java.api.tree.LiteralTree;
 import org.sonar.plugins.java.api.tree.MethodInvocationTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.ParenthesizedTree;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.VariableTree;
 
@@ -91,6 +96,30 @@ class AssessableExpressionTreeTest {
     assertThat(expression("42 | unknownVar").asConstant()).isEmpty();
   }
 
+  @Test
+  void constant_values_are_computed_once() {
+    ExpressionTree concatenation = expression("\"hello\" + (\" \" + 42)");
+    Object value = concatenation.asConstant().orElseThrow();
+    assertThat(value).isEqualTo("hello 42");
+    assertThat(concatenation.asConstant()).containsSame(value);
+    assertThat(ExpressionUtils.resolveAsConstant(concatenation)).isSameAs(value);
+
+    ExpressionTree rightOperand = ((BinaryExpressionTree) concatenation).rightOperand();
+    Object rightOperandValue = ExpressionUtils.resolveAsConstant(rightOperand);
+    assertThat(rightOperandValue).isEqualTo(" 42");
+    assertThat(ExpressionUtils.resolveAsConstant(((ParenthesizedTree) rightOperand).expression())).isSameAs(rightOperandValue);
+  }
+
+  @Test
+  void string_values_of_text_blocks_are_computed_once() {
+    LiteralTree textBlock = (LiteralTree) expression("\"\"\"\n      hello\n        world\"\"\"");
+    String value = LiteralUtils.getAsStringValue(textBlock);
+    assertThat(value).isEqualTo("hello\n  world");
+    assertThat(LiteralUtils.getAsStringValue(textBlock)).isSameAs(value);
+    assertThat(textBlock.asConstant()).containsSame(value);
+    assertThat(LiteralUtils.computeStringValue(textBlock)).isEqualTo(value).isNotSameAs(value);
+  }
+
   private ExpressionTree expression(String expressionAsString) {
     CompilationUnitTree compilationUnit = JParserTestUtils.parse("class A { Object obj = " + expressionAsString + "; } ");
     ClassTree rootClassTree = (ClassTree) compilationUnit.types().get(0);
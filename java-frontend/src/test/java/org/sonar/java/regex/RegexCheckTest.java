@@ -31,6 +31,8 @@ import static org.sonar.java.regex.RegexParserTestUtils.assertSuccessfulParse;
 
 class RegexCheckTest implements RegexCheck {
 
+  private static final RegexCache REGEX_CACHE = new RegexCache();
+
   @Test
   void regexLocationsToIssueLocations() {
     // force a separation
@@ -108,12 +110,12 @@ class RegexCheckTest implements RegexCheck {
     RegexCheck.RegexIssueLocation issue = new RegexCheck.RegexIssueLocation(regexTree, "My issue message.");
 
     assertThat(issue.message()).isEqualTo("My issue message.");
-    List<RegexIssueLocation> locations = issue.toSingleLocationItems();
+    List<RegexIssueLocation> locations = issue.toSingleLocationItems(REGEX_CACHE::locationSource);
     assertThat(locations).hasSize(1);
 
     assertThat(locations.get(0).message()).isEqualTo("My issue message.");
-    assertThat(locations.get(0).locations()).hasSize(1);
-    assertThat(locations.get(0).locations().get(0)).isSameAs(issue.locations().get(0));
+    assertThat(locations.get(0).locations(REGEX_CACHE::locationSource)).hasSize(1);
+    assertThat(locations.get(0).locations(REGEX_CACHE::locationSource).get(0)).isSameAs(issue.locations(REGEX_CACHE::locationSource).get(0));
   }
 
   @Test
@@ -123,20 +125,20 @@ class RegexCheckTest implements RegexCheck {
     RegexCheck.RegexIssueLocation issue = new RegexCheck.RegexIssueLocation(regexTree, "My issue message.");
 
     assertThat(issue.message()).isEqualTo("My issue message.");
-    List<RegexIssueLocation> locations = issue.toSingleLocationItems();
+    List<RegexIssueLocation> locations = issue.toSingleLocationItems(REGEX_CACHE::locationSource);
     assertThat(locations).hasSize(3);
 
     assertThat(locations.get(0).message()).isEqualTo("My issue message.");
-    assertThat(locations.get(0).locations()).hasSize(1);
-    assertThat(locations.get(0).locations().get(0)).isSameAs(issue.locations().get(0));
+    assertThat(locations.get(0).locations(REGEX_CACHE::locationSource)).hasSize(1);
+    assertThat(locations.get(0).locations(REGEX_CACHE::locationSource).get(0)).isSameAs(issue.locations(REGEX_CACHE::locationSource).get(0));
 
     assertThat(locations.get(1).message()).isEqualTo("Continuing here");
-    assertThat(locations.get(1).locations()).hasSize(1);
-    assertThat(locations.get(1).locations().get(0)).isSameAs(issue.locations().get(1));
+    assertThat(locations.get(1).locations(REGEX_CACHE::locationSource)).hasSize(1);
+    assertThat(locations.get(1).locations(REGEX_CACHE::locationSource).get(0)).isSameAs(issue.locations(REGEX_CACHE::locationSource).get(1));
 
     assertThat(locations.get(2).message()).isEqualTo("Continuing here");
-    assertThat(locations.get(2).locations()).hasSize(1);
-    assertThat(locations.get(2).locations().get(0)).isSameAs(issue.locations().get(2));
+    assertThat(locations.get(2).locations(REGEX_CACHE::locationSource)).hasSize(1);
+    assertThat(locations.get(2).locations(REGEX_CACHE::locationSource).get(0)).isSameAs(issue.locations(REGEX_CACHE::locationSource).get(2));
   }
 
   @Test
@@ -147,20 +149,20 @@ class RegexCheckTest implements RegexCheck {
     RegexCheck.RegexIssueLocation issue = RegexCheck.RegexIssueLocation.fromCommonsRegexIssueLocation(regexIssueLocation);
 
     assertThat(issue.message()).isEqualTo("My issue message.");
-    List<RegexIssueLocation> locations = issue.toSingleLocationItems();
+    List<RegexIssueLocation> locations = issue.toSingleLocationItems(REGEX_CACHE::locationSource);
     assertThat(locations).hasSize(1);
 
     assertThat(locations.get(0).message()).isEqualTo("My issue message.");
-    assertThat(locations.get(0).locations()).hasSize(1);
-    assertThat(locations.get(0).locations().get(0)).isSameAs(issue.locations().get(0));
+    assertThat(locations.get(0).locations(REGEX_CACHE::locationSource)).hasSize(1);
+    assertThat(locations.get(0).locations(REGEX_CACHE::locationSource).get(0)).isSameAs(issue.locations(REGEX_CACHE::locationSource).get(0));
   }
 
   private static List<TextSpan> correspondingTextSpans(RegexTree tree) {
-    return new RegexCheck.RegexIssueLocation(tree, "message").locations();
+    return new RegexCheck.RegexIssueLocation(tree, "message").locations(REGEX_CACHE::locationSource);
   }
 
   private static List<TextSpan> correspondingTextSpans(List<RegexSyntaxElement> trees) {
-    return new RegexCheck.RegexIssueLocation(trees, "message").locations();
+    return new RegexCheck.RegexIssueLocation(trees, "message").locations(REGEX_CACHE::locationSource);
   }
 
 }
@@ -0,0 +1,173 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.regex;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.sonar.java.model.JParserTestUtils;
+import org.sonar.java.reporting.AnalyzerMessage.TextSpan;
+import org.sonar.plugins.java.api.tree.BinaryExpressionTree;
+import org.sonar.plugins.java.api.tree.ClassTree;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.LiteralTree;
+import org.sonar.plugins.java.api.tree.VariableTree;
+import org.sonarsource.analyzer.commons.regex.RegexParseResult;
+import org.sonarsource.analyzer.commons.regex.RegexSource;
+import org.sonarsource.analyzer.commons.regex.ast.FlagSet;
+import org.sonarsource.analyzer.commons.regex.ast.RegexTree;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RegexParseCacheTest {
+
+  @Test
+  void regexes_with_the_same_content_are_parsed_once_without_locations() {
+    RegexParseCache cache = new RegexParseCache(RegexParseCache.DEFAULT_MAX_ENTRIES);
+
+    RegexParseResult result = cache.get("a+b", new FlagSet());
+    assertThat(result.hasSyntaxErrors()).isFalse();
+    assertThat(result.getResult().getSource()).isNotInstanceOf(JavaAnalyzerRegexSource.class);
+    assertThat(cache.get("a+b", new FlagSet())).isSameAs(result);
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  void regexes_with_different_flags_are_parsed_separately() {
+    RegexParseCache cache = new RegexParseCache(RegexParseCache.DEFAULT_MAX_ENTRIES);
+
+    RegexParseResult withoutFlags = cache.get("abc", new FlagSet());
+    RegexParseResult caseInsensitive = cache.get("abc", new FlagSet(Pattern.CASE_INSENSITIVE));
+    assertThat(caseInsensitive).isNotSameAs(withoutFlags);
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  @Test
+  void least_recently_used_regexes_are_evicted() {
+    RegexParseCache cache = new RegexParseCache(2);
+
+    RegexParseResult a = cache.get("a", new FlagSet());
+    RegexParseResult b = cache.get("b", new FlagSet());
+    assertThat(cache.get("a", new FlagSet())).isSameAs(a);
+    cache.get("c", new FlagSet());
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.get("a", new FlagSet())).isSameAs(a);
+    assertThat(cache.get("b", new FlagSet())).isNotSameAs(b);
+  }
+
+  @Test
+  void file_caches_locate_the_regexes_of_the_module_cache_on_their_own_literals() {
+    List<LiteralTree> file1 = literals("""
+      class A {
+        String s = "a+b";
+      }
+      """);
+    List<LiteralTree> file2 = literals("""
+      class B {
+
+          String s = "a+"
+            + "b";
+      }
+      """);
+    RegexParseCache moduleCache = new RegexParseCache(RegexParseCache.DEFAULT_MAX_ENTRIES);
+
+    RegexCache firstFile = new RegexCache(moduleCache);
+    RegexParseResult resultForFile1 = firstFile.getRegexForLiterals(new FlagSet(), file1.get(0));
+    RegexCache secondFile = new RegexCache(moduleCache);
+    RegexParseResult resultForFile2 = secondFile.getRegexForLiterals(new FlagSet(), file2.toArray(LiteralTree[]::new));
+    assertThat(resultForFile2).isSameAs(resultForFile1);
+    assertThat(moduleCache.size()).isEqualTo(1);
+
+    RegexTree tree = resultForFile1.getResult();
+    assertThat(locations(firstFile, tree)).containsExactly(new TextSpan(2, 14, 2, 17));
+    assertThat(locations(secondFile, tree)).containsExactly(new TextSpan(3, 16, 3, 18), new TextSpan(4, 9, 4, 10));
+    assertThat(new RegexCheck.RegexIssueLocation(tree, "message").locations(secondFile::locationSource))
+      .containsExactly(new TextSpan(3, 16, 3, 18), new TextSpan(4, 9, 4, 10));
+
+    RegexCache otherFile = new RegexCache(moduleCache);
+    RegexSource source = tree.getSource();
+    assertThatThrownBy(() -> otherFile.locationSource(source)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void issue_locations_of_a_regex_of_the_module_cache_are_located_on_the_literals_of_the_reporting_file() {
+    List<LiteralTree> file1 = literals("""
+      class A {
+        String s = "a+b";
+      }
+      """);
+    List<LiteralTree> file2 = literals("""
+      class B {
+        String s = "a+"
+          + "b";
+      }
+      """);
+    RegexParseCache moduleCache = new RegexParseCache(RegexParseCache.DEFAULT_MAX_ENTRIES);
+    new RegexCache(moduleCache).getRegexForLiterals(new FlagSet(), file1.get(0));
+    RegexCache secondFile = new RegexCache(moduleCache);
+    RegexTree tree = secondFile.getRegexForLiterals(new FlagSet(), file2.toArray(LiteralTree[]::new)).getResult();
+    assertThat(tree.getSource()).isNotInstanceOf(JavaAnalyzerRegexSource.class);
+
+    List<RegexCheck.RegexIssueLocation> items = new RegexCheck.RegexIssueLocation(tree, "message")
+      .toSingleLocationItems(secondFile::locationSource);
+    assertThat(items).extracting(RegexCheck.RegexIssueLocation::message).containsExactly("message", "Continuing here");
+    assertThat(items.get(0).locations(secondFile::locationSource)).containsExactly(new TextSpan(2, 14, 2, 16));
+    assertThat(items.get(1).locations(secondFile::locationSource)).containsExactly(new TextSpan(3, 7, 3, 8));
+  }
+
+  @Test
+  void other_literals_of_a_file_with_the_same_content_get_their_own_result() {
+    List<LiteralTree> literals = literals("""
+      class A {
+        String s0 = "abc";
+        String s1 = "abc";
+      }
+      """);
+    RegexParseCache moduleCache = new RegexParseCache(RegexParseCache.DEFAULT_MAX_ENTRIES);
+
+    RegexCache file = new RegexCache(moduleCache);
+    RegexParseResult result = file.getRegexForLiterals(new FlagSet(), literals.get(0));
+    assertThat(file.getRegexForLiterals(new FlagSet(), literals.get(0))).isSameAs(result);
+    RegexParseResult otherResult = file.getRegexForLiterals(new FlagSet(), literals.get(1));
+    assertThat(otherResult).isNotSameAs(result);
+    assertThat(locations(file, result.getResult())).containsExactly(new TextSpan(2, 15, 2, 18));
+    assertThat(locations(file, otherResult.getResult())).containsExactly(new TextSpan(3, 15, 3, 18));
+
+    assertThat(new RegexCache(moduleCache).getRegexForLiterals(new FlagSet(), literals.get(1))).isSameAs(result);
+    assertThat(moduleCache.size()).isEqualTo(1);
+  }
+
+  private static List<TextSpan> locations(RegexCache cache, RegexTree tree) {
+    return cache.locationSource(tree.getSource()).textSpansFor(tree.getRange());
+  }
+
+  private static List<LiteralTree> literals(String source) {
+    CompilationUnitTree cut = JParserTestUtils.parse(source);
+    return ((ClassTree) cut.types().get(0)).members().stream()
+      .map(VariableTree.class::cast)
+      .map(VariableTree::initializer)
+      .flatMap(initializer -> initializer instanceof BinaryExpressionTree concatenation
+        ? Stream.of(concatenation.leftOperand(), concatenation.rightOperand())
+        : Stream.of(initializer))
+      .map(LiteralTree.class::cast)
+      .toList();
+  }
+
+}
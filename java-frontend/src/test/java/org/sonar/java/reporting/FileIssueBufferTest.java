@@ -0,0 +1,134 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.reporting;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.slf4j.event.Level;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.TestInputFileBuilder;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.api.testfixtures.log.LogTesterJUnit5;
+import org.sonar.plugins.java.api.JavaCheck;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileIssueBufferTest {
+
+  @RegisterExtension
+  public LogTesterJUnit5 logTester = new LogTesterJUnit5().setLevel(Level.DEBUG);
+
+  private static final JavaCheck CHECK = new JavaCheck() {
+  };
+  private static final RuleKey RULE_1 = RuleKey.of("java", "S1");
+  private static final RuleKey RULE_2 = RuleKey.of("java", "S2");
+
+  private final InputFile inputFile = new TestInputFileBuilder("module", "A.java").build();
+  private final InputFile otherFile = new TestInputFileBuilder("module", "B.java").build();
+  private final List<String> savedIssues = new ArrayList<>();
+
+  @Test
+  void issues_are_saved_in_order_when_flushed() {
+    FileIssueBuffer buffer = new FileIssueBuffer(0);
+    buffer.startFile(inputFile);
+
+    assertThat(buffer.add(RULE_2, issue(inputFile, 2, "second"))).isTrue();
+    assertThat(buffer.add(RULE_1, issue(inputFile, 1, "first"))).isTrue();
+    assertThat(savedIssues).isEmpty();
+
+    buffer.flush(this::save);
+    assertThat(savedIssues).containsExactly("java:S2:2:second", "java:S1:1:first");
+
+    savedIssues.clear();
+    buffer.flush(this::save);
+    assertThat(savedIssues).isEmpty();
+  }
+
+  @Test
+  void issues_on_other_components_are_not_buffered() {
+    FileIssueBuffer buffer = new FileIssueBuffer(0);
+    assertThat(buffer.add(RULE_1, issue(inputFile, 1, "message"))).isFalse();
+
+    buffer.startFile(inputFile);
+    assertThat(buffer.add(RULE_1, issue(otherFile, 1, "message"))).isFalse();
+
+    buffer.flush(this::save);
+    assertThat(buffer.add(RULE_1, issue(inputFile, 1, "message"))).isFalse();
+    assertThat(savedIssues).isEmpty();
+  }
+
+  @Test
+  void identical_issues_are_saved_once() {
+    FileIssueBuffer buffer = new FileIssueBuffer(0);
+    buffer.startFile(inputFile);
+
+    buffer.add(RULE_1, issue(inputFile, 1, "message"));
+    buffer.add(RULE_1, issue(inputFile, 1, "message"));
+    buffer.add(RULE_1, issue(inputFile, 1, "other message"));
+    buffer.add(RULE_1, issue(inputFile, 2, "message"));
+    buffer.add(RULE_2, issue(inputFile, 1, "message"));
+
+    buffer.flush(this::save);
+    assertThat(savedIssues).containsExactly("java:S1:1:message", "java:S1:1:other message", "java:S1:2:message", "java:S2:1:message");
+  }
+
+  @Test
+  void issues_of_a_rule_are_capped_per_file() {
+    FileIssueBuffer buffer = new FileIssueBuffer(2);
+    buffer.startFile(inputFile);
+
+    for (int line = 1; line <= 5; line++) {
+      buffer.add(RULE_1, issue(inputFile, line, "message"));
+    }
+    buffer.add(RULE_2, issue(inputFile, 1, "message"));
+
+    buffer.flush(this::save);
+    assertThat(savedIssues).containsExactly("java:S1:1:message", "java:S1:2:message", "java:S2:1:message");
+    assertThat(logTester.logs(Level.DEBUG))
+      .containsExactly("3 issues of rule java:S1 were not reported on file A.java, the limit of 2 issues per rule and file is reached.");
+
+    savedIssues.clear();
+    buffer.startFile(otherFile);
+    buffer.add(RULE_1, issue(otherFile, 1, "message"));
+    buffer.flush(this::save);
+    assertThat(savedIssues).containsExactly("java:S1:1:message");
+  }
+
+  @Test
+  void issues_which_were_not_flushed_are_dropped_when_starting_a_file() {
+    FileIssueBuffer buffer = new FileIssueBuffer(0);
+    buffer.startFile(inputFile);
+    buffer.add(RULE_1, issue(inputFile, 1, "message"));
+
+    buffer.startFile(otherFile);
+    buffer.add(RULE_1, issue(otherFile, 2, "message"));
+    buffer.flush(this::save);
+
+    assertThat(savedIssues).containsExactly("java:S1:2:message");
+  }
+
+  private void save(RuleKey ruleKey, AnalyzerMessage analyzerMessage) {
+    savedIssues.add(ruleKey + ":" + analyzerMessage.getLine() + ":" + analyzerMessage.getMessage());
+  }
+
+  private static AnalyzerMessage issue(InputFile inputFile, int line, String message) {
+    return new AnalyzerMessage(CHECK, inputFile, line, message, 0);
+  }
+
+}
@@ -18,6 +18,7 @@ package org.sonar.java.reporting;
 
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -321,6 +322,53 @@ class InternalJavaIssueBuilderTest {
     assertThat(logTester.logs(Level.TRACE)).containsExactly("Rule not enabled - discarding issue");
   }
 
+  @Test
+  void test_report_issue_with_lazy_secondaries() {
+    ClassTree tree = (ClassTree) compilationUnitTree.types().get(0);
+    Tree firstMember = tree.members().get(0);
+
+    builder.forRule(CHECK)
+      .onTree(tree.simpleName())
+      .withMessage("msg")
+      .withSecondaries(() -> List.of(new JavaFileScannerContext.Location("secondary1", firstMember)))
+      .report();
+
+    Collection<Issue> issues = sensorContextTester.allIssues();
+    assertThat(issues).hasSize(1);
+    List<Issue.Flow> flows = ((DefaultIssue) issues.iterator().next()).flows();
+    assertThat(flows).hasSize(1);
+    assertPosition(flows.get(0).locations().get(0).textRange(), 4, 2, 4, 13);
+  }
+
+  @Test
+  void test_rejected_issue_is_discarded_before_computing_its_locations() {
+    logTester.setLevel(Level.TRACE);
+    SonarComponents sonarComponents = mock(SonarComponents.class);
+    when(sonarComponents.context()).thenReturn(sensorContextTester);
+    when(sonarComponents.getRuleKey(any())).thenReturn(Optional.of(RULE_KEY));
+    when(sonarComponents.isIssueRejected(RULE_KEY, inputFile, 3)).thenReturn(true);
+    ClassTree tree = (ClassTree) compilationUnitTree.types().get(0);
+    List<String> computedLocations = new ArrayList<>();
+
+    new InternalJavaIssueBuilder(inputFile, sonarComponents)
+      .forRule(CHECK)
+      .onTree(tree.simpleName())
+      .withMessage("msg")
+      .withFlows(() -> {
+        computedLocations.add("flows");
+        return List.of(List.of(new JavaFileScannerContext.Location("flow", tree.members().get(0))));
+      })
+      .withQuickFix(() -> {
+        computedLocations.add("quick fix");
+        return JavaQuickFix.newQuickFix("fix").build();
+      })
+      .report();
+
+    assertThat(sensorContextTester.allIssues()).isEmpty();
+    assertThat(computedLocations).isEmpty();
+    assertThat(logTester.logs(Level.TRACE)).containsExactly("Issue rejected by the issue filter - discarding issue");
+  }
+
   @Test
   void test_cannot_set_flow_after_secondary() {
     ClassTree tree = (ClassTree) compilationUnitTree.types().get(0);
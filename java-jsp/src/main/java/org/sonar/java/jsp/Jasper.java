@@ -36,6 +36,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.StreamSupport;
+import javax.annotation.Nullable;
 import javax.servlet.jsp.JspFactory;
 import org.apache.jasper.JasperException;
 import org.apache.jasper.JspCompilationContext;
@@ -53,6 +54,7 @@ import org.sonar.api.batch.sensor.SensorContext;
 import org.sonar.api.scanner.ScannerSide;
 import org.sonar.api.utils.PathUtils;
 import org.sonar.api.utils.WildcardPattern;
+import org.sonar.java.SonarComponents;
 import org.sonar.java.annotations.VisibleForTesting;
 import org.sonar.java.model.GeneratedFile;
 import org.sonar.java.model.SmapFile;
@@ -67,6 +69,15 @@ public class Jasper {
   private static final Logger LOG = LoggerFactory.getLogger(Jasper.class);
 
   public Collection<GeneratedFile> generateFiles(SensorContext sensorContext, List<File> javaClasspath) {
+    return generateFiles(sensorContext, javaClasspath, null);
+  }
+
+  /**
+   * When the analysis cache is available, the files generated from JSPs are stored in it. If unchanged files can be skipped, JSPs which,
+   * like the files they include, did not change since the previous analysis are not transpiled again: their generated file is restored
+   * from the cache and marked as unchanged.
+   */
+  public Collection<GeneratedFile> generateFiles(SensorContext sensorContext, List<File> javaClasspath, @Nullable SonarComponents sonarComponents) {
     List<String> sonarExclusions = Arrays.asList(sensorContext.config().getStringArray(SONAR_EXCLUSIONS_PROPERTY));
     if (isAllJavaJspExcluded(sonarExclusions)) {
       return Collections.emptyList();
@@ -81,6 +92,7 @@ public class Jasper {
       .orElse(sensorContext.fileSystem().baseDir().getAbsoluteFile().toPath());
     LOG.debug("Context root set to {}", uriRoot);
     Path outputDir = outputDir(sensorContext);
+    JspCache jspCache = JspCache.create(sonarComponents, uriRoot, outputDir, sensorContext.fileSystem());
     // Jasper internally calls Thread#getContextClassLoader to instantiate some classes. ContextClassLoader is set by scanner
     // and doesn't contain plugin jar, so we need to configure ContextClassLoader with the class loader of the plugin to be able
     // to run Jasper. Original classloader is restored in finally.
@@ -95,10 +107,21 @@ public class Jasper {
 
       boolean errorTranspiling = false;
       Map<Path, GeneratedFile> generatedJavaFiles = new HashMap<>();
+      Map<Path, InputFile> transpiledJsps = new HashMap<>();
+      int unchangedJsps = 0;
       for (InputFile jsp : jspFiles) {
+        Optional<GeneratedFile> unchangedGeneratedFile = jspCache.unchangedGeneratedFile(jsp, javaExclusionFilter);
+        if (unchangedGeneratedFile.isPresent()) {
+          generatedJavaFiles.put(unchangedGeneratedFile.get().path(), unchangedGeneratedFile.get());
+          unchangedJsps++;
+          continue;
+        }
         try {
           transpileJsp(jsp.path(), uriRoot, classLoader, servletContext, options, runtimeContext, javaExclusionFilter)
-            .ifPresent(generatedFile -> generatedJavaFiles.put(generatedFile, new GeneratedFile(generatedFile)));
+            .ifPresent(generatedFile -> {
+              generatedJavaFiles.put(generatedFile, new GeneratedFile(generatedFile));
+              transpiledJsps.put(generatedFile, jsp);
+            });
         } catch (Exception | LinkageError e) {
           errorTranspiling = true;
           StringWriter w = new StringWriter();
@@ -110,8 +133,12 @@ public class Jasper {
       if (errorTranspiling) {
         LOG.warn("Some JSP pages failed to transpile. Enable debug log for details.");
       }
+      if (unchangedJsps > 0) {
+        LOG.info("{} out of {} JSP files did not change and were not transpiled again.", unchangedJsps, jspFiles.size());
+      }
       runtimeContext.getSmaps().values().forEach(smap ->
         processSourceMap(uriRoot, generatedJavaFiles, smap, sensorContext.fileSystem()));
+      transpiledJsps.forEach((generatedFile, jsp) -> jspCache.write(jsp, generatedJavaFiles.get(generatedFile)));
       return generatedJavaFiles.values();
     } catch (Exception e) {
       LOG.warn("Failed to transpile JSP files.", e);
@@ -0,0 +1,264 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.jsp;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.api.batch.fs.FileSystem;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.java.SonarComponents;
+import org.sonar.java.annotations.VisibleForTesting;
+import org.sonar.java.caching.CacheContextImpl;
+import org.sonar.java.caching.FileHashingUtils;
+import org.sonar.java.caching.FileRecordCacheImpl;
+import org.sonar.java.exceptions.ApiMismatchException;
+import org.sonar.java.model.GeneratedFile;
+import org.sonar.java.model.SmapFile;
+import org.sonar.plugins.java.api.caching.FileRecordCache;
+
+/**
+ * Stores, in the record of each JSP, the Java file generated from it and its source maps, along with a hash of the JSP and of every file
+ * it includes, as listed in the file sections of the source maps. When none of these files changed, the JSP is not transpiled again:
+ * the generated Java file is restored from the cache and marked as unchanged, so that it can be skipped by the analysis.
+ * <p>
+ * Record format: a version byte, the path of the generated file relative to the output directory, the generated code, the number of
+ * source maps, then for each source map its root directory relative to the output directory and its content, the number of source
+ * files, their paths relative to the context root, and finally the hash of these source files.
+ */
+class JspCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(JspCache.class);
+
+  @VisibleForTesting
+  static final String SECTION = "java:jsp:generated";
+  @VisibleForTesting
+  static final byte FORMAT_VERSION = 1;
+  private static final int MISSING_FILE = -1;
+
+  @Nullable
+  private final FileRecordCache fileRecordCache;
+  private final boolean canSkipUnchangedFiles;
+  private final Path uriRoot;
+  private final Path outputDir;
+  private final FileSystem fileSystem;
+
+  @VisibleForTesting
+  JspCache(@Nullable FileRecordCache fileRecordCache, boolean canSkipUnchangedFiles, Path uriRoot, Path outputDir, FileSystem fileSystem) {
+    this.fileRecordCache = fileRecordCache;
+    this.canSkipUnchangedFiles = canSkipUnchangedFiles;
+    this.uriRoot = uriRoot;
+    this.outputDir = outputDir;
+    this.fileSystem = fileSystem;
+  }
+
+  static JspCache create(@Nullable SonarComponents sonarComponents, Path uriRoot, Path outputDir, FileSystem fileSystem) {
+    if (sonarComponents == null) {
+      return new JspCache(null, false, uriRoot, outputDir, fileSystem);
+    }
+    CacheContextImpl cacheContext = CacheContextImpl.of(sonarComponents);
+    if (!cacheContext.isCacheEnabled()) {
+      return new JspCache(null, false, uriRoot, outputDir, fileSystem);
+    }
+    boolean canSkipUnchangedFiles;
+    try {
+      canSkipUnchangedFiles = sonarComponents.canSkipUnchangedFiles();
+    } catch (ApiMismatchException e) {
+      canSkipUnchangedFiles = false;
+    }
+    return new JspCache(cacheContext.getFileRecordCache(), canSkipUnchangedFiles, uriRoot, outputDir, fileSystem);
+  }
+
+  /**
+   * @return the file generated during a previous analysis from the given JSP, when neither the JSP nor the files it includes changed
+   * since then. Its generated code is restored in the output directory.
+   */
+  Optional<GeneratedFile> unchangedGeneratedFile(InputFile jsp, Predicate<String> javaExclusionFilter) {
+    if (fileRecordCache == null || !canSkipUnchangedFiles) {
+      return Optional.empty();
+    }
+    byte[] data = fileRecordCache.readSection(jsp, SECTION);
+    if (data == null) {
+      return Optional.empty();
+    }
+    try {
+      CachedJsp cachedJsp = decode(data);
+      Path generatedPath = outputDir.resolve(cachedJsp.generatedFile).normalize();
+      if (!generatedPath.startsWith(outputDir.normalize())
+        || javaExclusionFilter.test(generatedPath.toString())
+        || !MessageDigest.isEqual(cachedJsp.sourcesHash, sourcesHash(uriRoot, cachedJsp.sourcePaths))) {
+        return Optional.empty();
+      }
+      Files.createDirectories(generatedPath.getParent());
+      Files.write(generatedPath, cachedJsp.generatedCode);
+      GeneratedFile generatedFile = new GeneratedFile(generatedPath);
+      for (CachedSmap smap : cachedJsp.smaps) {
+        generatedFile.addSmap(new SmapFile(outputDir.resolve(smap.rootDir), smap.content, uriRoot, fileSystem));
+      }
+      generatedFile.markUnchanged();
+      fileRecordCache.copySectionFromPrevious(jsp, SECTION);
+      flush(jsp);
+      LOG.debug("JSP {} and its included files did not change, reusing {}", jsp, generatedPath);
+      return Optional.of(generatedFile);
+    } catch (IOException | NoSuchAlgorithmException | RuntimeException e) {
+      LOG.debug("Unable to reuse the generated file of JSP {} from the cache: {}", jsp, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Stores in the cache the file generated from the given JSP, to be reused by the next analysis if the JSP does not change.
+   */
+  void write(InputFile jsp, GeneratedFile generatedFile) {
+    if (fileRecordCache == null) {
+      return;
+    }
+    try {
+      SortedSet<String> sourcePaths = new TreeSet<>();
+      sourcePaths.add(relativePath(uriRoot, jsp.path()));
+      List<CachedSmap> smaps = new ArrayList<>();
+      for (SmapFile smap : generatedFile.getSmapFiles()) {
+        sourcePaths.addAll(smap.getSourcePaths());
+        smaps.add(new CachedSmap(relativePath(outputDir, smap.getRootDir()), smap.getSmapString()));
+      }
+      CachedJsp cachedJsp = new CachedJsp(
+        relativePath(outputDir, generatedFile.path()),
+        Files.readAllBytes(generatedFile.path()),
+        smaps,
+        new ArrayList<>(sourcePaths),
+        sourcesHash(uriRoot, sourcePaths));
+      fileRecordCache.writeSection(jsp, SECTION, encode(cachedJsp));
+      flush(jsp);
+    } catch (IOException | NoSuchAlgorithmException | IllegalArgumentException e) {
+      LOG.debug("Unable to store the generated file of JSP {} in the cache: {}", jsp, e.getMessage());
+    }
+  }
+
+  private void flush(InputFile jsp) {
+    if (fileRecordCache instanceof FileRecordCacheImpl fileRecordCacheImpl) {
+      fileRecordCacheImpl.flush(jsp);
+    }
+  }
+
+  private static String relativePath(Path base, Path path) {
+    return base.toAbsolutePath().relativize(path.toAbsolutePath()).toString().replace('\\', '/');
+  }
+
+  /**
+   * Hashes the paths and the contents of the given files, so that adding, removing or modifying any of them changes the hash.
+   */
+  @VisibleForTesting
+  static byte[] sourcesHash(Path uriRoot, Iterable<String> sourcePaths) throws IOException, NoSuchAlgorithmException {
+    MessageDigest digest = MessageDigest.getInstance(FileHashingUtils.HASH_ALGORITHM);
+    try (var out = new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), digest))) {
+      for (String sourcePath : sourcePaths) {
+        out.writeUTF(sourcePath);
+        Path source = uriRoot.resolve(sourcePath);
+        if (Files.isRegularFile(source)) {
+          byte[] content = Files.readAllBytes(source);
+          out.writeInt(content.length);
+          out.write(content);
+        } else {
+          out.writeInt(MISSING_FILE);
+        }
+      }
+    }
+    return digest.digest();
+  }
+
+  @VisibleForTesting
+  static byte[] encode(CachedJsp cachedJsp) throws IOException {
+    var bytes = new ByteArrayOutputStream();
+    try (var out = new DataOutputStream(bytes)) {
+      out.writeByte(FORMAT_VERSION);
+      out.writeUTF(cachedJsp.generatedFile);
+      writeBytes(out, cachedJsp.generatedCode);
+      out.writeInt(cachedJsp.smaps.size());
+      for (CachedSmap smap : cachedJsp.smaps) {
+        out.writeUTF(smap.rootDir);
+        writeBytes(out, smap.content.getBytes(StandardCharsets.UTF_8));
+      }
+      out.writeInt(cachedJsp.sourcePaths.size());
+      for (String sourcePath : cachedJsp.sourcePaths) {
+        out.writeUTF(sourcePath);
+      }
+      writeBytes(out, cachedJsp.sourcesHash);
+    }
+    return bytes.toByteArray();
+  }
+
+  @VisibleForTesting
+  static CachedJsp decode(byte[] data) throws IOException {
+    try (var in = new DataInputStream(new ByteArrayInputStream(data))) {
+      byte version = in.readByte();
+      if (version != FORMAT_VERSION) {
+        throw new IOException("Unsupported format version " + version);
+      }
+      String generatedFile = in.readUTF();
+      byte[] generatedCode = readBytes(in);
+      int smapCount = in.readInt();
+      List<CachedSmap> smaps = new ArrayList<>(smapCount);
+      for (int i = 0; i < smapCount; i++) {
+        String rootDir = in.readUTF();
+        smaps.add(new CachedSmap(rootDir, new String(readBytes(in), StandardCharsets.UTF_8)));
+      }
+      int sourceCount = in.readInt();
+      List<String> sourcePaths = new ArrayList<>(sourceCount);
+      for (int i = 0; i < sourceCount; i++) {
+        sourcePaths.add(in.readUTF());
+      }
+      return new CachedJsp(generatedFile, generatedCode, smaps, sourcePaths, readBytes(in));
+    }
+  }
+
+  private static void writeBytes(DataOutputStream out, byte[] data) throws IOException {
+    out.writeInt(data.length);
+    out.write(data);
+  }
+
+  private static byte[] readBytes(DataInputStream in) throws IOException {
+    byte[] data = new byte[in.readInt()];
+    in.readFully(data);
+    return data;
+  }
+
+  @VisibleForTesting
+  record CachedJsp(String generatedFile, byte[] generatedCode, List<CachedSmap> smaps, List<String> sourcePaths, byte[] sourcesHash) {
+  }
+
+  @VisibleForTesting
+  record CachedSmap(String rootDir, String content) {
+  }
+}
@@ -42,6 +42,7 @@ import org.sonar.api.batch.sensor.SensorContext;
 import org.sonar.api.batch.sensor.internal.SensorContextTester;
 import org.sonar.api.config.internal.MapSettings;
 import org.sonar.api.testfixtures.log.LogTesterJUnit5;
+import org.sonar.java.SonarComponents;
 import org.sonar.java.model.GeneratedFile;
 
 import static java.util.Arrays.asList;
@@ -304,6 +305,55 @@ class JasperTest {
 
   }
 
+  @Test
+  void unchanged_jsp_is_restored_from_the_cache_instead_of_being_transpiled() throws Exception {
+    SensorContextTester ctx = jspContext(JSP_SOURCE);
+    ctx.setSettings(new MapSettings()
+      .setProperty(SonarComponents.SONAR_LOCAL_CACHE_KEY, "true")
+      .setProperty(SonarComponents.SONAR_CAN_SKIP_UNCHANGED_FILES_KEY, "true"));
+
+    GeneratedFile transpiled = generateFileWithCache(ctx);
+    assertThat(transpiled.isUnchanged()).isFalse();
+    String generatedCode = Files.readString(transpiled.path());
+    Files.delete(transpiled.path());
+
+    logTester.clear();
+    GeneratedFile restored = generateFileWithCache(ctx);
+    assertThat(restored.isUnchanged()).isTrue();
+    assertThat(restored.path()).isEqualTo(transpiled.path());
+    assertThat(Files.readString(restored.path())).isEqualTo(generatedCode);
+    assertThat(restored.getSmapFiles()).hasSize(1);
+    assertThat(logTester.logs(Level.INFO)).contains("1 out of 1 JSP files did not change and were not transpiled again.");
+    assertThat(logTester.logs(Level.DEBUG)).noneMatch(line -> line.startsWith("Transpiling JSP"));
+
+    createJspFile(JSP_SOURCE.replace("Hello", "Goodbye"), jspFile);
+    logTester.clear();
+    GeneratedFile transpiledAgain = generateFileWithCache(ctx);
+    assertThat(transpiledAgain.isUnchanged()).isFalse();
+    assertThat(Files.readAllLines(transpiledAgain.path())).anyMatch(line -> line.contains("Goodbye World!"));
+    assertThat(logTester.logs(Level.DEBUG)).anyMatch(line -> line.startsWith("Transpiling JSP"));
+  }
+
+  @Test
+  void jsp_is_transpiled_when_unchanged_files_cannot_be_skipped() throws Exception {
+    SensorContextTester ctx = jspContext(JSP_SOURCE);
+    ctx.setSettings(new MapSettings()
+      .setProperty(SonarComponents.SONAR_LOCAL_CACHE_KEY, "true")
+      .setProperty(SonarComponents.SONAR_CAN_SKIP_UNCHANGED_FILES_KEY, "false"));
+
+    assertThat(generateFileWithCache(ctx).isUnchanged()).isFalse();
+    assertThat(generateFileWithCache(ctx).isUnchanged()).isFalse();
+  }
+
+  private static GeneratedFile generateFileWithCache(SensorContextTester ctx) {
+    SonarComponents sonarComponents = new SonarComponents(null, ctx.fileSystem(), null, null, null, null);
+    sonarComponents.setSensorContext(ctx);
+    Collection<GeneratedFile> generatedFiles = new Jasper().generateFiles(ctx, emptyList(), sonarComponents);
+    sonarComponents.saveLocalCache();
+    assertThat(generatedFiles).hasSize(1);
+    return generatedFiles.iterator().next();
+  }
+
   private SensorContextTester jspContext(String jspSource) throws IOException {
     return jspContext(jspSource, webInf.resolve("jsp/test.jsp"));
   }
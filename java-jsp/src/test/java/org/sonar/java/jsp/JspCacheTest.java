@@ -0,0 +1,94 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2025 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the Sonar Source-Available License Version 1, as published by SonarSource SA.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the Sonar Source-Available License for more details.
+ *
+ * You should have received a copy of the Sonar Source-Available License
+ * along with this program; if not, see https://sonarsource.com/license/ssal/
+ */
+package org.sonar.java.jsp;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sonar.java.jsp.JspCache.CachedJsp;
+import org.sonar.java.jsp.JspCache.CachedSmap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JspCacheTest {
+
+  @TempDir
+  Path uriRoot;
+
+  @Test
+  void encode_and_decode_are_symmetric() throws Exception {
+    CachedJsp cachedJsp = new CachedJsp(
+      "org/apache/jsp/WEB_002dINF/jsp/test_jsp.java",
+      bytes("class test_jsp {}"),
+      List.of(new CachedSmap("org/apache/jsp/WEB_002dINF/jsp", "SMAP\ntest_jsp.java\nJSP\n")),
+      List.of("WEB-INF/jsp/header.jspf", "WEB-INF/jsp/test.jsp"),
+      new byte[] {1, 2, 3});
+
+    CachedJsp decoded = JspCache.decode(JspCache.encode(cachedJsp));
+
+    assertThat(decoded.generatedFile()).isEqualTo(cachedJsp.generatedFile());
+    assertThat(decoded.generatedCode()).isEqualTo(cachedJsp.generatedCode());
+    assertThat(decoded.smaps()).isEqualTo(cachedJsp.smaps());
+    assertThat(decoded.sourcePaths()).isEqualTo(cachedJsp.sourcePaths());
+    assertThat(decoded.sourcesHash()).isEqualTo(cachedJsp.sourcesHash());
+  }
+
+  @Test
+  void decode_rejects_unknown_format_version() throws Exception {
+    byte[] data = JspCache.encode(new CachedJsp("a_jsp.java", new byte[0], List.of(), List.of(), new byte[0]));
+    data[0] = JspCache.FORMAT_VERSION + 1;
+    assertThatThrownBy(() -> JspCache.decode(data))
+      .isInstanceOf(IOException.class)
+      .hasMessage("Unsupported format version 2");
+  }
+
+  @Test
+  void sources_hash_changes_with_the_content_of_included_files() throws Exception {
+    Path jsp = write("WEB-INF/jsp/test.jsp", "<%@ include file=\"header.jspf\" %>");
+    Path include = write("WEB-INF/jsp/header.jspf", "<h1>Header</h1>");
+    List<String> sources = List.of("WEB-INF/jsp/header.jspf", "WEB-INF/jsp/test.jsp");
+
+    byte[] hash = JspCache.sourcesHash(uriRoot, sources);
+    assertThat(JspCache.sourcesHash(uriRoot, sources)).isEqualTo(hash);
+
+    Files.writeString(include, "<h1>Other header</h1>");
+    byte[] hashWithModifiedInclude = JspCache.sourcesHash(uriRoot, sources);
+    assertThat(hashWithModifiedInclude).isNotEqualTo(hash);
+
+    Files.delete(include);
+    assertThat(JspCache.sourcesHash(uriRoot, sources)).isNotEqualTo(hash).isNotEqualTo(hashWithModifiedInclude);
+
+    assertThat(JspCache.sourcesHash(uriRoot, List.of("WEB-INF/jsp/test.jsp"))).isNotEqualTo(JspCache.sourcesHash(uriRoot, sources));
+    assertThat(jsp).exists();
+  }
+
+  private Path write(String relativePath, String content) throws IOException {
+    Path file = uriRoot.resolve(relativePath);
+    Files.createDirectories(file.getParent());
+    Files.writeString(file, content);
+    return file;
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
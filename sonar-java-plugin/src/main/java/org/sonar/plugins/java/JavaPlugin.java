@@ -33,6 +33,7 @@ import org.sonar.java.SonarComponents;
 import org.sonar.java.classpath.ClasspathForMain;
 import org.sonar.java.classpath.ClasspathForMainForSonarLint;
 import org.sonar.java.classpath.ClasspathForTest;
+import org.sonar.java.classpath.ClasspathGlobCache;
 import org.sonar.java.classpath.ClasspathProperties;
 import org.sonar.java.filters.PostAnalysisIssueFilter;
 import org.sonar.java.jsp.Jasper;
@@ -62,6 +63,7 @@ public class JavaPlugin implements Plugin {
       list.add(DroppedPropertiesSensor.class);
       list.add(JavaSonarWayProfile.class);
       list.add(ClasspathForMain.class);
+      list.add(ClasspathGlobCache.class);
 
       ExternalReportExtensions.define(context);
     }
@@ -166,7 +166,7 @@ public class JavaSensor implements Sensor {
       // for security reasons, do not run jasper to generate code in autoscan mode
       return Collections.emptyList();
     }
-    return jasper != null ? jasper.generateFiles(context, sonarComponents.getJavaClasspath()) : Collections.emptyList();
+    return jasper != null ? jasper.generateFiles(context, sonarComponents.getJavaClasspath(), sonarComponents) : Collections.emptyList();
   }
 
   private Iterable<InputFile> getSourceFiles() {
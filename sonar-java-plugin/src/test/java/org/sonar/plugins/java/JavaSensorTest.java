@@ -279,7 +279,7 @@ class JavaSensorTest {
     when(sonarComponents.mainChecks()).thenReturn(Collections.singletonList(javaFileScanner));
 
     Jasper jasper = mock(Jasper.class);
-    when(jasper.generateFiles(any(), any())).thenReturn(asList(generatedFile));
+    when(jasper.generateFiles(any(), any(), any())).thenReturn(asList(generatedFile));
     JavaSensor jss = new JavaSensor(sonarComponents, context.fileSystem(), mock(JavaResourceLocator.class),
       new MapSettings().asConfig(), mock(NoSonarFilter.class), null, jasper, telemetry);
     jss.execute(context);
@@ -312,7 +312,7 @@ class JavaSensorTest {
       context.config(), mock(NoSonarFilter.class), null, jasper, telemetry);
     jss.execute(context);
 
-    verify(jasper, never()).generateFiles(any(), any());
+    verify(jasper, never()).generateFiles(any(), any(), any());
     verify(jspCodeVisitor, never()).scanFile(any());
   }
 